@@ -0,0 +1,53 @@
+package hotstone.broker.client;
+
+import hotstone.broker.common.GameState;
+
+import java.util.function.Supplier;
+
+/** An attribute of a remote object, cached by its client proxy.
+ * An immutable attribute is read once. A mutable one is read again
+ * when the version of the game is another than it was read at, or
+ * is not known.
+ */
+class CachedAttribute<T> {
+  private static final long IMMUTABLE = Long.MIN_VALUE;
+
+  private final Supplier<T> read;
+  private volatile Stamped<T> stamped;
+
+  CachedAttribute(Supplier<T> read) {
+    this.read = read;
+  }
+
+  /** Get an attribute that never changes */
+  T get() {
+    return get(IMMUTABLE);
+  }
+
+  /** Get an attribute as of the version of the game */
+  T get(long version) {
+    Stamped<T> latest = stamped;
+    if (latest == null || version == GameState.UNKNOWN_VERSION || latest.version() != version) {
+      latest = new Stamped<>(read.get(), version);
+      stamped = latest;
+    }
+    return latest.value();
+  }
+
+  /** Cache an attribute that never changes, e.g. read in a batch */
+  void set(T value) {
+    set(value, IMMUTABLE);
+  }
+
+  /** Cache an attribute as read at the version of the game */
+  void set(T value, long version) {
+    stamped = new Stamped<>(value, version);
+  }
+
+  /** Tell whether an attribute that never changes has been read */
+  boolean isRead() {
+    return stamped != null;
+  }
+
+  private record Stamped<T>(T value, long version) {}
+}
@@ -1,6 +1,7 @@
 package hotstone.broker.client;
 
 import frds.broker.ClientProxy;
+import frds.broker.IPCException;
 import frds.broker.Requestor;
 import hotstone.broker.common.OperationNames;
 import hotstone.framework.Card;
@@ -9,62 +10,124 @@ import hotstone.framework.Player;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/** The client proxy of a card. The name, mana cost, owner and effect
+ * description of a card never change, so they are only requested once.
+ * The attack, health and activeness are cached as of the version of the
+ * game the proxy has got, see ClientCache.
+ */
 public class CardClientProxy implements Card, ClientProxy {
     private String id;
     private final Requestor requestor;
+    private final ClientCache cache;
+
+    private final CachedAttribute<String> name;
+    private final CachedAttribute<Integer> manaCost;
+    private final CachedAttribute<Player> owner;
+    private final CachedAttribute<String> effectDescription;
+    private final CachedAttribute<Integer> attack;
+    private final CachedAttribute<Integer> health;
+    private final CachedAttribute<Boolean> isActive;
 
     public CardClientProxy(String id, Requestor requestor) {
+        this(id, requestor, new ClientCache());
+    }
+
+    CardClientProxy(String id, Requestor requestor, ClientCache cache) {
         this.requestor = requestor;
         this.id = id;
+        this.cache = cache;
+        name = cachedAttribute(OperationNames.CARD_GET_NAME, String.class);
+        manaCost = cachedAttribute(OperationNames.CARD_GET_MANA_COST, Integer.class);
+        owner = cachedAttribute(OperationNames.CARD_GET_OWNER, Player.class);
+        effectDescription = cachedAttribute(OperationNames.CARD_GET_EFFECT_DESCRIPTION, String.class);
+        attack = cachedAttribute(OperationNames.CARD_GET_ATTACK, Integer.class);
+        health = cachedAttribute(OperationNames.CARD_GET_HEALTH, Integer.class);
+        isActive = cachedAttribute(OperationNames.CARD_IS_ACTIVE, Boolean.class);
+    }
+
+    private <T> CachedAttribute<T> cachedAttribute(String operationName, Class<T> type) {
+        return new CachedAttribute<>(() -> requestor.sendRequestAndAwaitReply(id, operationName, type));
+    }
+
+    // Add the reads of the attributes to the batch, but for the ones
+    // never changing that are read already, and get how to cache them
+    // once the batch is sent, as of the version of the game it read
+    LongConsumer addReadsTo(RequestBatch batch) {
+        List<LongConsumer> reads = new ArrayList<>();
+        addRead(batch, reads, name, OperationNames.CARD_GET_NAME, String.class, true);
+        addRead(batch, reads, manaCost, OperationNames.CARD_GET_MANA_COST, Integer.class, true);
+        addRead(batch, reads, owner, OperationNames.CARD_GET_OWNER, Player.class, true);
+        addRead(batch, reads, effectDescription, OperationNames.CARD_GET_EFFECT_DESCRIPTION, String.class, true);
+        addRead(batch, reads, attack, OperationNames.CARD_GET_ATTACK, Integer.class, false);
+        addRead(batch, reads, health, OperationNames.CARD_GET_HEALTH, Integer.class, false);
+        addRead(batch, reads, isActive, OperationNames.CARD_IS_ACTIVE, Boolean.class, false);
+        return version -> reads.forEach(read -> read.accept(version));
+    }
+
+    // Cache the attributes of the card as read on the board, at the
+    // version of the game it is of
+    void readFrom(Card card, long version) {
+        name.set(card.getName());
+        manaCost.set(card.getManaCost());
+        owner.set(card.getOwner());
+        effectDescription.set(card.getEffectDescription());
+        attack.set(card.getAttack(), version);
+        health.set(card.getHealth(), version);
+        isActive.set(card.isActive(), version);
+    }
+
+    private <T> void addRead(RequestBatch batch, List<LongConsumer> reads, CachedAttribute<T> attribute,
+                             String operationName, Class<T> type, boolean isImmutable) {
+        if (isImmutable && attribute.isRead()) return;
+        RequestBatch.Result<T> result = batch.add(id, operationName, type);
+        reads.add(version -> {
+            try {
+                if (isImmutable) attribute.set(result.get());
+                else attribute.set(result.get(), version);
+            } catch (IPCException e) {
+                // Not cached, e.g. as the card has left the game, so
+                // reading the attribute fails when it is got
+            }
+        });
     }
 
     @Override
     public String getName() {
-        String name =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_NAME, String.class);
-        return name;
+        return name.get();
     }
 
     @Override
     public int getManaCost() {
-        int manaCost =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_MANA_COST, Integer.class);
-        return manaCost;
+        return manaCost.get();
     }
 
     @Override
     public int getAttack() {
-        int attack =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_ATTACK, Integer.class);
-        return attack;
+        return attack.get(cache.getVersion());
     }
 
     @Override
     public int getHealth() {
-        int health =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_HEALTH, Integer.class);
-        return health;
+        return health.get(cache.getVersion());
     }
 
     @Override
     public boolean isActive() {
-        boolean isActive =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_IS_ACTIVE, Boolean.class);
-        return isActive;
+        return isActive.get(cache.getVersion());
     }
 
     @Override
     public Player getOwner() {
-        Player owner =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_OWNER, Player.class);
-        return owner;
+        return owner.get();
     }
 
     @Override
     public String getEffectDescription() {
-        String effectDescription =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.CARD_GET_EFFECT_DESCRIPTION, String.class);
-        return effectDescription;
+        return effectDescription.get();
     }
 
     @Override
@@ -0,0 +1,59 @@
+package hotstone.broker.client;
+
+import frds.broker.Requestor;
+import hotstone.broker.common.GameState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** The cache of the client proxies of a game: one proxy per object ID,
+ * and the version of the game, as last got from the server.
+ *
+ * The mutable attributes of the proxies are cached for the version
+ * they were read at, so they are read again once a later version is
+ * got. While the version is not known, e.g. after a change by the
+ * client, they are not cached at all.
+ *
+ * A version got from the server is only taken if the cache was not
+ * invalidated while it was requested, and it only moves forward, so a
+ * late reply never makes stale attributes current again.
+ */
+class ClientCache {
+  private final Map<String, CardClientProxy> cards = new ConcurrentHashMap<>();
+  private final Map<String, HeroClientProxy> heroes = new ConcurrentHashMap<>();
+  private volatile long version = GameState.UNKNOWN_VERSION;
+  // Counts the invalidations, so a version requested before one is not taken
+  private long invalidations = 0;
+
+  CardClientProxy getCard(String id, Requestor requestor) {
+    return cards.computeIfAbsent(id, cardId -> new CardClientProxy(cardId, requestor, this));
+  }
+
+  HeroClientProxy getHero(String id, Requestor requestor) {
+    return heroes.computeIfAbsent(id, heroId -> new HeroClientProxy(heroId, requestor, this));
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  /** Get the stamp of the cache, to be taken before the version is
+   * requested and given to setVersion with it */
+  synchronized long getStamp() {
+    return invalidations;
+  }
+
+  /** Take a version got from the server, unless the cache has been
+   * invalidated since the stamp, or has a later version */
+  synchronized void setVersion(long version, long stamp) {
+    if (stamp == invalidations && version > this.version) {
+      this.version = version;
+    }
+  }
+
+  /** Forget the version, e.g. when the client has changed the game */
+  synchronized void invalidate() {
+    invalidations++;
+    version = GameState.UNKNOWN_VERSION;
+  }
+}
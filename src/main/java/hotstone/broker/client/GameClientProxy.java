@@ -20,6 +20,8 @@ package hotstone.broker.client;
 import com.google.gson.reflect.TypeToken;
 import frds.broker.ClientProxy;
 import frds.broker.Requestor;
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.GameState;
 import hotstone.broker.common.OperationNames;
 import hotstone.broker.service.NameService;
 import hotstone.broker.service.StandardNameService;
@@ -29,78 +31,112 @@ import hotstone.observer.GameObserver;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
 
-
-public class GameClientProxy implements Game, ClientProxy {
-  private String singletonID = "one-game";
+/** The client proxy of a game. The proxies of its cards and heroes are
+ * kept, one per object ID, and cache what they read as of the version
+ * of the game last got by getVersion() or getState(), see ClientCache.
+ * The state got by getState() is read, rather than the server, while
+ * the version is the version of the state.
+ */
+public class GameClientProxy implements RemoteGame, ClientProxy {
+  private final String gameID;
   private final Requestor requestor;
   private NameService nameService;
+  private final ClientCache cache = new ClientCache();
+  // The heroes of a game are the same throughout the game
+  private final Map<Player, Hero> heroes = new ConcurrentHashMap<>();
+  private volatile GameState state;
+  private final GameEventReceiver events;
 
+  /** Create a proxy of the game of a one-game server */
   public GameClientProxy(Requestor requestor) {
+    this(BrokerConstants.ONE_GAME_ID, requestor);
+  }
+
+  /** Create a proxy of the game with the ID, e.g. created in the lobby */
+  public GameClientProxy(String gameID, Requestor requestor) {
+    this.gameID = gameID;
     this.requestor = requestor;
     nameService = new StandardNameService();
+    events = new GameEventReceiver(gameID, requestor, cache);
   }
 
   @Override
   public int getTurnNumber() {
+    GameState board = currentState();
+    if (board != null) return board.getTurnNumber();
     int turnNumber =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_TURN_NUMBER, Integer.class);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_TURN_NUMBER, Integer.class);
     return turnNumber;
   }
 
   @Override
   public Player getPlayerInTurn() {
+    GameState board = currentState();
+    if (board != null) return board.getPlayerInTurn();
     Player playerInTurn =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_PLAYER_IN_TURN, Player.class);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_PLAYER_IN_TURN, Player.class);
     return playerInTurn;
   }
 
   @Override
   public Hero getHero(Player who) {
-    String heroID =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_HERO, String.class, who);
-    Hero proxy = new HeroClientProxy(heroID, requestor);
-    return proxy;
+    return heroes.computeIfAbsent(who, player -> {
+      String heroID =
+              requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_HERO, String.class, player);
+      return cache.getHero(heroID, requestor);
+    });
   }
 
   @Override
   public Player getWinner() {
+    GameState board = currentState();
+    if (board != null) return board.getWinner();
     Player winner =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_WINNER, Player.class);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_WINNER, Player.class);
     return winner;
   }
 
   @Override
   public int getDeckSize(Player who) {
+    GameState board = currentState();
+    if (board != null) return board.getDeckSize(who);
     int deckSize =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_DECK_SIZE, Integer.class, who);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_DECK_SIZE, Integer.class, who);
     return deckSize;
   }
 
   @Override
   public Card getCardInHand(Player who, int indexInHand) {
+    GameState board = currentState();
+    if (board != null) return cache.getCard(board.getCardInHand(who, indexInHand).getID(), requestor);
     String cardId =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_CARD_IN_HAND, String.class, who, indexInHand);
-    Card proxy =  new CardClientProxy(cardId, requestor);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_CARD_IN_HAND, String.class, who, indexInHand);
+    Card proxy = cache.getCard(cardId, requestor);
     return proxy;
   }
 
   @Override
   public Iterable<? extends Card> getHand(Player who) {
+    GameState board = currentState();
+    if (board != null) return proxiesOf(board.getHand(who));
     // Define the type of a list of String
     Type collectionType =
             new TypeToken<List<String>>() {}.getType();
     // Do the remote call to retrieve the list of IDs for
     // all cards in the hand
     List<String> theIDList =
-            requestor.sendRequestAndAwaitReply(singletonID,
+            requestor.sendRequestAndAwaitReply(gameID,
                     OperationNames.GAME_GET_HAND,
                     collectionType, who);
 
     // Convert the ID list into lost of CardClientProxies
     List<Card> proxies = new ArrayList<>();
     for (String id : theIDList) {
-      proxies.add(new CardClientProxy(id, requestor));
+      proxies.add(cache.getCard(id, requestor));
     }
 
     // Rerun the list of proxies
@@ -109,35 +145,41 @@ public class GameClientProxy implements Game, ClientProxy {
 
   @Override
   public int getHandSize(Player who) {
+    GameState board = currentState();
+    if (board != null) return board.getHandSize(who);
     int handSize =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_HAND_SIZE, Integer.class, who);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_HAND_SIZE, Integer.class, who);
     return handSize;
   }
 
   @Override
   public Card getCardInField(Player who, int indexInField) {
+    GameState board = currentState();
+    if (board != null) return cache.getCard(board.getCardInField(who, indexInField).getID(), requestor);
     String cardId =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_CARD_IN_FIELD, String.class, who, indexInField);
-    Card proxy =  new CardClientProxy(cardId, requestor);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_CARD_IN_FIELD, String.class, who, indexInField);
+    Card proxy = cache.getCard(cardId, requestor);
     return proxy;
   }
 
   @Override
   public Iterable<? extends Card> getField(Player who) {
+    GameState board = currentState();
+    if (board != null) return proxiesOf(board.getField(who));
     // Define the type of a list of String
     Type collectionType =
             new TypeToken<List<String>>() {}.getType();
     // Do the remote call to retrieve the list of IDs for
     // all cards in the field
     List<String> theIDList =
-            requestor.sendRequestAndAwaitReply(singletonID,
+            requestor.sendRequestAndAwaitReply(gameID,
                     OperationNames.GAME_GET_FIELD,
                     collectionType, who);
 
     // Convert the ID list into lost of CardClientProxies
     List<Card> proxies = new ArrayList<>();
     for (String id : theIDList) {
-      proxies.add(new CardClientProxy(id, requestor));
+      proxies.add(cache.getCard(id, requestor));
     }
 
     // Rerun the list of proxies
@@ -146,47 +188,168 @@ public class GameClientProxy implements Game, ClientProxy {
 
   @Override
   public int getFieldSize(Player who) {
+    GameState board = currentState();
+    if (board != null) return board.getFieldSize(who);
     int fieldSize =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_GET_FIELD_SIZE, Integer.class, who);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_FIELD_SIZE, Integer.class, who);
     return fieldSize;
   }
 
   @Override
   public void endTurn() {
-    requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_END_OF_TURN, String.class);
+    requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_END_OF_TURN, String.class);
+    cache.invalidate();
   }
 
   @Override
   public Status playCard(Player who, Card card, int atIndex) {
     Status status =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_PLAY_CARD, Status.class, who, card.getID(), atIndex);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_PLAY_CARD, Status.class, who, card.getID(), atIndex);
+    cache.invalidate();
     return status;
   }
 
   @Override
   public Status attackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
     Status status =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_ATTACK_CARD, Status.class,
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_ATTACK_CARD, Status.class,
                     playerAttacking, attackingCard.getID(), defendingCard.getID());
+    cache.invalidate();
     return status;
   }
 
   @Override
   public Status attackHero(Player playerAttacking, Card attackingCard) {
     Status status =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_ATTACK_HERO, Status.class, playerAttacking, attackingCard.getID());
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_ATTACK_HERO, Status.class, playerAttacking, attackingCard.getID());
+    cache.invalidate();
     return status;
   }
 
   @Override
   public Status usePower(Player who) {
     Status status =
-            requestor.sendRequestAndAwaitReply(singletonID, OperationNames.GAME_USE_POWER, Status.class, who);
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_USE_POWER, Status.class, who);
+    cache.invalidate();
     return status;
   }
 
+  /** Get the state of the whole visible board in one request,
+   * e.g. to redraw the board without a request per card. The state
+   * is only sent by the server when the game has changed since the
+   * state got before. The proxies of the cards and heroes of the
+   * board cache their attributes as of the version of the state.
+   *
+   * @return the state of the game
+   */
+  public GameState getState() {
+    GameState known = state;
+    long knownVersion = known == null ? GameState.UNKNOWN_VERSION : known.getVersion();
+    long stamp = cache.getStamp();
+    GameState changed =
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_STATE, GameState.class, knownVersion);
+    if (changed == null) {
+      // The game is still of the version of the state known
+      cache.setVersion(knownVersion, stamp);
+      return known;
+    }
+    long version = changed.getVersion();
+    for (Player who : Player.values()) {
+      Hero hero = changed.getHero(who);
+      heroes.computeIfAbsent(who, player -> cache.getHero(hero.getID(), requestor));
+      cache.getHero(hero.getID(), requestor).readFrom(hero, version);
+      for (Card card : changed.getHand(who)) {
+        cache.getCard(card.getID(), requestor).readFrom(card, version);
+      }
+      for (Card card : changed.getField(who)) {
+        cache.getCard(card.getID(), requestor).readFrom(card, version);
+      }
+    }
+    state = changed;
+    cache.setVersion(version, stamp);
+    return changed;
+  }
+
   @Override
-  public void addObserver(GameObserver observer) {
+  public void prefetchBoard() {
+    getState();
+  }
+
+  // Get the state got last, if the game has not changed since
+  private GameState currentState() {
+    GameState known = state;
+    if (known == null || known.getVersion() != cache.getVersion()) return null;
+    return known;
+  }
 
+  private List<Card> proxiesOf(Iterable<? extends Card> cards) {
+    List<Card> proxies = new ArrayList<>();
+    for (Card card : cards) {
+      proxies.add(cache.getCard(card.getID(), requestor));
+    }
+    return proxies;
+  }
+
+  /** Get the version of the game from the server, which changes with
+   * every change of the game. The cards and heroes of the game read
+   * their changing attributes again, once the version has changed.
+   *
+   * @return the version of the game
+   */
+  public long getVersion() {
+    long stamp = cache.getStamp();
+    long version =
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_VERSION, Long.class);
+    cache.setVersion(version, stamp);
+    return version;
+  }
+
+  /** Read the attributes of the cards, e.g. of a hand about to be
+   * drawn, in one request, so they are got from the cache until the
+   * game changes. Only a client of a MarshallingRequestor can batch
+   * requests; others read the attributes when they are got.
+   *
+   * @param cards the cards of the game to read
+   */
+  public void prefetch(Iterable<? extends Card> cards) {
+    if (!(requestor instanceof MarshallingRequestor batching)) return;
+    long stamp = cache.getStamp();
+    RequestBatch batch = batching.batch();
+    RequestBatch.Result<Long> version = batch.add(gameID, OperationNames.GAME_GET_VERSION, Long.class);
+    List<LongConsumer> reads = new ArrayList<>();
+    for (Card card : cards) {
+      reads.add(cache.getCard(card.getID(), requestor).addReadsTo(batch));
+    }
+    batch.send();
+
+    // The cards were read at the version of the game
+    long readVersion = version.get();
+    cache.setVersion(readVersion, stamp);
+    for (LongConsumer read : reads) read.accept(readVersion);
+  }
+
+  /** Get the receiver of the events of the game, which replays them
+   * into the observers added to this proxy.
+   *
+   * @return the event receiver
+   */
+  public GameEventReceiver getEventReceiver() {
+    return events;
+  }
+
+  @Override
+  public void addMissedEventsListener(Runnable listener) {
+    events.addMissedEventsListener(listener);
+  }
+
+  /** Add an observer of the game, which is notified of the events of
+   * the game on the server, as they are received by polling it.
+   *
+   * @param observer the observer
+   */
+  @Override
+  public void addObserver(GameObserver observer) {
+    events.addObserver(observer);
+    events.start();
   }
 }
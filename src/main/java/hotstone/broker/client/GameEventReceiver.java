@@ -0,0 +1,145 @@
+package hotstone.broker.client;
+
+import frds.broker.IPCException;
+import frds.broker.Requestor;
+import hotstone.broker.common.GameEvent;
+import hotstone.broker.common.GameEvents;
+import hotstone.broker.common.OperationNames;
+import hotstone.framework.Card;
+import hotstone.observer.GameObserver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/** The receiver of the events of a remote game, which replays them
+ * into the observers of the game on the client, e.g. a HotStoneDrawing,
+ * so the client is updated as the game changes, without redrawing all.
+ *
+ * The receiver polls the server for the events after the last one it
+ * has got, and the server answers once there are any (a long poll).
+ * If the server no longer has all events since, the missed events
+ * listeners are told instead, to read the state of the game anew.
+ */
+public class GameEventReceiver {
+  /** The time a poll waits for events on the server */
+  public static final long POLL_MILLIS = 20_000;
+  // The time to wait before polling again, after failing to reach the server
+  private static final long RETRY_MILLIS = 1_000;
+
+  private final String gameID;
+  private final Requestor requestor;
+  private final ClientCache cache;
+  private final List<GameObserver> observers = new CopyOnWriteArrayList<>();
+  private final List<Runnable> missedEventsListeners = new CopyOnWriteArrayList<>();
+  private volatile Executor delivery = Runnable::run;
+  // Guards the last sequence, so one poll is done at a time
+  private final Object pollLock = new Object();
+  private long lastSequence = -1;
+  private Thread poller;
+  private volatile boolean isPolling = false;
+
+  /** Create a receiver of the events of the game with the ID */
+  public GameEventReceiver(String gameID, Requestor requestor) {
+    this(gameID, requestor, new ClientCache());
+  }
+
+  GameEventReceiver(String gameID, Requestor requestor, ClientCache cache) {
+    this.gameID = gameID;
+    this.requestor = requestor;
+    this.cache = cache;
+  }
+
+  public void addObserver(GameObserver observer) {
+    observers.add(observer);
+  }
+
+  /** Add a listener told when events are missed, and the state of
+   * the game must be read anew */
+  public void addMissedEventsListener(Runnable listener) {
+    missedEventsListeners.add(listener);
+  }
+
+  /** Set how the events are delivered to the observers, e.g. on the
+   * thread of a user interface. They are delivered on the polling
+   * thread by default. */
+  public void setDelivery(Executor delivery) {
+    this.delivery = delivery;
+  }
+
+  /** Start receiving the events from now, polling on a thread of
+   * its own. It has no effect if started already. */
+  public synchronized void start() {
+    if (poller != null) return;
+    synchronized (pollLock) {
+      startFromNow();
+    }
+    isPolling = true;
+    poller = new Thread(this::pollUntilStopped, "HotStone events of " + gameID);
+    poller.setDaemon(true);
+    poller.start();
+  }
+
+  /** Stop polling for events */
+  public synchronized void stop() {
+    isPolling = false;
+    if (poller != null) poller.interrupt();
+    poller = null;
+  }
+
+  /** Receive the events after the latest event got, from the time
+   * of the first call, and replay them into the observers
+   *
+   * @param timeoutMillis the time to wait for events at most
+   * @return the number of events received
+   */
+  public int poll(long timeoutMillis) {
+    GameEvents received;
+    synchronized (pollLock) {
+      startFromNow();
+      received = requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_EVENTS, GameEvents.class,
+              lastSequence, timeoutMillis);
+      lastSequence = received.getLastSequence();
+    }
+    if (received.isMissingEvents()) {
+      cache.invalidate();
+      delivery.execute(() -> missedEventsListeners.forEach(Runnable::run));
+      return 0;
+    }
+
+    List<GameEvent> events = received.getEvents();
+    if (!events.isEmpty()) {
+      // The game has changed, so what the proxies have read may have too
+      cache.invalidate();
+      Function<String, Card> cards = id -> cache.getCard(id, requestor);
+      delivery.execute(() -> {
+        for (GameEvent event : events) {
+          for (GameObserver observer : observers) event.replayTo(observer, cards);
+        }
+      });
+    }
+    return events.size();
+  }
+
+  private void startFromNow() {
+    if (lastSequence >= 0) return;
+    GameEvents none =
+            requestor.sendRequestAndAwaitReply(gameID, OperationNames.GAME_GET_EVENTS, GameEvents.class, -1L, 0L);
+    lastSequence = none.getLastSequence();
+  }
+
+  private void pollUntilStopped() {
+    while (isPolling) {
+      try {
+        poll(POLL_MILLIS);
+      } catch (IPCException e) {
+        try {
+          Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+}
@@ -6,55 +6,82 @@ import hotstone.broker.common.OperationNames;
 import hotstone.framework.*;
 import hotstone.framework.Player;
 
+/** The client proxy of a hero. The type, owner and effect description
+ * of a hero never change, so they are only requested once. The mana,
+ * health and power use are cached as of the version of the game the
+ * proxy has got, see ClientCache.
+ */
 public class HeroClientProxy implements Hero, ClientProxy {
     private final String id;
     private final Requestor requestor;
+    private final ClientCache cache;
+
+    private final CachedAttribute<String> type;
+    private final CachedAttribute<Player> owner;
+    private final CachedAttribute<String> effectDescription;
+    private final CachedAttribute<Integer> mana;
+    private final CachedAttribute<Integer> health;
+    private final CachedAttribute<Boolean> canUsePower;
 
     public HeroClientProxy(String id, Requestor requestor) {
+        this(id, requestor, new ClientCache());
+    }
+
+    HeroClientProxy(String id, Requestor requestor, ClientCache cache) {
         this.requestor = requestor;
         this.id = id;
+        this.cache = cache;
+        type = cachedAttribute(OperationNames.HERO_GET_TYPE, String.class);
+        owner = cachedAttribute(OperationNames.HERO_GET_OWNER, Player.class);
+        effectDescription = cachedAttribute(OperationNames.HERO_GET_EFFECT_DESCRIPTION, String.class);
+        mana = cachedAttribute(OperationNames.HERO_GET_MANA, Integer.class);
+        health = cachedAttribute(OperationNames.HERO_GET_HEALTH, Integer.class);
+        canUsePower = cachedAttribute(OperationNames.HERO_IS_ACTIVE, Boolean.class);
+    }
+
+    private <T> CachedAttribute<T> cachedAttribute(String operationName, Class<T> type) {
+        return new CachedAttribute<>(() -> requestor.sendRequestAndAwaitReply(id, operationName, type));
+    }
+
+    // Cache the attributes of the hero as read on the board, at the
+    // version of the game it is of
+    void readFrom(Hero hero, long version) {
+        type.set(hero.getType());
+        owner.set(hero.getOwner());
+        effectDescription.set(hero.getEffectDescription());
+        mana.set(hero.getMana(), version);
+        health.set(hero.getHealth(), version);
+        canUsePower.set(hero.canUsePower(), version);
     }
 
     @Override
     public int getMana() {
-        int mana =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_GET_MANA, Integer.class);
-        return mana;
+        return mana.get(cache.getVersion());
     }
 
     @Override
     public int getHealth() {
-        int health =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_GET_HEALTH, Integer.class);
-        return health;
+        return health.get(cache.getVersion());
     }
 
     @Override
     public boolean canUsePower() {
-        boolean canUsePower =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_IS_ACTIVE, Boolean.class);
-        return canUsePower;
+        return canUsePower.get(cache.getVersion());
     }
 
     @Override
     public String getType() {
-        String type =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_GET_TYPE, String.class);
-        return type;
+        return type.get();
     }
 
     @Override
     public Player getOwner() {
-        Player owner =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_GET_OWNER, Player.class);
-        return owner;
+        return owner.get();
     }
 
     @Override
     public String getEffectDescription() {
-        String effectDescription =
-                requestor.sendRequestAndAwaitReply(id, OperationNames.HERO_GET_EFFECT_DESCRIPTION, String.class);
-        return effectDescription;
+        return effectDescription.get();
     }
 
     @Override
@@ -0,0 +1,47 @@
+package hotstone.broker.client;
+
+import frds.broker.ClientProxy;
+import frds.broker.Requestor;
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.OperationNames;
+import hotstone.framework.Game;
+
+/** The client proxy of the lobby of a server,
+ * creating and retiring the games of the server.
+ */
+public class LobbyClientProxy implements ClientProxy {
+  private final Requestor requestor;
+
+  public LobbyClientProxy(Requestor requestor) {
+    this.requestor = requestor;
+  }
+
+  /** Create a game on the server
+   *
+   * @param variant name of the variant, e.g. "semistone"
+   * @return the ID of the new game
+   */
+  public String createGame(String variant) {
+    return requestor.sendRequestAndAwaitReply(BrokerConstants.LOBBY_ID,
+            OperationNames.LOBBY_CREATE_GAME, String.class, variant);
+  }
+
+  /** Get a proxy of a game on the server
+   *
+   * @param gameID the ID of the game
+   * @return the game client proxy
+   */
+  public Game getGame(String gameID) {
+    return new GameClientProxy(gameID, requestor);
+  }
+
+  /** Retire a game on the server, when it is over
+   *
+   * @param gameID the ID of the game
+   * @return true if the game was on the server
+   */
+  public boolean retireGame(String gameID) {
+    return requestor.sendRequestAndAwaitReply(BrokerConstants.LOBBY_ID,
+            OperationNames.LOBBY_RETIRE_GAME, Boolean.class, gameID);
+  }
+}
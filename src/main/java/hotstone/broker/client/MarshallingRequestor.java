@@ -0,0 +1,99 @@
+package hotstone.broker.client;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.IPCException;
+import frds.broker.Requestor;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
+import hotstone.broker.common.OperationNames;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/** A requestor encoding the requests by a marshaller, e.g. the compact
+ * binary encoding. The encoding is negotiated on the first request: a
+ * server not answering in the encoding, e.g. a server from before it,
+ * is sent JSON from then on.
+ *
+ * Calls may be batched, see RequestBatch, so independent calls cost one
+ * round trip to the server together.
+ */
+public class MarshallingRequestor implements Requestor {
+
+  private final ClientRequestHandler clientRequestHandler;
+  private final Marshaller json = new JsonMarshaller();
+  private volatile Marshaller marshaller;
+  private volatile boolean isNegotiated = false;
+
+  public MarshallingRequestor(ClientRequestHandler clientRequestHandler, Marshaller preferred) {
+    this.clientRequestHandler = clientRequestHandler;
+    this.marshaller = preferred;
+  }
+
+  @Override
+  public <T> T sendRequestAndAwaitReply(String objectId, String operationName,
+                                        Type typeOfReturnValue, Object... argument) {
+    String reply = send(encoding -> encoding.marshalRequest(objectId, operationName, argument));
+    return marshaller.demarshalReply(reply, typeOfReturnValue);
+  }
+
+  /** Get the encoding used
+   *
+   * @return the marshaller of the requests
+   */
+  public Marshaller getMarshaller() {
+    return marshaller;
+  }
+
+  /** Create a batch of calls, to be sent in one request
+   *
+   * @return a new, empty batch
+   */
+  public RequestBatch batch() {
+    return new RequestBatch(this);
+  }
+
+  // Send the calls of a batch, each as a request in the encoding, in
+  // one request, and get the replies of the calls
+  List<String> sendBatch(String objectId, List<RequestBatch.Call> calls) {
+    String reply = send(encoding -> {
+      List<String> requests = new ArrayList<>(calls.size());
+      for (RequestBatch.Call call : calls) {
+        requests.add(encoding.marshalRequest(call.objectId(), call.operationName(), call.arguments()));
+      }
+      return encoding.marshalRequest(objectId, OperationNames.BATCH_EXECUTE, requests);
+    });
+    return marshaller.demarshalBatchReply(reply);
+  }
+
+  // Send the request, in the encoding negotiated
+  private String send(Function<Marshaller, String> request) {
+    if (!isNegotiated) return negotiate(request);
+    return clientRequestHandler.sendToServerAndAwaitReply(request.apply(marshaller));
+  }
+
+  // Send the first request in the preferred encoding, and find whether
+  // the server answers in it. A request the server cannot read has not
+  // been executed, so it is sent again in JSON.
+  private synchronized String negotiate(Function<Marshaller, String> request) {
+    String reply;
+    try {
+      reply = clientRequestHandler.sendToServerAndAwaitReply(request.apply(marshaller));
+    } catch (IPCException e) {
+      reply = null;
+    }
+    if (reply == null || !marshaller.isEncodingOf(reply)) {
+      marshaller = json;
+      reply = clientRequestHandler.sendToServerAndAwaitReply(request.apply(json));
+    }
+    isNegotiated = true;
+    return reply;
+  }
+
+  @Override
+  public void close() {
+    clientRequestHandler.close();
+  }
+}
@@ -0,0 +1,80 @@
+package hotstone.broker.client;
+
+import frds.broker.IPCException;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A batch of calls of a game, sent to the server in one request, so
+ * independent calls, e.g. reading the attributes of the cards of a hand,
+ * cost one round trip rather than one each. The server executes the
+ * calls in order, on the same state of the game, and replies to all
+ * of them together.
+ *
+ * The calls are added, getting a Result each, and the batch is sent;
+ * then the results are got. The calls must be of objects of one game,
+ * and may not wait, as polls for events do.
+ */
+public class RequestBatch {
+  private final MarshallingRequestor requestor;
+  private final List<Call> calls = new ArrayList<>();
+  private final List<Result<?>> results = new ArrayList<>();
+
+  RequestBatch(MarshallingRequestor requestor) {
+    this.requestor = requestor;
+  }
+
+  /** Add a call to the batch
+   *
+   * @param objectId the ID of the object called
+   * @param operationName the operation called
+   * @param typeOfReturnValue the type of the value returned
+   * @param argument the arguments of the call
+   * @return the result of the call, to get when the batch has been sent
+   */
+  public <T> Result<T> add(String objectId, String operationName, Type typeOfReturnValue, Object... argument) {
+    Result<T> result = new Result<>(typeOfReturnValue);
+    calls.add(new Call(objectId, operationName, argument));
+    results.add(result);
+    return result;
+  }
+
+  /** Send the calls of the batch, in one request, routed by the object
+   * of the first call. A batch is sent once.
+   */
+  public void send() {
+    if (calls.isEmpty()) return;
+    List<String> replies = requestor.sendBatch(calls.get(0).objectId(), calls);
+    for (int i = 0; i < results.size(); i++) results.get(i).reply = replies.get(i);
+    calls.clear();
+  }
+
+  /** @return the number of calls in the batch not yet sent */
+  public int size() {
+    return calls.size();
+  }
+
+  record Call(String objectId, String operationName, Object[] arguments) {}
+
+  /** The result of a call of a batch */
+  public class Result<T> {
+    private final Type typeOfReturnValue;
+    private String reply;
+
+    private Result(Type typeOfReturnValue) {
+      this.typeOfReturnValue = typeOfReturnValue;
+    }
+
+    /** Get the value returned by the call
+     *
+     * @return the value
+     * @throws IPCException if the call failed
+     * @throws IllegalStateException if the batch has not been sent
+     */
+    public T get() {
+      if (reply == null) throw new IllegalStateException("The batch has not been sent");
+      return requestor.getMarshaller().demarshalReply(reply, typeOfReturnValue);
+    }
+  }
+}
@@ -24,4 +24,10 @@ package hotstone.broker.common;
 public class BrokerConstants {
   public static final String HOTSTONE_TUNNEL_PATH = "/hotstone";
   public static final int HOTSTONE_PORT = 5555;
+  // The ID of the game clients play when no game is created in the lobby
+  public static final String ONE_GAME_ID = "one-game";
+  // The object ID of the lobby, which creates and retires games
+  public static final String LOBBY_ID = "lobby";
+  // The longest time a poll for game events waits on the server
+  public static final long MAX_EVENT_POLL_MILLIS = 30_000;
 }
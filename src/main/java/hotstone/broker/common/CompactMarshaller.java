@@ -0,0 +1,333 @@
+package hotstone.broker.common;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import frds.broker.IPCException;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** A compact binary encoding of the broker. The broker carries messages
+ * as strings, so each byte is a char from 0 to 255 of the message.
+ *
+ * A message starts with the VERSION byte, which no JSON message starts
+ * with. A request is the object ID, the operation, as its code in
+ * OPERATIONS or else its name, and the arguments. A reply is the status
+ * code and the value, or the error description. Numbers are variable
+ * length, so small ones take a byte, and values are tagged by their type:
+ * players and statuses take a byte, and IDs and other strings their UTF-8
+ * bytes and a length. Values of other types, e.g. a GameState, are
+ * embedded as JSON. The reply of a batch has the replies of its calls
+ * as its value, each written in place, tagged as replies.
+ */
+public class CompactMarshaller implements Marshaller {
+  public static final char VERSION = 1;
+
+  // The operations encoded by their index in the list, so new
+  // operations must be added at the end
+  private static final List<String> OPERATIONS = List.of(
+          OperationNames.GAME_GET_WINNER, OperationNames.GAME_GET_HAND_SIZE,
+          OperationNames.GAME_GET_CARD_IN_HAND, OperationNames.GAME_GET_HAND,
+          OperationNames.GAME_GET_PLAYER_IN_TURN, OperationNames.GAME_PLAY_CARD,
+          OperationNames.GAME_GET_DECK_SIZE, OperationNames.GAME_GET_TURN_NUMBER,
+          OperationNames.GAME_GET_CARD_IN_FIELD, OperationNames.GAME_GET_FIELD_SIZE,
+          OperationNames.GAME_GET_FIELD, OperationNames.GAME_GET_HERO,
+          OperationNames.GAME_GET_STATE, OperationNames.GAME_GET_VERSION,
+          OperationNames.GAME_GET_EVENTS, OperationNames.GAME_END_OF_TURN,
+          OperationNames.GAME_ATTACK_CARD, OperationNames.GAME_ATTACK_HERO,
+          OperationNames.GAME_USE_POWER, OperationNames.CARD_GET_NAME,
+          OperationNames.CARD_GET_MANA_COST, OperationNames.CARD_GET_ATTACK,
+          OperationNames.CARD_GET_HEALTH, OperationNames.CARD_IS_ACTIVE,
+          OperationNames.CARD_GET_OWNER, OperationNames.CARD_GET_EFFECT_DESCRIPTION,
+          OperationNames.HERO_GET_MANA, OperationNames.HERO_GET_HEALTH,
+          OperationNames.HERO_IS_ACTIVE, OperationNames.HERO_GET_TYPE,
+          OperationNames.HERO_GET_OWNER, OperationNames.HERO_GET_EFFECT_DESCRIPTION,
+          OperationNames.LOBBY_CREATE_GAME, OperationNames.LOBBY_RETIRE_GAME,
+          OperationNames.BATCH_EXECUTE);
+  private static final Map<String, Integer> OPERATION_CODES = new HashMap<>();
+  static {
+    for (int code = 0; code < OPERATIONS.size(); code++) OPERATION_CODES.put(OPERATIONS.get(code), code);
+  }
+
+  /** Get the operations encoded by a code, in the order of their codes */
+  public static List<String> getOperationNames() {
+    return OPERATIONS;
+  }
+
+  // The tags of the values
+  private static final int NULL = 0;
+  private static final int FALSE = 1;
+  private static final int TRUE = 2;
+  private static final int NUMBER = 3;
+  private static final int STRING = 4;
+  private static final int PLAYER = 5;
+  private static final int STATUS = 6;
+  private static final int LIST = 7;
+  private static final int JSON = 8;
+  private static final int REPLIES = 9;
+
+  private static final Player[] PLAYERS = Player.values();
+  private static final Status[] STATUSES = Status.values();
+
+  private final Gson gson = new Gson();
+
+  @Override
+  public boolean isEncodingOf(String message) {
+    return !message.isEmpty() && message.charAt(0) == VERSION;
+  }
+
+  @Override
+  public String marshalRequest(String objectId, String operationName, Object... arguments) {
+    StringBuilder out = new StringBuilder(32).append(VERSION);
+    writeString(out, objectId);
+    Integer code = OPERATION_CODES.get(operationName);
+    if (code != null) {
+      writeNumber(out, code + 1);
+    } else {
+      writeNumber(out, 0);
+      writeString(out, operationName);
+    }
+    writeNumber(out, arguments.length);
+    for (Object argument : arguments) writeValue(out, argument);
+    return out.toString();
+  }
+
+  @Override
+  public Request demarshalRequest(String request) {
+    Reader in = new Reader(request);
+    String objectId = in.readString();
+    int code = (int) in.readNumber();
+    String operationName = code == 0 ? in.readString() : OPERATIONS.get(code - 1);
+    Object[] arguments = new Object[(int) in.readNumber()];
+    for (int i = 0; i < arguments.length; i++) arguments[i] = in.readValue();
+
+    return new Request() {
+      @Override
+      public String getObjectId() {
+        return objectId;
+      }
+
+      @Override
+      public String getOperationName() {
+        return operationName;
+      }
+
+      @Override
+      public <T> T getArgument(int index, Type type) {
+        return convert(arguments[index], type);
+      }
+    };
+  }
+
+  @Override
+  public String marshalReply(Reply reply) {
+    StringBuilder out = new StringBuilder(16).append(VERSION);
+    writeNumber(out, reply.getStatusCode());
+    if (reply.isSuccess()) {
+      writeValue(out, reply.getValue());
+    } else {
+      writeString(out, reply.getErrorDescription());
+    }
+    return out.toString();
+  }
+
+  // The replies of a batch are written in the reply, tagged as replies,
+  // each as a reply without the version
+  @Override
+  public String marshalBatchReply(List<Reply> replies) {
+    StringBuilder out = new StringBuilder(16 + 16 * replies.size()).append(VERSION);
+    writeNumber(out, 200);
+    out.append((char) REPLIES);
+    writeNumber(out, replies.size());
+    for (Reply reply : replies) {
+      writeNumber(out, reply.getStatusCode());
+      if (reply.isSuccess()) {
+        writeValue(out, reply.getValue());
+      } else {
+        writeString(out, reply.getErrorDescription());
+      }
+    }
+    return out.toString();
+  }
+
+  @Override
+  public List<String> demarshalBatchReply(String reply) {
+    Reader in = new Reader(reply);
+    int statusCode = (int) in.readNumber();
+    if (statusCode != 200 && statusCode != 201) {
+      throw new IPCException("Failure during method invocation: " + in.readString());
+    }
+    int tag = in.readTag();
+    if (tag != REPLIES) throw new IPCException("Not the reply of a batch: " + tag);
+    List<String> replies = new ArrayList<>();
+    for (int count = (int) in.readNumber(); count > 0; count--) {
+      // Each reply is the part of the message it takes, after the version
+      int start = in.position;
+      int callStatusCode = (int) in.readNumber();
+      if (callStatusCode == 200 || callStatusCode == 201) {
+        in.readValue();
+      } else {
+        in.readString();
+      }
+      replies.add(VERSION + reply.substring(start, in.position));
+    }
+    return replies;
+  }
+
+  @Override
+  public <T> T demarshalReply(String reply, Type typeOfReturnValue) {
+    Reader in = new Reader(reply);
+    int statusCode = (int) in.readNumber();
+    if (statusCode != 200 && statusCode != 201) {
+      throw new IPCException("Failure during method invocation: " + in.readString());
+    }
+    Object value = in.readValue();
+    return typeOfReturnValue == null ? null : convert(value, typeOfReturnValue);
+  }
+
+  private void writeValue(StringBuilder out, Object value) {
+    if (value == null) {
+      out.append((char) NULL);
+    } else if (value instanceof Boolean isTrue) {
+      out.append((char) (isTrue ? TRUE : FALSE));
+    } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      out.append((char) NUMBER);
+      long number = ((Number) value).longValue();
+      // Zigzag, so small negative numbers are small too
+      writeNumber(out, (number << 1) ^ (number >> 63));
+    } else if (value instanceof String string) {
+      out.append((char) STRING);
+      writeString(out, string);
+    } else if (value instanceof Player player) {
+      out.append((char) PLAYER).append((char) player.ordinal());
+    } else if (value instanceof Status status) {
+      out.append((char) STATUS).append((char) status.ordinal());
+    } else if (value instanceof Collection<?> collection) {
+      out.append((char) LIST);
+      writeNumber(out, collection.size());
+      for (Object element : collection) writeValue(out, element);
+    } else {
+      out.append((char) JSON);
+      writeString(out, gson.toJson(value));
+    }
+  }
+
+  // Write a non-negative number, 7 bits to a byte, where the high bit
+  // tells that more bytes follow
+  private static void writeNumber(StringBuilder out, long number) {
+    while ((number & ~0x7FL) != 0) {
+      out.append((char) ((number & 0x7F) | 0x80));
+      number >>>= 7;
+    }
+    out.append((char) number);
+  }
+
+  private static void writeString(StringBuilder out, String string) {
+    if (isAscii(string)) {
+      writeNumber(out, string.length());
+      out.append(string);
+    } else {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      writeNumber(out, bytes.length);
+      for (byte b : bytes) out.append((char) (b & 0xFF));
+    }
+  }
+
+  private static boolean isAscii(String string) {
+    for (int i = 0; i < string.length(); i++) {
+      if (string.charAt(i) >= 0x80) return false;
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T convert(Object value, Type type) {
+    if (value == null) return null;
+    if (value instanceof Json json) return gson.fromJson(json.text(), type);
+    if (value instanceof Long number) {
+      if (type == Integer.class || type == int.class) return (T) Integer.valueOf(number.intValue());
+      if (type == Long.class || type == long.class) return (T) number;
+    }
+    if (type instanceof Class<?> valueType && valueType.isInstance(value)) return (T) value;
+    if (value instanceof List<?> list && type instanceof ParameterizedType parameterized
+            && parameterized.getRawType() instanceof Class<?> raw && raw.isAssignableFrom(ArrayList.class)) {
+      Type elementType = parameterized.getActualTypeArguments()[0];
+      List<Object> elements = new ArrayList<>(list.size());
+      for (Object element : list) elements.add(convert(element, elementType));
+      return (T) elements;
+    }
+    // Any other conversion is as by JSON
+    return gson.fromJson(gson.toJsonTree(value), type);
+  }
+
+  // A value embedded as JSON, which is decoded once its type is known
+  private record Json(String text) {}
+
+  private static class Reader {
+    private final String message;
+    private int position;
+
+    Reader(String message) {
+      if (message.isEmpty() || message.charAt(0) != VERSION) {
+        throw new IPCException("Not a compact message of version " + (int) VERSION);
+      }
+      this.message = message;
+      this.position = 1;
+    }
+
+    long readNumber() {
+      long number = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = message.charAt(position++);
+        number |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return number;
+    }
+
+    String readString() {
+      int length = (int) readNumber();
+      int start = position;
+      position += length;
+      String string = message.substring(start, position);
+      if (isAscii(string)) return string;
+      return new String(string.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+    }
+
+    int readTag() {
+      return message.charAt(position++);
+    }
+
+    Object readValue() {
+      int tag = readTag();
+      switch (tag) {
+        case NULL: return null;
+        case FALSE: return false;
+        case TRUE: return true;
+        case NUMBER:
+          long zigzag = readNumber();
+          return (zigzag >>> 1) ^ -(zigzag & 1);
+        case STRING: return readString();
+        case PLAYER: return PLAYERS[message.charAt(position++)];
+        case STATUS: return STATUSES[message.charAt(position++)];
+        case LIST:
+          int size = (int) readNumber();
+          List<Object> list = new ArrayList<>(size);
+          for (int i = 0; i < size; i++) list.add(readValue());
+          return list;
+        case JSON: return new Json(readString());
+        default: throw new IPCException("Unknown tag of value: " + tag);
+      }
+    }
+  }
+}
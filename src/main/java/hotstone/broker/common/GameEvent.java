@@ -0,0 +1,63 @@
+package hotstone.broker.common;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.observer.GameObserver;
+
+import java.util.function.Function;
+
+/** An event of a game, as sent to remote clients: one call of a
+ * GameObserver method, with the cards given by their IDs. The events
+ * of a game are numbered in sequence, from 1.
+ */
+public class GameEvent {
+  /** The GameObserver method of an event */
+  public enum Type {
+    PLAY_CARD, CHANGE_TURN_TO, ATTACK_CARD, ATTACK_HERO, USE_POWER,
+    CARD_DRAW, CARD_UPDATE, CARD_REMOVE, HERO_UPDATE, GAME_WON
+  }
+
+  private long sequence;
+  private Type type;
+  private Player player;
+  private String cardId;
+  private String otherCardId;
+  private int index;
+
+  public GameEvent(long sequence, Type type, Player player, String cardId, String otherCardId, int index) {
+    this.sequence = sequence;
+    this.type = type;
+    this.player = player;
+    this.cardId = cardId;
+    this.otherCardId = otherCardId;
+    this.index = index;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /** Call the GameObserver method of the event
+   *
+   * @param observer the observer to notify
+   * @param cards the card of an ID
+   */
+  public void replayTo(GameObserver observer, Function<String, Card> cards) {
+    switch (type) {
+      case PLAY_CARD -> observer.onPlayCard(player, cards.apply(cardId), index);
+      case CHANGE_TURN_TO -> observer.onChangeTurnTo(player);
+      case ATTACK_CARD -> observer.onAttackCard(player, cards.apply(cardId), cards.apply(otherCardId));
+      case ATTACK_HERO -> observer.onAttackHero(player, cards.apply(cardId));
+      case USE_POWER -> observer.onUsePower(player);
+      case CARD_DRAW -> observer.onCardDraw(player, cards.apply(cardId));
+      case CARD_UPDATE -> observer.onCardUpdate(cards.apply(cardId));
+      case CARD_REMOVE -> observer.onCardRemove(player, cards.apply(cardId));
+      case HERO_UPDATE -> observer.onHeroUpdate(player);
+      case GAME_WON -> observer.onGameWon(player);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package hotstone.broker.common;
+
+import java.util.List;
+
+/** The events of a game after a sequence number, as sent to a client
+ * polling for them. If the server no longer has all of them, they are
+ * missing events, and the client must read the state of the game anew.
+ */
+public class GameEvents {
+  private List<GameEvent> events;
+  private long lastSequence;
+  private boolean isMissingEvents;
+
+  public GameEvents(List<GameEvent> events, long lastSequence, boolean isMissingEvents) {
+    this.events = events;
+    this.lastSequence = lastSequence;
+    this.isMissingEvents = isMissingEvents;
+  }
+
+  /** Get the events, in sequence */
+  public List<GameEvent> getEvents() {
+    return events;
+  }
+
+  /** Get the sequence number of the latest event of the game, to poll after */
+  public long getLastSequence() {
+    return lastSequence;
+  }
+
+  /** Tell whether events before the events are no longer known */
+  public boolean isMissingEvents() {
+    return isMissingEvents;
+  }
+}
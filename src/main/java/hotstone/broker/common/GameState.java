@@ -0,0 +1,254 @@
+package hotstone.broker.common;
+
+import hotstone.framework.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** The state of the whole visible board of a game: the turn, the winner,
+ * and for each player the hero, the hand, the field and the deck size.
+ * A client gets it in one request, and reads it as a ReadOnlyGame without
+ * further requests. It is a copy, which has no mutators or observers, and
+ * cards and heroes have no effect objects, only their effect descriptions.
+ *
+ * The version is the version of the game on the server, so a client
+ * only needs to get the state again when the version has changed.
+ */
+public class GameState implements ReadOnlyGame {
+  /** The version of a state not known, e.g. before any state is got */
+  public static final long UNKNOWN_VERSION = -1;
+
+  private long version;
+  private int turnNumber;
+  private Player playerInTurn;
+  private Player winner;
+  // Indexed by player ordinal
+  private PlayerState[] players;
+
+  /** Get the state of a game
+   *
+   * @param game the game
+   * @param version the version of the game
+   * @return a copy of the visible state of the game
+   */
+  public static GameState of(ReadOnlyGame game, long version) {
+    GameState state = new GameState();
+    state.version = version;
+    state.turnNumber = game.getTurnNumber();
+    state.playerInTurn = game.getPlayerInTurn();
+    state.winner = game.getWinner();
+    state.players = new PlayerState[Player.values().length];
+    for (Player who : Player.values()) {
+      PlayerState player = new PlayerState();
+      player.hero = HeroState.of(game.getHero(who));
+      player.hand = CardState.of(game.getHand(who));
+      player.field = CardState.of(game.getField(who));
+      player.deckSize = game.getDeckSize(who);
+      state.players[who.ordinal()] = player;
+    }
+    return state;
+  }
+
+  /** Get the version of the game, the state is of
+   *
+   * @return the version of the game
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public Player getPlayerInTurn() {
+    return playerInTurn;
+  }
+
+  @Override
+  public Hero getHero(Player who) {
+    return players[who.ordinal()].hero;
+  }
+
+  @Override
+  public Player getWinner() {
+    return winner;
+  }
+
+  @Override
+  public int getTurnNumber() {
+    return turnNumber;
+  }
+
+  @Override
+  public int getDeckSize(Player who) {
+    return players[who.ordinal()].deckSize;
+  }
+
+  @Override
+  public Card getCardInHand(Player who, int indexInHand) {
+    return players[who.ordinal()].hand.get(indexInHand);
+  }
+
+  @Override
+  public Iterable<? extends Card> getHand(Player who) {
+    return players[who.ordinal()].hand;
+  }
+
+  @Override
+  public int getHandSize(Player who) {
+    return players[who.ordinal()].hand.size();
+  }
+
+  @Override
+  public Card getCardInField(Player who, int indexInField) {
+    return players[who.ordinal()].field.get(indexInField);
+  }
+
+  @Override
+  public Iterable<? extends Card> getField(Player who) {
+    return players[who.ordinal()].field;
+  }
+
+  @Override
+  public int getFieldSize(Player who) {
+    return players[who.ordinal()].field.size();
+  }
+
+  private static class PlayerState {
+    private HeroState hero;
+    private List<CardState> hand;
+    private List<CardState> field;
+    private int deckSize;
+  }
+
+  /** The state of a card, in a hand or a field */
+  public static class CardState implements Card {
+    private String id;
+    private String name;
+    private int manaCost;
+    private int attack;
+    private int health;
+    private boolean active;
+    private Player owner;
+    private String effectDescription;
+
+    private static List<CardState> of(Iterable<? extends Card> cards) {
+      List<CardState> states = new ArrayList<>();
+      for (Card card : cards) {
+        CardState state = new CardState();
+        state.id = card.getID();
+        state.name = card.getName();
+        state.manaCost = card.getManaCost();
+        state.attack = card.getAttack();
+        state.health = card.getHealth();
+        state.active = card.isActive();
+        state.owner = card.getOwner();
+        state.effectDescription = card.getEffectDescription();
+        states.add(state);
+      }
+      return Collections.unmodifiableList(states);
+    }
+
+    @Override
+    public String getID() {
+      return id;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public int getManaCost() {
+      return manaCost;
+    }
+
+    @Override
+    public int getAttack() {
+      return attack;
+    }
+
+    @Override
+    public int getHealth() {
+      return health;
+    }
+
+    @Override
+    public boolean isActive() {
+      return active;
+    }
+
+    @Override
+    public Player getOwner() {
+      return owner;
+    }
+
+    @Override
+    public String getEffectDescription() {
+      return effectDescription;
+    }
+
+    @Override
+    public Effect getEffect() {
+      return null;
+    }
+  }
+
+  /** The state of a hero */
+  public static class HeroState implements Hero {
+    private String id;
+    private String type;
+    private int mana;
+    private int health;
+    private boolean canUsePower;
+    private Player owner;
+    private String effectDescription;
+
+    private static HeroState of(Hero hero) {
+      HeroState state = new HeroState();
+      state.id = hero.getID();
+      state.type = hero.getType();
+      state.mana = hero.getMana();
+      state.health = hero.getHealth();
+      state.canUsePower = hero.canUsePower();
+      state.owner = hero.getOwner();
+      state.effectDescription = hero.getEffectDescription();
+      return state;
+    }
+
+    @Override
+    public String getID() {
+      return id;
+    }
+
+    @Override
+    public int getMana() {
+      return mana;
+    }
+
+    @Override
+    public int getHealth() {
+      return health;
+    }
+
+    @Override
+    public boolean canUsePower() {
+      return canUsePower;
+    }
+
+    @Override
+    public String getType() {
+      return type;
+    }
+
+    @Override
+    public Player getOwner() {
+      return owner;
+    }
+
+    @Override
+    public String getEffectDescription() {
+      return effectDescription;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package hotstone.broker.common;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import hotstone.framework.Player;
+
+import java.lang.reflect.Type;
+
+/** Decoding of the arguments of JSON requests. The types the invokers
+ * take as arguments, strings, numbers and players, are decoded by hand,
+ * and only arguments of any other type are decoded by Gson.
+ */
+final class JsonArguments {
+  private JsonArguments() {}
+
+  @SuppressWarnings("unchecked")
+  static <T> T decode(Gson gson, JsonElement argument, Type type) {
+    if (argument == null || argument.isJsonNull()) return null;
+    if (type == String.class) return (T) argument.getAsString();
+    if (type == Integer.class || type == int.class) return (T) Integer.valueOf(argument.getAsInt());
+    if (type == Long.class || type == long.class) return (T) Long.valueOf(argument.getAsLong());
+    if (type == Player.class) return (T) Player.valueOf(argument.getAsString());
+    return gson.fromJson(argument, type);
+  }
+}
@@ -0,0 +1,69 @@
+package hotstone.broker.common;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import frds.broker.IPCException;
+import frds.broker.ReplyObject;
+import frds.broker.RequestObject;
+
+import java.lang.reflect.Type;
+
+/** The JSON encoding of the broker, as by the StandardJSONRequestor of
+ * FRDS: a RequestObject with the arguments as a JSON array, and a
+ * ReplyObject with the value as JSON. */
+public class JsonMarshaller implements Marshaller {
+  private final Gson gson = new Gson();
+
+  @Override
+  public boolean isEncodingOf(String message) {
+    return message.trim().startsWith("{");
+  }
+
+  @Override
+  public String marshalRequest(String objectId, String operationName, Object... arguments) {
+    return gson.toJson(new RequestObject(objectId, operationName, gson.toJson(arguments)));
+  }
+
+  @Override
+  public Request demarshalRequest(String request) {
+    RequestObject requestObject = gson.fromJson(request, RequestObject.class);
+    return new Request() {
+      // The arguments are parsed when the first is got
+      private JsonArray arguments;
+
+      @Override
+      public String getObjectId() {
+        return requestObject.getObjectId();
+      }
+
+      @Override
+      public String getOperationName() {
+        return requestObject.getOperationName();
+      }
+
+      @Override
+      public <T> T getArgument(int index, Type type) {
+        if (arguments == null) {
+          arguments = JsonParser.parseString(requestObject.getPayload()).getAsJsonArray();
+        }
+        return JsonArguments.decode(gson, arguments.get(index), type);
+      }
+    };
+  }
+
+  @Override
+  public String marshalReply(Reply reply) {
+    String payloadOrError = reply.isSuccess() ? gson.toJson(reply.getValue()) : reply.getErrorDescription();
+    return gson.toJson(new ReplyObject(reply.getStatusCode(), payloadOrError));
+  }
+
+  @Override
+  public <T> T demarshalReply(String reply, Type typeOfReturnValue) {
+    ReplyObject replyObject = gson.fromJson(reply, ReplyObject.class);
+    if (!replyObject.isSuccess()) {
+      throw new IPCException("Failure during method invocation: " + replyObject.errorDescription());
+    }
+    return typeOfReturnValue == null ? null : gson.fromJson(replyObject.getPayload(), typeOfReturnValue);
+  }
+}
@@ -0,0 +1,58 @@
+package hotstone.broker.common;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The encoding of the requests and replies of the broker. The server
+ * answers a request in the encoding it came in, so clients of each
+ * encoding are served alike. */
+public interface Marshaller {
+  /** Tell whether a message is in the encoding of this marshaller
+   *
+   * @param message a request or a reply
+   * @return true if it can be demarshalled by this marshaller
+   */
+  boolean isEncodingOf(String message);
+
+  String marshalRequest(String objectId, String operationName, Object... arguments);
+
+  Request demarshalRequest(String request);
+
+  String marshalReply(Reply reply);
+
+  /** Demarshal a reply
+   *
+   * @param reply the reply
+   * @param typeOfReturnValue the type of the value returned
+   * @return the value returned, or null if the type is null
+   * @throws frds.broker.IPCException if the reply is of a failed call
+   */
+  <T> T demarshalReply(String reply, Type typeOfReturnValue);
+
+  /** Marshal the replies of the calls of a batch as one reply. By
+   * default each reply is marshalled, and the list of them is the value
+   * of the reply; an encoding able to write the replies inside the
+   * reply does so, so the values are not encoded twice.
+   *
+   * @param replies the replies of the calls, in order
+   * @return the reply of the batch
+   */
+  default String marshalBatchReply(List<Reply> replies) {
+    List<String> marshalled = new ArrayList<>(replies.size());
+    for (Reply reply : replies) marshalled.add(marshalReply(reply));
+    return marshalReply(Reply.ok(marshalled));
+  }
+
+  /** Demarshal a reply of marshalBatchReply into the replies of the calls
+   *
+   * @param reply the reply of the batch
+   * @return the replies of the calls, in order, each to be demarshalled by demarshalReply
+   * @throws frds.broker.IPCException if the reply is of a failed batch
+   */
+  default List<String> demarshalBatchReply(String reply) {
+    return demarshalReply(reply, new TypeToken<List<String>>() {}.getType());
+  }
+}
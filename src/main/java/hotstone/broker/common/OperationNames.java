@@ -17,7 +17,9 @@
 
 package hotstone.broker.common;
 
-/** Operation names for methods in HotStone Game, Card, Hero. */
+/** Operation names for methods in HotStone Game, Card, Hero, the lobby, and batches of them.
+ * A name added here must be added to a proxy and an invoker as well,
+ * and to CompactMarshaller, which TestBrokerDrift checks. */
 
 public class OperationNames {
 
@@ -28,6 +30,8 @@ public class OperationNames {
   public static final String GAME_PREFIX = "game";
   public static final String CARD_PREFIX = "card";
   public static final String HERO_PREFIX = "hero";
+  public static final String LOBBY_PREFIX = "lobby";
+  public static final String BATCH_PREFIX = "batch";
 
   // Game methods
   public static final String GAME_GET_WINNER = GAME_PREFIX + SEPARATOR + "get-winner";
@@ -42,6 +46,9 @@ public class OperationNames {
   public static final String GAME_GET_FIELD_SIZE = GAME_PREFIX + SEPARATOR + "get-field-size";
   public static final String GAME_GET_FIELD = GAME_PREFIX + SEPARATOR + "get-field";
   public static final String GAME_GET_HERO = GAME_PREFIX + SEPARATOR + "get-hero";
+  public static final String GAME_GET_STATE = GAME_PREFIX + SEPARATOR + "get-state";
+  public static final String GAME_GET_VERSION = GAME_PREFIX + SEPARATOR + "get-version";
+  public static final String GAME_GET_EVENTS = GAME_PREFIX + SEPARATOR + "get-events";
 
   public static final String GAME_END_OF_TURN = GAME_PREFIX + SEPARATOR + "end-of-turn";
   public static final String GAME_ATTACK_CARD = GAME_PREFIX + SEPARATOR + "attack-card";
@@ -65,4 +72,11 @@ public class OperationNames {
   public static final String HERO_GET_OWNER = HERO_PREFIX + SEPARATOR + "get-owner";
   public static final String HERO_GET_EFFECT_DESCRIPTION = HERO_PREFIX + SEPARATOR + "get-effect-description";
 
+  // Lobby methods
+  public static final String LOBBY_CREATE_GAME = LOBBY_PREFIX + SEPARATOR + "create-game";
+  public static final String LOBBY_RETIRE_GAME = LOBBY_PREFIX + SEPARATOR + "retire-game";
+
+  // Batch methods
+  public static final String BATCH_EXECUTE = BATCH_PREFIX + SEPARATOR + "execute";
+
 }
@@ -0,0 +1,50 @@
+package hotstone.broker.common;
+
+/** A reply to marshal by a Marshaller: the status code, as in HTTP, and
+ * the value returned, or the description of the error. */
+public class Reply {
+  private final int statusCode;
+  private final Object value;
+  private final String errorDescription;
+
+  private Reply(int statusCode, Object value, String errorDescription) {
+    this.statusCode = statusCode;
+    this.value = value;
+    this.errorDescription = errorDescription;
+  }
+
+  /** Create the reply of a successful call
+   *
+   * @param value the value returned, or null
+   * @return the reply
+   */
+  public static Reply ok(Object value) {
+    return new Reply(200, value, null);
+  }
+
+  /** Create the reply of a failed call
+   *
+   * @param statusCode the status code, as in HTTP
+   * @param errorDescription the description of the error
+   * @return the reply
+   */
+  public static Reply error(int statusCode, String errorDescription) {
+    return new Reply(statusCode, null, errorDescription);
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public String getErrorDescription() {
+    return errorDescription;
+  }
+
+  public boolean isSuccess() {
+    return statusCode == 200 || statusCode == 201;
+  }
+}
@@ -0,0 +1,19 @@
+package hotstone.broker.common;
+
+import java.lang.reflect.Type;
+
+/** A request demarshalled by a Marshaller: the method to call on an
+ * object, and its arguments, which are decoded as they are got. */
+public interface Request {
+  String getObjectId();
+
+  String getOperationName();
+
+  /** Get an argument of the request
+   *
+   * @param index the index of the argument
+   * @param type the type of the argument
+   * @return the argument
+   */
+  <T> T getArgument(int index, Type type);
+}
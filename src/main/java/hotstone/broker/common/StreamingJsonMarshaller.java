@@ -0,0 +1,234 @@
+package hotstone.broker.common;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import frds.broker.IPCException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A JSON encoding of the broker where the arguments and the value are
+ * part of the message, rather than JSON strings inside it as in the
+ * RequestObject and ReplyObject of FRDS. A message is written in one
+ * pass of a JsonWriter, and read in one pass of a JsonReader, so the
+ * value is neither escaped nor parsed twice. Collections are written
+ * as they are iterated, e.g. the IDs of a hand as the cards are
+ * registered.
+ *
+ * A message starts with the VERSION field, which JSON messages of
+ * FRDS do not have:
+ * {"version":2,"objectId":"g1","operationName":"game_get-hand","arguments":["FINDUS"]}
+ * {"version":2,"statusCode":200,"value":["g1.2f","g1.30"]}
+ */
+public class StreamingJsonMarshaller implements Marshaller {
+  public static final int VERSION = 2;
+  private static final String PREFIX = "{\"version\":" + VERSION + ",";
+
+  private final Gson gson = new Gson();
+
+  @Override
+  public boolean isEncodingOf(String message) {
+    return message.startsWith(PREFIX);
+  }
+
+  @Override
+  public String marshalRequest(String objectId, String operationName, Object... arguments) {
+    StringWriter out = new StringWriter(64 + 16 * arguments.length);
+    try (JsonWriter writer = new JsonWriter(out)) {
+      writer.beginObject().name("version").value(VERSION);
+      writer.name("objectId").value(objectId);
+      writer.name("operationName").value(operationName);
+      writer.name("arguments").beginArray();
+      for (Object argument : arguments) writeValue(writer, argument);
+      writer.endArray().endObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  @Override
+  public Request demarshalRequest(String request) {
+    String objectId = null;
+    String operationName = null;
+    JsonArray arguments = new JsonArray();
+    try (JsonReader reader = new JsonReader(new StringReader(request))) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "objectId" -> objectId = reader.nextString();
+          case "operationName" -> operationName = reader.nextString();
+          case "arguments" -> arguments = JsonParser.parseReader(reader).getAsJsonArray();
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException | IllegalStateException e) {
+      throw new IPCException("Malformed request: " + e.getMessage(), e);
+    }
+    return new DemarshalledRequest(objectId, operationName, arguments);
+  }
+
+  @Override
+  public String marshalReply(Reply reply) {
+    StringWriter out = new StringWriter(64);
+    try (JsonWriter writer = new JsonWriter(out)) {
+      writer.beginObject().name("version").value(VERSION);
+      writer.name("statusCode").value(reply.getStatusCode());
+      if (reply.isSuccess()) {
+        writer.name("value");
+        writeValue(writer, reply.getValue());
+      } else {
+        writer.name("errorDescription").value(reply.getErrorDescription());
+      }
+      writer.endObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  // The replies of a batch are written in the reply, each as a reply
+  // without the version:
+  // {"version":2,"statusCode":200,"replies":[{"statusCode":200,"value":3},...]}
+  @Override
+  public String marshalBatchReply(List<Reply> replies) {
+    StringWriter out = new StringWriter(64 + 32 * replies.size());
+    try (JsonWriter writer = new JsonWriter(out)) {
+      writer.beginObject().name("version").value(VERSION);
+      writer.name("statusCode").value(200);
+      writer.name("replies").beginArray();
+      for (Reply reply : replies) {
+        writer.beginObject().name("statusCode").value(reply.getStatusCode());
+        if (reply.isSuccess()) {
+          writer.name("value");
+          writeValue(writer, reply.getValue());
+        } else {
+          writer.name("errorDescription").value(reply.getErrorDescription());
+        }
+        writer.endObject();
+      }
+      writer.endArray().endObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  @Override
+  public List<String> demarshalBatchReply(String reply) {
+    int statusCode = 0;
+    String errorDescription = null;
+    List<String> replies = new ArrayList<>();
+    try (JsonReader reader = new JsonReader(new StringReader(reply))) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "statusCode" -> statusCode = reader.nextInt();
+          case "errorDescription" -> errorDescription = reader.nextString();
+          case "replies" -> {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              // Each reply is read as it is written, after the version
+              replies.add(PREFIX + JsonParser.parseReader(reader).toString().substring(1));
+            }
+            reader.endArray();
+          }
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException | IllegalStateException e) {
+      throw new IPCException("Malformed reply: " + e.getMessage(), e);
+    }
+    if (statusCode != 200 && statusCode != 201) {
+      throw new IPCException("Failure during method invocation: " + errorDescription);
+    }
+    return replies;
+  }
+
+  @Override
+  public <T> T demarshalReply(String reply, Type typeOfReturnValue) {
+    int statusCode = 0;
+    String errorDescription = null;
+    T value = null;
+    try (JsonReader reader = new JsonReader(new StringReader(reply))) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        if (name.equals("statusCode")) {
+          statusCode = reader.nextInt();
+        } else if (name.equals("errorDescription")) {
+          errorDescription = reader.nextString();
+        } else if (name.equals("value") && typeOfReturnValue != null) {
+          value = gson.fromJson(reader, typeOfReturnValue);
+        } else {
+          reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException | IllegalStateException e) {
+      throw new IPCException("Malformed reply: " + e.getMessage(), e);
+    }
+    if (statusCode != 200 && statusCode != 201) {
+      throw new IPCException("Failure during method invocation: " + errorDescription);
+    }
+    return value;
+  }
+
+  // Write the value in the message, without going through a string
+  private void writeValue(JsonWriter writer, Object value) throws IOException {
+    if (value == null) {
+      writer.nullValue();
+    } else if (value instanceof String string) {
+      writer.value(string);
+    } else if (value instanceof Boolean isTrue) {
+      writer.value(isTrue);
+    } else if (value instanceof Integer || value instanceof Long) {
+      writer.value(((Number) value).longValue());
+    } else if (value instanceof Enum<?> constant) {
+      writer.value(constant.name());
+    } else if (value instanceof Iterable<?> elements) {
+      writer.beginArray();
+      for (Object element : elements) writeValue(writer, element);
+      writer.endArray();
+    } else {
+      gson.toJson(value, value.getClass(), writer);
+    }
+  }
+
+  private class DemarshalledRequest implements Request {
+    private final String objectId;
+    private final String operationName;
+    private final JsonArray arguments;
+
+    DemarshalledRequest(String objectId, String operationName, JsonArray arguments) {
+      this.objectId = objectId;
+      this.operationName = operationName;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public String getObjectId() {
+      return objectId;
+    }
+
+    @Override
+    public String getOperationName() {
+      return operationName;
+    }
+
+    @Override
+    public <T> T getArgument(int index, Type type) {
+      return JsonArguments.decode(gson, arguments.get(index), type);
+    }
+  }
+}
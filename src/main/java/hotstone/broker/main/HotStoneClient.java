@@ -19,9 +19,10 @@ package hotstone.broker.main;
 
 import frds.broker.Requestor;
 import frds.broker.ipc.http.UriTunnelClientRequestHandler;
-import frds.broker.marshall.json.StandardJSONRequestor;
 import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
 import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.CompactMarshaller;
 import hotstone.framework.Game;
 import hotstone.framework.Player;
 import hotstone.view.core.HotStoneDrawingType;
@@ -32,6 +33,8 @@ import minidraw.framework.Factory;
 import minidraw.standard.MiniDrawApplication;
 import minidraw.standard.NullTool;
 
+import javax.swing.*;
+
 public class HotStoneClient {
   public static void main(String[] args) {
     // Get the name of the host and player from the commandline parameters
@@ -48,10 +51,13 @@ public class HotStoneClient {
     UriTunnelClientRequestHandler clientRequestHandler
             = new UriTunnelClientRequestHandler(host, BrokerConstants.HOTSTONE_PORT,
             false, BrokerConstants.HOTSTONE_TUNNEL_PATH);
-    Requestor requestor = new StandardJSONRequestor(clientRequestHandler);
+    // in the compact encoding, if the server knows it
+    Requestor requestor = new MarshallingRequestor(clientRequestHandler, new CompactMarshaller());
 
-    // Create the game client proxy
-    Game game = new GameClientProxy(requestor);
+    // Create the game client proxy, replaying the events of the
+    // game on the thread of the user interface
+    GameClientProxy game = new GameClientProxy(requestor);
+    game.getEventReceiver().setDelivery(SwingUtilities::invokeLater);
 
     // Next setup the MiniDraw HotStone UI for that game
 
@@ -23,8 +23,8 @@ import hotstone.broker.common.BrokerConstants;
 import hotstone.broker.doubles.StubGameForBroker;
 import hotstone.broker.server.HotStoneGameInvoker;
 import hotstone.broker.server.HotStoneRootInvoker;
-import hotstone.framework.Game;
-import hotstone.standard.StandardHotStoneGame;
+import hotstone.broker.service.GameRegistry;
+import hotstone.broker.service.StandardGameRegistry;
 import hotstone.variants.alphastone.AlphaStoneFactory;
 import hotstone.variants.semistone.SemiStoneFactory;
 
@@ -39,11 +39,13 @@ public class HotStoneServer {
 
   public HotStoneServer() {
     int port = BrokerConstants.HOTSTONE_PORT;
-    // Define the server side root servant
-    Game servant = new StandardHotStoneGame(new SemiStoneFactory());
+    // Define the registry of the server's games, hosting the game
+    // played by clients not using the lobby
+    GameRegistry registry = new StandardGameRegistry();
+    registry.createGame(BrokerConstants.ONE_GAME_ID, new SemiStoneFactory());
 
     // Create server side implementation of Broker roles
-    Invoker invoker = new HotStoneRootInvoker(servant);
+    Invoker invoker = new HotStoneRootInvoker(registry);
     UriTunnelServerRequestHandler srh =
             new UriTunnelServerRequestHandler(invoker, port,
                     BrokerConstants.HOTSTONE_TUNNEL_PATH);
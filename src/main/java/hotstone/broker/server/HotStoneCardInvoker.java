@@ -1,121 +1,76 @@
 package hotstone.broker.server;
 
-import com.google.gson.Gson;
-import frds.broker.Invoker;
-import frds.broker.ReplyObject;
-import frds.broker.RequestObject;
 import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
 import hotstone.broker.service.NameService;
 import hotstone.framework.Card;
-import hotstone.framework.Player;
 
-public class HotStoneCardInvoker implements Invoker {
-    private final Gson gson;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/** The invoker of cards. Each operation is a method of the card
+ * without arguments, so the table maps the operation name to the
+ * method called on the servant card. The table is kept by hand in
+ * step with CardClientProxy, as checked by TestBrokerDrift.
+ */
+public class HotStoneCardInvoker implements TypeInvoker {
+    private static final Map<String, Function<Card, Object>> OPERATIONS = new HashMap<>();
+    static {
+        OPERATIONS.put(OperationNames.CARD_GET_NAME, Card::getName);
+        OPERATIONS.put(OperationNames.CARD_GET_MANA_COST, Card::getManaCost);
+        OPERATIONS.put(OperationNames.CARD_GET_ATTACK, Card::getAttack);
+        OPERATIONS.put(OperationNames.CARD_GET_HEALTH, Card::getHealth);
+        OPERATIONS.put(OperationNames.CARD_IS_ACTIVE, Card::isActive);
+        OPERATIONS.put(OperationNames.CARD_GET_OWNER, Card::getOwner);
+        OPERATIONS.put(OperationNames.CARD_GET_EFFECT_DESCRIPTION, Card::getEffectDescription);
+    }
+
     private final NameService nameService;
 
-    public HotStoneCardInvoker(Gson gson, NameService nameService) {
-        this.gson = gson;
+    public HotStoneCardInvoker(NameService nameService) {
         this.nameService = nameService;
     }
 
+    /** Get the names of the operations of the invoker */
+    public static Set<String> getOperationNames() {
+        return OPERATIONS.keySet();
+    }
+
     private Card lookupCard(String objectId) {
         return nameService.getCard(objectId);
     }
 
     @Override
-    public String handleRequest(String request) {
-        // Do the demarshalling
-        RequestObject requestObject =
-                gson.fromJson(request, RequestObject.class);
-        String objectId = requestObject.getObjectId();
-
-        ReplyObject reply = null;
+    public Reply handle(Request request) {
+        Reply reply;
 
         try {
-            // Dispatching: Check the operation name
-            String operationName = requestObject.getOperationName();
-        if (operationName.equals(OperationNames.CARD_GET_NAME)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getName() method
-            String name = servant.getName();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(name));
-
-        } else if (operationName.equals(OperationNames.CARD_GET_MANA_COST)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getManaCost() method
-            int manaCost = servant.getManaCost();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(manaCost));
-
-        } else if (operationName.equals(OperationNames.CARD_GET_ATTACK)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getAttack() method
-            int attack = servant.getAttack();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(attack));
-
-        } else if (operationName.equals(OperationNames.CARD_GET_HEALTH)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getHealth() method
-            int health = servant.getHealth();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(health));
-
-        } else if (operationName.equals(OperationNames.CARD_IS_ACTIVE)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants IsActive() method
-            boolean isActive = servant.isActive();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(isActive));
-
-        } else if (operationName.equals(OperationNames.CARD_GET_OWNER)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getOwner() method
-            Player owner = servant.getOwner();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(owner));
-
-        } else if (operationName.equals(OperationNames.CARD_GET_EFFECT_DESCRIPTION)) {
-            // Lookup the right card to invoke the method on
-            Card servant = lookupCard(objectId);
-
-            // Call the servants getEffectDescription() method
-            String effectDescription = servant.getEffectDescription();
-
-            // Create reply
-            reply = new ReplyObject(200, gson.toJson(effectDescription));
-
-            // Hero methods
-        } else {
-            // Unknown operation
-            reply = new ReplyObject(501, "Unknown operation: " + operationName);
-        }
+            // Dispatching: Look up the operation name
+            Function<Card, Object> operation = OPERATIONS.get(request.getOperationName());
+            if (operation != null) {
+                // Lookup the right card to invoke the method on
+                Card servant = lookupCard(request.getObjectId());
+
+                // Call the method on the servant, and create reply
+                if (servant != null) {
+                    reply = Reply.ok(operation.apply(servant));
+                } else {
+                    // The card has left the game, or never was in it
+                    reply = Reply.error(404, "Unknown card: " + request.getObjectId());
+                }
+            } else {
+                // Unknown operation
+                reply = Reply.error(501, "Unknown operation: " + request.getOperationName());
+            }
 
         } catch (Exception e) {
             // Handle errors
-            reply = new ReplyObject(500, "Server error: " + e.getMessage());
+            reply = Reply.error(500, "Server error: " + e.getMessage());
         }
 
-        // Marshalling: Convert reply to Json and return
-        return gson.toJson(reply);
+        return reply;
     }
 }
@@ -0,0 +1,50 @@
+package hotstone.broker.server;
+
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.GameEvents;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.service.GameEventLog;
+
+/** The invoker of the polls for the events of a game, which
+ * wait for the next event in the event log of the game.
+ */
+public class HotStoneEventInvoker implements TypeInvoker {
+    private final GameEventLog eventLog;
+
+    public HotStoneEventInvoker(GameEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public Reply handle(Request request) {
+        Reply reply;
+
+        try {
+            // Dispatching: Check the operation name
+            String operationName = request.getOperationName();
+            if (operationName.equals(OperationNames.GAME_GET_EVENTS)) {
+                // Get the sequence number of the last event of the client,
+                // and how long to wait for the next
+                long sequence = request.getArgument(0, Long.class);
+                long timeoutMillis = Math.min(request.getArgument(1, Long.class),
+                        BrokerConstants.MAX_EVENT_POLL_MILLIS);
+                GameEvents events = eventLog.getEventsAfter(sequence, timeoutMillis);
+
+                // Create reply
+                reply = Reply.ok(events);
+
+            } else {
+                // Unknown operation
+                reply = Reply.error(501, "Unknown operation: " + operationName);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reply = Reply.error(503, "Server stopped waiting for events");
+        }
+
+        return reply;
+    }
+}
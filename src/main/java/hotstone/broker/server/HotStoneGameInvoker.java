@@ -17,252 +17,293 @@
 
 package hotstone.broker.server;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonParser;
-import frds.broker.Invoker;
-import frds.broker.ReplyObject;
-import frds.broker.RequestObject;
+import hotstone.broker.common.GameState;
 import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
 import hotstone.broker.service.NameService;
-import hotstone.broker.service.StandardNameService;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 
-import java.util.ArrayList;
-import java.util.List;
-
-public class HotStoneGameInvoker implements Invoker {
+import java.util.AbstractCollection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/** The invoker of the game. The operations are dispatched by a table
+ * from the operation name to the method calling the servant, so the
+ * dispatch is one lookup, whatever the number of operations. The table
+ * and the argument decoding are written by hand, not generated, and
+ * TestBrokerDrift fails if they and GameClientProxy disagree.
+ */
+public class HotStoneGameInvoker implements TypeInvoker {
+  private static final Map<String, BiFunction<HotStoneGameInvoker, Request, Reply>> OPERATIONS = new HashMap<>();
+  static {
+    OPERATIONS.put(OperationNames.GAME_GET_TURN_NUMBER, HotStoneGameInvoker::getTurnNumber);
+    OPERATIONS.put(OperationNames.GAME_GET_DECK_SIZE, HotStoneGameInvoker::getDeckSize);
+    OPERATIONS.put(OperationNames.GAME_GET_HAND_SIZE, HotStoneGameInvoker::getHandSize);
+    OPERATIONS.put(OperationNames.GAME_END_OF_TURN, HotStoneGameInvoker::endTurn);
+    OPERATIONS.put(OperationNames.GAME_GET_PLAYER_IN_TURN, HotStoneGameInvoker::getPlayerInTurn);
+    OPERATIONS.put(OperationNames.GAME_GET_WINNER, HotStoneGameInvoker::getWinner);
+    OPERATIONS.put(OperationNames.GAME_GET_HAND, HotStoneGameInvoker::getHand);
+    OPERATIONS.put(OperationNames.GAME_PLAY_CARD, HotStoneGameInvoker::playCard);
+    OPERATIONS.put(OperationNames.GAME_ATTACK_CARD, HotStoneGameInvoker::attackCard);
+    OPERATIONS.put(OperationNames.GAME_ATTACK_HERO, HotStoneGameInvoker::attackHero);
+    OPERATIONS.put(OperationNames.GAME_USE_POWER, HotStoneGameInvoker::usePower);
+    OPERATIONS.put(OperationNames.GAME_GET_CARD_IN_FIELD, HotStoneGameInvoker::getCardInField);
+    OPERATIONS.put(OperationNames.GAME_GET_FIELD, HotStoneGameInvoker::getField);
+    OPERATIONS.put(OperationNames.GAME_GET_HERO, HotStoneGameInvoker::getHero);
+    OPERATIONS.put(OperationNames.GAME_GET_CARD_IN_HAND, HotStoneGameInvoker::getCardInHand);
+    OPERATIONS.put(OperationNames.GAME_GET_FIELD_SIZE, HotStoneGameInvoker::getFieldSize);
+    OPERATIONS.put(OperationNames.GAME_GET_VERSION, HotStoneGameInvoker::getVersion);
+    OPERATIONS.put(OperationNames.GAME_GET_STATE, HotStoneGameInvoker::getState);
+  }
 
+  // The board is read, and the servant changed, which an invoker of a
+  // view of the game has not
+  private final ReadOnlyGame board;
   private final Game servant;
-  private final Gson gson;
+  private final long version;
   private final NameService nameService;
 
-  public HotStoneGameInvoker(Game servant, Gson gson, NameService nameService) {
+  public HotStoneGameInvoker(Game servant, NameService nameService) {
+    this(servant, 0, nameService);
+  }
+
+  /** Create an invoker of the servant game, at the version counted by the server */
+  public HotStoneGameInvoker(Game servant, long version, NameService nameService) {
+    this(servant, servant, version, nameService);
+  }
+
+  /** Create an invoker of the operations reading the game, on a view of
+   * it at the version counted by the server. The operations changing
+   * the game reply an error. */
+  public HotStoneGameInvoker(ReadOnlyGame view, long version, NameService nameService) {
+    this(view, null, version, nameService);
+  }
+
+  private HotStoneGameInvoker(ReadOnlyGame board, Game servant, long version, NameService nameService) {
+    this.board = board;
     this.servant = servant;
-    this.gson = gson;
+    this.version = version;
     this.nameService = nameService;
   }
 
+  /** Get the names of the operations of the invoker */
+  public static Set<String> getOperationNames() {
+    return OPERATIONS.keySet();
+  }
+
+  // Get the servant to change, which an invoker of a view has not
+  private Game changeable() {
+    if (servant == null) throw new IllegalStateException("A view of the game cannot be changed");
+    return servant;
+  }
+
   private Card lookupCard(String objectId) {
     return nameService.getCard(objectId);
   }
 
   @Override
-  public String handleRequest(String request) {
-    // Do the demarshalling
-    RequestObject requestObject =
-            gson.fromJson(request, RequestObject.class);
-    JsonArray array =
-            JsonParser.parseString(requestObject.getPayload()).getAsJsonArray();
-
-    ReplyObject reply = null;
+  public Reply handle(Request request) {
+    Reply reply;
 
     try {
-      // Dispatching: Check the operation name
-      String operationName = requestObject.getOperationName();
-
-      if (operationName.equals(OperationNames.GAME_GET_TURN_NUMBER)) {
-        // Call the servants getTurnNumber() method
-        int turnNumber = servant.getTurnNumber();
-
-        // Create a reply
-        reply = new ReplyObject(200, gson.toJson(turnNumber));
-
-      } else if (operationName.equals(OperationNames.GAME_GET_DECK_SIZE)) {
-        // Get the player from the JSON array
-        Player who = gson.fromJson(array.get(0), Player.class);
-
-        // Call  the servants getDeckSize() method
-        int deckSize = servant.getDeckSize(who);
-
-        // Create a reply
-        reply = new ReplyObject(200, gson.toJson(deckSize));
-
-      } else if (operationName.equals(OperationNames.GAME_GET_HAND_SIZE)) {
-        // Get the player from the JSON array
-        Player who = gson.fromJson(array.get(0), Player.class);
-
-        // Call the servants getHandSize() method
-        int handSize = servant.getHandSize(who);
-
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(handSize));
+      // Dispatching: Look up the operation name
+      BiFunction<HotStoneGameInvoker, Request, Reply> operation = OPERATIONS.get(request.getOperationName());
+      if (operation != null) {
+        reply = operation.apply(this, request);
+      } else {
+        // Unknown operation
+        reply = Reply.error(501, "Unknown operation: " + request.getOperationName());
+      }
 
-      } else if (operationName.equals(OperationNames.GAME_END_OF_TURN)) {
-        // Call the servants endTurn() method
-        servant.endTurn();
+    } catch (Exception e) {
+      // Handle errors
+      reply = Reply.error(500, "Server error: " + e.getMessage());
+    }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson("OK"));
+    return reply;
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_GET_PLAYER_IN_TURN)) {
-        // Call the servants getPlayerInTurn() method
-        Player playerInTurn = servant.getPlayerInTurn();
+  private Reply getTurnNumber(Request request) {
+    // Call the servants getTurnNumber() method
+    return Reply.ok(board.getTurnNumber());
+  }
 
-        // Create a reply
-        reply = new ReplyObject(200, gson.toJson(playerInTurn));
+  private Reply getDeckSize(Request request) {
+    // Get the player, and call the servants getDeckSize() method
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(board.getDeckSize(who));
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_GET_WINNER)) {
-        // Call the servants getWinnerMethod() method
-        Player winner = servant.getWinner();
+  private Reply getHandSize(Request request) {
+    // Get the player, and call the servants getHandSize() method
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(board.getHandSize(who));
+  }
 
-        // Create a reply
-        reply = new ReplyObject(200, gson.toJson(winner));
+  private Reply endTurn(Request request) {
+    // Call the servants endTurn() method
+    changeable().endTurn();
+    return Reply.ok("OK");
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_GET_HAND)) {
-        // Get the player
-        Player who = gson.fromJson(array.get(0), Player.class);
+  private Reply getPlayerInTurn(Request request) {
+    // Call the servants getPlayerInTurn() method
+    return Reply.ok(board.getPlayerInTurn());
+  }
 
-        // Call the getHand() method to get the cards
-        Iterable<? extends Card> hand = servant.getHand(who);
+  private Reply getWinner(Request request) {
+    // Call the servants getWinner() method
+    return Reply.ok(board.getWinner());
+  }
 
-        // Create a list of ID's for the cards
-        List<String> idList = new ArrayList<>();
-        for (Card card : hand) {
-          String cardId = card.getID();
-          nameService.addCard(cardId, card);
-          idList.add(cardId);
-        }
+  private Reply getHand(Request request) {
+    // Get the player, and reply the IDs of the cards in the hand
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(new CardIds(board.getHand(who), board.getHandSize(who)));
+  }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(idList));
+  private Reply playCard(Request request) {
+    // Get the player, card and index
+    Player who = request.getArgument(0, Player.class);
+    MutableCard card = (MutableCard) lookupCard(request.getArgument(1, String.class));
+    int index = request.getArgument(2, Integer.class);
 
-      } else if (operationName.equals(OperationNames.GAME_PLAY_CARD)) {
-        // Get the player, card and index
-        Player who = gson.fromJson(array.get(0), Player.class);
-        MutableCard card = (MutableCard) lookupCard(gson.fromJson(array.get(1), String.class));
-        int index = gson.fromJson(array.get(2), Integer.class);
+    // Call the playCard() method
+    return Reply.ok(changeable().playCard(who, card, index));
+  }
 
-        // Call the playCard() method
-        Status status = servant.playCard(who, card, index);
+  private Reply attackCard(Request request) {
+    // Get the player and cards
+    Player attackingPlayer = request.getArgument(0, Player.class);
+    Card attackingCard = lookupCard(request.getArgument(1, String.class));
+    Card defendingCard = lookupCard(request.getArgument(2, String.class));
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(status));
+    // Call the attackCard() method
+    return Reply.ok(changeable().attackCard(attackingPlayer, attackingCard, defendingCard));
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_ATTACK_CARD)) {
-        // Get the player and cards
-        Player attacktingPlayer = gson.fromJson(array.get(0), Player.class);
-        Card attackingCard = lookupCard(gson.fromJson(array.get(1), String.class));
-        Card defendingCard = lookupCard(gson.fromJson(array.get(2), String.class));
+  private Reply attackHero(Request request) {
+    // Get the attacking player and card
+    Player attackingPlayer = request.getArgument(0, Player.class);
+    Card attackingCard = lookupCard(request.getArgument(1, String.class));
 
-        // Call the attackCard() method
-        Status status = servant.attackCard(attacktingPlayer, attackingCard, defendingCard);
+    // Call the attackHero() method
+    return Reply.ok(changeable().attackHero(attackingPlayer, attackingCard));
+  }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(status));
+  private Reply usePower(Request request) {
+    // Get the player, and call the usePower() method
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(changeable().usePower(who));
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_ATTACK_HERO)) {
-        // Get the attacking player and card
-        Player attackingPlayer = gson.fromJson(array.get(0), Player.class);
-        Card attackingCard = lookupCard(gson.fromJson(array.get(1), String.class));
+  private Reply getCardInField(Request request) {
+    // Get the player and the index, and reply the ID of the card
+    Player who = request.getArgument(0, Player.class);
+    int index = request.getArgument(1, Integer.class);
+    return Reply.ok(registerCard(board.getCardInField(who, index)));
+  }
 
-        // Call the attackHero() method
-        Status status = servant.attackHero(attackingPlayer, attackingCard);
+  private Reply getField(Request request) {
+    // Get the player, and reply the IDs of the minions in the field
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(new CardIds(board.getField(who), board.getFieldSize(who)));
+  }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(status));
+  private Reply getHero(Request request) {
+    // Get the player, and reply the ID of the hero
+    Player who = request.getArgument(0, Player.class);
+    Hero hero = board.getHero(who);
+    nameService.addHero(hero.getID(), hero);
+    return Reply.ok(hero.getID());
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_USE_POWER)) {
-        // Get the player
-        Player who = gson.fromJson(array.get(0), Player.class);
+  private Reply getCardInHand(Request request) {
+    // Get the player and the index, and reply the ID of the card
+    Player who = request.getArgument(0, Player.class);
+    int index = request.getArgument(1, Integer.class);
+    return Reply.ok(registerCard(board.getCardInHand(who, index)));
+  }
 
-        // Call the usePower() method
-        Status status = servant.usePower(who);
+  private Reply getFieldSize(Request request) {
+    // Get the player, and call the servants getFieldSize() method
+    Player who = request.getArgument(0, Player.class);
+    return Reply.ok(board.getFieldSize(who));
+  }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(status));
+  private Reply getVersion(Request request) {
+    return Reply.ok(version);
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_GET_CARD_IN_FIELD)) {
-        // Get the player and the index
-        Player who = gson.fromJson(array.get(0), Player.class);
-        int index = gson.fromJson(array.get(1), Integer.class);
+  private Reply getState(Request request) {
+    // Get the version of the state the client has, if any
+    long clientVersion = request.getArgument(0, Long.class);
 
-        // Call the getCardInField() method
-        Card card = servant.getCardInField(who, index);
+    // The client's state is still the state of the game
+    if (clientVersion == version) return Reply.ok(null);
 
-        // Generate the ID for the card
-        String cardId = card.getID();
+    // Get the state of the whole board, which a view already is
+    GameState state = board instanceof GameState view ? view : GameState.of(board, version);
 
-        // Register the card in the name service
-        nameService.addCard(cardId, card);
+    // The cards and heroes are known by the client from now on
+    for (Player who : Player.values()) {
+      Hero hero = board.getHero(who);
+      nameService.addHero(hero.getID(), hero);
+      registerCards(board.getHand(who));
+      registerCards(board.getField(who));
+    }
+    return Reply.ok(state);
+  }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(cardId));
+  // Register the card in the name service, and get its ID
+  private String registerCard(Card card) {
+    nameService.addCard(card.getID(), card);
+    return card.getID();
+  }
 
-      } else if (operationName.equals(OperationNames.GAME_GET_FIELD)) {
-        // Get the player
-        Player who = gson.fromJson(array.get(0), Player.class);
+  // Register the cards in the name service
+  private void registerCards(Iterable<? extends Card> cards) {
+    for (Card card : cards) registerCard(card);
+  }
 
-        // Call the getField() method to get the cards/minions
-        Iterable<? extends Card> field = servant.getField(who);
+  /** The IDs of cards, registering each card as its ID is got, so a
+   * hand or field is marshalled without building a list of its IDs.
+   * It is only iterated while the reply is marshalled, in the game
+   * read or changed.
+   */
+  private class CardIds extends AbstractCollection<String> {
+    private final Iterable<? extends Card> cards;
+    private final int size;
+
+    CardIds(Iterable<? extends Card> cards, int size) {
+      this.cards = cards;
+      this.size = size;
+    }
 
-        // Create a list of ID's for the cards/minions
-        List<String> idList = new ArrayList<>();
-        for (Card minion : field) {
-          String cardId = minion.getID();
-          nameService.addCard(cardId, minion);
-          idList.add(cardId);
+    @Override
+    public Iterator<String> iterator() {
+      Iterator<? extends Card> iterator = cards.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
         }
 
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(idList));
-
-      } else if (operationName.equals(OperationNames.GAME_GET_HERO)) {
-        // Get the player and index from JSON array
-        Player who = gson.fromJson(array.get(0), Player.class);
-
-        // Call the getHero() method
-        Hero hero = servant.getHero(who);
-
-        // Generate the id for the hero
-        String heroId = hero.getID();
-
-        // Register teh hero in the name service
-        nameService.addHero(heroId, hero);
-
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(heroId));
-
-      } else if (operationName.equals(OperationNames.GAME_GET_CARD_IN_HAND)) {
-        // Get the player and index from JSON array
-        Player who = gson.fromJson(array.get(0), Player.class);
-        int index = gson.fromJson(array.get(1), Integer.class);
-
-        // Call the getCardInHand() method
-        Card card = servant.getCardInHand(who, index);
-
-        // Generate the ID for the card
-        String cardId = card.getID();
-
-        // Register the card in the name service
-        nameService.addCard(cardId, card);
-
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(cardId));
-
-      } else if (operationName.equals(OperationNames.GAME_GET_FIELD_SIZE)) {
-        // Get the player from the JSON array
-        Player who = gson.fromJson(array.get(0), Player.class);
-
-        // Call the servants getFieldSize() method
-        int fieldSize = servant.getFieldSize(who);
-
-        // Create reply
-        reply = new ReplyObject(200, gson.toJson(fieldSize));
-
-        // Card methods
-      } else {
-        // Unknown operation
-        reply = new ReplyObject(501, "Unknown operation: " + operationName);
-      }
-
-    } catch (Exception e) {
-      // Handle errors
-      reply = new ReplyObject(500, "Server error: " + e.getMessage());
+        @Override
+        public String next() {
+          return registerCard(iterator.next());
+        }
+      };
     }
 
-    // Marshalling: Convert reply to Json and return
-    return gson.toJson(reply);
+    @Override
+    public int size() {
+      return size;
+    }
   }
 }
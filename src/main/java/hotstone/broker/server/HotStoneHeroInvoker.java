@@ -1,110 +1,75 @@
 package hotstone.broker.server;
 
-import com.google.gson.Gson;
-import frds.broker.Invoker;
-import frds.broker.ReplyObject;
-import frds.broker.RequestObject;
 import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
 import hotstone.broker.service.NameService;
 import hotstone.framework.Hero;
-import hotstone.framework.Player;
 
-public class HotStoneHeroInvoker implements Invoker {
-    private final Gson gson;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/** The invoker of heroes. Each operation is a method of the hero
+ * without arguments, so the table maps the operation name to the
+ * method called on the servant hero. Like the card invoker, it is
+ * written by hand, and TestBrokerDrift checks it against HeroClientProxy.
+ */
+public class HotStoneHeroInvoker implements TypeInvoker {
+    private static final Map<String, Function<Hero, Object>> OPERATIONS = new HashMap<>();
+    static {
+        OPERATIONS.put(OperationNames.HERO_GET_MANA, Hero::getMana);
+        OPERATIONS.put(OperationNames.HERO_GET_HEALTH, Hero::getHealth);
+        OPERATIONS.put(OperationNames.HERO_IS_ACTIVE, Hero::canUsePower);
+        OPERATIONS.put(OperationNames.HERO_GET_TYPE, Hero::getType);
+        OPERATIONS.put(OperationNames.HERO_GET_OWNER, Hero::getOwner);
+        OPERATIONS.put(OperationNames.HERO_GET_EFFECT_DESCRIPTION, Hero::getEffectDescription);
+    }
+
     private final NameService nameService;
 
-    public HotStoneHeroInvoker(Gson gson, NameService nameService) {
-        this.gson = gson;
+    public HotStoneHeroInvoker(NameService nameService) {
         this.nameService = nameService;
     }
 
+    /** Get the names of the operations of the invoker */
+    public static Set<String> getOperationNames() {
+        return OPERATIONS.keySet();
+    }
+
     private Hero lookupHero(String objectId) {
         return nameService.getHero(objectId);
     }
 
     @Override
-    public String handleRequest(String request) {
-        // Do the demarshalling
-        RequestObject requestObject =
-                gson.fromJson(request, RequestObject.class);
-        String objectId = requestObject.getObjectId();
-
-        ReplyObject reply = null;
+    public Reply handle(Request request) {
+        Reply reply;
 
         try {
-            // Dispatching: Check the operation name
-            String operationName = requestObject.getOperationName();
-            if (operationName.equals(OperationNames.HERO_GET_MANA)) {
-                // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants getMana() method
-                int mana = servant.getMana();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(mana));
-
-            } else if (operationName.equals(OperationNames.HERO_GET_HEALTH)) {
-                // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants getHealth() method
-                int health = servant.getHealth();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(health));
-
-            } else if (operationName.equals(OperationNames.HERO_IS_ACTIVE)) {
-                // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants canUsePower() method
-                boolean canUsePower = servant.canUsePower();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(canUsePower));
-
-            } else if (operationName.equals(OperationNames.HERO_GET_TYPE)) {
-                // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants getType() method
-                String type = servant.getType();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(type));
-
-            } else if (operationName.equals(OperationNames.HERO_GET_OWNER)) {
+            // Dispatching: Look up the operation name
+            Function<Hero, Object> operation = OPERATIONS.get(request.getOperationName());
+            if (operation != null) {
                 // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants getOwner() method
-                Player owner = servant.getOwner();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(owner));
-
-            } else if (operationName.equals(OperationNames.HERO_GET_EFFECT_DESCRIPTION)) {
-                // Lookup the right hero to invoke the method on
-                Hero servant = lookupHero(objectId);
-
-                // Call the servants getEffectDescription() method
-                String effectDescription = servant.getEffectDescription();
-
-                // Create reply
-                reply = new ReplyObject(200, gson.toJson(effectDescription));
-
+                Hero servant = lookupHero(request.getObjectId());
+
+                // Call the method on the servant, and create reply
+                if (servant != null) {
+                    reply = Reply.ok(operation.apply(servant));
+                } else {
+                    // The hero has left the game, or never was in it
+                    reply = Reply.error(404, "Unknown hero: " + request.getObjectId());
+                }
             } else {
                 // Unknown operation
-                reply = new ReplyObject(501, "Unknown operation: " + operationName);
+                reply = Reply.error(501, "Unknown operation: " + request.getOperationName());
             }
 
         } catch (Exception e) {
             // Handle errors
-            reply = new ReplyObject(500, "Server error: " + e.getMessage());
+            reply = Reply.error(500, "Server error: " + e.getMessage());
         }
 
-        // Marshalling: Convert reply to Json and return
-        return gson.toJson(reply);
+        return reply;
     }
 }
@@ -0,0 +1,54 @@
+package hotstone.broker.server;
+
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.service.GameRegistry;
+import hotstone.variants.VariantFactories;
+
+/** The invoker of the lobby, which creates and retires
+ * the games of the game registry.
+ */
+public class HotStoneLobbyInvoker implements TypeInvoker {
+    private final GameRegistry registry;
+
+    public HotStoneLobbyInvoker(GameRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Reply handle(Request request) {
+        Reply reply;
+
+        try {
+            // Dispatching: Check the operation name
+            String operationName = request.getOperationName();
+            if (operationName.equals(OperationNames.LOBBY_CREATE_GAME)) {
+                // Get the variant and create a game of it
+                String variant = request.getArgument(0, String.class);
+                String gameId = registry.createGame(VariantFactories.createFactory(variant));
+
+                // Create reply
+                reply = Reply.ok(gameId);
+
+            } else if (operationName.equals(OperationNames.LOBBY_RETIRE_GAME)) {
+                // Get the game ID and retire the game
+                String gameId = request.getArgument(0, String.class);
+                boolean isRetired = registry.retireGame(gameId);
+
+                // Create reply
+                reply = Reply.ok(isRetired);
+
+            } else {
+                // Unknown operation
+                reply = Reply.error(501, "Unknown operation: " + operationName);
+            }
+
+        } catch (IllegalArgumentException e) {
+            // Unknown variant
+            reply = Reply.error(400, "Bad request: " + e.getMessage());
+        }
+
+        return reply;
+    }
+}
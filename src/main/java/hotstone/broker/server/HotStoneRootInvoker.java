@@ -1,57 +1,182 @@
 package hotstone.broker.server;
 
-import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import frds.broker.Invoker;
-import frds.broker.ReplyObject;
-import frds.broker.RequestObject;
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
 import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.common.StreamingJsonMarshaller;
+import hotstone.broker.service.GameExecutor;
+import hotstone.broker.service.GameNameService;
+import hotstone.broker.service.GameRegistry;
 import hotstone.broker.service.NameService;
-import hotstone.broker.service.StandardNameService;
+import hotstone.broker.service.StandardGameRegistry;
 import hotstone.framework.Game;
+import hotstone.framework.ReadOnlyGame;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 public class HotStoneRootInvoker implements Invoker {
-    private final Gson gson;
-    private final Map<String, Invoker> invokerMap;
+    // The operations changing the game, which are executed one at a time
+    private static final Set<String> CHANGING_OPERATIONS = Set.of(
+            OperationNames.GAME_END_OF_TURN, OperationNames.GAME_PLAY_CARD,
+            OperationNames.GAME_ATTACK_CARD, OperationNames.GAME_ATTACK_HERO,
+            OperationNames.GAME_USE_POWER);
 
+    private static final Type LIST_OF_STRINGS = new TypeToken<List<String>>() {}.getType();
+
+    private final GameRegistry registry;
+    private final TypeInvoker lobbyInvoker;
+    // The encodings understood, where a request is answered in its encoding
+    private final List<Marshaller> marshallers = List.of(
+            new CompactMarshaller(), new StreamingJsonMarshaller(), new JsonMarshaller());
+
+    /** Create the root invoker of a server hosting the single servant game,
+     * under the ID BrokerConstants.ONE_GAME_ID */
     public HotStoneRootInvoker(Game servant) {
-        this.gson = new Gson();
+        this(oneGameRegistry(servant));
+    }
 
-        NameService nameService = new StandardNameService();
-        invokerMap = new HashMap<>();
+    /** Create the root invoker of a server hosting the games of the registry,
+     * routing each request to the executor of the game its object ID belongs to */
+    public HotStoneRootInvoker(GameRegistry registry) {
+        this.registry = registry;
+        this.lobbyInvoker = new HotStoneLobbyInvoker(registry);
+    }
 
-        // Create an invoker for each handled type/class
-        // and put them in a map, binding them to the
-        // operationName prefixes
-        Invoker gameInvoker = new HotStoneGameInvoker(servant, gson, nameService);
-        invokerMap.put(OperationNames.GAME_PREFIX, gameInvoker);
-        Invoker cardInvoker = new HotStoneCardInvoker(gson, nameService);
-        invokerMap.put(OperationNames.CARD_PREFIX, cardInvoker);
-        Invoker heroInvoker = new HotStoneHeroInvoker(gson, nameService);
-        invokerMap.put(OperationNames.HERO_PREFIX, heroInvoker);
+    private static GameRegistry oneGameRegistry(Game servant) {
+        GameRegistry registry = new StandardGameRegistry();
+        registry.addGame(BrokerConstants.ONE_GAME_ID, servant);
+        return registry;
     }
 
     @Override
     public String handleRequest(String request) {
-        // Do the demarshalling
-        RequestObject requestObject = gson.fromJson(request, RequestObject.class);
-        String operationName = requestObject.getOperationName();
-
-        // Identify the invoker to use
-        String type = operationName.substring(0, operationName.indexOf(OperationNames.SEPARATOR));
-        Invoker subInvoker = invokerMap.get(type);
+        // Find the encoding of the request, JSON for requests of no known encoding
+        Marshaller marshaller = marshallers.get(marshallers.size() - 1);
+        for (Marshaller candidate : marshallers) {
+            if (candidate.isEncodingOf(request)) {
+                marshaller = candidate;
+                break;
+            }
+        }
 
-        String reply;
-        // And do the upcall on the subInvoker
         try {
-            reply = subInvoker.handleRequest(request);
+            // Do the demarshalling, once for all invokers
+            Request demarshalled = marshaller.demarshalRequest(request);
+            String operationName = demarshalled.getOperationName();
+
+            // Identify the type of the object
+            String type = operationName.substring(0, operationName.indexOf(OperationNames.SEPARATOR));
+
+            // And do the upcall on the invoker of the type, in the game of the object
+            if (type.equals(OperationNames.LOBBY_PREFIX)) {
+                return marshaller.marshalReply(lobbyInvoker.handle(demarshalled));
+            } else if (type.equals(OperationNames.BATCH_PREFIX)) {
+                return handleBatch(demarshalled, marshaller);
+            } else {
+                return handleInGame(type, demarshalled, marshaller);
+            }
 
         } catch (Exception e) {
             // Handle errors
-            reply = gson.toJson(new ReplyObject(500, "Server error: " + e.getMessage()));
+            return marshaller.marshalReply(Reply.error(500, "Server error: " + e.getMessage()));
+        }
+    }
+
+    // Do the upcall in the game of the object, changing the game in
+    // the game's mailbox, and reading the game's view concurrently.
+    // The reply is marshalled there too, so values read from the game
+    // as they are written, e.g. the IDs of a hand, are of the same game
+    private String handleInGame(String type, Request request, Marshaller marshaller) {
+        String objectId = request.getObjectId();
+        String gameId = registry.getGameIdOf(objectId);
+        GameExecutor executor = gameId == null ? null : registry.getExecutor(gameId);
+        NameService nameService = gameId == null ? null : registry.getNameService(gameId);
+        if (executor == null || nameService == null) {
+            return marshaller.marshalReply(Reply.error(404, "Unknown game of object: " + objectId));
+        }
+
+        if (request.getOperationName().equals(OperationNames.GAME_GET_EVENTS)) {
+            // Polling waits for the events, outside the executor of the game
+            return marshaller.marshalReply(new HotStoneEventInvoker(registry.getEventLog(gameId)).handle(request));
+        }
+        if (CHANGING_OPERATIONS.contains(request.getOperationName())) {
+            return executor.change((game, version) -> marshaller.marshalReply(
+                    invokerOf(type, game, game, version, nameService).handle(request)));
+        }
+        return executor.read((view, version) -> marshaller.marshalReply(
+                invokerOf(type, view, null, version, nameService).handle(request)));
+    }
+
+    // Do the upcalls of a batch, in order, in the game of the batch:
+    // in one change of the game if any call changes it, so the batch
+    // is one change of the version, and else on one view of it
+    private String handleBatch(Request batch, Marshaller marshaller) {
+        String gameId = registry.getGameIdOf(batch.getObjectId());
+        GameExecutor executor = gameId == null ? null : registry.getExecutor(gameId);
+        NameService nameService = gameId == null ? null : registry.getNameService(gameId);
+        if (executor == null || nameService == null) {
+            return marshaller.marshalReply(Reply.error(404, "Unknown game of object: " + batch.getObjectId()));
+        }
+
+        List<Request> calls = new ArrayList<>();
+        boolean isChanging = false;
+        for (String call : batch.<List<String>>getArgument(0, LIST_OF_STRINGS)) {
+            Request request = marshaller.demarshalRequest(call);
+            isChanging |= CHANGING_OPERATIONS.contains(request.getOperationName());
+            calls.add(request);
+        }
+
+        return isChanging
+                ? executor.change((game, version) -> handleCalls(gameId, calls, game, game, version, nameService, marshaller))
+                : executor.read((view, version) -> handleCalls(gameId, calls, view, null, version, nameService, marshaller));
+    }
+
+    // Do the upcalls, and marshal their replies in one reply
+    private String handleCalls(String gameId, List<Request> calls, ReadOnlyGame board, Game game, long version,
+                               NameService nameService, Marshaller marshaller) {
+        List<Reply> replies = new ArrayList<>(calls.size());
+        for (Request call : calls) {
+            String operationName = call.getOperationName();
+            String type = operationName.substring(0, operationName.indexOf(OperationNames.SEPARATOR));
+            Reply reply;
+            if (!gameId.equals(registry.getGameIdOf(call.getObjectId()))) {
+                reply = Reply.error(400, "Object of another game in batch: " + call.getObjectId());
+            } else if (operationName.equals(OperationNames.GAME_GET_EVENTS)
+                    || type.equals(OperationNames.LOBBY_PREFIX) || type.equals(OperationNames.BATCH_PREFIX)) {
+                reply = Reply.error(400, "Operation not allowed in batch: " + operationName);
+            } else {
+                reply = invokerOf(type, board, game, version, nameService).handle(call);
+            }
+            replies.add(reply);
+        }
+        return marshaller.marshalBatchReply(replies);
+    }
+
+    // Get an invoker for the type, bound to the board of the game and its
+    // version, and finding its objects by ID. The game to change is null
+    // when the board is a view, which the invoker only reads
+    private TypeInvoker invokerOf(String type, ReadOnlyGame board, Game game, long version, NameService registered) {
+        NameService nameService = new GameNameService(board, registered);
+        switch (type) {
+            case OperationNames.GAME_PREFIX:
+                return game != null
+                        ? new HotStoneGameInvoker(game, version, nameService)
+                        : new HotStoneGameInvoker(board, version, nameService);
+            case OperationNames.CARD_PREFIX:
+                return new HotStoneCardInvoker(nameService);
+            case OperationNames.HERO_PREFIX:
+                return new HotStoneHeroInvoker(nameService);
+            default:
+                return request -> Reply.error(501, "Unknown type: " + type);
         }
-        return reply;
     }
 }
@@ -0,0 +1,16 @@
+package hotstone.broker.server;
+
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+
+/** The invoker of the objects of a type, e.g. the cards of a game. The
+ * root invoker demarshals the request once, in the encoding it came in,
+ * and marshals the reply in the same encoding. */
+public interface TypeInvoker {
+    /** Call the method of the request on its object
+     *
+     * @param request the demarshalled request
+     * @return the reply to marshal
+     */
+    Reply handle(Request request);
+}
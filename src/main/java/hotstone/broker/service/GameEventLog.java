@@ -0,0 +1,125 @@
+package hotstone.broker.service;
+
+import hotstone.broker.common.GameEvent;
+import hotstone.broker.common.GameEvents;
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.observer.GameObserver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/** The log of the latest events of a game on a server, observing the
+ * game. Clients poll for the events after the last one they have got,
+ * and a poll waits until there are any, i.e. a long poll, so the events
+ * are pushed to the clients as they happen.
+ *
+ * The log keeps a bounded number of events; a client that has been
+ * away for longer is told it has missed events.
+ */
+public class GameEventLog implements GameObserver {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Deque<GameEvent> events = new ArrayDeque<>();
+    private long lastSequence = 0;
+
+    public GameEventLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameEventLog(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** Get the events after the sequence number, waiting for the next
+     * event if there are none yet
+     *
+     * @param sequence the sequence number of the last event the client has,
+     *                 or a negative number to get the sequence number only
+     * @param timeoutMillis the time to wait for an event at most
+     * @return the events after the sequence number, which are none if none
+     * came within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized GameEvents getEventsAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        if (sequence < 0) return new GameEvents(List.of(), lastSequence, false);
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (lastSequence == sequence && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+
+        List<GameEvent> after = new ArrayList<>();
+        for (GameEvent event : events) {
+            if (event.getSequence() > sequence) after.add(event);
+        }
+        // The events just after the sequence number are no longer kept,
+        // or the sequence number is not of this log, e.g. of a server before
+        boolean isMissingEvents = sequence > lastSequence
+                || (!events.isEmpty() && sequence + 1 < events.peekFirst().getSequence());
+        return new GameEvents(after, lastSequence, isMissingEvents);
+    }
+
+    private synchronized void append(GameEvent.Type type, Player player, Card card, Card otherCard, int index) {
+        GameEvent event = new GameEvent(++lastSequence, type, player,
+                card == null ? null : card.getID(), otherCard == null ? null : otherCard.getID(), index);
+        events.addLast(event);
+        if (events.size() > capacity) events.removeFirst();
+        notifyAll();
+    }
+
+    @Override
+    public void onPlayCard(Player who, Card card, int atIndex) {
+        append(GameEvent.Type.PLAY_CARD, who, card, null, atIndex);
+    }
+
+    @Override
+    public void onChangeTurnTo(Player playerBecomingActive) {
+        append(GameEvent.Type.CHANGE_TURN_TO, playerBecomingActive, null, null, 0);
+    }
+
+    @Override
+    public void onAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+        append(GameEvent.Type.ATTACK_CARD, playerAttacking, attackingCard, defendingCard, 0);
+    }
+
+    @Override
+    public void onAttackHero(Player playerAttacking, Card attackingCard) {
+        append(GameEvent.Type.ATTACK_HERO, playerAttacking, attackingCard, null, 0);
+    }
+
+    @Override
+    public void onUsePower(Player who) {
+        append(GameEvent.Type.USE_POWER, who, null, null, 0);
+    }
+
+    @Override
+    public void onCardDraw(Player who, Card drawnCard) {
+        append(GameEvent.Type.CARD_DRAW, who, drawnCard, null, 0);
+    }
+
+    @Override
+    public void onCardUpdate(Card card) {
+        append(GameEvent.Type.CARD_UPDATE, card.getOwner(), card, null, 0);
+    }
+
+    @Override
+    public void onCardRemove(Player who, Card card) {
+        append(GameEvent.Type.CARD_REMOVE, who, card, null, 0);
+    }
+
+    @Override
+    public void onHeroUpdate(Player who) {
+        append(GameEvent.Type.HERO_UPDATE, who, null, null, 0);
+    }
+
+    @Override
+    public void onGameWon(Player playerWinning) {
+        append(GameEvent.Type.GAME_WON, playerWinning, null, null, 0);
+    }
+}
@@ -0,0 +1,146 @@
+package hotstone.broker.service;
+
+import hotstone.broker.common.GameState;
+import hotstone.framework.Game;
+import hotstone.framework.ReadOnlyGame;
+import hotstone.framework.mutability.MutableGame;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/** The execution of the requests of a game on a server, where the
+ * requests arrive on many threads.
+ *
+ * Changes of the game are executed one at a time, in the order they
+ * arrive, as by an actor with a mailbox. The thread finding the mailbox
+ * idle executes the changes queued, so no thread is needed per game.
+ * After each change a GameState of the game is published as its view,
+ * which read-only requests use concurrently, without waiting for
+ * changes. The state is a copy that nothing writes to, so any number of
+ * threads may read it at once; a fork would not do, as reading a fork
+ * may change it, e.g. to take its own copy of a minion. A game that is
+ * not a MutableGame, e.g. a test double, is its own view, and is read
+ * in the mailbox too, without counting as a change.
+ *
+ * The version of the game counts the changes executed, so a client
+ * can tell whether what it has read of the game may have changed.
+ */
+public class GameExecutor {
+    private final Game game;
+    private final Queue<Execution> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isExecuting = new AtomicBoolean(false);
+    // Only counted in the mailbox
+    private long version = 0;
+    private volatile Published published;
+
+    public GameExecutor(Game game) {
+        this.game = game;
+        publishView();
+    }
+
+    /** Execute a change of the game, after the changes before it
+     *
+     * @param change the change, given the game
+     * @return the result of the change
+     */
+    public <T> T change(Function<Game, T> change) {
+        return execute(new FutureTask<>(() -> change.apply(game)), true);
+    }
+
+    /** Execute a change of the game, after the changes before it
+     *
+     * @param change the change, given the game and the version the
+     *               change results in
+     * @return the result of the change
+     */
+    public <T> T change(BiFunction<Game, Long, T> change) {
+        return execute(new FutureTask<>(() -> change.apply(game, version + 1)), true);
+    }
+
+    /** Read the game, as of the latest change
+     *
+     * @param query the reading, given a view of the game that is not changed
+     * @return the result of the reading
+     */
+    public <T> T read(Function<ReadOnlyGame, T> query) {
+        if (!(game instanceof MutableGame)) return execute(new FutureTask<>(() -> query.apply(game)), false);
+        return query.apply(published.view());
+    }
+
+    /** Read the game and its version, as of the latest change
+     *
+     * @param query the reading, given a view of the game that is not
+     *              changed, and the version of the view
+     * @return the result of the reading
+     */
+    public <T> T read(BiFunction<ReadOnlyGame, Long, T> query) {
+        if (!(game instanceof MutableGame)) {
+            return execute(new FutureTask<>(() -> query.apply(game, version)), false);
+        }
+        Published latest = published;
+        return query.apply(latest.view(), latest.version());
+    }
+
+    /** Get the version of the game, which is the number of changes
+     * executed; a change that failed counts too.
+     *
+     * @return the version of the latest change
+     */
+    public long getVersion() {
+        return published.version();
+    }
+
+    // Execute a task in the mailbox, after the tasks before it
+    private <T> T execute(FutureTask<T> task, boolean isChange) {
+        mailbox.add(new Execution(task, isChange));
+        executeMailbox();
+        return resultOf(task);
+    }
+
+    // Execute the changes in the mailbox, unless another thread is doing it.
+    // The mailbox is checked again after executing, so no change is left behind.
+    private void executeMailbox() {
+        while (!mailbox.isEmpty() && isExecuting.compareAndSet(false, true)) {
+            try {
+                Execution execution;
+                while ((execution = mailbox.poll()) != null) {
+                    execution.task().run();
+                    if (execution.isChange()) {
+                        version++;
+                        publishView();
+                    }
+                }
+            } finally {
+                isExecuting.set(false);
+            }
+        }
+    }
+
+    private void publishView() {
+        ReadOnlyGame view = game instanceof MutableGame ? GameState.of(game, version) : game;
+        published = new Published(view, version);
+    }
+
+    private record Published(ReadOnlyGame view, long version) {}
+
+    // A task of the mailbox, and whether it changes the game or only reads it
+    private record Execution(FutureTask<?> task, boolean isChange) {}
+
+    private static <T> T resultOf(FutureTask<T> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the game", e);
+        }
+    }
+}
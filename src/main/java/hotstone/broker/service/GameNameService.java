@@ -0,0 +1,63 @@
+package hotstone.broker.service;
+
+import hotstone.framework.Card;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.ReadOnlyGame;
+
+/** A name service finding the cards and heroes in a game by their IDs,
+ * so a request gets the instances of the game or view it is executed
+ * on. Objects no longer in the hands and fields, e.g. dead minions,
+ * are found in the name service of the game.
+ */
+public class GameNameService implements NameService {
+    private final ReadOnlyGame game;
+    private final NameService registered;
+
+    public GameNameService(ReadOnlyGame game, NameService registered) {
+        this.game = game;
+        this.registered = registered;
+    }
+
+    @Override
+    public void addCard(String id, Card card) {
+        registered.addCard(id, card);
+    }
+
+    @Override
+    public Card getCard(String id) {
+        for (Player player : Player.values()) {
+            Card card = find(id, game.getHand(player));
+            if (card == null) card = find(id, game.getField(player));
+            if (card != null) return card;
+        }
+        return registered.getCard(id);
+    }
+
+    @Override
+    public void removeCard(String id) {
+        registered.removeCard(id);
+    }
+
+    @Override
+    public void addHero(String id, Hero hero) {
+        registered.addHero(id, hero);
+    }
+
+    @Override
+    public Hero getHero(String id) {
+        for (Player player : Player.values()) {
+            Hero hero = game.getHero(player);
+            if (hero != null && id.equals(hero.getID())) return hero;
+        }
+        return registered.getHero(id);
+    }
+
+    private static Card find(String id, Iterable<? extends Card> cards) {
+        if (cards == null) return null;
+        for (Card card : cards) {
+            if (id.equals(card.getID())) return card;
+        }
+        return null;
+    }
+}
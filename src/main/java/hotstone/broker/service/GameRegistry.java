@@ -0,0 +1,83 @@
+package hotstone.broker.service;
+
+import hotstone.framework.Game;
+import hotstone.framework.strategies.HotstoneFactory;
+
+/** The registry of the games hosted by a server, each game
+ * with its own variant and its own name service partition.
+ * The cards and heroes of a game created by the registry have
+ * IDs prefixed by the game ID, so requests can be routed to
+ * the right game by the object ID alone.
+ */
+public interface GameRegistry {
+
+    /** Create a game, under a new game ID
+     *
+     * @param factory the factory of the variant of the game
+     * @return the ID of the new game
+     */
+    String createGame(HotstoneFactory factory);
+
+    /** Create a game under the given game ID
+     *
+     * @param gameId the ID of the game
+     * @param factory the factory of the variant of the game
+     * @throws IllegalArgumentException if a game with the ID exists
+     */
+    void createGame(String gameId, HotstoneFactory factory);
+
+    /** Put an existing game in the registry under the given ID. The
+     * IDs of its cards and heroes are not prefixed by the game ID, so
+     * they are only routed to it when it is the only game.
+     *
+     * @param gameId the ID of the game
+     * @param game the servant object
+     * @throws IllegalArgumentException if a game with the ID exists
+     */
+    void addGame(String gameId, Game game);
+
+    /** Get a game.
+     *
+     * @param gameId the ID of the game
+     * @return the game, or null if there is no game with the ID
+     */
+    Game getGame(String gameId);
+
+    /** Get the name service of a game.
+     *
+     * @param gameId the ID of the game
+     * @return the name service, or null if there is no game with the ID
+     */
+    NameService getNameService(String gameId);
+
+    /** Get the executor of the requests of a game.
+     *
+     * @param gameId the ID of the game
+     * @return the executor, or null if there is no game with the ID
+     */
+    GameExecutor getExecutor(String gameId);
+
+    /** Get the log of the events of a game, which clients poll.
+     *
+     * @param gameId the ID of the game
+     * @return the event log, or null if there is no game with the ID
+     */
+    GameEventLog getEventLog(String gameId);
+
+    /** Get the ID of the game an object belongs to.
+     *
+     * @param objectId the ID of a game, or of a card or hero of a game
+     * @return the game ID, or null if the object belongs to no game
+     */
+    String getGameIdOf(String objectId);
+
+    /** Retire a game, so it and its servant objects are forgotten.
+     *
+     * @param gameId the ID of the game
+     * @return true if there was a game with the ID
+     */
+    boolean retireGame(String gameId);
+
+    /** @return the number of games in the registry */
+    int size();
+}
@@ -6,6 +6,8 @@ import hotstone.framework.Hero;
 
 /** A simple 'name service' that allows the server
  * side to map object identities to servant objects.
+ * The identities are the IDs the game gives its cards
+ * and heroes by its IdStrategy.
  */
 public interface NameService {
 
@@ -23,6 +25,12 @@ public interface NameService {
      */
     Card getCard(String id);
 
+    /** Remove a card, e.g. when it is removed from the game
+     *
+     * @param id object ID of the card to remove
+     */
+    void removeCard(String id);
+
     /** Put a hero in the name service under given ID
      *
      * @param id object ID of the hero
@@ -0,0 +1,245 @@
+package hotstone.broker.service;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.strategies.*;
+import hotstone.observer.GameObserver;
+import hotstone.standard.SequentialIdStrategy;
+import hotstone.standard.StandardHotStoneGame;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A GameRegistry that keeps the games in memory, each
+ * with its own StandardNameService and GameExecutor. Games
+ * may be created, looked up and retired concurrently.
+ *
+ * The registry cleans up after the games: a card removed from
+ * a game is removed from its name service, and the name service
+ * of a game is emptied when the game is won, as the cards and
+ * heroes left are found in the game. Games won are kept for the
+ * clients to see the end of, but at most a bounded number of
+ * them; the ones won the longest ago are retired.
+ */
+public class StandardGameRegistry implements GameRegistry {
+    public static final int DEFAULT_MAX_FINISHED_GAMES = 1024;
+    private static final char ID_SEPARATOR = '.';
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong gameCount = new AtomicLong();
+    private final int maxFinishedGames;
+    // The IDs of the games won, in the order they were won
+    private final Set<String> finishedGames = new LinkedHashSet<>();
+    private final AtomicLong evictedGameCount = new AtomicLong();
+
+    // A game, the servant objects of it known by the clients,
+    // the executor of its requests and the log of its events
+    private record Partition(Game game, StandardNameService nameService, GameExecutor executor, GameEventLog eventLog) {}
+
+    public StandardGameRegistry() {
+        this(DEFAULT_MAX_FINISHED_GAMES);
+    }
+
+    /** Create a registry keeping at most the given number of games won */
+    public StandardGameRegistry(int maxFinishedGames) {
+        this.maxFinishedGames = maxFinishedGames;
+    }
+
+    @Override
+    public String createGame(HotstoneFactory factory) {
+        String gameId;
+        do {
+            gameId = "g" + Long.toString(gameCount.getAndIncrement(), Character.MAX_RADIX);
+        } while (partitions.containsKey(gameId));
+        createGame(gameId, factory);
+        return gameId;
+    }
+
+    @Override
+    public void createGame(String gameId, HotstoneFactory factory) {
+        if (gameId.indexOf(ID_SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Game ID must not contain '" + ID_SEPARATOR + "': " + gameId);
+        }
+        addGame(gameId, new StandardHotStoneGame(new GameIdFactory(factory, gameId)));
+    }
+
+    @Override
+    public void addGame(String gameId, Game game) {
+        GameEventLog eventLog = new GameEventLog();
+        StandardNameService nameService = new StandardNameService();
+        Partition partition = new Partition(game, nameService, new GameExecutor(game), eventLog);
+        if (partitions.putIfAbsent(gameId, partition) != null) {
+            throw new IllegalArgumentException("Game already exists: " + gameId);
+        }
+        game.addObserver(eventLog);
+        game.addObserver(new Lifecycle(gameId, nameService));
+    }
+
+    @Override
+    public Game getGame(String gameId) {
+        Partition partition = partitions.get(gameId);
+        return partition == null ? null : partition.game();
+    }
+
+    @Override
+    public NameService getNameService(String gameId) {
+        Partition partition = partitions.get(gameId);
+        return partition == null ? null : partition.nameService();
+    }
+
+    @Override
+    public GameExecutor getExecutor(String gameId) {
+        Partition partition = partitions.get(gameId);
+        return partition == null ? null : partition.executor();
+    }
+
+    @Override
+    public GameEventLog getEventLog(String gameId) {
+        Partition partition = partitions.get(gameId);
+        return partition == null ? null : partition.eventLog();
+    }
+
+    @Override
+    public String getGameIdOf(String objectId) {
+        int separator = objectId.indexOf(ID_SEPARATOR);
+        String gameId = separator < 0 ? objectId : objectId.substring(0, separator);
+        if (partitions.containsKey(gameId)) return gameId;
+
+        // Objects of a game added with its own IDs belong to it, if it is the only game
+        if (partitions.size() == 1) {
+            for (String onlyGameId : partitions.keySet()) return onlyGameId;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean retireGame(String gameId) {
+        synchronized (finishedGames) {
+            finishedGames.remove(gameId);
+        }
+        return partitions.remove(gameId) != null;
+    }
+
+    @Override
+    public int size() {
+        return partitions.size();
+    }
+
+    /** @return the number of cards and heroes in the name services of the games */
+    public long getNameServiceSize() {
+        long size = 0;
+        for (Partition partition : partitions.values()) size += partition.nameService().size();
+        return size;
+    }
+
+    /** @return the number of games won which have been retired by the registry */
+    public long getEvictedGameCount() {
+        return evictedGameCount.get();
+    }
+
+    // Keep the game won, retiring the games won the longest ago
+    // beyond the bound
+    private void finish(String gameId) {
+        synchronized (finishedGames) {
+            finishedGames.add(gameId);
+            Iterator<String> oldest = finishedGames.iterator();
+            while (finishedGames.size() > maxFinishedGames) {
+                String evicted = oldest.next();
+                oldest.remove();
+                if (partitions.remove(evicted) != null) evictedGameCount.incrementAndGet();
+            }
+        }
+    }
+
+    // The observer of a game, cleaning up after it
+    private class Lifecycle implements GameObserver {
+        private final String gameId;
+        private final StandardNameService nameService;
+
+        Lifecycle(String gameId, StandardNameService nameService) {
+            this.gameId = gameId;
+            this.nameService = nameService;
+        }
+
+        @Override
+        public void onCardRemove(Player who, Card card) {
+            nameService.removeCard(card.getID());
+        }
+
+        @Override
+        public void onGameWon(Player playerWinning) {
+            nameService.clear();
+            finish(gameId);
+        }
+
+        @Override
+        public void onPlayCard(Player who, Card card, int atIndex) {}
+
+        @Override
+        public void onChangeTurnTo(Player playerBecomingActive) {}
+
+        @Override
+        public void onAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {}
+
+        @Override
+        public void onAttackHero(Player playerAttacking, Card attackingCard) {}
+
+        @Override
+        public void onUsePower(Player who) {}
+
+        @Override
+        public void onCardDraw(Player who, Card drawnCard) {}
+
+        @Override
+        public void onCardUpdate(Card card) {}
+
+        @Override
+        public void onHeroUpdate(Player who) {}
+    }
+
+    // The factory of a variant, giving the cards and heroes IDs prefixed by the game ID
+    private static class GameIdFactory implements HotstoneFactory {
+        private final HotstoneFactory variant;
+        private final String gameId;
+
+        GameIdFactory(HotstoneFactory variant, String gameId) {
+            this.variant = variant;
+            this.gameId = gameId;
+        }
+
+        @Override
+        public ManaProductionStrategy createManaProductionStrategy() {
+            return variant.createManaProductionStrategy();
+        }
+
+        @Override
+        public WinningStrategy createWinningStrategy() {
+            return variant.createWinningStrategy();
+        }
+
+        @Override
+        public HeroStrategy createHeroStrategy() {
+            return variant.createHeroStrategy();
+        }
+
+        @Override
+        public DeckBuilderStrategy createDeckBuilderStrategy() {
+            return variant.createDeckBuilderStrategy();
+        }
+
+        @Override
+        public IdStrategy createIdStrategy() {
+            return new SequentialIdStrategy(gameId);
+        }
+
+        @Override
+        public RandomContext getRandomContext() {
+            return variant.getRandomContext();
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package hotstone.broker.service;
 
 import hotstone.framework.Card;
-import hotstone.framework.Game;
 import hotstone.framework.Hero;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** An NameService that keeps all servant objects in memory.
+/** An NameService that keeps the servant objects in memory until they
+ * are removed, and may be used by requests on many threads. It counts
+ * the objects removed, so a server can tell its name services are
+ * cleaned as cards leave the games and games end.
  */
 
 public class StandardNameService implements NameService {
-    private final Map<String, Card> cardMap = new HashMap<>();
-    private final Map<String, Hero> heroMap = new HashMap<>();
-    private final Map<String, Game> gameMap = new HashMap<>();
+    private final Map<String, Card> cardMap = new ConcurrentHashMap<>();
+    private final Map<String, Hero> heroMap = new ConcurrentHashMap<>();
+    private final AtomicLong evictionCount = new AtomicLong();
 
     @Override
     public void addCard(String id, Card card) {
@@ -25,6 +28,11 @@ public class StandardNameService implements NameService {
         return cardMap.get(id);
     }
 
+    @Override
+    public void removeCard(String id) {
+        if (cardMap.remove(id) != null) evictionCount.incrementAndGet();
+    }
+
     @Override
     public void addHero(String id, Hero hero) {
         heroMap.put(id, hero);
@@ -35,4 +43,22 @@ public class StandardNameService implements NameService {
         return heroMap.get(id);
     }
 
+    /** Remove all cards and heroes, e.g. when the game has ended */
+    public void clear() {
+        int removed = cardMap.size() + heroMap.size();
+        cardMap.clear();
+        heroMap.clear();
+        evictionCount.addAndGet(removed);
+    }
+
+    /** @return the number of cards and heroes in the name service */
+    public int size() {
+        return cardMap.size() + heroMap.size();
+    }
+
+    /** @return the number of cards and heroes removed since the name
+     * service was created */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
 }
@@ -0,0 +1,20 @@
+package hotstone.framework;
+
+/** The role of a HotStone game played on a server, which is read by
+ * requests to it. The whole board can be read in one request, and the
+ * events of the game may be missed, e.g. when they are polled too late.
+ */
+public interface RemoteGame extends Game {
+  /** Read the state of the whole visible board in one request, so the
+   * game, its cards and its heroes are read without further requests
+   * until the game changes, e.g. before the board is drawn.
+   */
+  void prefetchBoard();
+
+  /** Add a listener told when events of the game are missed, so the
+   * observers must read the state of the game anew.
+   *
+   * @param listener the listener
+   */
+  void addMissedEventsListener(Runnable listener);
+}
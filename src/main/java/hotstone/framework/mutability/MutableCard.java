@@ -32,5 +32,12 @@ public interface MutableCard extends Card {
     void changeAttack(int i);
 
     void applyEffect(MutableGame game);
+
+    /** Create a copy of the card with the same ID and state,
+     * used when a forked game needs its own instance of a card.
+     *
+     * @return an independent copy of the card
+     */
+    MutableCard copy();
 }
 
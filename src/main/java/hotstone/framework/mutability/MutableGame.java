@@ -3,6 +3,7 @@ package hotstone.framework.mutability;
 import hotstone.framework.Game;
 import hotstone.framework.Player;
 import hotstone.framework.Status;
+import hotstone.framework.strategies.RandomStrategy;
 import hotstone.standard.StandardCard;
 
 public interface MutableGame extends Game {
@@ -33,5 +34,55 @@ public interface MutableGame extends Game {
     void changeMinionAttack(MutableCard card, int i);
 
     void addCardToField(Player who, MutableCard card);
+
+    /** Fork the game into an independent game with the same state,
+     * e.g. to try out moves during AI search. Forking must be cheap,
+     * e.g. by sharing state between the two games until one of them
+     * changes it. The fork has no observers.
+     *
+     * Forking leaves the game as it is: the game keeps the instances of
+     * its cards and heroes, e.g. those held by a view of it, and the
+     * fork has its own. Cards and heroes must be retrieved from the fork
+     * itself before they are used in calls to the fork.
+     *
+     * The effects of the fork draw their random choices from the same
+     * strategies as the game, e.g. so a replay restoring the state of the
+     * strategies of a game may continue in a fork of it.
+     *
+     * @return the forked game
+     */
+    MutableGame fork();
+
+    /** Fork the game as fork() does, except that the effects of the fork,
+     * and of the forks of it, draw their random choices from the given
+     * strategy. The strategies of a game are not thread-safe, so a fork
+     * played on another thread, e.g. by a search, must be made this way,
+     * which also leaves the random choices of the game as they are.
+     *
+     * @param randomStrategy the strategy of the random choices of the fork
+     * @return the forked game
+     */
+    MutableGame fork(RandomStrategy randomStrategy);
+
+    /** Get the strategy an effect is to draw its random choices from in
+     * this game: the effect's own strategy, or the strategy of the fork
+     * when the game was forked by fork(RandomStrategy).
+     *
+     * @param effectStrategy the random strategy of the effect
+     * @return the strategy to draw from
+     */
+    RandomStrategy getRandomStrategy(RandomStrategy effectStrategy);
+
+    /** Replace the cards the observer cannot see with a random sample
+     * of the cards they could be, e.g. to search a fork of the game
+     * as if the hidden information was known. The order of both decks
+     * is shuffled, and the opponent's hand is drawn at random from the
+     * opponent's hand and deck. The sizes of hands and decks are kept,
+     * and observers are not notified.
+     *
+     * @param observer the player whose view of the game is kept
+     * @param randomStrategy the source of the random sample
+     */
+    void sampleHiddenCards(Player observer, RandomStrategy randomStrategy);
 }
 
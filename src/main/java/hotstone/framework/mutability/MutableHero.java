@@ -1,5 +1,6 @@
 package hotstone.framework.mutability;
 
+import hotstone.framework.Effect;
 import hotstone.framework.Hero;
 
 /** This interface handles all the mutable areas,
@@ -35,5 +36,18 @@ public interface MutableHero extends Hero {
      * @param game
      */
     void usePower(MutableGame game);
+
+    /** Get the effect of the heroes power
+     *
+     * @return the power of the hero
+     */
+    Effect getEffect();
+
+    /** Create a copy of the hero with the same ID and state,
+     * used when a forked game needs its own instance of a hero.
+     *
+     * @return an independent copy of the hero
+     */
+    MutableHero copy();
 }
 
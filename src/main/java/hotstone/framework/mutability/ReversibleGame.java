@@ -0,0 +1,25 @@
+package hotstone.framework.mutability;
+
+/** This interface handles reverting the changes of a game
+ * in place, e.g. to apply and retract moves during AI search
+ * without copying the game.
+ */
+public interface ReversibleGame extends MutableGame {
+    /** Mark the current state of the game, so the changes made
+     * from now on can be reverted. Changes are only recorded
+     * once the first mark has been taken, and only changes made
+     * through the methods of the game are recorded.
+     *
+     * @return the mark to give to rollback
+     */
+    int mark();
+
+    /** Revert all changes made since the mark was taken, in time
+     * proportional to the number of changes. Marks taken after the
+     * given mark can no longer be used, and observers are not
+     * notified of the reverted changes.
+     *
+     * @param mark a mark returned by mark()
+     */
+    void rollback(int mark);
+}
@@ -21,4 +21,10 @@ public interface HotstoneFactory {
 
     /** Create an instance of the deck builder strategy*/
     DeckBuilderStrategy createDeckBuilderStrategy();
+
+    /** Create an instance of the ID strategy, e.g. IDs counting up within the game*/
+    IdStrategy createIdStrategy();
+
+    /** Get the random context of the game, which all strategies and effects of the variant draw their random choices from*/
+    RandomContext getRandomContext();
 }
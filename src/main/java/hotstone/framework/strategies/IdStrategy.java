@@ -0,0 +1,13 @@
+package hotstone.framework.strategies;
+
+/**
+ * The strategy for giving the cards and heroes of a game their IDs,
+ * which identify them to the broker and the view.
+ */
+public interface IdStrategy {
+    /** Get a new ID, different from all IDs given by the strategy before
+     *
+     * @return the new ID
+     */
+    String nextID();
+}
@@ -0,0 +1,36 @@
+package hotstone.framework.strategies;
+
+/** The random choices of one game, derived from a single game seed.
+ *
+ * The factory of a game holds its context, and hands each effect, hero
+ * strategy and deck builder of the game a random strategy of its own
+ * from it, so games of the same seed make the same choices, and games
+ * played in parallel share no random state.
+ *
+ * The state of the strategies may be saved and restored, e.g. at the
+ * checkpoints of a replay. Strategies are to be taken while the game is
+ * created, as the ones taken later are not part of the saved state.
+ */
+public interface RandomContext {
+    /** @return the seed of the game */
+    long getSeed();
+
+    /** Get a new random strategy, independent of the others of the game
+     *
+     * @return the strategy
+     */
+    RandomStrategy newStrategy();
+
+    /** Get a new seed, e.g. of the shuffle of a deck
+     *
+     * @return the seed
+     */
+    long nextSeed();
+
+    /** @return the state of the strategies of the context, in the order they were taken */
+    long[] getState();
+
+    /** Continue the strategies from a state of getState(). Strategies
+     * taken after the state was saved are left as they are. */
+    void setState(long[] state);
+}
@@ -2,4 +2,10 @@ package hotstone.framework.strategies;
 
 public interface RandomStrategy {
     int nextInt(int bound);
+
+    /** Get a random long, e.g. as the seed of a shuffle, by default
+     * made from two ints of the strategy */
+    default long nextLong() {
+        return (long) nextInt(Integer.MAX_VALUE) << 32 | nextInt(Integer.MAX_VALUE);
+    }
 }
@@ -0,0 +1,11 @@
+package hotstone.framework.strategies;
+
+/** The kinds of change of the game state that a winning strategy
+ * may depend on, so a game only needs to evaluate the strategy
+ * after changes of those kinds.
+ */
+public enum StateChange {
+    TURN,
+    HERO_HEALTH,
+    FIELD
+}
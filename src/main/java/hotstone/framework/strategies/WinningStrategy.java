@@ -10,4 +10,14 @@ public interface WinningStrategy {
      * @return The winner or null if there is no winner yet
      */
     Player getWinner(Game game);
+
+    /**
+     * Decides if a change of the given kind may make a winner, so the
+     * game can skip evaluating the strategy after other changes.
+     * @param change, the kind of change made to the game
+     * @return true if the winner may be decided by the change
+     */
+    default boolean isDecidedBy(StateChange change) {
+        return true;
+    }
 }
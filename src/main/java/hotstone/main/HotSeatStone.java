@@ -19,6 +19,8 @@ package hotstone.main;
 
 import hotstone.framework.Game;
 import hotstone.framework.Player;
+import hotstone.simulation.AgentPlayer;
+import hotstone.simulation.MctsAgent;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.variants.semistone.SemiStoneFactory;
 import hotstone.view.core.HotStoneDrawingType;
@@ -27,8 +29,11 @@ import hotstone.view.tool.HotSeatStateTool;
 import minidraw.framework.DrawingEditor;
 import minidraw.standard.MiniDrawApplication;
 
+import javax.swing.SwingUtilities;
+
 /** A single jvm application which uses a 'hotseat' to allow both players to
- * alternate play.
+ * alternate play. Given 'mcts' as second argument, Peddersen is played by
+ * an MCTS agent instead.
  */
 public class HotSeatStone {
   public static void main(String[] args) {
@@ -36,11 +41,12 @@ public class HotSeatStone {
     // Check if args[0] is provided
     if (args.length == 0) {
       System.out.println("Please provide a game variant as an argument.");
-      System.out.println("Usage: java HotSeatStone <variant>");
+      System.out.println("Usage: java HotSeatStone <variant> [mcts]");
       System.exit(1);
     }
 
     String variant = args[0];
+    boolean isPlayingMcts = args.length > 1 && args[1].equalsIgnoreCase("mcts");
     System.out.println("=== Starting HotSeat on game variant: " + variant + " ===");
 
     Game game;
@@ -57,6 +63,11 @@ public class HotSeatStone {
         return;
     }
 
+    if (isPlayingMcts) {
+      MctsAgent agent = new MctsAgent(Runtime.getRuntime().availableProcessors(), 0, 1000);
+      game.addObserver(new AgentPlayer(game, Player.PEDDERSEN, agent, SwingUtilities::invokeLater));
+    }
+
     DrawingEditor editor =
             new MiniDrawApplication( "HotSeat: Variant " + variant,
                     new HotStoneFactory(game, Player.FINDUS,
@@ -0,0 +1,66 @@
+package hotstone.main;
+
+import hotstone.framework.Game;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.simulation.MatchSimulator;
+import hotstone.simulation.RandomAgent;
+import hotstone.simulation.SimulationResult;
+import hotstone.standard.CompactHotStoneGame;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SeededRandomStrategy;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.VariantFactories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/** Headless simulation of HotStone matches between random agents,
+ * reporting throughput and win rates per variant.
+ *
+ * Usage: java SimulateStone [games] [threads] [--compact] [--seed=N] [variant ...]
+ * Without variants given, all known variants are simulated. With
+ * --compact the games are played by the CompactHotStoneGame engine.
+ * Every game and agent draws from a seed of the given seed, or of a
+ * random one, which is printed so the simulation can be repeated.
+ */
+public class SimulateStone {
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+            : Runtime.getRuntime().availableProcessors();
+    boolean isCompact = false;
+    long seed = ThreadLocalRandom.current().nextLong();
+    List<String> variants = new ArrayList<>();
+    for (int i = 2; i < args.length; i++) {
+      if (args[i].equals("--compact")) {
+        isCompact = true;
+      } else if (args[i].startsWith("--seed=")) {
+        seed = Long.parseLong(args[i].substring("--seed=".length()));
+      } else {
+        variants.add(args[i]);
+      }
+    }
+    if (variants.isEmpty()) {
+      variants = VariantFactories.getVariantNames();
+    }
+
+    System.out.println("=== Simulating " + games + " games per variant on "
+            + threads + " threads" + (isCompact ? " with the compact engine" : "")
+            + ", seed " + seed + " ===");
+
+    MatchSimulator simulator = new MatchSimulator(threads, MatchSimulator.DEFAULT_MAX_TURNS);
+    for (String variant : variants) {
+      Function<RandomContext, HotstoneFactory> factoryCreator = VariantFactories.getFactoryCreator(variant);
+      LongFunction<Game> gameCreator = isCompact
+              ? gameSeed -> new CompactHotStoneGame(factoryCreator.apply(new SeededRandomContext(gameSeed)))
+              : gameSeed -> new StandardHotStoneGame(factoryCreator.apply(new SeededRandomContext(gameSeed)));
+      SimulationResult result = simulator.simulateGames(variant, gameCreator,
+              agentSeed -> new RandomAgent(new SeededRandomStrategy(agentSeed)), games, seed);
+      System.out.println(result);
+    }
+  }
+}
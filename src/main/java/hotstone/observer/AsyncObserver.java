@@ -0,0 +1,177 @@
+package hotstone.observer;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A decorator of an observer that notifies it asynchronously: events
+ * are queued, without ever blocking the game, and given to the observer
+ * in order by a task of an executor, one task at a time.
+ *
+ * Added to a game using ObserverHandler, the observer is given the
+ * events of each action of the game once the action is done, coalesced
+ * so it is not notified of updates that are outdated by the end of the
+ * action. Added to any other game, it is given each event queued on its
+ * own.
+ *
+ * The observer is notified after the game has moved on, so it is to
+ * take the state it shows from the events, or read the game under the
+ * same lock as the game is played under, e.g. by a GameExecutor.
+ */
+public class AsyncObserver implements GameObserver {
+    private final GameObserver observer;
+    private final Executor executor;
+    private final Queue<ObserverEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final Object deliveryLock = new Object();
+
+    /** Create an observer notified by a thread of a pool shared by the
+     * asynchronous observers */
+    public AsyncObserver(GameObserver observer) {
+        this(observer, SharedPool.EXECUTOR);
+    }
+
+    public AsyncObserver(GameObserver observer, Executor executor) {
+        this.observer = observer;
+        this.executor = executor;
+    }
+
+    public GameObserver getObserver() {
+        return observer;
+    }
+
+    /** Wait until the observer has been given all events queued so far
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if all events were given, false if the time ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDelivery(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = queuedCount.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (deliveryLock) {
+            while (deliveredCount.get() < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(deliveryLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    /** @return the number of events given to the observer */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    // Queue the events of an action, in order
+    void enqueue(List<ObserverEvent> events) {
+        queue.addAll(events);
+        queuedCount.addAndGet(events.size());
+        schedule();
+    }
+
+    private void enqueue(ObserverEvent event) {
+        queue.add(event);
+        queuedCount.incrementAndGet();
+        schedule();
+    }
+
+    // Start a task to drain the queue, unless one is already running
+    private void schedule() {
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        ObserverEvent event;
+        while ((event = queue.poll()) != null) {
+            try {
+                event.deliverTo(observer);
+            } catch (RuntimeException e) {
+                // A failing observer misses the event, but not the later ones
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+            deliveredCount.incrementAndGet();
+        }
+        isScheduled.set(false);
+        synchronized (deliveryLock) {
+            deliveryLock.notifyAll();
+        }
+        // Events queued after the last poll, but before the task was done
+        if (!queue.isEmpty()) schedule();
+    }
+
+    @Override
+    public void onPlayCard(Player who, Card card, int atIndex) {
+        enqueue(new ObserverEvent(ObserverEvent.PLAY_CARD, who, card, null, atIndex));
+    }
+
+    @Override
+    public void onChangeTurnTo(Player playerBecomingActive) {
+        enqueue(new ObserverEvent(ObserverEvent.CHANGE_TURN_TO, playerBecomingActive, null, null, 0));
+    }
+
+    @Override
+    public void onAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+        enqueue(new ObserverEvent(ObserverEvent.ATTACK_CARD, playerAttacking, attackingCard, defendingCard, 0));
+    }
+
+    @Override
+    public void onAttackHero(Player playerAttacking, Card attackingCard) {
+        enqueue(new ObserverEvent(ObserverEvent.ATTACK_HERO, playerAttacking, attackingCard, null, 0));
+    }
+
+    @Override
+    public void onUsePower(Player who) {
+        enqueue(new ObserverEvent(ObserverEvent.USE_POWER, who, null, null, 0));
+    }
+
+    @Override
+    public void onCardDraw(Player who, Card drawnCard) {
+        enqueue(new ObserverEvent(ObserverEvent.CARD_DRAW, who, drawnCard, null, 0));
+    }
+
+    @Override
+    public void onCardUpdate(Card card) {
+        enqueue(new ObserverEvent(ObserverEvent.CARD_UPDATE, null, card, null, 0));
+    }
+
+    @Override
+    public void onCardRemove(Player who, Card card) {
+        enqueue(new ObserverEvent(ObserverEvent.CARD_REMOVE, who, card, null, 0));
+    }
+
+    @Override
+    public void onHeroUpdate(Player who) {
+        enqueue(new ObserverEvent(ObserverEvent.HERO_UPDATE, who, null, null, 0));
+    }
+
+    @Override
+    public void onGameWon(Player playerWinning) {
+        enqueue(new ObserverEvent(ObserverEvent.GAME_WON, playerWinning, null, null, 0));
+    }
+
+    // The pool of daemon threads of observers without an executor of their own
+    private static class SharedPool {
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "async-observer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
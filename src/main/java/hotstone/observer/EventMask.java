@@ -0,0 +1,30 @@
+package hotstone.observer;
+
+/** The events of a GameObserver, as bits of an interest mask. An
+ * observer added with a mask, e.g.
+ *
+ *   game.addObserver(statistics, EventMask.ATTACK_HERO | EventMask.GAME_WON);
+ *
+ * is only notified of the events of the mask, and a game using
+ * ObserverHandler does not spend time calling it about any other.
+ */
+public final class EventMask {
+    public static final int PLAY_CARD = 1 << ObserverEvent.PLAY_CARD;
+    public static final int CHANGE_TURN_TO = 1 << ObserverEvent.CHANGE_TURN_TO;
+    public static final int ATTACK_CARD = 1 << ObserverEvent.ATTACK_CARD;
+    public static final int ATTACK_HERO = 1 << ObserverEvent.ATTACK_HERO;
+    public static final int USE_POWER = 1 << ObserverEvent.USE_POWER;
+    public static final int CARD_DRAW = 1 << ObserverEvent.CARD_DRAW;
+    public static final int CARD_UPDATE = 1 << ObserverEvent.CARD_UPDATE;
+    public static final int CARD_REMOVE = 1 << ObserverEvent.CARD_REMOVE;
+    public static final int HERO_UPDATE = 1 << ObserverEvent.HERO_UPDATE;
+    public static final int GAME_WON = 1 << ObserverEvent.GAME_WON;
+
+    /** The actions of the players */
+    public static final int ACTIONS = PLAY_CARD | CHANGE_TURN_TO | ATTACK_CARD | ATTACK_HERO | USE_POWER;
+    /** The changes of the state of the game that follow from the actions */
+    public static final int UPDATES = CARD_DRAW | CARD_UPDATE | CARD_REMOVE | HERO_UPDATE | GAME_WON;
+    public static final int ALL = ACTIONS | UPDATES;
+
+    private EventMask() {}
+}
@@ -28,4 +28,15 @@ public interface Observable {
      * @param observer the observer to add
      */
     void addObserver(GameObserver observer);
+
+    /** Add an observer to a game, to be notified only of some events.
+     * A game that does not filter the events notifies the observer of
+     * all of them.
+     *
+     * @param observer the observer to add
+     * @param interests the events of the observer, as bits of EventMask
+     */
+    default void addObserver(GameObserver observer, int interests) {
+        addObserver(observer);
+    }
 }
@@ -0,0 +1,102 @@
+package hotstone.observer;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** A notification of a GameObserver, kept to be given later, e.g. to
+ * an AsyncObserver once the action of the game is done.
+ */
+final class ObserverEvent {
+    static final int PLAY_CARD = 0, CHANGE_TURN_TO = 1, ATTACK_CARD = 2, ATTACK_HERO = 3,
+            USE_POWER = 4, CARD_DRAW = 5, CARD_UPDATE = 6, CARD_REMOVE = 7,
+            HERO_UPDATE = 8, GAME_WON = 9;
+    static final int KIND_COUNT = 10;
+
+    private final int kind;
+    private final Player player;
+    private final Card card;
+    private final Card otherCard;
+    private final int index;
+
+    ObserverEvent(int kind, Player player, Card card, Card otherCard, int index) {
+        this.kind = kind;
+        this.player = player;
+        this.card = card;
+        this.otherCard = otherCard;
+        this.index = index;
+    }
+
+    void deliverTo(GameObserver observer) {
+        switch (kind) {
+            case PLAY_CARD -> observer.onPlayCard(player, card, index);
+            case CHANGE_TURN_TO -> observer.onChangeTurnTo(player);
+            case ATTACK_CARD -> observer.onAttackCard(player, card, otherCard);
+            case ATTACK_HERO -> observer.onAttackHero(player, card);
+            case USE_POWER -> observer.onUsePower(player);
+            case CARD_DRAW -> observer.onCardDraw(player, card);
+            case CARD_UPDATE -> observer.onCardUpdate(card);
+            case CARD_REMOVE -> observer.onCardRemove(player, card);
+            case HERO_UPDATE -> observer.onHeroUpdate(player);
+            case GAME_WON -> observer.onGameWon(player);
+            default -> throw new IllegalStateException("Unknown event " + kind);
+        }
+    }
+
+    /** Leave out the events of an action made redundant by later events
+     * of it: updates of a card or hero followed by another update of it,
+     * and updates of a card followed by its removal. The events kept are
+     * in the order they happened.
+     *
+     * @param events the events of an action, in the order they happened
+     * @return the events kept
+     */
+    static List<ObserverEvent> coalesce(List<ObserverEvent> events) {
+        if (events.size() == 1) return events;
+        Set<Object> laterCards = new HashSet<>();
+        Set<Player> laterHeroes = EnumSet.noneOf(Player.class);
+        List<ObserverEvent> kept = new ArrayList<>(events.size());
+        for (int i = events.size() - 1; i >= 0; i--) {
+            ObserverEvent event = events.get(i);
+            boolean isRedundant = switch (event.kind) {
+                case CARD_UPDATE -> !laterCards.add(keyOf(event.card));
+                case CARD_REMOVE -> {
+                    laterCards.add(keyOf(event.card));
+                    yield false;
+                }
+                case HERO_UPDATE -> !laterHeroes.add(event.player);
+                default -> false;
+            };
+            if (!isRedundant) kept.add(event);
+        }
+        Collections.reverse(kept);
+        return kept;
+    }
+
+    /** Keep the events of a mask of EventMask
+     *
+     * @param events the events, in the order they happened
+     * @param interests the mask of the events to keep
+     * @return the events kept, in the order they happened
+     */
+    static List<ObserverEvent> filter(List<ObserverEvent> events, int interests) {
+        List<ObserverEvent> kept = new ArrayList<>(events.size());
+        for (ObserverEvent event : events) {
+            if ((interests & (1 << event.kind)) != 0) kept.add(event);
+        }
+        return kept;
+    }
+
+    // Cards are the same card if they have the same ID, as a game may
+    // notify about copies of a card
+    private static Object keyOf(Card card) {
+        String id = card.getID();
+        return id != null ? id : card;
+    }
+}
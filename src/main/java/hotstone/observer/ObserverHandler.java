@@ -21,6 +21,7 @@ import hotstone.framework.Card;
 import hotstone.framework.Player;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** A default implementation of the Subject role of a GameObserver. It
@@ -30,64 +31,167 @@ import java.util.List;
  * methods, you simply use the 2nd principle 'Favor object composition'
  * and declare an instance of this role and let it handle all the
  * observer notifications.
+ *
+ * Observers are notified synchronously, in the mutator. An observer
+ * may be added with an interest mask of EventMask, and is then only
+ * notified of those events. The observers of each event are kept in an
+ * array of their own, copied when an observer is added, so notifying
+ * them allocates nothing and costs nothing for observers not interested
+ * in the event. An observer added while the observers are notified is
+ * notified from the next event on.
+ *
+ * An observer wrapped in an AsyncObserver is instead given the events
+ * of each top-level action of the game once the action is done, on a
+ * thread of its own, so a slow observer does not hold up the game. The
+ * game marks its actions by beginAction() and endAction(), which may be
+ * nested, e.g. when an effect of a card calls mutators; events outside
+ * any action are given as they happen. The events of an action are
+ * coalesced first: of the updates of a card or a hero only the last one
+ * is kept, and updates of a card removed in the action are left out.
+ * Events no asynchronous observer is interested in are not kept at all.
  */
 
 public class ObserverHandler {
-    private List<GameObserver> observerList = new ArrayList<>();
+    private static final GameObserver[] NO_OBSERVERS = new GameObserver[0];
+
+    // The synchronous observers of each event, indexed by its kind
+    private final GameObserver[][] listeners = new GameObserver[ObserverEvent.KIND_COUNT][];
+    private AsyncObserver[] asyncObservers = new AsyncObserver[0];
+    private int[] asyncInterests = new int[0];
+    // The events any asynchronous observer is interested in
+    private int queuedEvents = 0;
+    // The events of the current action, for the asynchronous observers
+    private List<ObserverEvent> pending = new ArrayList<>();
+    private int actionDepth = 0;
+
+    public ObserverHandler() {
+        Arrays.fill(listeners, NO_OBSERVERS);
+    }
 
+    /** Add an observer to be notified of all events */
     public void addObserver(GameObserver observer) {
-        observerList.add(observer);
+        addObserver(observer, EventMask.ALL);
+    }
+
+    /** Add an observer to be notified of some events only
+     *
+     * @param observer the observer to add
+     * @param interests the events of the observer, as bits of EventMask
+     */
+    public void addObserver(GameObserver observer, int interests) {
+        if (observer instanceof AsyncObserver async) {
+            int count = asyncObservers.length;
+            asyncObservers = Arrays.copyOf(asyncObservers, count + 1);
+            asyncObservers[count] = async;
+            asyncInterests = Arrays.copyOf(asyncInterests, count + 1);
+            asyncInterests[count] = interests;
+            queuedEvents |= interests;
+        } else {
+            for (int kind = 0; kind < listeners.length; kind++) {
+                if ((interests & (1 << kind)) == 0) continue;
+                GameObserver[] observers = Arrays.copyOf(listeners[kind], listeners[kind].length + 1);
+                observers[observers.length - 1] = observer;
+                listeners[kind] = observers;
+            }
+        }
+    }
+
+    /** Mark the start of an action of the game, whose events are given
+     * to the asynchronous observers when the outermost action ends */
+    public void beginAction() {
+        actionDepth++;
+    }
+
+    /** Mark the end of an action of the game, begun by beginAction() */
+    public void endAction() {
+        if (--actionDepth == 0 && !pending.isEmpty()) {
+            dispatchPending();
+        }
     }
 
     public void notifyPlayCard(Player who, Card card, int atIndex) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onPlayCard(who, card, atIndex) );
+        for (GameObserver observer : listeners[ObserverEvent.PLAY_CARD]) {
+            observer.onPlayCard(who, card, atIndex);
+        }
+        queue(ObserverEvent.PLAY_CARD, who, card, null, atIndex);
     }
 
     public void notifyChangeTurnTo(Player playerBecomingActive) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onChangeTurnTo(playerBecomingActive) );
+        for (GameObserver observer : listeners[ObserverEvent.CHANGE_TURN_TO]) {
+            observer.onChangeTurnTo(playerBecomingActive);
+        }
+        queue(ObserverEvent.CHANGE_TURN_TO, playerBecomingActive, null, null, 0);
     }
 
     public void notifyAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onAttackCard(playerAttacking,
-                        attackingCard, defendingCard) );
+        for (GameObserver observer : listeners[ObserverEvent.ATTACK_CARD]) {
+            observer.onAttackCard(playerAttacking, attackingCard, defendingCard);
+        }
+        queue(ObserverEvent.ATTACK_CARD, playerAttacking, attackingCard, defendingCard, 0);
     }
 
     public void notifyCardUpdate(Card card) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onCardUpdate(card));
+        for (GameObserver observer : listeners[ObserverEvent.CARD_UPDATE]) {
+            observer.onCardUpdate(card);
+        }
+        queue(ObserverEvent.CARD_UPDATE, null, card, null, 0);
     }
 
     public void notifyCardRemove(Player who, Card card) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onCardRemove(who, card));
+        for (GameObserver observer : listeners[ObserverEvent.CARD_REMOVE]) {
+            observer.onCardRemove(who, card);
+        }
+        queue(ObserverEvent.CARD_REMOVE, who, card, null, 0);
     }
 
     public void notifyAttackHero(Player playerAttacking, Card attackingCard) {
-        observerList
-                .forEach( gameObserver
-                        -> gameObserver.onAttackHero(playerAttacking,attackingCard ));
+        for (GameObserver observer : listeners[ObserverEvent.ATTACK_HERO]) {
+            observer.onAttackHero(playerAttacking, attackingCard);
+        }
+        queue(ObserverEvent.ATTACK_HERO, playerAttacking, attackingCard, null, 0);
     }
 
     public void notifyHeroUpdate(Player who) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onHeroUpdate(who));
+        for (GameObserver observer : listeners[ObserverEvent.HERO_UPDATE]) {
+            observer.onHeroUpdate(who);
+        }
+        queue(ObserverEvent.HERO_UPDATE, who, null, null, 0);
     }
 
     public void notifyUsePower(Player who) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onUsePower(who));
+        for (GameObserver observer : listeners[ObserverEvent.USE_POWER]) {
+            observer.onUsePower(who);
+        }
+        queue(ObserverEvent.USE_POWER, who, null, null, 0);
     }
 
     public void notifyGameWon(Player playerWinning) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onGameWon(playerWinning));
+        for (GameObserver observer : listeners[ObserverEvent.GAME_WON]) {
+            observer.onGameWon(playerWinning);
+        }
+        queue(ObserverEvent.GAME_WON, playerWinning, null, null, 0);
     }
 
     public void notifyCardDraw(Player who, Card drawnCard) {
-        observerList
-                .forEach( gameObserver -> gameObserver.onCardDraw(who, drawnCard));
+        for (GameObserver observer : listeners[ObserverEvent.CARD_DRAW]) {
+            observer.onCardDraw(who, drawnCard);
+        }
+        queue(ObserverEvent.CARD_DRAW, who, drawnCard, null, 0);
+    }
+
+    // Keep the event for the asynchronous observers, if any is interested in it
+    private void queue(int kind, Player player, Card card, Card otherCard, int index) {
+        if ((queuedEvents & (1 << kind)) == 0) return;
+        pending.add(new ObserverEvent(kind, player, card, otherCard, index));
+        if (actionDepth == 0) dispatchPending();
+    }
+
+    private void dispatchPending() {
+        List<ObserverEvent> events = ObserverEvent.coalesce(pending);
+        pending = new ArrayList<>();
+        for (int i = 0; i < asyncObservers.length; i++) {
+            int interests = asyncInterests[i];
+            asyncObservers[i].enqueue(interests == EventMask.ALL ? events : ObserverEvent.filter(events, interests));
+        }
     }
 }
@@ -0,0 +1,110 @@
+package hotstone.replay;
+
+import hotstone.framework.Status;
+import hotstone.simulation.Move;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/** The log of a game to replay it: the seed of its random choices, and
+ * the actions of the players in order, as encoded by Move, each with
+ * the status it resulted in.
+ *
+ * Moves refer to cards by their positions in the hand and field rather
+ * than by their IDs, as the IDs of a replayed game are not the ones of
+ * the game played.
+ *
+ * A log is written as the seed, the number of actions, and each action
+ * as its move and the ordinal of its status:
+ * long seed, int count, count * (int move, byte status)
+ */
+public class ActionLog {
+    private static final Status[] STATUSES = Status.values();
+
+    private final long seed;
+    private int[] moves = new int[64];
+    private byte[] statuses = new byte[64];
+    private int size = 0;
+    private int turnCount = 0;
+
+    public ActionLog(long seed) {
+        this.seed = seed;
+    }
+
+    /** Add an action to the log
+     *
+     * @param move the action of the player in turn, as encoded by Move
+     * @param status the status the action resulted in
+     */
+    public void record(int move, Status status) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+            statuses = Arrays.copyOf(statuses, size * 2);
+        }
+        moves[size] = move;
+        statuses[size] = (byte) status.ordinal();
+        size++;
+        if (Move.kind(move) == Move.END_TURN) turnCount++;
+    }
+
+    /** @return the seed of the random context of the game */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** @return the number of actions */
+    public int size() {
+        return size;
+    }
+
+    /** @return the number of turns ended, which is the turn number of the game after the last action */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getMove(int index) {
+        checkIndex(index);
+        return moves[index];
+    }
+
+    public Status getStatus(int index) {
+        checkIndex(index);
+        return STATUSES[statuses[index]];
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeLong(seed);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            data.writeInt(moves[i]);
+            data.writeByte(statuses[i]);
+        }
+        data.flush();
+    }
+
+    public static ActionLog read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        ActionLog log = new ActionLog(data.readLong());
+        int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            int move = data.readInt();
+            int status = data.readUnsignedByte();
+            if (status >= STATUSES.length) {
+                throw new IOException("Unknown status " + status + " of action " + i);
+            }
+            log.record(move, STATUSES[status]);
+        }
+        return log;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for log of " + size);
+        }
+    }
+}
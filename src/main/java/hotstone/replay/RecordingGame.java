@@ -0,0 +1,153 @@
+package hotstone.replay;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.observer.GameObserver;
+import hotstone.simulation.Move;
+
+/** A decorator of a game recording the actions of the players in an
+ * ActionLog, so the game can be replayed by a ReplayEngine. The game
+ * must draw its random choices from a RandomContext of the seed of the
+ * log, given to its factory.
+ *
+ * Actions by the player not in turn, or with cards that are not in the
+ * hand or field, leave the game as it is and are not recorded.
+ */
+public class RecordingGame implements Game {
+    private final Game wrappedGame;
+    private final ActionLog log;
+
+    public RecordingGame(Game game, ActionLog log) {
+        this.wrappedGame = game;
+        this.log = log;
+    }
+
+    public ActionLog getLog() {
+        return log;
+    }
+
+    @Override
+    public Player getPlayerInTurn() {
+        return wrappedGame.getPlayerInTurn();
+    }
+
+    @Override
+    public Hero getHero(Player who) {
+        return wrappedGame.getHero(who);
+    }
+
+    @Override
+    public Player getWinner() {
+        return wrappedGame.getWinner();
+    }
+
+    @Override
+    public int getTurnNumber() {
+        return wrappedGame.getTurnNumber();
+    }
+
+    @Override
+    public int getDeckSize(Player who) {
+        return wrappedGame.getDeckSize(who);
+    }
+
+    @Override
+    public Card getCardInHand(Player who, int indexInHand) {
+        return wrappedGame.getCardInHand(who, indexInHand);
+    }
+
+    @Override
+    public Iterable<? extends Card> getHand(Player who) {
+        return wrappedGame.getHand(who);
+    }
+
+    @Override
+    public int getHandSize(Player who) {
+        return wrappedGame.getHandSize(who);
+    }
+
+    @Override
+    public Card getCardInField(Player who, int indexInField) {
+        return wrappedGame.getCardInField(who, indexInField);
+    }
+
+    @Override
+    public Iterable<? extends Card> getField(Player who) {
+        return wrappedGame.getField(who);
+    }
+
+    @Override
+    public int getFieldSize(Player who) {
+        return wrappedGame.getFieldSize(who);
+    }
+
+    @Override
+    public void endTurn() {
+        wrappedGame.endTurn();
+        log.record(Move.endTurn(), Status.OK);
+    }
+
+    @Override
+    public Status playCard(Player who, Card card, int atIndex) {
+        int indexInHand = isInTurn(who) ? indexOf(wrappedGame.getHand(who), card) : -1;
+        Status status = wrappedGame.playCard(who, card, atIndex);
+        if (indexInHand >= 0 && atIndex >= 0) log.record(Move.playCard(indexInHand, atIndex), status);
+        return status;
+    }
+
+    @Override
+    public Status attackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+        int attackerIndex = isInTurn(playerAttacking) ? indexOf(wrappedGame.getField(playerAttacking), attackingCard) : -1;
+        int defenderIndex = indexOf(wrappedGame.getField(Player.computeOpponent(playerAttacking)), defendingCard);
+        Status status = wrappedGame.attackCard(playerAttacking, attackingCard, defendingCard);
+        if (attackerIndex >= 0 && defenderIndex >= 0) log.record(Move.attackCard(attackerIndex, defenderIndex), status);
+        return status;
+    }
+
+    @Override
+    public Status attackHero(Player playerAttacking, Card attackingCard) {
+        int attackerIndex = isInTurn(playerAttacking) ? indexOf(wrappedGame.getField(playerAttacking), attackingCard) : -1;
+        Status status = wrappedGame.attackHero(playerAttacking, attackingCard);
+        if (attackerIndex >= 0) log.record(Move.attackHero(attackerIndex), status);
+        return status;
+    }
+
+    @Override
+    public Status usePower(Player who) {
+        boolean isRecorded = isInTurn(who);
+        Status status = wrappedGame.usePower(who);
+        if (isRecorded) log.record(Move.usePower(), status);
+        return status;
+    }
+
+    @Override
+    public void addObserver(GameObserver observer) {
+        wrappedGame.addObserver(observer);
+    }
+
+    @Override
+    public void addObserver(GameObserver observer, int interests) {
+        wrappedGame.addObserver(observer, interests);
+    }
+
+    private boolean isInTurn(Player who) {
+        return who == wrappedGame.getPlayerInTurn();
+    }
+
+    // The position of the card in the hand or field, matching on ID if
+    // the card is not the instance of the game, e.g. a proxy
+    private static int indexOf(Iterable<? extends Card> cards, Card card) {
+        if (card == null) return -1;
+        int index = 0;
+        for (Card candidate : cards) {
+            if (candidate == card || (card.getID() != null && card.getID().equals(candidate.getID()))) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,127 @@
+package hotstone.replay;
+
+import hotstone.framework.Status;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.simulation.Move;
+import hotstone.simulation.MoveGenerator;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.StandardHotStoneGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/** Reconstructs a game from the seed and actions of an ActionLog, by
+ * running the actions through a StandardHotStoneGame, without observers
+ * or user interface.
+ *
+ * The factory of the game is given the RandomContext of the seed, from
+ * which all random choices of the game must be drawn, e.g. by
+ * EtaStoneFactory::new, or AlphaStoneFactory::new for a
+ * variant without random choices.
+ *
+ * While replaying, the engine keeps a checkpoint at every checkpoint
+ * interval of turns: a fork of the game, and the state of the random
+ * context. A game at a turn is replayed from the closest checkpoint
+ * before it, so jumping to any turn only replays the actions of a few
+ * turns once the log has been replayed.
+ *
+ * The status of each action is checked against the log, and a replay
+ * giving another status has diverged from the game played, e.g. as its
+ * random choices were not all drawn from the strategy of the seed.
+ *
+ * The games replayed share the random context of the engine, so a game
+ * returned may be played on, but only until the engine replays again.
+ */
+public class ReplayEngine {
+    /** Default number of turns between checkpoints. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
+
+    private final ActionLog log;
+    private final int checkpointInterval;
+    private final RandomContext randomContext;
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    // The checkpoint at index i is at the start of turn i * checkpointInterval
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+
+    public ReplayEngine(Function<RandomContext, HotstoneFactory> factoryCreator, ActionLog log) {
+        this(factoryCreator, log, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public ReplayEngine(Function<RandomContext, HotstoneFactory> factoryCreator, ActionLog log,
+                        int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointInterval);
+        }
+        this.log = log;
+        this.checkpointInterval = checkpointInterval;
+        HotstoneFactory factory = factoryCreator.apply(new SeededRandomContext(log.getSeed()));
+        this.randomContext = factory.getRandomContext();
+
+        MutableGame game = new StandardHotStoneGame(factory);
+        checkpoints.add(new Checkpoint(game.fork(), randomContext.getState(), 0));
+    }
+
+    /** Replay the game to the start of a turn, i.e. after the actions
+     * ending the turns before it
+     *
+     * @param turn the turn number, at most the number of turns of the log
+     * @return a game at the start of the turn
+     * @throws IllegalArgumentException if the log has fewer turns
+     * @throws IllegalStateException if the replay diverges from the log
+     */
+    public MutableGame replayTo(int turn) {
+        if (turn < 0 || turn > log.getTurnCount()) {
+            throw new IllegalArgumentException("Turn " + turn + " is not within the "
+                    + log.getTurnCount() + " turns of the log");
+        }
+        int closest = Math.min(turn / checkpointInterval, checkpoints.size() - 1);
+        return replay(checkpoints.get(closest), turn, log.size());
+    }
+
+    /** Replay all actions of the log
+     *
+     * @return the game after the last action
+     * @throws IllegalStateException if the replay diverges from the log
+     */
+    public MutableGame replayAll() {
+        return replay(checkpoints.get(checkpoints.size() - 1), Integer.MAX_VALUE, log.size());
+    }
+
+    /** @return the number of checkpoints kept, including the one of the first turn */
+    public int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    // Replay from the checkpoint until the start of the turn or the end
+    // of the actions, keeping the checkpoints passed for the first time
+    private MutableGame replay(Checkpoint from, int turn, int end) {
+        randomContext.setState(from.randomState());
+        MutableGame game = from.game().fork();
+        int position = from.position();
+        while (position < end && game.getTurnNumber() < turn) {
+            int move = log.getMove(position);
+            Status status = moveGenerator.execute(game, move);
+            if (status != log.getStatus(position)) {
+                throw new IllegalStateException("Replay diverged at action " + position + ", "
+                        + Move.toString(move) + " in turn " + game.getTurnNumber()
+                        + ": " + status + " where the log has " + log.getStatus(position));
+            }
+            position++;
+
+            int turnNumber = game.getTurnNumber();
+            if (Move.kind(move) == Move.END_TURN && turnNumber == checkpoints.size() * checkpointInterval) {
+                checkpoints.add(new Checkpoint(game.fork(), randomContext.getState(), position));
+            }
+        }
+        return game;
+    }
+
+    // A game at the start of a turn, kept unchanged as only forks of it
+    // are played, with the state of the random context and the position
+    // of the next action in the log
+    private record Checkpoint(MutableGame game, long[] randomState, int position) {
+    }
+}
@@ -0,0 +1,17 @@
+package hotstone.simulation;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+
+/** An agent plays the turns of one player in a headless game,
+ * e.g. during simulation of many matches.
+ */
+public interface Agent {
+    /** Make all the actions for the player in turn. The caller
+     * ends the turn once the agent returns.
+     *
+     * @param game the game being played
+     * @param who the player in turn that the agent plays for
+     */
+    void playTurn(Game game, Player who);
+}
@@ -0,0 +1,78 @@
+package hotstone.simulation;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.observer.GameObserver;
+
+import java.util.concurrent.Executor;
+
+/** Lets an agent play one of the players of a game with a user
+ * interface, e.g. an MCTS agent as opponent in HotSeatStone. When
+ * the turn changes to the agent's player, the agent plays the turn
+ * and ends it.
+ *
+ * The turn is played on the given executor, e.g. the event thread
+ * of the user interface, as the game cannot be changed while it is
+ * notifying its observers of the change of turn.
+ */
+public class AgentPlayer implements GameObserver {
+    private final Game game;
+    private final Player who;
+    private final Agent agent;
+    private final Executor executor;
+
+    public AgentPlayer(Game game, Player who, Agent agent, Executor executor) {
+        this.game = game;
+        this.who = who;
+        this.agent = agent;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onChangeTurnTo(Player playerBecomingActive) {
+        if (playerBecomingActive != who) return;
+        executor.execute(() -> {
+            agent.playTurn(game, who);
+            if (game.getWinner() == null) {
+                game.endTurn();
+            }
+        });
+    }
+
+    @Override
+    public void onPlayCard(Player who, Card card, int atIndex) {
+    }
+
+    @Override
+    public void onAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+    }
+
+    @Override
+    public void onAttackHero(Player playerAttacking, Card attackingCard) {
+    }
+
+    @Override
+    public void onUsePower(Player who) {
+    }
+
+    @Override
+    public void onCardDraw(Player who, Card drawnCard) {
+    }
+
+    @Override
+    public void onCardUpdate(Card card) {
+    }
+
+    @Override
+    public void onCardRemove(Player who, Card card) {
+    }
+
+    @Override
+    public void onHeroUpdate(Player who) {
+    }
+
+    @Override
+    public void onGameWon(Player playerWinning) {
+    }
+}
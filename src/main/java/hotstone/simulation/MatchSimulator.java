@@ -0,0 +1,167 @@
+package hotstone.simulation;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.StandardHotStoneGame;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/** Plays complete HotStone matches without any user interface.
+ *
+ * Matches are independent, so they are spread over a ForkJoin pool
+ * with one worker per core by default. Each match has its own game
+ * and agents, and the only shared state is the set of counters for
+ * the outcome, which keeps the throughput scaling with the cores.
+ */
+public class MatchSimulator {
+    /** Default number of turns before an undecided match is a draw. */
+    public static final int DEFAULT_MAX_TURNS = 200;
+
+    private final int parallelism;
+    private final int maxTurns;
+
+    public MatchSimulator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_TURNS);
+    }
+
+    public MatchSimulator(int parallelism, int maxTurns) {
+        this.parallelism = parallelism;
+        this.maxTurns = maxTurns;
+    }
+
+    /** Play a single match to the end or until the turn limit.
+     *
+     * @param game the game to play, in its initial state
+     * @param findus the agent playing for Findus
+     * @param peddersen the agent playing for Peddersen
+     * @return the winner or null if the turn limit was reached
+     */
+    public Player playMatch(Game game, Agent findus, Agent peddersen) {
+        while (game.getWinner() == null && game.getTurnNumber() < maxTurns) {
+            Player who = game.getPlayerInTurn();
+            Agent agent = who == Player.FINDUS ? findus : peddersen;
+            agent.playTurn(game, who);
+            if (game.getWinner() == null) {
+                game.endTurn();
+            }
+        }
+        return game.getWinner();
+    }
+
+    /** Simulate a number of matches of a variant in parallel.
+     *
+     * @param variant name of the variant, used in the result
+     * @param factorySupplier supplies the factory for each new game
+     * @param agentSupplier supplies a new agent for each player of each game
+     * @param games the number of matches to play
+     * @return the aggregated outcome
+     */
+    public SimulationResult simulate(String variant, Supplier<HotstoneFactory> factorySupplier,
+                                     Supplier<Agent> agentSupplier, int games) {
+        return simulateGames(variant, () -> new StandardHotStoneGame(factorySupplier.get()),
+                agentSupplier, games);
+    }
+
+    /** Simulate a number of matches in parallel, with games
+     * created by the given supplier, e.g. of another game implementation.
+     *
+     * @param variant name of the variant, used in the result
+     * @param gameSupplier supplies each new game, in its initial state
+     * @param agentSupplier supplies a new agent for each player of each game
+     * @param games the number of matches to play
+     * @return the aggregated outcome
+     */
+    public SimulationResult simulateGames(String variant, Supplier<? extends Game> gameSupplier,
+                                          Supplier<Agent> agentSupplier, int games) {
+        return simulateMatches(variant, games, match -> {
+            Game game = gameSupplier.get();
+            playMatch(game, agentSupplier.get(), agentSupplier.get());
+            return game;
+        });
+    }
+
+    /** Simulate a number of matches of a variant in parallel, reproducibly:
+     * each game has a RandomContext of its own seed, drawn from the given
+     * seed, so the outcome is the same for the same seed, whatever the
+     * parallelism.
+     *
+     * @param variant name of the variant, used in the result
+     * @param factoryCreator creates the factory for the random context of each new game
+     * @param agentCreator creates a new agent for each player of each game, from a seed
+     * @param games the number of matches to play
+     * @param seed the seed of the seeds of the games and agents
+     * @return the aggregated outcome
+     */
+    public SimulationResult simulate(String variant, Function<RandomContext, HotstoneFactory> factoryCreator,
+                                     LongFunction<Agent> agentCreator, int games, long seed) {
+        return simulateGames(variant,
+                gameSeed -> new StandardHotStoneGame(factoryCreator.apply(new SeededRandomContext(gameSeed))),
+                agentCreator, games, seed);
+    }
+
+    /** Simulate a number of matches in parallel, reproducibly, with games
+     * created from their seeds by the given function, e.g. of another game
+     * implementation.
+     *
+     * @param variant name of the variant, used in the result
+     * @param gameCreator creates each new game, in its initial state, from a seed
+     * @param agentCreator creates a new agent for each player of each game, from a seed
+     * @param games the number of matches to play
+     * @param seed the seed of the seeds of the games and agents
+     * @return the aggregated outcome
+     */
+    public SimulationResult simulateGames(String variant, LongFunction<? extends Game> gameCreator,
+                                          LongFunction<Agent> agentCreator, int games, long seed) {
+        // The seeds are drawn up front, as the order the matches are played in varies
+        long[] matchSeeds = new SplittableRandom(seed).longs(games).toArray();
+        return simulateMatches(variant, games, match -> {
+            SplittableRandom seeds = new SplittableRandom(matchSeeds[match]);
+            Game game = gameCreator.apply(seeds.nextLong());
+            playMatch(game, agentCreator.apply(seeds.nextLong()), agentCreator.apply(seeds.nextLong()));
+            return game;
+        });
+    }
+
+    // Play the matches on the pool, each match giving the game it played
+    private SimulationResult simulateMatches(String variant, int games, IntFunction<Game> match) {
+        LongAdder findusWins = new LongAdder();
+        LongAdder peddersenWins = new LongAdder();
+        LongAdder draws = new LongAdder();
+        LongAdder turnsPlayed = new LongAdder();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(i -> {
+                Game game = match.apply(i);
+                Player winner = game.getWinner();
+
+                // Record the outcome
+                turnsPlayed.add(game.getTurnNumber());
+                if (winner == Player.FINDUS) {
+                    findusWins.increment();
+                } else if (winner == Player.PEDDERSEN) {
+                    peddersenWins.increment();
+                } else {
+                    draws.increment();
+                }
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new SimulationResult(variant, findusWins.sum(), peddersenWins.sum(),
+                draws.sum(), turnsPlayed.sum(), elapsed);
+    }
+}
@@ -0,0 +1,282 @@
+package hotstone.simulation;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.RandomStrategy;
+import hotstone.standard.SeededRandomStrategy;
+import hotstone.standard.StandardRandomStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/** Agent choosing its moves by Monte Carlo Tree Search.
+ *
+ * The agent cannot see the opponent's hand or the order of the decks,
+ * so every iteration of the search plays in a fork of the game where
+ * the hidden cards are sampled anew (information set MCTS). The tree
+ * is shared by all samples, and a move's statistics are weighed by how
+ * often the move was available. Positions reached are evaluated by
+ * letting random agents play on for a number of turns, counting a
+ * won match as 1 and an undecided one by the share of hero health.
+ *
+ * Random effects of cards and powers happen in the forks as they would
+ * in the game, so the search works with every variant. The effects in
+ * the forks of a worker draw from a strategy of the worker, seeded by
+ * the agent, so the search neither races on nor advances the random
+ * strategies of the game, and a game of a seed is played the same with
+ * or without searching it.
+ *
+ * Searches run on several cores by root parallelization: each worker
+ * grows its own tree from its own fork of the game, and the visits of
+ * the moves at the roots are summed when the budget is spent. Workers
+ * share no random state or tree, only the unchanging card definitions
+ * and the thread-safe ID strategy of the game, so the search scales
+ * with the cores.
+ */
+public class MctsAgent implements Agent {
+    /** The number of turns played by random agents to evaluate a position. */
+    public static final int ROLLOUT_TURNS = 10;
+
+    // Weight of exploring rarely visited moves, in the range of the rewards
+    private static final double EXPLORATION = 0.7;
+
+    private final int parallelism;
+    private final int iterationsPerMove;
+    private final long nanosPerMove;
+    private final SplittableRandom seeds;
+    private final ForkJoinPool pool;
+    private final MoveGenerator generator = new MoveGenerator();
+
+    public MctsAgent(int parallelism, int iterationsPerMove, long millisPerMove) {
+        this(parallelism, iterationsPerMove, millisPerMove, new SplittableRandom().nextLong());
+    }
+
+    /** Create an agent with a budget for each move. The search stops
+     * when either the iterations or the time is spent; a budget of 0
+     * is no limit, but one of the two must be set.
+     *
+     * @param parallelism the number of workers searching in parallel
+     * @param iterationsPerMove the iterations of all workers for each move, or 0
+     * @param millisPerMove the time to search for each move, or 0
+     * @param seed the seed of the random samples and rollouts
+     */
+    public MctsAgent(int parallelism, int iterationsPerMove, long millisPerMove, long seed) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (iterationsPerMove <= 0 && millisPerMove <= 0) {
+            throw new IllegalArgumentException("Either iterations or time per move must be set");
+        }
+        this.parallelism = parallelism;
+        this.iterationsPerMove = iterationsPerMove;
+        this.nanosPerMove = millisPerMove * 1_000_000;
+        this.seeds = new SplittableRandom(seed);
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /** Play the turn by searching and making the best move until the
+     * best move is to end the turn. The game must be a MutableGame,
+     * as the search plays in forks of it.
+     */
+    @Override
+    public void playTurn(Game game, Player who) {
+        if (!(game instanceof MutableGame mutableGame)) {
+            throw new IllegalArgumentException("MCTS can only search games that can be forked");
+        }
+        MoveBuffer moves = new MoveBuffer();
+        while (game.getWinner() == null && game.getPlayerInTurn() == who) {
+            generator.generate(game, moves);
+            // Ending the turn is the only move
+            if (moves.size() == 1) return;
+
+            int move = chooseMove(mutableGame, who, moves);
+            if (Move.kind(move) == Move.END_TURN) return;
+            if (generator.execute(game, move) != Status.OK) return;
+        }
+    }
+
+    /** Search the game and return the move visited the most.
+     *
+     * @param game the game, with the agent's player in turn
+     * @param who the player in turn
+     * @param moves the legal moves of the player in turn
+     * @return the chosen move, as encoded by Move
+     */
+    int chooseMove(MutableGame game, Player who, MoveBuffer moves) {
+        long deadline = nanosPerMove > 0 ? System.nanoTime() + nanosPerMove : Long.MAX_VALUE;
+        int iterations = iterationsPerMove > 0
+                ? (iterationsPerMove + parallelism - 1) / parallelism : Integer.MAX_VALUE;
+
+        // Forks are made here, on the thread of the game, as forking
+        // updates the copy-on-write bookkeeping of the game being forked
+        List<Callable<Node>> searches = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            MutableGame fork = game.fork(new SeededRandomStrategy(seeds.nextLong()));
+            Search search = new Search(fork, who, seeds.nextLong());
+            searches.add(() -> search.run(iterations, deadline));
+        }
+
+        int[] visits = new int[moves.size()];
+        for (Node root : runAll(searches)) {
+            for (Node child : root.children) {
+                visits[indexOf(moves, child.move)] += child.visits;
+            }
+        }
+        int best = moves.size() - 1;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] > visits[best]) best = i;
+        }
+        return moves.get(best);
+    }
+
+    private List<Node> runAll(List<Callable<Node>> searches) {
+        List<Node> roots = new ArrayList<>();
+        try {
+            if (pool == null) {
+                for (Callable<Node> search : searches) roots.add(search.call());
+            } else {
+                for (Future<Node> root : pool.invokeAll(searches)) roots.add(root.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Search failed", e);
+        }
+        return roots;
+    }
+
+    private static int indexOf(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) return i;
+        }
+        throw new IllegalStateException("Move " + Move.toString(move) + " is not legal at the root");
+    }
+
+    /** A move in the tree, with the statistics of the player making it. */
+    private static final class Node {
+        private final int move;
+        private final Node parent;
+        private final Player mover;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private int availability;
+        private double wins;
+
+        Node(int move, Node parent, Player mover) {
+            this.move = move;
+            this.parent = parent;
+            this.mover = mover;
+        }
+
+        Node childFor(int move) {
+            for (Node child : children) {
+                if (child.move == move) return child;
+            }
+            return null;
+        }
+
+        double upperConfidenceBound() {
+            return wins / visits + EXPLORATION * Math.sqrt(Math.log(availability) / visits);
+        }
+    }
+
+    /** The search of a single worker, growing a tree from its own fork. */
+    private final class Search {
+        private final MutableGame base;
+        private final Player who;
+        private final RandomStrategy randomStrategy;
+        private final RandomAgent rolloutAgent;
+        private final MoveGenerator generator = new MoveGenerator();
+        private final MoveBuffer moves = new MoveBuffer();
+        private final MoveBuffer untried = new MoveBuffer();
+
+        Search(MutableGame base, Player who, long seed) {
+            this.base = base;
+            this.who = who;
+            this.randomStrategy = new StandardRandomStrategy(seed);
+            this.rolloutAgent = new RandomAgent(randomStrategy);
+        }
+
+        Node run(int iterations, long deadline) {
+            Node root = new Node(Move.endTurn(), null, null);
+            for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+                MutableGame game = base.fork();
+                game.sampleHiddenCards(who, randomStrategy);
+                Node leaf = selectAndExpand(root, game);
+                backpropagate(leaf, rollout(game));
+            }
+            return root;
+        }
+
+        // Descend the tree by the moves legal in this sample, adding
+        // the first move not tried before
+        private Node selectAndExpand(Node node, MutableGame game) {
+            while (game.getWinner() == null) {
+                generator.generate(game, moves);
+                untried.clear();
+                Node best = null;
+                for (int i = 0; i < moves.size(); i++) {
+                    Node child = node.childFor(moves.get(i));
+                    if (child == null) {
+                        untried.add(moves.get(i));
+                    } else {
+                        child.availability++;
+                        if (best == null || child.upperConfidenceBound() > best.upperConfidenceBound()) {
+                            best = child;
+                        }
+                    }
+                }
+
+                Player mover = game.getPlayerInTurn();
+                if (!untried.isEmpty()) {
+                    int move = untried.get(randomStrategy.nextInt(untried.size()));
+                    Node child = new Node(move, node, mover);
+                    child.availability = 1;
+                    node.children.add(child);
+                    generator.execute(game, move);
+                    return child;
+                }
+                generator.execute(game, best.move);
+                node = best;
+            }
+            return node;
+        }
+
+        // Play on at random, returning the reward of Findus
+        private double rollout(MutableGame game) {
+            int lastTurn = game.getTurnNumber() + ROLLOUT_TURNS;
+            while (game.getWinner() == null && game.getTurnNumber() < lastTurn) {
+                rolloutAgent.playTurn(game, game.getPlayerInTurn());
+                if (game.getWinner() == null) {
+                    game.endTurn();
+                }
+            }
+
+            Player winner = game.getWinner();
+            if (winner != null) return winner == Player.FINDUS ? 1.0 : 0.0;
+            int findusHealth = Math.max(0, game.getHero(Player.FINDUS).getHealth());
+            int peddersenHealth = Math.max(0, game.getHero(Player.PEDDERSEN).getHealth());
+            int totalHealth = findusHealth + peddersenHealth;
+            return totalHealth == 0 ? 0.5 : (double) findusHealth / totalHealth;
+        }
+
+        private void backpropagate(Node node, double findusReward) {
+            for (; node != null; node = node.parent) {
+                node.visits++;
+                if (node.mover != null) {
+                    node.wins += node.mover == Player.FINDUS ? findusReward : 1.0 - findusReward;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hotstone.simulation;
+
+/** Encoding of the actions of a player as primitive ints, so
+ * moves can be generated and stored without allocation.
+ *
+ * The lowest four bits hold the kind of move, and the two
+ * following 12 bit fields hold its arguments: the index in the
+ * hand and the index in the field for playing a card, the index
+ * of the attacking and the defending minion for attacking a
+ * minion, and the index of the attacking minion for attacking
+ * the hero. Indices are the ones of getCardInHand() and
+ * getCardInField().
+ */
+public final class Move {
+    public static final int PLAY_CARD = 0;
+    public static final int ATTACK_CARD = 1;
+    public static final int ATTACK_HERO = 2;
+    public static final int USE_POWER = 3;
+    public static final int END_TURN = 4;
+
+    private static final int KIND_BITS = 4;
+    private static final int ARGUMENT_BITS = 12;
+    private static final int ARGUMENT_MASK = (1 << ARGUMENT_BITS) - 1;
+
+    private Move() {
+    }
+
+    public static int playCard(int indexInHand, int atIndex) {
+        return encode(PLAY_CARD, indexInHand, atIndex);
+    }
+
+    public static int attackCard(int attackerIndex, int defenderIndex) {
+        return encode(ATTACK_CARD, attackerIndex, defenderIndex);
+    }
+
+    public static int attackHero(int attackerIndex) {
+        return encode(ATTACK_HERO, attackerIndex, 0);
+    }
+
+    public static int usePower() {
+        return USE_POWER;
+    }
+
+    public static int endTurn() {
+        return END_TURN;
+    }
+
+    public static int kind(int move) {
+        return move & ((1 << KIND_BITS) - 1);
+    }
+
+    /** The first argument: the index in the hand or of the attacking minion. */
+    public static int first(int move) {
+        return (move >>> KIND_BITS) & ARGUMENT_MASK;
+    }
+
+    /** The second argument: the index in the field or of the defending minion. */
+    public static int second(int move) {
+        return (move >>> (KIND_BITS + ARGUMENT_BITS)) & ARGUMENT_MASK;
+    }
+
+    public static String toString(int move) {
+        return switch (kind(move)) {
+            case PLAY_CARD -> "play card " + first(move) + " at " + second(move);
+            case ATTACK_CARD -> "attack minion " + second(move) + " with " + first(move);
+            case ATTACK_HERO -> "attack hero with " + first(move);
+            case USE_POWER -> "use power";
+            case END_TURN -> "end turn";
+            default -> "unknown move " + move;
+        };
+    }
+
+    private static int encode(int kind, int first, int second) {
+        return kind | first << KIND_BITS | second << (KIND_BITS + ARGUMENT_BITS);
+    }
+}
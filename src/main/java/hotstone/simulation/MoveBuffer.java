@@ -0,0 +1,47 @@
+package hotstone.simulation;
+
+import java.util.Arrays;
+
+/** Reusable buffer of moves encoded by Move. It only allocates
+ * when growing, so a buffer reused for every move generation
+ * produces no garbage once it has reached the largest number of
+ * moves seen.
+ */
+public class MoveBuffer {
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(64);
+    }
+
+    public MoveBuffer(int initialCapacity) {
+        moves = new int[initialCapacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " moves");
+        }
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
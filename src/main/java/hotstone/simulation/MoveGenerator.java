@@ -0,0 +1,86 @@
+package hotstone.simulation;
+
+import hotstone.framework.Game;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.standard.GameConstants;
+
+/** Generates the legal moves of the player in turn, so agents do
+ * not have to find them by trying out the mutators of the game.
+ *
+ * The rules are the ones of the game: a card may be played if the
+ * hero has mana for it, an active minion may attack any opponent
+ * minion and the opponent hero, and the power may be used once per
+ * turn if the hero has mana for it. As cards are always played at
+ * the end of the field, only that index is generated.
+ *
+ * Moves are encoded by Move and written to a reused MoveBuffer, and
+ * cards are only accessed by index, so generating produces no garbage.
+ */
+public class MoveGenerator {
+
+    /** Generate all legal moves of the player in turn, replacing
+     * the content of the buffer. Ending the turn is always legal
+     * and is the last move.
+     *
+     * @param game the game to generate moves for
+     * @param buffer the buffer to write the moves to
+     */
+    public void generate(Game game, MoveBuffer buffer) {
+        buffer.clear();
+        Player who = game.getPlayerInTurn();
+        Player opponent = Player.computeOpponent(who);
+        Hero hero = game.getHero(who);
+        int mana = hero.getMana();
+        int fieldSize = game.getFieldSize(who);
+        int opponentFieldSize = game.getFieldSize(opponent);
+
+        // Play affordable cards
+        int handSize = game.getHandSize(who);
+        for (int i = 0; i < handSize; i++) {
+            if (game.getCardInHand(who, i).getManaCost() <= mana) {
+                buffer.add(Move.playCard(i, fieldSize));
+            }
+        }
+
+        // Attack with active minions
+        for (int attacker = 0; attacker < fieldSize; attacker++) {
+            if (game.getCardInField(who, attacker).isActive()) {
+                for (int defender = 0; defender < opponentFieldSize; defender++) {
+                    buffer.add(Move.attackCard(attacker, defender));
+                }
+                buffer.add(Move.attackHero(attacker));
+            }
+        }
+
+        // Use the power
+        if (hero.canUsePower() && mana >= GameConstants.HERO_POWER_COST) {
+            buffer.add(Move.usePower());
+        }
+
+        buffer.add(Move.endTurn());
+    }
+
+    /** Execute a move for the player in turn.
+     *
+     * @param game the game to execute the move in
+     * @param move the move, as encoded by Move
+     * @return the status of the game mutator
+     */
+    public Status execute(Game game, int move) {
+        Player who = game.getPlayerInTurn();
+        return switch (Move.kind(move)) {
+            case Move.PLAY_CARD -> game.playCard(who, game.getCardInHand(who, Move.first(move)), Move.second(move));
+            case Move.ATTACK_CARD -> game.attackCard(who, game.getCardInField(who, Move.first(move)),
+                    game.getCardInField(Player.computeOpponent(who), Move.second(move)));
+            case Move.ATTACK_HERO -> game.attackHero(who, game.getCardInField(who, Move.first(move)));
+            case Move.USE_POWER -> game.usePower(who);
+            case Move.END_TURN -> {
+                game.endTurn();
+                yield Status.OK;
+            }
+            default -> throw new IllegalArgumentException("Unknown move " + move);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package hotstone.simulation;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.strategies.RandomStrategy;
+import hotstone.standard.GameConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Agent that plays affordable cards, uses the hero power and
+ * attacks with all active minions, picking at random whenever
+ * there is a choice.
+ */
+public class RandomAgent implements Agent {
+    private final RandomStrategy randomStrategy;
+
+    public RandomAgent(RandomStrategy randomStrategy) {
+        this.randomStrategy = randomStrategy;
+    }
+
+    @Override
+    public void playTurn(Game game, Player who) {
+        playAffordableCards(game, who);
+        usePowerIfPossible(game, who);
+        attackWithActiveMinions(game, who);
+    }
+
+    private void playAffordableCards(Game game, Player who) {
+        List<Card> affordable = new ArrayList<>();
+        do {
+            affordable.clear();
+            int mana = game.getHero(who).getMana();
+            for (Card card : game.getHand(who)) {
+                if (card.getManaCost() <= mana) {
+                    affordable.add(card);
+                }
+            }
+            if (affordable.isEmpty() || game.getWinner() != null) return;
+
+            // Play a random one of the affordable cards
+            Card card = affordable.get(randomStrategy.nextInt(affordable.size()));
+            if (game.playCard(who, card, game.getFieldSize(who)) != Status.OK) return;
+        } while (true);
+    }
+
+    private void usePowerIfPossible(Game game, Player who) {
+        Hero hero = game.getHero(who);
+        boolean powerIsAffordable = hero.getMana() >= GameConstants.HERO_POWER_COST;
+        if (hero.canUsePower() && powerIsAffordable && game.getWinner() == null) {
+            game.usePower(who);
+        }
+    }
+
+    private void attackWithActiveMinions(Game game, Player who) {
+        Player opponent = Player.computeOpponent(who);
+
+        // Copy the field, as attacks may remove minions from it
+        List<Card> attackers = new ArrayList<>();
+        game.getField(who).forEach(attackers::add);
+
+        for (Card attacker : attackers) {
+            if (game.getWinner() != null) return;
+            if (!attacker.isActive()) continue;
+
+            // Pick the opponent hero or one of the opponent minions as target
+            int targetIndex = randomStrategy.nextInt(game.getFieldSize(opponent) + 1);
+            if (targetIndex == game.getFieldSize(opponent)) {
+                game.attackHero(who, attacker);
+            } else {
+                game.attackCard(who, attacker, game.getCardInField(opponent, targetIndex));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hotstone.simulation;
+
+import hotstone.framework.Player;
+
+/** The outcome of simulating a number of matches of one variant.
+ * Matches that reach the turn limit without a winner are draws.
+ */
+public class SimulationResult {
+    private final String variant;
+    private final long findusWins;
+    private final long peddersenWins;
+    private final long draws;
+    private final long turnsPlayed;
+    private final long elapsedNanos;
+
+    public SimulationResult(String variant, long findusWins, long peddersenWins, long draws,
+                            long turnsPlayed, long elapsedNanos) {
+        this.variant = variant;
+        this.findusWins = findusWins;
+        this.peddersenWins = peddersenWins;
+        this.draws = draws;
+        this.turnsPlayed = turnsPlayed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public long getGames() {
+        return findusWins + peddersenWins + draws;
+    }
+
+    public long getWins(Player who) {
+        return who == Player.FINDUS ? findusWins : peddersenWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public double getWinRate(Player who) {
+        return getGames() == 0 ? 0.0 : (double) getWins(who) / getGames();
+    }
+
+    public double getAverageTurns() {
+        return getGames() == 0 ? 0.0 : (double) turnsPlayed / getGames();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-13s games: %9d  games/sec: %11.1f  Findus: %5.1f%%  Peddersen: %5.1f%%  draws: %5.1f%%  avg turns: %5.1f",
+                variant, getGames(), getGamesPerSecond(),
+                100.0 * getWinRate(Player.FINDUS), 100.0 * getWinRate(Player.PEDDERSEN),
+                getGames() == 0 ? 0.0 : 100.0 * draws / getGames(), getAverageTurns());
+    }
+}
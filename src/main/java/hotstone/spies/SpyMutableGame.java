@@ -3,6 +3,7 @@ package hotstone.spies;
 import hotstone.framework.Card;
 import hotstone.framework.Player;
 import hotstone.framework.Status;
+import hotstone.framework.strategies.RandomStrategy;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
@@ -105,6 +106,29 @@ public class SpyMutableGame implements MutableGame {
         wrappedGame.addCardToField(who, card);
     }
 
+    @Override
+    public MutableGame fork() {
+        recordMethodCall("fork");
+        return wrappedGame.fork();
+    }
+
+    @Override
+    public MutableGame fork(RandomStrategy randomStrategy) {
+        recordMethodCall("fork");
+        return wrappedGame.fork(randomStrategy);
+    }
+
+    @Override
+    public RandomStrategy getRandomStrategy(RandomStrategy effectStrategy) {
+        return wrappedGame.getRandomStrategy(effectStrategy);
+    }
+
+    @Override
+    public void sampleHiddenCards(Player observer, RandomStrategy randomStrategy) {
+        recordMethodCall("sampleHiddenCards");
+        wrappedGame.sampleHiddenCards(observer, randomStrategy);
+    }
+
     @Override
     public Player getPlayerInTurn() {
         return wrappedGame.getPlayerInTurn();
@@ -0,0 +1,50 @@
+package hotstone.standard;
+
+import hotstone.framework.Effect;
+
+/** The unchanging part of a card: its name, mana cost, base stats and
+ * effect. One definition is shared by all cards of its kind, in a game,
+ * or in all games when its effect makes no random choices, so a card
+ * only holds the state that changes during a game.
+ */
+public final class CardDefinition {
+    private final String name;
+    private final int manaCost;
+    private final int attack;
+    private final int health;
+    private final Effect effect;
+
+    public CardDefinition(String name, int manaCost, int attack, int health, Effect effect) {
+        this.name = name;
+        this.manaCost = manaCost;
+        this.attack = attack;
+        this.health = health;
+        this.effect = effect;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getManaCost() {
+        return manaCost;
+    }
+
+    /** @return the attack of a card when created */
+    public int getAttack() {
+        return attack;
+    }
+
+    /** @return the health of a card when created */
+    public int getHealth() {
+        return health;
+    }
+
+    public Effect getEffect() {
+        return effect;
+    }
+
+    public String getEffectDescription() {
+        return effect.getEffectDescription();
+    }
+}
@@ -0,0 +1,936 @@
+package hotstone.standard;
+
+import hotstone.framework.*;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.strategies.*;
+import hotstone.observer.GameObserver;
+import hotstone.observer.ObserverHandler;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Alternative implementation of the game for simulation workloads,
+ * which has the same rules as StandardHotStoneGame but stores its
+ * state as a 'struct of arrays' instead of a graph of card and hero
+ * objects.
+ *
+ * Every card of the game has a number, and its attack, health etc.
+ * are stored in primitive arrays indexed by that number. Hands, decks
+ * and fields are int arrays of card numbers, indexed by player ordinal
+ * and slot, and the hero stats are arrays indexed by player ordinal.
+ * Decks and hands are stored in reverse order, so drawing a card is
+ * taking the last card of the deck and adding it as the last card of
+ * the hand.
+ *
+ * Cards and heroes are handed out as lightweight views, which read and
+ * write the arrays of the game. Cards not belonging to the game, like
+ * the ones summoned by hero powers, are copied into the arrays when
+ * they are first used in the game.
+ */
+public class CompactHotStoneGame implements Game, MutableGame {
+  private static final Player[] PLAYER_OF_ORDINAL = Player.values();
+  private static final int PLAYERS = PLAYER_OF_ORDINAL.length;
+  private static final int INITIAL_HAND_SIZE = 3;
+
+  private final ManaProductionStrategy manaProductionStrategy;
+  private final WinningStrategy winningStrategy;
+  private ObserverHandler observerHandler = new ObserverHandler();
+  private int turnNumber;
+
+  // The winner is latched once decided, and the strategy is only
+  // evaluated again after changes that may decide the winner
+  private Player winner = null;
+  private boolean isWinnerOutdated = true;
+
+  // Games forked from each other share the lineage, as their card
+  // numbers refer to the same cards
+  private final Object lineage;
+  // Shared with the forks, which give the cards they add new IDs
+  private final IdStrategy idStrategy;
+  // The strategy of the random choices of effects in a fork made by
+  // fork(RandomStrategy), and in the forks of it, or null in a game
+  // whose effects draw from their own strategies
+  private RandomStrategy randomStrategy;
+
+  // Card state, indexed by card number
+  private int cardCount;
+  private CardDefinition[] cardDefinition;
+  private int[] cardAttack;
+  private int[] cardHealth;
+  private int[] cardTurnsOnField;
+  private boolean[] cardHasAttacked;
+  private int[] cardOwner;
+  private String[] cardId;
+  private CardView[] cardViews;
+
+  // Zones of card numbers, indexed by player ordinal and slot
+  private int[][] hands = new int[PLAYERS][];
+  private int[][] decks = new int[PLAYERS][];
+  private int[][] fields = new int[PLAYERS][];
+  private int[] handSize = new int[PLAYERS];
+  private int[] deckSize = new int[PLAYERS];
+  private int[] fieldSize = new int[PLAYERS];
+
+  // Hero state, indexed by player ordinal
+  private int[] heroMana = new int[PLAYERS];
+  private int[] heroHealth = new int[PLAYERS];
+  private boolean[] heroCanUsePower = new boolean[PLAYERS];
+  private String[] heroType = new String[PLAYERS];
+  private Effect[] heroPower = new Effect[PLAYERS];
+  private String[] heroId = new String[PLAYERS];
+  private final HeroView[] heroViews = {new HeroView(Player.FINDUS), new HeroView(Player.PEDDERSEN)};
+
+  public CompactHotStoneGame(HotstoneFactory factory) {
+    // Initialize strategies
+    this.manaProductionStrategy = factory.createManaProductionStrategy();
+    this.winningStrategy = factory.createWinningStrategy();
+    HeroStrategy heroStrategy = factory.createHeroStrategy();
+    DeckBuilderStrategy deckBuilderStrategy = factory.createDeckBuilderStrategy();
+    this.lineage = new Object();
+    this.idStrategy = factory.createIdStrategy();
+    this.turnNumber = 0;
+
+    // Initialize heroes from the heroes of the strategy
+    for (Player player : PLAYER_OF_ORDINAL) {
+      MutableHero hero = heroStrategy.getHero(player);
+      int p = player.ordinal();
+      heroHealth[p] = hero.getHealth();
+      heroCanUsePower[p] = hero.canUsePower();
+      heroType[p] = hero.getType();
+      heroPower[p] = hero.getEffect();
+      heroId[p] = hero instanceof StandardHero standardHero
+              ? standardHero.assignID(idStrategy) : idStrategy.nextID();
+    }
+
+    // Set initial mana for the players
+    assignManaToPlayer(getPlayerInTurn());
+    assignManaToPlayer(Player.computeOpponent(getPlayerInTurn()));
+
+    // Initialize decks from the cards of the strategy, the top card last
+    List<MutableCard> findusDeck = deckBuilderStrategy.buildDeck(Player.FINDUS);
+    List<MutableCard> peddersenDeck = deckBuilderStrategy.buildDeck(Player.PEDDERSEN);
+    allocateCards(findusDeck.size() + peddersenDeck.size());
+    initializeZones(Player.FINDUS, findusDeck);
+    initializeZones(Player.PEDDERSEN, peddersenDeck);
+
+    // Initialize hands, with the first card of the deck first in the hand
+    for (int p = 0; p < PLAYERS; p++) {
+      handSize[p] = Math.min(INITIAL_HAND_SIZE, deckSize[p]);
+      for (int slot = handSize[p] - 1; slot >= 0; slot--) {
+        hands[p][slot] = popFromDeck(p);
+      }
+    }
+  }
+
+  // Fork constructor, copying all state of the original game
+  private CompactHotStoneGame(CompactHotStoneGame original) {
+    this.manaProductionStrategy = original.manaProductionStrategy;
+    this.winningStrategy = original.winningStrategy;
+    this.lineage = original.lineage;
+    this.idStrategy = original.idStrategy;
+    this.turnNumber = original.turnNumber;
+    this.winner = original.winner;
+    this.isWinnerOutdated = original.isWinnerOutdated;
+    this.randomStrategy = original.randomStrategy;
+
+    this.cardCount = original.cardCount;
+    this.cardDefinition = original.cardDefinition.clone();
+    this.cardAttack = original.cardAttack.clone();
+    this.cardHealth = original.cardHealth.clone();
+    this.cardTurnsOnField = original.cardTurnsOnField.clone();
+    this.cardHasAttacked = original.cardHasAttacked.clone();
+    this.cardOwner = original.cardOwner.clone();
+    this.cardId = original.cardId.clone();
+    this.cardViews = new CardView[cardDefinition.length];
+
+    for (int p = 0; p < PLAYERS; p++) {
+      this.hands[p] = original.hands[p].clone();
+      this.decks[p] = original.decks[p].clone();
+      this.fields[p] = original.fields[p].clone();
+    }
+    this.handSize = original.handSize.clone();
+    this.deckSize = original.deckSize.clone();
+    this.fieldSize = original.fieldSize.clone();
+
+    this.heroMana = original.heroMana.clone();
+    this.heroHealth = original.heroHealth.clone();
+    this.heroCanUsePower = original.heroCanUsePower.clone();
+    this.heroType = original.heroType;
+    this.heroPower = original.heroPower;
+    this.heroId = original.heroId;
+  }
+
+  private void allocateCards(int capacity) {
+    cardDefinition = new CardDefinition[capacity];
+    cardAttack = new int[capacity];
+    cardHealth = new int[capacity];
+    cardTurnsOnField = new int[capacity];
+    cardHasAttacked = new boolean[capacity];
+    cardOwner = new int[capacity];
+    cardId = new String[capacity];
+    cardViews = new CardView[capacity];
+  }
+
+  private void initializeZones(Player player, List<MutableCard> deck) {
+    int p = player.ordinal();
+    int capacity = deck.size() + INITIAL_HAND_SIZE;
+    decks[p] = new int[capacity];
+    hands[p] = new int[capacity];
+    fields[p] = new int[capacity];
+    for (int i = deck.size() - 1; i >= 0; i--) {
+      decks[p][deckSize[p]++] = addCard(deck.get(i));
+    }
+  }
+
+  // Copy a card into the arrays, returning its new card number
+  private int addCard(Card card) {
+    if (cardCount == cardDefinition.length) {
+      int capacity = cardCount * 2 + 1;
+      cardDefinition = Arrays.copyOf(cardDefinition, capacity);
+      cardAttack = Arrays.copyOf(cardAttack, capacity);
+      cardHealth = Arrays.copyOf(cardHealth, capacity);
+      cardTurnsOnField = Arrays.copyOf(cardTurnsOnField, capacity);
+      cardHasAttacked = Arrays.copyOf(cardHasAttacked, capacity);
+      cardOwner = Arrays.copyOf(cardOwner, capacity);
+      cardId = Arrays.copyOf(cardId, capacity);
+      cardViews = Arrays.copyOf(cardViews, capacity);
+    }
+    int number = cardCount++;
+    cardDefinition[number] = definitionOf(card);
+    cardAttack[number] = card.getAttack();
+    cardHealth[number] = card.getHealth();
+    cardTurnsOnField[number] = card.isActive() ? 1 : 0;
+    cardOwner[number] = card.getOwner().ordinal();
+    cardId[number] = card instanceof StandardCard standardCard
+            ? standardCard.assignID(idStrategy) : idStrategy.nextID();
+    return number;
+  }
+
+  // Get the shared definition of a card, or define it by its current stats
+  private static CardDefinition definitionOf(Card card) {
+    if (card instanceof StandardCard standardCard) return standardCard.getDefinition();
+    if (card instanceof CardView view) return view.getGame().cardDefinition[view.number];
+    return new CardDefinition(card.getName(), card.getManaCost(), card.getAttack(), card.getHealth(),
+            card.getEffect());
+  }
+
+  // Get the number of a card, copying it into the game if it does not belong to it.
+  // Other cards, e.g. a summoned StandardCard or a proxy, are found by their ID,
+  // so each is copied once, however often it is given to the game
+  private int numberOf(Card card) {
+    if (card instanceof CardView view && view.getGame().lineage == lineage
+            && view.number < cardCount) {
+      return view.number;
+    }
+    String id = card instanceof StandardCard standardCard
+            ? standardCard.assignID(idStrategy) : card.getID();
+    if (id != null) {
+      for (int number = 0; number < cardCount; number++) {
+        if (id.equals(cardId[number])) return number;
+      }
+    }
+    return addCard(card);
+  }
+
+  private CardView viewOf(int number) {
+    CardView view = cardViews[number];
+    if (view == null) {
+      view = new CardView(number);
+      cardViews[number] = view;
+    }
+    return view;
+  }
+
+  // === Zone handling
+
+  private int popFromDeck(int p) {
+    return decks[p][--deckSize[p]];
+  }
+
+  private void pushToHand(int p, int number) {
+    hands[p] = ensureCapacity(hands[p], handSize[p] + 1);
+    hands[p][handSize[p]++] = number;
+  }
+
+  private void appendToField(int p, int number) {
+    fields[p] = ensureCapacity(fields[p], fieldSize[p] + 1);
+    fields[p][fieldSize[p]++] = number;
+    changed(StateChange.FIELD);
+  }
+
+  private static int[] ensureCapacity(int[] zone, int size) {
+    return size <= zone.length ? zone : Arrays.copyOf(zone, zone.length * 2 + 1);
+  }
+
+  // Remove the card from the zone if it is there, returning whether it was
+  private static boolean remove(int[] zone, int[] sizes, int p, int number) {
+    for (int slot = 0; slot < sizes[p]; slot++) {
+      if (zone[slot] == number) {
+        System.arraycopy(zone, slot + 1, zone, slot, sizes[p] - slot - 1);
+        sizes[p]--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isActive(int number) {
+    return cardTurnsOnField[number] >= 1 && !cardHasAttacked[number];
+  }
+
+  // === Game
+
+  private void assignManaToPlayer(Player player) {
+    heroMana[player.ordinal()] = manaProductionStrategy.calculateMana(turnNumber);
+    observerHandler.notifyHeroUpdate(player);
+  }
+
+  @Override
+  public Player getPlayerInTurn() {
+    return turnNumber%2 == 0 ? Player.FINDUS : Player.PEDDERSEN;
+  }
+
+  @Override
+  public MutableHero getHero(Player who) {
+    return heroViews[who.ordinal()];
+  }
+
+  @Override
+  public Player getWinner() {
+    if (winner == null && isWinnerOutdated) {
+      winner = winningStrategy.getWinner(this);
+      isWinnerOutdated = false;
+      if (winner != null) {
+        observerHandler.notifyGameWon(winner);
+      }
+    }
+    return winner;
+  }
+
+  private void changed(StateChange change) {
+    if (winner == null && winningStrategy.isDecidedBy(change)) {
+      isWinnerOutdated = true;
+    }
+  }
+
+  @Override
+  public int getTurnNumber() {
+    return turnNumber;
+  }
+
+  @Override
+  public int getDeckSize(Player who) {
+    return deckSize[who.ordinal()];
+  }
+
+  @Override
+  public MutableCard getCardInHand(Player who, int indexInHand) {
+    int p = who.ordinal();
+    if (indexInHand < 0 || indexInHand >= handSize[p]) {
+      throw new IndexOutOfBoundsException("Index " + indexInHand + " out of bounds for hand of " + who);
+    }
+    return viewOf(hands[p][handSize[p] - 1 - indexInHand]);
+  }
+
+  @Override
+  public Iterable<? extends Card> getHand(Player who) {
+    return new HandView(who.ordinal());
+  }
+
+  @Override
+  public int getHandSize(Player who) {
+    return handSize[who.ordinal()];
+  }
+
+  @Override
+  public MutableCard getCardInField(Player who, int indexInField) {
+    int p = who.ordinal();
+    if (indexInField < 0 || indexInField >= fieldSize[p]) {
+      throw new IndexOutOfBoundsException("Index " + indexInField + " out of bounds for field of " + who);
+    }
+    return viewOf(fields[p][indexInField]);
+  }
+
+  @Override
+  public Iterable<? extends Card> getField(Player who) {
+    return new FieldView(who.ordinal());
+  }
+
+  @Override
+  public int getFieldSize(Player who) {
+    return fieldSize[who.ordinal()];
+  }
+
+  @Override
+  public void endTurn() {
+    observerHandler.beginAction();
+    try {
+      performEndTurn();
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private void performEndTurn() {
+    Player currentPlayer = getPlayerInTurn();
+
+    // End-of-turn processing for current player
+    handleEndOfTurnEffects(currentPlayer);
+
+    // Switch to the next player
+    turnNumber++;
+    changed(StateChange.TURN);
+
+    Player nextPlayer = getPlayerInTurn();
+
+    // Start-of-turn processing for next player
+    assignManaToPlayer(nextPlayer);
+    drawCard(nextPlayer);
+
+    // Notify the observer that the turn has changed
+    observerHandler.notifyChangeTurnTo(nextPlayer);
+
+    // Check if there is a winner
+    getWinner();
+  }
+
+  private void handleEndOfTurnEffects(Player player) {
+    int p = player.ordinal();
+    // Increment turns on field for each card
+    for (int slot = 0; slot < fieldSize[p]; slot++) {
+      int number = fields[p][slot];
+      cardTurnsOnField[number]++;
+      cardHasAttacked[number] = false;
+    }
+
+    // Reset hero power status
+    heroCanUsePower[p] = true;
+
+    // Damage hero if deck is empty
+    if (deckSize[p] == 0) {
+      changeHeroHealth(player, -GameConstants.HERO_HEALTH_PENALTY_ON_EMPTY_DECK);
+    }
+  }
+
+  @Override
+  public void changeHeroHealth(Player who, int amount) {
+    heroHealth[who.ordinal()] += amount;
+    changed(StateChange.HERO_HEALTH);
+    observerHandler.notifyHeroUpdate(who);
+
+    // Check if there is a winner
+    getWinner();
+  }
+
+  @Override
+  public void drawCard(Player who) {
+    int p = who.ordinal();
+    if (turnNumber >= 2 && deckSize[p] > 0) { // Ensure players don't draw on the first turn
+      int number = popFromDeck(p);
+      pushToHand(p, number);
+      observerHandler.notifyCardDraw(who, viewOf(number));
+    }
+  }
+
+  @Override
+  public Status playCard(Player who, Card card, int atIndex) {
+    observerHandler.beginAction();
+    try {
+      return performPlayCard(who, card, atIndex);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performPlayCard(Player who, Card card, int atIndex) {
+    int number = numberOf(card);
+
+    // Check that the play is possible
+    Status status = isPlayPossible(who, number);
+    if (status != Status.OK) return status;
+
+    // Change the mana of the hero based in mana cost
+    changeHeroMana(who, heroMana[who.ordinal()] - cardDefinition[number].getManaCost());
+
+    cardDefinition[number].getEffect().applyEffect(this, PLAYER_OF_ORDINAL[cardOwner[number]]);
+
+    // Move card from hand to field
+    addCardToField(who, viewOf(number));
+
+    // Notify the observer that a card has been played
+    observerHandler.notifyPlayCard(who, viewOf(number), atIndex);
+
+    return Status.OK;
+  }
+
+  private void changeHeroMana(Player who, int amount) {
+    heroMana[who.ordinal()] = amount;
+    observerHandler.notifyHeroUpdate(who);
+  }
+
+  private Status isPlayPossible(Player who, int number) {
+    // Check it's the players turn
+    if (who != getPlayerInTurn()) {
+      return Status.NOT_PLAYER_IN_TURN;
+    }
+    // Check it's the players card
+    if (who.ordinal() != cardOwner[number]) {
+      return Status.NOT_OWNER;
+    }
+    // Check the player has enough mana
+    if (heroMana[who.ordinal()] < cardDefinition[number].getManaCost()) {
+      return Status.NOT_ENOUGH_MANA;
+    }
+    return Status.OK;
+  }
+
+  @Override
+  public Status attackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+    observerHandler.beginAction();
+    try {
+      return performAttackCard(playerAttacking, attackingCard, defendingCard);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+    int attacker = numberOf(attackingCard);
+    int defender = numberOf(defendingCard);
+
+    // Check if the attack is allowed
+    Status status = isAttackPossible(playerAttacking, attacker, defender);
+    if (status != Status.OK) return status;
+
+    // Apply damage
+    if (cardHealth[defender] > 0) {
+      reduceCardHealth(defender, cardAttack[attacker]);
+    }
+    if (cardHealth[attacker] > 0) {
+      reduceCardHealth(attacker, cardAttack[defender]);
+    }
+
+    // Remove defeated cards
+    removeIfDefeated(defender);
+    removeIfDefeated(attacker);
+
+    // Mark the card as having attacked
+    deactivateCard(attacker);
+
+    // Notify the observer of the attack on a card
+    observerHandler.notifyAttackCard(playerAttacking, viewOf(attacker), viewOf(defender));
+
+    return Status.OK;
+  }
+
+  private Status isAttackPossible(Player playerAttacking, int attacker, int defender) {
+    // Check it's the players turn
+    if (getPlayerInTurn() != playerAttacking) {
+      return Status.NOT_PLAYER_IN_TURN;
+    }
+    // Check the owner of the attacking card
+    if (cardOwner[attacker] != playerAttacking.ordinal()) {
+      return Status.NOT_OWNER;
+    }
+    // Check the card is active
+    if (!isActive(attacker)) {
+      return Status.ATTACK_NOT_ALLOWED_FOR_NON_ACTIVE_MINION;
+    }
+    // Check that you're not attacking your own minion
+    if (cardOwner[defender] == playerAttacking.ordinal()) {
+      return Status.ATTACK_NOT_ALLOWED_ON_OWN_MINION;
+    }
+    return Status.OK;
+  }
+
+  @Override
+  public void reduceCardHealth(MutableCard card, int attack) {
+    reduceCardHealth(numberOf(card), attack);
+  }
+
+  private void reduceCardHealth(int number, int attack) {
+    if (attack > 0) {
+      cardHealth[number] -= attack;
+      observerHandler.notifyCardUpdate(viewOf(number));
+    }
+    removeIfDefeated(number);
+  }
+
+  private void deactivateCard(int number) {
+    cardHasAttacked[number] = true;
+    observerHandler.notifyCardUpdate(viewOf(number));
+  }
+
+  private void removeIfDefeated(int number) {
+    if (cardHealth[number] <= 0) {
+      removeMinionFromField(PLAYER_OF_ORDINAL[cardOwner[number]], number);
+    }
+  }
+
+  @Override
+  public void removeMinionFromField(Player who, MutableCard card) {
+    removeMinionFromField(who, numberOf(card));
+  }
+
+  private void removeMinionFromField(Player who, int number) {
+    if (remove(fields[who.ordinal()], fieldSize, who.ordinal(), number)) {
+      changed(StateChange.FIELD);
+    }
+    observerHandler.notifyCardRemove(who, viewOf(number));
+  }
+
+  @Override
+  public void changeMinionAttack(MutableCard card, int i) {
+    int number = numberOf(card);
+    cardAttack[number] += i;
+    observerHandler.notifyCardUpdate(viewOf(number));
+  }
+
+  @Override
+  public Status attackHero(Player playerAttacking, Card attackingCard) {
+    observerHandler.beginAction();
+    try {
+      return performAttackHero(playerAttacking, attackingCard);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performAttackHero(Player playerAttacking, Card attackingCard) {
+    int attacker = numberOf(attackingCard);
+
+    // Check if the attack is allowed
+    if (playerAttacking != getPlayerInTurn()) {
+      return Status.NOT_PLAYER_IN_TURN;
+    }
+    if (playerAttacking.ordinal() != cardOwner[attacker]) {
+      return Status.NOT_OWNER;
+    }
+    if (!isActive(attacker)) {
+      return Status.ATTACK_NOT_ALLOWED_FOR_NON_ACTIVE_MINION;
+    }
+
+    // Apply damage to the opponent's hero
+    changeHeroHealth(Player.computeOpponent(playerAttacking), -cardAttack[attacker]);
+
+    // Mark the card as having attacked
+    deactivateCard(attacker);
+
+    // Notify the observer of the attack on a hero
+    observerHandler.notifyAttackHero(playerAttacking, viewOf(attacker));
+
+    return Status.OK;
+  }
+
+  @Override
+  public Status usePower(Player who) {
+    observerHandler.beginAction();
+    try {
+      return performUsePower(who);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performUsePower(Player who) {
+    int p = who.ordinal();
+
+    // Check if it is possible to use power
+    if (who != getPlayerInTurn()) {
+      return Status.NOT_PLAYER_IN_TURN;
+    }
+    if (!heroCanUsePower[p]) {
+      return Status.POWER_USE_NOT_ALLOWED_TWICE_PR_ROUND;
+    }
+    if (heroMana[p] < GameConstants.HERO_POWER_COST) {
+      return Status.NOT_ENOUGH_MANA;
+    }
+
+    // Call the heroes power and execute it
+    heroPower[p].applyEffect(this, who);
+
+    // Deduct mana and mark power as used
+    changeHeroMana(who, heroMana[p] - GameConstants.HERO_POWER_COST);
+    heroCanUsePower[p] = false;
+
+    // Notify observer about hero power usage
+    observerHandler.notifyUsePower(who);
+
+    return Status.OK;
+  }
+
+  @Override
+  public void addObserver(GameObserver observer) {
+    observerHandler.addObserver(observer);
+  }
+
+  @Override
+  public void addObserver(GameObserver observer, int interests) {
+    observerHandler.addObserver(observer, interests);
+  }
+
+  @Override
+  public void addCardToField(Player player, MutableCard card) {
+    int number = numberOf(card);
+    remove(hands[player.ordinal()], handSize, player.ordinal(), number);
+    appendToField(player.ordinal(), number);
+  }
+
+  @Override
+  public MutableGame fork() {
+    return new CompactHotStoneGame(this);
+  }
+
+  @Override
+  public MutableGame fork(RandomStrategy randomStrategy) {
+    CompactHotStoneGame fork = new CompactHotStoneGame(this);
+    fork.randomStrategy = randomStrategy;
+    return fork;
+  }
+
+  @Override
+  public RandomStrategy getRandomStrategy(RandomStrategy effectStrategy) {
+    return randomStrategy != null ? randomStrategy : effectStrategy;
+  }
+
+  @Override
+  public void sampleHiddenCards(Player observer, RandomStrategy randomStrategy) {
+    int o = observer.ordinal();
+    shuffle(decks[o], deckSize[o], randomStrategy);
+
+    // Draw the opponent's hand anew from all the cards it could hold
+    int p = Player.computeOpponent(observer).ordinal();
+    decks[p] = ensureCapacity(decks[p], deckSize[p] + handSize[p]);
+    System.arraycopy(hands[p], 0, decks[p], deckSize[p], handSize[p]);
+    deckSize[p] += handSize[p];
+    shuffle(decks[p], deckSize[p], randomStrategy);
+    for (int slot = 0; slot < handSize[p]; slot++) {
+      hands[p][slot] = popFromDeck(p);
+    }
+  }
+
+  private static void shuffle(int[] zone, int size, RandomStrategy randomStrategy) {
+    for (int i = size - 1; i > 0; i--) {
+      int j = randomStrategy.nextInt(i + 1);
+      int number = zone[i];
+      zone[i] = zone[j];
+      zone[j] = number;
+    }
+  }
+
+  // === Views
+
+  /** Read-only list of the hand, the most recently drawn card first. */
+  private class HandView extends AbstractList<CardView> {
+    private final int p;
+
+    HandView(int p) {
+      this.p = p;
+    }
+
+    @Override
+    public CardView get(int index) {
+      return (CardView) getCardInHand(PLAYER_OF_ORDINAL[p], index);
+    }
+
+    @Override
+    public int size() {
+      return handSize[p];
+    }
+  }
+
+  /** Read-only list of the field, in the order the minions were played. */
+  private class FieldView extends AbstractList<CardView> {
+    private final int p;
+
+    FieldView(int p) {
+      this.p = p;
+    }
+
+    @Override
+    public CardView get(int index) {
+      return (CardView) getCardInField(PLAYER_OF_ORDINAL[p], index);
+    }
+
+    @Override
+    public int size() {
+      return fieldSize[p];
+    }
+  }
+
+  /** A card of the game, reading and writing the arrays of the game. */
+  private class CardView implements MutableCard {
+    private final int number;
+
+    CardView(int number) {
+      this.number = number;
+    }
+
+    CompactHotStoneGame getGame() {
+      return CompactHotStoneGame.this;
+    }
+
+    @Override
+    public String getName() {
+      return cardDefinition[number].getName();
+    }
+
+    @Override
+    public int getManaCost() {
+      return cardDefinition[number].getManaCost();
+    }
+
+    @Override
+    public int getAttack() {
+      return cardAttack[number];
+    }
+
+    @Override
+    public int getHealth() {
+      return cardHealth[number];
+    }
+
+    @Override
+    public boolean isActive() {
+      return CompactHotStoneGame.this.isActive(number);
+    }
+
+    @Override
+    public Player getOwner() {
+      return PLAYER_OF_ORDINAL[cardOwner[number]];
+    }
+
+    @Override
+    public String getEffectDescription() {
+      return cardDefinition[number].getEffectDescription();
+    }
+
+    @Override
+    public Effect getEffect() {
+      return cardDefinition[number].getEffect();
+    }
+
+    @Override
+    public boolean canAttack() {
+      return isActive();
+    }
+
+    @Override
+    public int takeDamage(int damage) {
+      return cardHealth[number] -= damage;
+    }
+
+    @Override
+    public void attack() {
+      cardHasAttacked[number] = true;
+    }
+
+    @Override
+    public void changeAttack(int i) {
+      cardAttack[number] += i;
+    }
+
+    @Override
+    public void applyEffect(MutableGame game) {
+      cardDefinition[number].getEffect().applyEffect(game, getOwner());
+    }
+
+    @Override
+    public MutableCard copy() {
+      return new StandardCard(cardDefinition[number], getAttack(), getHealth(), getOwner(),
+              cardTurnsOnField[number], cardHasAttacked[number], getID());
+    }
+
+    @Override
+    public String getID() {
+      return cardId[number];
+    }
+  }
+
+  /** A hero of the game, reading and writing the arrays of the game. */
+  private class HeroView implements MutableHero {
+    private final Player owner;
+    private final int p;
+
+    HeroView(Player owner) {
+      this.owner = owner;
+      this.p = owner.ordinal();
+    }
+
+    @Override
+    public int getMana() {
+      return heroMana[p];
+    }
+
+    @Override
+    public int getHealth() {
+      return heroHealth[p];
+    }
+
+    @Override
+    public boolean canUsePower() {
+      return heroCanUsePower[p];
+    }
+
+    @Override
+    public String getType() {
+      return heroType[p];
+    }
+
+    @Override
+    public Player getOwner() {
+      return owner;
+    }
+
+    @Override
+    public String getEffectDescription() {
+      return heroPower[p].getEffectDescription();
+    }
+
+    @Override
+    public void setMana(int i) {
+      heroMana[p] = i;
+    }
+
+    @Override
+    public void setPowerStatus(boolean b) {
+      heroCanUsePower[p] = b;
+    }
+
+    @Override
+    public void setHealth(int i) {
+      heroHealth[p] = i;
+      changed(StateChange.HERO_HEALTH);
+    }
+
+    @Override
+    public void takeDamage(int i) {
+      heroHealth[p] += i;
+      changed(StateChange.HERO_HEALTH);
+    }
+
+    @Override
+    public void usePower(MutableGame game) {
+      heroPower[p].applyEffect(game, owner);
+    }
+
+    @Override
+    public Effect getEffect() {
+      return heroPower[p];
+    }
+
+    @Override
+    public MutableHero copy() {
+      return new StandardHero(getMana(), getHealth(), getType(), owner, heroPower[p],
+              canUsePower(), getID());
+    }
+
+    @Override
+    public String getID() {
+      return heroId[p];
+    }
+  }
+}
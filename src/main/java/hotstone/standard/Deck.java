@@ -0,0 +1,188 @@
+package hotstone.standard;
+
+import hotstone.framework.mutability.MutableCard;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/** A deck of cards, which draws the top card in constant time.
+ *
+ * A shuffled deck is shuffled lazily: the card at a position is only
+ * picked, at random among the cards not yet placed, when the position
+ * is drawn or looked at. This is a Fisher-Yates shuffle done one step
+ * at a time, so a game only pays for the cards it draws. The random
+ * sequence comes from the seed of the deck, so decks with the same
+ * seed are drawn in the same order, and copies of a deck continue
+ * the sequence of the deck.
+ *
+ * Mana limits restrict the cards that may be placed at the first
+ * positions, e.g. to make the first card of the deck cost 1 mana.
+ *
+ * The top card has index 0, as in the lists decks used to be.
+ */
+public class Deck extends AbstractList<MutableCard> {
+    private static final int[] NO_LIMITS = new int[0];
+
+    private MutableCard[] cards;
+    private int top;
+    private int bottom;
+    // The cards from top up to placed have their final positions
+    private int placed;
+    // The highest mana cost of the card at each position, counted from
+    // the first card of the deck
+    private int[] manaLimits = NO_LIMITS;
+    private long seed;
+
+    /** Create a deck of the cards in the given order. */
+    public Deck(List<MutableCard> cards) {
+        this.cards = cards.toArray(new MutableCard[0]);
+        this.bottom = this.cards.length;
+        this.placed = bottom;
+    }
+
+    /** Create a deck of the cards, shuffled by the given seed. */
+    public Deck(List<MutableCard> cards, long seed) {
+        this.cards = cards.toArray(new MutableCard[0]);
+        this.bottom = this.cards.length;
+        this.placed = 0;
+        this.seed = seed;
+    }
+
+    /** Create a copy of the deck, continuing its random sequence. */
+    public Deck(Deck deck) {
+        this.cards = deck.cards.clone();
+        this.top = deck.top;
+        this.bottom = deck.bottom;
+        this.placed = deck.placed;
+        this.manaLimits = deck.manaLimits;
+        this.seed = deck.seed;
+    }
+
+    /** Restrict the mana costs of the cards at the first positions of
+     * the deck, as far as the deck has cards within the limits. Only
+     * positions not yet placed are affected.
+     *
+     * @param maxManaCosts the highest mana cost of the first card,
+     *                     the second card, and so on
+     */
+    public void limitManaCosts(int... maxManaCosts) {
+        this.manaLimits = maxManaCosts.clone();
+    }
+
+    /** Put the cards at the bottom of the deck and shuffle all cards
+     * of the deck anew, e.g. to return cards to the deck. Mana limits
+     * no longer apply.
+     *
+     * @param extraCards the cards to put into the deck
+     * @param seed the seed of the new shuffle
+     */
+    public void shuffleIn(Collection<? extends MutableCard> extraCards, long seed) {
+        ensureCapacity(bottom + extraCards.size());
+        for (MutableCard card : extraCards) {
+            cards[bottom++] = card;
+        }
+        this.placed = top;
+        this.manaLimits = NO_LIMITS;
+        this.seed = seed;
+    }
+
+    @Override
+    public MutableCard get(int index) {
+        checkIndex(index, size());
+        placeThrough(top + index);
+        return cards[top + index];
+    }
+
+    @Override
+    public MutableCard set(int index, MutableCard card) {
+        MutableCard previous = get(index);
+        cards[top + index] = card;
+        return previous;
+    }
+
+    @Override
+    public MutableCard remove(int index) {
+        MutableCard card = get(index);
+        // Close the gap from the top, which is free for drawing the top card
+        System.arraycopy(cards, top, cards, top + 1, index);
+        cards[top++] = null;
+        modCount++;
+        return card;
+    }
+
+    @Override
+    public void add(int index, MutableCard card) {
+        checkIndex(index, size() + 1);
+        if (index == 0 && top > 0) {
+            // Put a card back on top, e.g. when a draw is undone
+            cards[--top] = card;
+        } else {
+            // The cards after the new card keep their positions after it
+            placeThrough(bottom - 1);
+            ensureCapacity(bottom + 1);
+            System.arraycopy(cards, top + index, cards, top + index + 1, bottom - top - index);
+            cards[top + index] = card;
+            bottom++;
+            placed = bottom;
+        }
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return bottom - top;
+    }
+
+    // Pick the cards for the positions up to and including the index
+    private void placeThrough(int index) {
+        while (placed <= index) {
+            int maxMana = placed < manaLimits.length ? manaLimits[placed] : Integer.MAX_VALUE;
+            int chosen = pick(maxMana);
+            MutableCard card = cards[chosen];
+            cards[chosen] = cards[placed];
+            cards[placed++] = card;
+        }
+    }
+
+    // Pick a card not yet placed at random, among the ones within the
+    // mana limit if there are any
+    private int pick(int maxMana) {
+        int candidates = 0;
+        if (maxMana != Integer.MAX_VALUE) {
+            for (int i = placed; i < bottom; i++) {
+                if (cards[i].getManaCost() <= maxMana) candidates++;
+            }
+        }
+        if (candidates == 0) return placed + nextInt(bottom - placed);
+
+        int remaining = nextInt(candidates);
+        for (int i = placed; ; i++) {
+            if (cards[i].getManaCost() <= maxMana && remaining-- == 0) return i;
+        }
+    }
+
+    // The SplitMix64 sequence, which has all its state in the seed so
+    // copies of the deck can continue it
+    private int nextInt(int bound) {
+        seed += 0x9E3779B97F4A7C15L;
+        long z = seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (((z >>> 32) * bound) >>> 32);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > cards.length) {
+            cards = Arrays.copyOf(cards, Math.max(capacity, cards.length * 2));
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for deck of " + size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hotstone.standard;
+
+import hotstone.framework.mutability.MutableCard;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+
+/** A hand of cards, where the drawn card is put first in constant
+ * time. The cards are stored in reverse order, so putting a card
+ * first is adding it at the end of the storage.
+ */
+class Hand extends AbstractList<MutableCard> {
+    private final ArrayList<MutableCard> reversed;
+
+    Hand() {
+        this.reversed = new ArrayList<>();
+    }
+
+    Hand(Hand hand) {
+        this.reversed = new ArrayList<>(hand.reversed);
+    }
+
+    @Override
+    public MutableCard get(int index) {
+        return reversed.get(storageIndex(index));
+    }
+
+    @Override
+    public MutableCard set(int index, MutableCard card) {
+        return reversed.set(storageIndex(index), card);
+    }
+
+    @Override
+    public void add(int index, MutableCard card) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hand of " + size());
+        }
+        reversed.add(size() - index, card);
+        modCount++;
+    }
+
+    @Override
+    public MutableCard remove(int index) {
+        MutableCard card = reversed.remove(storageIndex(index));
+        modCount++;
+        return card;
+    }
+
+    @Override
+    public void clear() {
+        reversed.clear();
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return reversed.size();
+    }
+
+    private int storageIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hand of " + size());
+        }
+        return size() - 1 - index;
+    }
+}
@@ -0,0 +1,58 @@
+package hotstone.standard;
+
+import hotstone.framework.strategies.RandomContext;
+import hotstone.framework.strategies.RandomStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** The random context of a game, whose strategies are SplitMix64
+ * sequences seeded off a SplittableRandom of the game seed.
+ *
+ * The state of each strategy is one long, so the state of all of them
+ * is an array of longs.
+ */
+public class SeededRandomContext implements RandomContext {
+    private final long seed;
+    private final SplittableRandom seeds;
+    private final List<SeededRandomStrategy> strategies = new ArrayList<>();
+
+    public SeededRandomContext(long seed) {
+        this.seed = seed;
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public RandomStrategy newStrategy() {
+        SeededRandomStrategy strategy = new SeededRandomStrategy(seeds.split().nextLong());
+        strategies.add(strategy);
+        return strategy;
+    }
+
+    @Override
+    public long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    @Override
+    public long[] getState() {
+        long[] state = new long[strategies.size()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = strategies.get(i).getState();
+        }
+        return state;
+    }
+
+    @Override
+    public void setState(long[] state) {
+        for (int i = 0; i < state.length; i++) {
+            strategies.get(i).setState(state[i]);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hotstone.standard;
+
+import hotstone.framework.strategies.RandomStrategy;
+
+/** A random strategy of the SplitMix64 sequence, which has all its
+ * state in one long. Strategies of the same seed give the same
+ * numbers, so a game whose randomness comes from one strategy can be
+ * played again from the seed. The state may be saved and restored,
+ * e.g. at the checkpoints of a replay.
+ */
+public class SeededRandomStrategy implements RandomStrategy {
+    private long state;
+
+    public SeededRandomStrategy(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive: " + bound);
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    @Override
+    public long nextLong() {
+        state += 0x9E3779B97F4A7C15L;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return the state, from which setState continues the sequence */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
@@ -0,0 +1,37 @@
+package hotstone.standard;
+
+import hotstone.framework.strategies.IdStrategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** IDs counting up from 0 within a game, prefixed by the number of the
+ * game, so IDs are unique among all games of the process. Both numbers
+ * are written in base 36, e.g. "2.1a" for the 47th ID of the third game.
+ * A game ID given by the server may be the prefix instead.
+ *
+ * The games forked from a game share its strategy, so the count is
+ * thread safe.
+ */
+public class SequentialIdStrategy implements IdStrategy {
+    private static final AtomicLong gameCount = new AtomicLong();
+    // The IDs of cards and heroes created outside a game
+    static final IdStrategy OUTSIDE_GAMES = new SequentialIdStrategy();
+
+    private final String prefix;
+    private final AtomicLong count = new AtomicLong();
+
+    public SequentialIdStrategy() {
+        this(Long.toString(gameCount.getAndIncrement(), Character.MAX_RADIX));
+    }
+
+    /** Create a strategy for IDs prefixed by the given ID of the game,
+     * e.g. "g7.1a", so the game of an object can be found by its ID. */
+    public SequentialIdStrategy(String gameId) {
+        this.prefix = gameId + ".";
+    }
+
+    @Override
+    public String nextID() {
+        return prefix + Long.toString(count.getAndIncrement(), Character.MAX_RADIX);
+    }
+}
@@ -5,39 +5,57 @@ import hotstone.framework.Effect;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.Player;
 import hotstone.framework.mutability.MutableGame;
-
-import java.util.UUID;
+import hotstone.framework.strategies.IdStrategy;
 
 public class StandardCard implements Card, MutableCard {
-    private String name;
-    private int manaCost;
+    // Name, mana cost and effect, shared with the other cards of the kind
+    private final CardDefinition definition;
     private int attack;
     private int health;
     private Player owner;
     private int turnsOnField; // Flag to track if the card has attacked in the current turn
     private boolean hasAttacked;
-    private Effect effect;
-    private final String id;
+    // Given by the game the card is in, or on first use if it is in none
+    private String id;
 
     public StandardCard(String name, int manaCost, int attack, int health, Player owner, Effect effect) {
-        this.name = name;
-        this.manaCost = manaCost;
-        this.attack = attack;
-        this.health = health;
+        this(new CardDefinition(name, manaCost, attack, health, effect), owner);
+    }
+
+    /** Create a card of the kind of the definition, with its base stats. */
+    public StandardCard(CardDefinition definition, Player owner) {
+        this.definition = definition;
+        this.attack = definition.getAttack();
+        this.health = definition.getHealth();
         this.turnsOnField = 0;
         this.hasAttacked = false;
         this.owner = owner;
-        this.effect = effect;
-        this.id = UUID.randomUUID().toString();
     }
+
+    // Constructor for a card with the given state and ID, used for copies
+    StandardCard(CardDefinition definition, int attack, int health, Player owner,
+                 int turnsOnField, boolean hasAttacked, String id) {
+        this.definition = definition;
+        this.attack = attack;
+        this.health = health;
+        this.turnsOnField = turnsOnField;
+        this.hasAttacked = hasAttacked;
+        this.owner = owner;
+        this.id = id;
+    }
+
+    public CardDefinition getDefinition() {
+        return definition;
+    }
+
     @Override
     public String getName() {
-        return name;
+        return definition.getName();
     }
 
     @Override
     public int getManaCost() {
-        return manaCost;
+        return definition.getManaCost();
     }
 
     @Override
@@ -60,6 +78,16 @@ public class StandardCard implements Card, MutableCard {
         hasAttacked = false;
     }
 
+    // Activity state as one int, used for undoing changes of the card
+    int getActivity() {
+        return turnsOnField * 2 + (hasAttacked ? 1 : 0);
+    }
+
+    void setActivity(int activity) {
+        turnsOnField = activity / 2;
+        hasAttacked = activity % 2 == 1;
+    }
+
     @Override
     public boolean canAttack() {
         return !this.hasAttacked && isActive(); // Can attack if it hasn't attacked yet this turn and is active
@@ -87,20 +115,32 @@ public class StandardCard implements Card, MutableCard {
 
     @Override
     public String getEffectDescription() {
-        return effect.getEffectDescription();
+        return definition.getEffectDescription();
     }
     @Override
     public Effect getEffect() {
-        return effect;
+        return definition.getEffect();
     }
 
     @Override
     public void applyEffect(MutableGame game) {
-        effect.applyEffect(game, owner);
+        definition.getEffect().applyEffect(game, owner);
+    }
+
+    @Override
+    public MutableCard copy() {
+        return new StandardCard(definition, attack, health, owner, turnsOnField, hasAttacked, getID());
     }
 
     @Override
     public String getID() {
+        String id = this.id;
+        return id != null ? id : assignID(SequentialIdStrategy.OUTSIDE_GAMES);
+    }
+
+    // Give the card an ID from the strategy, unless it already has one
+    synchronized String assignID(IdStrategy idStrategy) {
+        if (id == null) id = idStrategy.nextID();
         return id;
     }
 }
@@ -2,10 +2,9 @@ package hotstone.standard;
 
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.IdStrategy;
 import hotstone.framework.mutability.MutableHero;
 
-import java.util.UUID;
-
 public class StandardHero implements Hero, MutableHero {
     private int mana;
     private int health;
@@ -13,7 +12,10 @@ public class StandardHero implements Hero, MutableHero {
     private boolean powerStatus = true;
     private Player owner;
     private Effect heroPower;
-    private final String id;
+    // Given by the game the hero is in, or on first use if it is in none
+    private String id;
+    // Told by the mutators of health, so the game knows its winner may change
+    private Runnable onHealthChange;
 
     public StandardHero(int mana, int health, String heroType, Player owner, Effect heroPower) {
         this.mana = mana;
@@ -21,7 +23,18 @@ public class StandardHero implements Hero, MutableHero {
         this.heroType = heroType;
         this.owner = owner;
         this.heroPower = heroPower;
-        this.id = UUID.randomUUID().toString();
+    }
+
+    // Constructor for a hero with the given state and ID, used for copies
+    StandardHero(int mana, int health, String heroType, Player owner, Effect heroPower,
+                 boolean powerStatus, String id) {
+        this.mana = mana;
+        this.health = health;
+        this.heroType = heroType;
+        this.owner = owner;
+        this.heroPower = heroPower;
+        this.powerStatus = powerStatus;
+        this.id = id;
     }
 
     @Override
@@ -64,14 +77,30 @@ public class StandardHero implements Hero, MutableHero {
         return heroPower.getEffectDescription();
     }
 
+    @Override
+    public Effect getEffect() {
+        return heroPower;
+    }
+
     @Override
     public void setHealth(int newHealth) {
         this.health = newHealth;
+        healthChanged();
     }
 
     @Override
     public void takeDamage(int damage) {
         this.health += damage;
+        healthChanged();
+    }
+
+    // Let the game the hero is in know of changes of its health
+    void setOnHealthChange(Runnable onHealthChange) {
+        this.onHealthChange = onHealthChange;
+    }
+
+    private void healthChanged() {
+        if (onHealthChange != null) onHealthChange.run();
     }
 
     @Override
@@ -79,8 +108,20 @@ public class StandardHero implements Hero, MutableHero {
         heroPower.applyEffect(game, owner);  // Use the common Effect interface to apply power
     }
 
+    @Override
+    public MutableHero copy() {
+        return new StandardHero(mana, health, heroType, owner, heroPower, powerStatus, getID());
+    }
+
     @Override
     public String getID() {
+        String id = this.id;
+        return id != null ? id : assignID(SequentialIdStrategy.OUTSIDE_GAMES);
+    }
+
+    // Give the hero an ID from the strategy, unless it already has one
+    synchronized String assignID(IdStrategy idStrategy) {
+        if (id == null) id = idStrategy.nextID();
         return id;
     }
 }
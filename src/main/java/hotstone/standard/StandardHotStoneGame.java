@@ -21,13 +21,15 @@ import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.mutability.ReversibleGame;
 import hotstone.framework.strategies.*;
 import hotstone.observer.GameObserver;
 import hotstone.observer.ObserverHandler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
 
 /** This is the 'temporary test stub' in TDD
@@ -51,24 +53,59 @@ import java.util.Map;
  * enable a lot of game variants. This is also
  * why it is not called 'AlphaGame'.
  */
-public class StandardHotStoneGame implements Game, MutableGame {
+public class StandardHotStoneGame implements Game, MutableGame, ReversibleGame {
   private ManaProductionStrategy manaProductionStrategy;
   private WinningStrategy winningStrategy;
   private HeroStrategy heroStrategy;
   private final DeckBuilderStrategy deckBuilderStrategy;
+  // Shared with the forks, which give the cards they add new IDs
+  private final IdStrategy idStrategy;
+  // The strategy of the random choices of effects in a fork made by
+  // fork(RandomStrategy), and in the forks of it, or null in a game
+  // whose effects draw from their own strategies
+  private RandomStrategy randomStrategy;
   private int turnNumber;
-  private Map<Player, MutableHero> heroes = new HashMap<>();
-  private Map<Player, List<MutableCard>> hands = new HashMap<>();
-  private Map<Player, List<MutableCard>> decks = new HashMap<>();
-  private Map<Player, List<MutableCard>> fields = new HashMap<>();
+  private Map<Player, MutableHero> heroes = new EnumMap<>(Player.class);
+  private Map<Player, List<MutableCard>> hands = new EnumMap<>(Player.class);
+  private Map<Player, List<MutableCard>> decks = new EnumMap<>(Player.class);
+  private Map<Player, List<MutableCard>> fields = new EnumMap<>(Player.class);
   private ObserverHandler observerHandler = new ObserverHandler();
 
+  // The winner is latched once decided, and the strategy is only
+  // evaluated again after changes that may decide the winner
+  private Player winner = null;
+  private boolean isWinnerOutdated = true;
+
+  // Copy-on-write bookkeeping: a fork gets copies of the heroes, hands
+  // and fields, so the game keeps its own, and shares the decks with
+  // the game. A deck may be changed in place if it was copied in the
+  // current generation, i.e. since the game was last forked, and the
+  // cards drawn from a deck shared once are copied.
+  private boolean isForked = false;
+  private int generation = 0;
+  private final int[] deckGenerations = new int[Player.values().length];
+
+  // Undo log of the changes since the first mark, as parallel arrays
+  // of the kind of change, the changed object and the previous value
+  private static final int TURN = 0, HERO_MANA = 1, HERO_HEALTH = 2, HERO_POWER = 3,
+          CARD_HEALTH = 4, CARD_ATTACK = 5, CARD_ACTIVITY = 6, DECK_REMOVE = 7,
+          HAND_ADD = 8, HAND_REMOVE = 9, FIELD_ADD = 10, FIELD_REMOVE = 11;
+  private boolean isLogging = false;
+  private int logSize = 0;
+  private int[] logKinds;
+  private Object[] logTargets;
+  private int[] logValues;
+  // The zones are rearranged without entries in the undo log when the
+  // hidden cards are sampled, so the changes before are final
+  private int firstReversibleChange = 0;
+
   public StandardHotStoneGame(HotstoneFactory factory) {
     // Initialize strategies
     this.manaProductionStrategy = factory.createManaProductionStrategy();
     this.winningStrategy = factory.createWinningStrategy();
     this.heroStrategy = factory.createHeroStrategy();
     this.deckBuilderStrategy = factory.createDeckBuilderStrategy();
+    this.idStrategy = factory.createIdStrategy();
 
     // Initialize round and turn number
     this.turnNumber = 0;
@@ -76,21 +113,25 @@ public class StandardHotStoneGame implements Game, MutableGame {
     // Initialize heroes
     heroes.put(Player.FINDUS, heroStrategy.getHero(Player.FINDUS));
     heroes.put(Player.PEDDERSEN, heroStrategy.getHero(Player.PEDDERSEN));
+    heroes.values().forEach(this::assignID);
+    heroes.values().forEach(this::watchHealth);
 
     // Set initial mana for the players
     assignManaToPlayer(getPlayerInTurn());
     assignManaToPlayer(Player.computeOpponent(getPlayerInTurn()));
 
-    // Initialize decks
-    decks.put(Player.FINDUS, deckBuilderStrategy.buildDeck(Player.FINDUS));
-    decks.put(Player.PEDDERSEN, deckBuilderStrategy.buildDeck(Player.PEDDERSEN));
+    // Initialize decks, keeping the lazy shuffle of decks that have one
+    decks.put(Player.FINDUS, asDeck(deckBuilderStrategy.buildDeck(Player.FINDUS)));
+    decks.put(Player.PEDDERSEN, asDeck(deckBuilderStrategy.buildDeck(Player.PEDDERSEN)));
 
     // Initialize hands
     for (Player player : Player.values()) {
       List<MutableCard> deck = decks.get(player);
-      List<MutableCard> hand = new ArrayList<>();
+      List<MutableCard> hand = new Hand();
       for (int i = 0; i < 3 && !deck.isEmpty(); i++) {
-        hand.add(deck.remove(0)); // Remove the first card from the deck and add it to the hand
+        MutableCard card = deck.remove(0); // Remove the first card from the deck and add it to the hand
+        assignID(card);
+        hand.add(card);
       }
       hands.put(player, hand);
     }
@@ -100,9 +141,52 @@ public class StandardHotStoneGame implements Game, MutableGame {
     fields.put(Player.PEDDERSEN, new ArrayList<>());
   }
 
+  // Fork constructor, copying the state the original game changes in
+  // place, and sharing its decks until either game changes them
+  private StandardHotStoneGame(StandardHotStoneGame original) {
+    this.manaProductionStrategy = original.manaProductionStrategy;
+    this.winningStrategy = original.winningStrategy;
+    this.heroStrategy = original.heroStrategy;
+    this.deckBuilderStrategy = original.deckBuilderStrategy;
+    this.idStrategy = original.idStrategy;
+    this.turnNumber = original.turnNumber;
+    for (Player player : Player.values()) {
+      MutableHero hero = original.heroes.get(player).copy();
+      watchHealth(hero);
+      heroes.put(player, hero);
+      hands.put(player, copyOf(original.hands.get(player)));
+      fields.put(player, copyOf(original.fields.get(player)));
+    }
+    this.decks = new EnumMap<>(original.decks);
+    Arrays.fill(deckGenerations, -1);
+    this.winner = original.winner;
+    this.isWinnerOutdated = original.isWinnerOutdated;
+    this.randomStrategy = original.randomStrategy;
+    this.isForked = true;
+  }
+
+  private static Deck asDeck(List<MutableCard> cards) {
+    return cards instanceof Deck deck ? deck : new Deck(cards);
+  }
+
+  // Have a hero of the game tell it of the changes of its health, which may decide the winner
+  private void watchHealth(MutableHero hero) {
+    if (hero instanceof StandardHero standardHero) {
+      standardHero.setOnHealthChange(() -> changed(StateChange.HERO_HEALTH));
+    }
+  }
+
+  // Give a card or hero of the game an ID, unless it already has one
+  private void assignID(Identifiable cardOrHero) {
+    if (cardOrHero instanceof StandardCard card) card.assignID(idStrategy);
+    if (cardOrHero instanceof StandardHero hero) hero.assignID(idStrategy);
+  }
+
   private void assignManaToPlayer(Player player) {
     int mana = manaProductionStrategy.calculateMana(turnNumber);
-    heroes.get(player).setMana(mana);
+    MutableHero hero = getHero(player);
+    log(HERO_MANA, hero, hero.getMana());
+    hero.setMana(mana);
     observerHandler.notifyHeroUpdate(player);
   }
 
@@ -118,13 +202,22 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public Player getWinner() {
-    Player winner = winningStrategy.getWinner(this);
-    if (winner != null) {
-      observerHandler.notifyGameWon(winner);
+    if (winner == null && isWinnerOutdated) {
+      winner = winningStrategy.getWinner(this);
+      isWinnerOutdated = false;
+      if (winner != null) {
+        observerHandler.notifyGameWon(winner);
+      }
     }
     return winner;
   }
 
+  private void changed(StateChange change) {
+    if (winner == null && winningStrategy.isDecidedBy(change)) {
+      isWinnerOutdated = true;
+    }
+  }
+
   @Override
   public int getTurnNumber() {
     return turnNumber;
@@ -167,13 +260,24 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public void endTurn() {
+    observerHandler.beginAction();
+    try {
+      performEndTurn();
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private void performEndTurn() {
     Player currentPlayer = getPlayerInTurn();
 
     // End-of-turn processing for current player
     handleEndOfTurnEffects(currentPlayer);
 
     // Switch to the next player
+    log(TURN, null, turnNumber);
     turnNumber++;
+    changed(StateChange.TURN);
 
     Player nextPlayer = getPlayerInTurn();
 
@@ -190,13 +294,16 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   private void handleEndOfTurnEffects(Player player) {
     // Increment turns on field for each card
-    List<MutableCard> playerField = fields.get(player);
-    for (Card card : playerField) {
-      ((StandardCard) card).incrementTurnsOnField();
+    for (int i = 0; i < fields.get(player).size(); i++) {
+      StandardCard card = (StandardCard) fields.get(player).get(i);
+      log(CARD_ACTIVITY, card, card.getActivity());
+      card.incrementTurnsOnField();
     }
 
     // Reset hero power status
-    heroes.get(player).setPowerStatus(true);
+    MutableHero hero = getHero(player);
+    log(HERO_POWER, hero, hero.canUsePower() ? 1 : 0);
+    hero.setPowerStatus(true);
 
     // Damage hero if deck is empty
     if (decks.get(player).isEmpty()) {
@@ -206,7 +313,10 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public void changeHeroHealth(Player who, int amount) {
-    getHero(who).takeDamage(amount);
+    MutableHero hero = getHero(who);
+    log(HERO_HEALTH, hero, hero.getHealth());
+    hero.takeDamage(amount);
+    changed(StateChange.HERO_HEALTH);
     observerHandler.notifyHeroUpdate(who);
 
     // Check if there is a winner for betastone
@@ -216,10 +326,14 @@ public class StandardHotStoneGame implements Game, MutableGame {
   @Override
   public void drawCard(Player who){
     if (turnNumber >= 2) { // Ensure players don't draw on the first turn
-      List<MutableCard> deck = decks.get(who);
-      List<MutableCard> hand = hands.get(who);
-      if (!deck.isEmpty()) {
-        hand.add(0, deck.remove(0));
+      if (!decks.get(who).isEmpty()) {
+        List<MutableCard> deck = writableDeck(who);
+        List<MutableCard> hand = hands.get(who);
+        MutableCard card = deck.remove(0);
+        log(DECK_REMOVE, card, zoneEntry(who, 0));
+        card = drawn(card);
+        hand.add(0, card);
+        log(HAND_ADD, card, zoneEntry(who, 0));
         observerHandler.notifyCardDraw(who, hand.get(0));
       }
     }
@@ -227,6 +341,18 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public Status playCard(Player who, Card card, int atIndex) {
+    observerHandler.beginAction();
+    try {
+      return performPlayCard(who, card, atIndex);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performPlayCard(Player who, Card card, int atIndex) {
+    // Use this game's own instance of the card
+    card = currentCard(hands.get(who), (MutableCard) card);
+
     // Check that the attack is possible
     Status status = isPlayPossible(who, (MutableCard) card);
     if (status != Status.OK) return status;
@@ -235,7 +361,7 @@ public class StandardHotStoneGame implements Game, MutableGame {
     int heroMana = getHero(who).getMana();
     int cardManaCost = card.getManaCost();
 
-    changeHeroMana(heroes.get(who), heroMana - cardManaCost);
+    changeHeroMana(getHero(who), heroMana - cardManaCost);
 
     ((MutableCard) card).applyEffect(this);
 
@@ -249,6 +375,7 @@ public class StandardHotStoneGame implements Game, MutableGame {
   }
 
   private void changeHeroMana(MutableHero heroes, int amount) {
+    log(HERO_MANA, heroes, heroes.getMana());
     heroes.setMana(amount);
     observerHandler.notifyHeroUpdate(heroes.getOwner());
   }
@@ -271,6 +398,19 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public Status attackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+    observerHandler.beginAction();
+    try {
+      return performAttackCard(playerAttacking, attackingCard, defendingCard);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
+    // Use this game's own instances of the minions
+    attackingCard = currentMinion((MutableCard) attackingCard);
+    defendingCard = currentMinion((MutableCard) defendingCard);
+
     // Check if the attack is allowed
     Status status = isAttackPossible(playerAttacking, (MutableCard) attackingCard, (MutableCard) defendingCard);
     if (status != Status.OK) return status;
@@ -305,7 +445,9 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public void reduceCardHealth(MutableCard card, int attack) {
+    card = currentMinion(card);
     if (attack > 0) {
+      log(CARD_HEALTH, card, card.getHealth());
       card.takeDamage(attack);
       observerHandler.notifyCardUpdate(card);
     }
@@ -313,6 +455,9 @@ public class StandardHotStoneGame implements Game, MutableGame {
   }
 
   private void deactivateCard(MutableCard attackingCard) {
+    if (attackingCard instanceof StandardCard card) {
+      log(CARD_ACTIVITY, card, card.getActivity());
+    }
     attackingCard.attack();
     observerHandler.notifyCardUpdate(attackingCard);
   }
@@ -325,12 +470,21 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public void removeMinionFromField(Player who, MutableCard card) {
-    fields.get(who).remove(card);
+    card = currentMinion(card);
+    List<MutableCard> field = fields.get(who);
+    int index = field.indexOf(card);
+    if (index >= 0) {
+      field.remove(index);
+      log(FIELD_REMOVE, card, zoneEntry(who, index));
+      changed(StateChange.FIELD);
+    }
     observerHandler.notifyCardRemove(who, card);
   }
 
   @Override
   public void changeMinionAttack(MutableCard card, int i) {
+    card = currentMinion(card);
+    log(CARD_ATTACK, card, card.getAttack());
     card.changeAttack(i);
     observerHandler.notifyCardUpdate(card);
   }
@@ -361,6 +515,18 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public Status attackHero(Player playerAttacking, Card attackingCard) {
+    observerHandler.beginAction();
+    try {
+      return performAttackHero(playerAttacking, attackingCard);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performAttackHero(Player playerAttacking, Card attackingCard) {
+    // Use this game's own instance of the minion
+    attackingCard = currentMinion((MutableCard) attackingCard);
+
     // Check if the attack is allowed
     Status status = isHeroAttackPossible(playerAttacking, (MutableCard) attackingCard);
     if (status != Status.OK) {
@@ -395,8 +561,17 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
   @Override
   public Status usePower(Player who) {
+    observerHandler.beginAction();
+    try {
+      return performUsePower(who);
+    } finally {
+      observerHandler.endAction();
+    }
+  }
+
+  private Status performUsePower(Player who) {
     // To get the correct hero for either Findus of Peddersen
-    MutableHero hero = heroes.get(who);
+    MutableHero hero = getHero(who);
 
     // Check if it is possible to use power
     if (!who.equals(getPlayerInTurn())) {
@@ -414,6 +589,7 @@ public class StandardHotStoneGame implements Game, MutableGame {
 
     // Deduct mana and mark power as used
     changeHeroMana(hero, hero.getMana()-GameConstants.HERO_POWER_COST);
+    log(HERO_POWER, hero, hero.canUsePower() ? 1 : 0);
     hero.setPowerStatus(false);
 
     // Notify observer about hero power usage
@@ -427,6 +603,11 @@ public class StandardHotStoneGame implements Game, MutableGame {
     observerHandler.addObserver(observer);
   }
 
+  @Override
+  public void addObserver(GameObserver observer, int interests) {
+    observerHandler.addObserver(observer, interests);
+  }
+
   /** Method to help make some unit test easier to test
    *
    * @param player The player whose field we want to add a card to
@@ -434,7 +615,191 @@ public class StandardHotStoneGame implements Game, MutableGame {
    */
   @Override
   public void addCardToField(Player player, MutableCard card) {
-    hands.get(player).remove(card);
-    fields.get(player).add(card);
+    List<MutableCard> hand = hands.get(player);
+    int index = indexOf(hand, card);
+    MutableCard minion = card;
+    if (index >= 0) {
+      minion = hand.remove(index);
+      log(HAND_REMOVE, minion, zoneEntry(player, index));
+    } else if (isForked) {
+      // A card from elsewhere may belong to another game of the forks
+      minion = card.copy();
+    }
+    List<MutableCard> field = fields.get(player);
+    assignID(minion);
+    field.add(minion);
+    log(FIELD_ADD, minion, zoneEntry(player, field.size() - 1));
+    changed(StateChange.FIELD);
+  }
+
+  @Override
+  public int mark() {
+    if (!isLogging) {
+      isLogging = true;
+      logKinds = new int[64];
+      logTargets = new Object[64];
+      logValues = new int[64];
+    }
+    return logSize;
+  }
+
+  @Override
+  public void rollback(int mark) {
+    if (mark < firstReversibleChange || mark > logSize) {
+      throw new IllegalArgumentException("Cannot roll back to mark " + mark);
+    }
+    while (logSize > mark) {
+      logSize--;
+      Object target = logTargets[logSize];
+      int value = logValues[logSize];
+      logTargets[logSize] = null;
+      switch (logKinds[logSize]) {
+        case TURN -> turnNumber = value;
+        case HERO_MANA -> ((MutableHero) target).setMana(value);
+        case HERO_HEALTH -> ((MutableHero) target).setHealth(value);
+        case HERO_POWER -> ((MutableHero) target).setPowerStatus(value == 1);
+        case CARD_HEALTH -> {
+          MutableCard card = (MutableCard) target;
+          card.takeDamage(card.getHealth() - value);
+        }
+        case CARD_ATTACK -> {
+          MutableCard card = (MutableCard) target;
+          card.changeAttack(value - card.getAttack());
+        }
+        case CARD_ACTIVITY -> ((StandardCard) target).setActivity(value);
+        case DECK_REMOVE -> writableDeck(zonePlayer(value)).add(zoneIndex(value), (MutableCard) target);
+        case HAND_ADD -> hands.get(zonePlayer(value)).remove(zoneIndex(value));
+        case HAND_REMOVE -> hands.get(zonePlayer(value)).add(zoneIndex(value), (MutableCard) target);
+        case FIELD_ADD -> fields.get(zonePlayer(value)).remove(zoneIndex(value));
+        case FIELD_REMOVE -> fields.get(zonePlayer(value)).add(zoneIndex(value), (MutableCard) target);
+        default -> throw new IllegalStateException("Unknown change in undo log");
+      }
+    }
+
+    // The winner may have been decided by the reverted changes
+    winner = null;
+    isWinnerOutdated = true;
+  }
+
+  // Record a change in the undo log, if the game is logging
+  private void log(int kind, Object target, int previousValue) {
+    if (!isLogging) return;
+    if (logSize == logKinds.length) {
+      logKinds = Arrays.copyOf(logKinds, logSize * 2);
+      logTargets = Arrays.copyOf(logTargets, logSize * 2);
+      logValues = Arrays.copyOf(logValues, logSize * 2);
+    }
+    logKinds[logSize] = kind;
+    logTargets[logSize] = target;
+    logValues[logSize] = previousValue;
+    logSize++;
+  }
+
+  // Changes of hands, decks and fields log the player and index as one int
+  private static int zoneEntry(Player who, int index) {
+    return index * 2 + who.ordinal();
+  }
+
+  private static Player zonePlayer(int entry) {
+    return entry % 2 == Player.FINDUS.ordinal() ? Player.FINDUS : Player.PEDDERSEN;
+  }
+
+  private static int zoneIndex(int entry) {
+    return entry / 2;
+  }
+
+  @Override
+  public MutableGame fork() {
+    // The decks are shared with the fork from now on
+    isForked = true;
+    generation++;
+    return new StandardHotStoneGame(this);
+  }
+
+  @Override
+  public MutableGame fork(RandomStrategy randomStrategy) {
+    StandardHotStoneGame fork = (StandardHotStoneGame) fork();
+    fork.randomStrategy = randomStrategy;
+    return fork;
+  }
+
+  @Override
+  public RandomStrategy getRandomStrategy(RandomStrategy effectStrategy) {
+    return randomStrategy != null ? randomStrategy : effectStrategy;
+  }
+
+  @Override
+  public void sampleHiddenCards(Player observer, RandomStrategy randomStrategy) {
+    writableDeck(observer).shuffleIn(List.of(), randomStrategy.nextLong());
+
+    // Draw the opponent's hand anew from all the cards it could hold
+    Player opponent = Player.computeOpponent(observer);
+    List<MutableCard> hand = hands.get(opponent);
+    Deck deck = writableDeck(opponent);
+    int handSize = hand.size();
+    deck.shuffleIn(hand, randomStrategy.nextLong());
+    hand.clear();
+    for (int i = 0; i < handSize; i++) {
+      hand.add(drawn(deck.remove(0)));
+    }
+
+    // The zones are rearranged without entries in the undo log
+    firstReversibleChange = logSize;
+  }
+
+  // Get the deck of the player, copied if it may be shared with a fork
+  private Deck writableDeck(Player who) {
+    Deck deck = (Deck) decks.get(who);
+    if (deckGenerations[who.ordinal()] != generation) {
+      deck = new Deck(deck);
+      decks.put(who, deck);
+      deckGenerations[who.ordinal()] = generation;
+    }
+    return deck;
+  }
+
+  // Get the card drawn from a deck for the hand, copied once the game is
+  // forked, as the cards of the decks may then be shared, and the cards
+  // in hands and fields are changed in place. Cards in the deck are not
+  // seen, so they get their IDs when drawn.
+  private MutableCard drawn(MutableCard card) {
+    assignID(card);
+    return isForked ? card.copy() : card;
+  }
+
+  // Copy a hand or field with copies of its cards, keeping the kind of list
+  private static List<MutableCard> copyOf(List<MutableCard> cards) {
+    List<MutableCard> copy = cards instanceof Hand hand ? new Hand(hand) : new ArrayList<>(cards);
+    for (int i = 0; i < copy.size(); i++) {
+      copy.set(i, copy.get(i).copy());
+    }
+    return copy;
+  }
+
+  // Find the card's index in the hand or field, matching on ID if the
+  // card is an instance belonging to a game of the forks of this game
+  private int indexOf(List<MutableCard> zone, MutableCard card) {
+    int index = zone.indexOf(card);
+    if (index < 0) {
+      // A card new to the game gets an ID of the game before it is matched
+      assignID(card);
+    }
+    if (index < 0 && card.getID() != null) {
+      for (int i = 0; i < zone.size() && index < 0; i++) {
+        if (card.getID().equals(zone.get(i).getID())) index = i;
+      }
+    }
+    return index;
+  }
+
+  // Get this game's instance of the card in the hand or field
+  private MutableCard currentCard(List<MutableCard> zone, MutableCard card) {
+    int index = indexOf(zone, card);
+    return index < 0 ? card : zone.get(index);
+  }
+
+  // Get this game's instance of the minion
+  private MutableCard currentMinion(MutableCard card) {
+    return currentCard(fields.get(card.getOwner()), card);
   }
 }
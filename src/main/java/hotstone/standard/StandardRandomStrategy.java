@@ -11,9 +11,12 @@ public class StandardRandomStrategy implements RandomStrategy {
         this.random = new Random();
     }
 
+    public StandardRandomStrategy(long seed) {
+        this.random = new Random(seed);
+    }
+
     @Override
     public int nextInt(int bound) {
         return random.nextInt(bound);
     }
 }
-
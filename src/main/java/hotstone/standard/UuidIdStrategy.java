@@ -0,0 +1,14 @@
+package hotstone.standard;
+
+import hotstone.framework.strategies.IdStrategy;
+
+import java.util.UUID;
+
+/** Random UUIDs, unique across processes, e.g. for games whose cards
+ * are stored or sent beyond the server. */
+public class UuidIdStrategy implements IdStrategy {
+    @Override
+    public String nextID() {
+        return UUID.randomUUID().toString();
+    }
+}
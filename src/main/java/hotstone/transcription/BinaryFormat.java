@@ -0,0 +1,117 @@
+package hotstone.transcription;
+
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** The compact binary format of a transcript. A file starts with the
+ * MAGIC bytes and the VERSION. A record is the sequence number, turn
+ * and value as variable length numbers, so small ones take a byte, the
+ * player, action and status as a byte each, and the card IDs as their
+ * UTF-8 bytes after their length plus one, where 0 is no card.
+ */
+public class BinaryFormat implements TranscriptFormat {
+    public static final byte[] MAGIC = {'H', 'S', 'T', 'R'};
+    public static final int VERSION = 1;
+    private static final int NO_STATUS = 0xFF;
+
+    private static final Player[] PLAYERS = Player.values();
+    private static final TranscriptAction[] ACTIONS = TranscriptAction.values();
+    private static final Status[] STATUSES = Status.values();
+
+    @Override
+    public String getFileSuffix() {
+        return ".hstr";
+    }
+
+    @Override
+    public void writeHeader(ByteArrayOutputStream out) {
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+    }
+
+    @Override
+    public void writeRecord(TranscriptRecord record, ByteArrayOutputStream out) {
+        writeNumber(out, record.getSequence());
+        writeNumber(out, record.getTurn());
+        out.write(record.getPlayer().ordinal());
+        out.write(record.getAction().ordinal());
+        writeId(out, record.getCardId());
+        writeId(out, record.getOtherCardId());
+        // Zigzag, so small negative changes are small too
+        writeNumber(out, Integer.toUnsignedLong((record.getValue() << 1) ^ (record.getValue() >> 31)));
+        out.write(record.getStatus() == null ? NO_STATUS : record.getStatus().ordinal());
+    }
+
+    @Override
+    public List<TranscriptRecord> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC) || data.readUnsignedByte() != VERSION) {
+            throw new IOException("Not a binary transcript of version " + VERSION);
+        }
+
+        List<TranscriptRecord> records = new ArrayList<>();
+        while (true) {
+            int first = data.read();
+            if (first < 0) return records;
+            long sequence = readNumber(data, first);
+            int turn = (int) readNumber(data, data.readUnsignedByte());
+            Player player = PLAYERS[data.readUnsignedByte()];
+            TranscriptAction action = ACTIONS[data.readUnsignedByte()];
+            String cardId = readId(data);
+            String otherCardId = readId(data);
+            int zigzag = (int) readNumber(data, data.readUnsignedByte());
+            int value = (zigzag >>> 1) ^ -(zigzag & 1);
+            int status = data.readUnsignedByte();
+            records.add(new TranscriptRecord(sequence, turn, player, action, cardId, otherCardId, value,
+                    status == NO_STATUS ? null : STATUSES[status]));
+        }
+    }
+
+    // Write a number 7 bits a byte, the high bit telling more follow
+    private static void writeNumber(ByteArrayOutputStream out, long number) {
+        while ((number & ~0x7FL) != 0) {
+            out.write((int) (number & 0x7F) | 0x80);
+            number >>>= 7;
+        }
+        out.write((int) number);
+    }
+
+    private static void writeId(ByteArrayOutputStream out, String id) {
+        if (id == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        writeNumber(out, bytes.length + 1);
+        out.writeBytes(bytes);
+    }
+
+    private static long readNumber(DataInputStream in, int first) throws IOException {
+        long number = first & 0x7F;
+        int shift = 7;
+        for (int b = first; (b & 0x80) != 0; shift += 7) {
+            b = in.readUnsignedByte();
+            number |= (long) (b & 0x7F) << shift;
+        }
+        return number;
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        int length = (int) readNumber(in, in.readUnsignedByte());
+        if (length == 0) return null;
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
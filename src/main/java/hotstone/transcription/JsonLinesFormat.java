@@ -0,0 +1,111 @@
+package hotstone.transcription;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** The JSON Lines format of a transcript: a JSON object per line, e.g.
+ * {"seq":7,"turn":2,"player":"FINDUS","action":"ATTACK_CARD","card":"12","other":"15","value":0,"status":"OK"}
+ * where the cards and the status are left out when there are none.
+ */
+public class JsonLinesFormat implements TranscriptFormat {
+
+    @Override
+    public String getFileSuffix() {
+        return ".jsonl";
+    }
+
+    @Override
+    public void writeHeader(ByteArrayOutputStream out) {
+    }
+
+    @Override
+    public void writeRecord(TranscriptRecord record, ByteArrayOutputStream out) {
+        writeAscii(out, "{\"seq\":");
+        writeAscii(out, Long.toString(record.getSequence()));
+        writeAscii(out, ",\"turn\":");
+        writeAscii(out, Integer.toString(record.getTurn()));
+        writeAscii(out, ",\"player\":\"");
+        writeAscii(out, record.getPlayer().name());
+        writeAscii(out, "\",\"action\":\"");
+        writeAscii(out, record.getAction().name());
+        writeAscii(out, "\"");
+        if (record.getCardId() != null) {
+            writeAscii(out, ",\"card\":");
+            writeString(out, record.getCardId());
+        }
+        if (record.getOtherCardId() != null) {
+            writeAscii(out, ",\"other\":");
+            writeString(out, record.getOtherCardId());
+        }
+        writeAscii(out, ",\"value\":");
+        writeAscii(out, Integer.toString(record.getValue()));
+        if (record.getStatus() != null) {
+            writeAscii(out, ",\"status\":\"");
+            writeAscii(out, record.getStatus().name());
+            writeAscii(out, "\"");
+        }
+        writeAscii(out, "}\n");
+    }
+
+    @Override
+    public List<TranscriptRecord> read(InputStream in) throws IOException {
+        List<TranscriptRecord> records = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) continue;
+                JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                records.add(new TranscriptRecord(json.get("seq").getAsLong(), json.get("turn").getAsInt(),
+                        Player.valueOf(json.get("player").getAsString()),
+                        TranscriptAction.valueOf(json.get("action").getAsString()),
+                        stringOrNull(json.get("card")), stringOrNull(json.get("other")),
+                        json.get("value").getAsInt(),
+                        json.has("status") ? Status.valueOf(json.get("status").getAsString()) : null));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Not a transcript in JSON Lines: " + e.getMessage(), e);
+        }
+        return records;
+    }
+
+    private static String stringOrNull(JsonElement element) {
+        return element == null ? null : element.getAsString();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) out.write(ascii.charAt(i));
+    }
+
+    // Write a JSON string, escaping quotes, backslashes and control characters
+    private static void writeString(ByteArrayOutputStream out, String string) {
+        out.write('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                writeAscii(out, String.format("\\u%04x", (int) c));
+            } else if (c < 0x80) {
+                out.write(c);
+            } else {
+                int end = i + Character.charCount(string.codePointAt(i));
+                out.writeBytes(string.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                i = end - 1;
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,26 @@
+package hotstone.transcription;
+
+/** The actions of a game written in a transcript. The first ones are
+ * the actions of the players; the others are the changes made by the
+ * effects of cards and heroes, as the mutators of MutableGame.
+ *
+ * The binary format writes the ordinal, so new actions must be added
+ * at the end.
+ */
+public enum TranscriptAction {
+    END_TURN,
+    PLAY_CARD,
+    ATTACK_CARD,
+    ATTACK_HERO,
+    USE_POWER,
+    CHANGE_HERO_HEALTH,
+    DRAW_CARD,
+    REDUCE_CARD_HEALTH,
+    REMOVE_MINION,
+    CHANGE_MINION_ATTACK;
+
+    /** @return true if the action is one of a player, as opposed to one of an effect */
+    public boolean isPlayerAction() {
+        return ordinal() <= USE_POWER.ordinal();
+    }
+}
@@ -0,0 +1,33 @@
+package hotstone.transcription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/** The format of the files of a transcript. */
+public interface TranscriptFormat {
+    /** @return the suffix of the names of the files, e.g. ".jsonl" */
+    String getFileSuffix();
+
+    /** Write what starts each file of the format, if anything
+     *
+     * @param out the buffer of the file
+     */
+    void writeHeader(ByteArrayOutputStream out);
+
+    /** Write a record
+     *
+     * @param record the record
+     * @param out the buffer of the file
+     */
+    void writeRecord(TranscriptRecord record, ByteArrayOutputStream out);
+
+    /** Read the records of a file of the format
+     *
+     * @param in the file
+     * @return the records, in the order written
+     * @throws IOException if the file cannot be read, or is not of the format
+     */
+    List<TranscriptRecord> read(InputStream in) throws IOException;
+}
@@ -0,0 +1,104 @@
+package hotstone.transcription;
+
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.util.Objects;
+
+/** A record of a transcript: an action of a game, in a turn, by or on a
+ * player, with the IDs of the cards of it, a value, and the status the
+ * action resulted in.
+ *
+ * The value is the index of a card played, or the amount of health or
+ * attack changed. The status is null for actions returning none, e.g.
+ * ending the turn.
+ *
+ * The records of a TranscriptWriter are reused as the slots of its
+ * buffer, so they are only set in this package.
+ */
+public final class TranscriptRecord {
+    private long sequence;
+    private int turn;
+    private Player player;
+    private TranscriptAction action;
+    private String cardId;
+    private String otherCardId;
+    private int value;
+    private Status status;
+
+    TranscriptRecord() {
+    }
+
+    public TranscriptRecord(long sequence, int turn, Player player, TranscriptAction action,
+                            String cardId, String otherCardId, int value, Status status) {
+        set(sequence, turn, player, action, cardId, otherCardId, value, status);
+    }
+
+    void set(long sequence, int turn, Player player, TranscriptAction action,
+             String cardId, String otherCardId, int value, Status status) {
+        this.sequence = sequence;
+        this.turn = turn;
+        this.player = player;
+        this.action = action;
+        this.cardId = cardId;
+        this.otherCardId = otherCardId;
+        this.value = value;
+        this.status = status;
+    }
+
+    /** @return the number of the record in the transcript, from 1 */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public TranscriptAction getAction() {
+        return action;
+    }
+
+    /** @return the ID of the card played, attacking or changed, or null */
+    public String getCardId() {
+        return cardId;
+    }
+
+    /** @return the ID of the card attacked, or null */
+    public String getOtherCardId() {
+        return otherCardId;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TranscriptRecord that)) return false;
+        return sequence == that.sequence && turn == that.turn && value == that.value
+                && player == that.player && action == that.action && status == that.status
+                && Objects.equals(cardId, that.cardId) && Objects.equals(otherCardId, that.otherCardId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sequence, turn, player, action, cardId, otherCardId, value, status);
+    }
+
+    @Override
+    public String toString() {
+        return sequence + ": turn " + turn + " " + player + " " + action
+                + (cardId == null ? "" : " " + cardId) + (otherCardId == null ? "" : " " + otherCardId)
+                + " " + value + (status == null ? "" : " " + status);
+    }
+}
@@ -0,0 +1,281 @@
+package hotstone.transcription;
+
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/** A writer of a transcript, which appends the records of a game
+ * without waiting for them to be written. The records are put in a
+ * bounded ring buffer, whose slots are reused, and a thread of the
+ * writer writes them in batches, to files rotated when they reach a
+ * size, or to a stream, e.g. the console.
+ *
+ * When the buffer is full the overflow policy applies: a record is
+ * dropped and counted, or the game waits for the writer to catch up.
+ */
+public class TranscriptWriter implements Closeable {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final long DEFAULT_MAX_FILE_BYTES = 16 * 1024 * 1024;
+    // How long the writer waits for a batch to fill before writing it
+    private static final long FLUSH_MILLIS = 100;
+
+    /** What to do with a record when the buffer is full */
+    public enum OverflowPolicy {
+        /** Drop the record, so the game is never held up */
+        DROP,
+        /** Wait until the writer has room, so no record is lost */
+        BLOCK
+    }
+
+    private final TranscriptFormat format;
+    private final OverflowPolicy policy;
+    private final TranscriptRecord[] ring;
+    private final int mask;
+    // Records are appended at head and written from tail, both counted
+    // from the start and guarded by the ring
+    private long head = 0;
+    private long tail = 0;
+    private long dropped = 0;
+    private boolean isClosed = false;
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxFileBytes;
+    private OutputStream out;
+    private long fileBytes;
+    private int fileCount = 0;
+    private IOException failure;
+    private final Thread thread;
+
+    /** Create a writer of files in the directory, named by the base name,
+     * a number and the suffix of the format, e.g. "game-00001.jsonl"
+     *
+     * @param directory the directory of the files
+     * @param baseName the start of the names of the files
+     * @param format the format of the files
+     * @param maxFileBytes the size a file is rotated at
+     * @param capacity the number of records buffered, rounded up to a power of two
+     * @param policy what to do when the buffer is full
+     */
+    public TranscriptWriter(Path directory, String baseName, TranscriptFormat format,
+                            long maxFileBytes, int capacity, OverflowPolicy policy) {
+        this(directory, baseName, null, format, maxFileBytes, capacity, policy);
+    }
+
+    /** Create a writer to a stream, e.g. System.out, which is not closed
+     * by the writer
+     *
+     * @param out the stream
+     * @param format the format of the stream
+     * @param capacity the number of records buffered, rounded up to a power of two
+     * @param policy what to do when the buffer is full
+     */
+    public TranscriptWriter(OutputStream out, TranscriptFormat format, int capacity, OverflowPolicy policy) {
+        this(null, null, out, format, Long.MAX_VALUE, capacity, policy);
+    }
+
+    private TranscriptWriter(Path directory, String baseName, OutputStream out, TranscriptFormat format,
+                             long maxFileBytes, int capacity, OverflowPolicy policy) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.out = out;
+        this.format = format;
+        this.maxFileBytes = maxFileBytes;
+        this.policy = policy;
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.ring = new TranscriptRecord[size];
+        for (int i = 0; i < size; i++) ring[i] = new TranscriptRecord();
+        this.mask = size - 1;
+
+        thread = new Thread(this::writeRecords, "transcript-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Append a record of an action
+     *
+     * @return true if the record was appended, false if it was dropped
+     */
+    public boolean append(int turn, Player player, TranscriptAction action,
+                          String cardId, String otherCardId, int value, Status status) {
+        synchronized (ring) {
+            while (head - tail == ring.length) {
+                if (policy == OverflowPolicy.DROP || isClosed) {
+                    dropped++;
+                    return false;
+                }
+                try {
+                    ring.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped++;
+                    return false;
+                }
+            }
+            if (isClosed) {
+                dropped++;
+                return false;
+            }
+            long sequence = head + dropped + 1;
+            ring[(int) (head & mask)].set(sequence, turn, player, action, cardId, otherCardId, value, status);
+            head++;
+            // Wake the writer when half a buffer is waiting, rather than for every record
+            if (head - tail == (ring.length + 1) / 2) ring.notifyAll();
+        }
+        return true;
+    }
+
+    /** Wait until the records appended so far are written
+     *
+     * @throws UncheckedIOException if writing failed
+     */
+    public void flush() {
+        synchronized (ring) {
+            long appended = head;
+            ring.notifyAll();
+            while (tail < appended && failure == null && thread.isAlive()) {
+                try {
+                    ring.wait(FLUSH_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (failure != null) throw new UncheckedIOException(failure);
+        }
+    }
+
+    /** Write the records appended, and stop the writer
+     *
+     * @throws UncheckedIOException if writing failed
+     */
+    @Override
+    public void close() {
+        synchronized (ring) {
+            isClosed = true;
+            ring.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) throw new UncheckedIOException(failure);
+    }
+
+    /** @return the number of records written */
+    public long getWrittenCount() {
+        synchronized (ring) {
+            return tail;
+        }
+    }
+
+    /** @return the number of records dropped as the buffer was full */
+    public long getDroppedCount() {
+        synchronized (ring) {
+            return dropped;
+        }
+    }
+
+    // The loop of the thread of the writer: wait for records, write
+    // the ones appended, then free their slots
+    private void writeRecords() {
+        ByteArrayOutputStream batch = new BatchBuffer(64 * 1024);
+        try {
+            while (true) {
+                long from;
+                long to;
+                boolean isLast;
+                synchronized (ring) {
+                    if (head == tail && !isClosed) ring.wait(FLUSH_MILLIS);
+                    from = tail;
+                    to = head;
+                    isLast = isClosed;
+                }
+
+                // The slots from tail to head are not set until tail is moved
+                for (long i = from; i < to; i++) {
+                    if (fileCount == 0 || fileBytes + batch.size() >= maxFileBytes) {
+                        writeBatch(batch);
+                        rotate(batch);
+                    }
+                    format.writeRecord(ring[(int) (i & mask)], batch);
+                }
+                writeBatch(batch);
+
+                synchronized (ring) {
+                    tail = to;
+                    ring.notifyAll();
+                }
+                if (isLast && from == to) break;
+            }
+        } catch (IOException e) {
+            synchronized (ring) {
+                failure = e;
+                isClosed = true;
+                ring.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            // Appends must not wait for a writer that is gone
+            synchronized (ring) {
+                isClosed = true;
+                ring.notifyAll();
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            closeFile();
+        }
+    }
+
+    // A buffer of the records of a batch, only used by the thread of the
+    // writer, so its writes need not be synchronized
+    private static class BatchBuffer extends ByteArrayOutputStream {
+        BatchBuffer(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(int b) {
+            if (count == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[count++] = (byte) b;
+        }
+    }
+
+    private void writeBatch(ByteArrayOutputStream batch) throws IOException {
+        if (batch.size() == 0 || out == null) return;
+        batch.writeTo(out);
+        out.flush();
+        fileBytes += batch.size();
+        batch.reset();
+    }
+
+    // Start the next file, or the stream if there are no files
+    private void rotate(ByteArrayOutputStream batch) throws IOException {
+        fileCount++;
+        if (directory != null) {
+            closeFile();
+            Path file = directory.resolve(String.format("%s-%05d%s", baseName, fileCount, format.getFileSuffix()));
+            out = Files.newOutputStream(file);
+            fileBytes = 0;
+        }
+        format.writeHeader(batch);
+    }
+
+    private void closeFile() {
+        if (directory == null || out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+        out = null;
+    }
+}
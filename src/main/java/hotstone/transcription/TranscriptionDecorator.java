@@ -3,30 +3,53 @@ package hotstone.transcription;
 import hotstone.framework.Card;
 import hotstone.framework.Player;
 import hotstone.framework.Status;
+import hotstone.framework.strategies.RandomStrategy;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
 import hotstone.observer.GameObserver;
 
-import java.util.List;
-
+/** A decorator of a game writing a transcript of the actions of the
+ * game, as structured records, by a TranscriptWriter. The records are
+ * appended without waiting for them to be written, so the game is not
+ * held up by the output.
+ */
 public class TranscriptionDecorator implements MutableGame {
     private final MutableGame wrappedGame;
+    private final TranscriptWriter writer;
     private boolean isTranscribing = true; // Control variable to enable/disable transcription
 
+    /** Create a decorator writing the transcript to the console, in JSON Lines */
     public TranscriptionDecorator(MutableGame game) {
+        this(game, ConsoleTranscript.WRITER);
+    }
+
+    public TranscriptionDecorator(MutableGame game, TranscriptWriter writer) {
         this.wrappedGame = game;
+        this.writer = writer;
     }
 
     public void setTranscribing(boolean transcriping) {
         this.isTranscribing = transcriping;
     }
 
-    private void log(String message) {
+    private void log(Player player, TranscriptAction action, String cardId, String otherCardId,
+                     int value, Status status) {
         if (isTranscribing) {
-            System.out.println(message);
+            writer.append(wrappedGame.getTurnNumber(), player, action, cardId, otherCardId, value, status);
         }
     }
+
+    // The writer to the console, shared by the games, which writes the
+    // records left when the program exits
+    private static class ConsoleTranscript {
+        private static final TranscriptWriter WRITER = new TranscriptWriter(System.out, new JsonLinesFormat(),
+                TranscriptWriter.DEFAULT_CAPACITY, TranscriptWriter.OverflowPolicy.BLOCK);
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(WRITER::close));
+        }
+    }
+
     @Override
     public Player getPlayerInTurn() {
         return wrappedGame.getPlayerInTurn();
@@ -86,77 +109,66 @@ public class TranscriptionDecorator implements MutableGame {
 
     @Override
     public void endTurn() {
-        log(wrappedGame.getPlayerInTurn() + " ended turn");
+        Player who = wrappedGame.getPlayerInTurn();
+        log(who, TranscriptAction.END_TURN, null, null, 0, null);
         wrappedGame.endTurn();
     }
 
     @Override
     public Status playCard(Player who, Card card, int atIndex) {
         Status status = wrappedGame.playCard(who, card, atIndex);
-        if (status != Status.OK){
-            return status;
-        }
-        log(who + " played card " + card.getName() + " at index " + atIndex);
+        log(who, TranscriptAction.PLAY_CARD, card.getID(), null, atIndex, status);
         return status;
     }
 
     @Override
     public Status attackCard(Player playerAttacking, Card attackingCard, Card defendingCard) {
         Status status = wrappedGame.attackCard(playerAttacking, attackingCard, defendingCard);
-        if (status != Status.OK){
-            return status;
-        }
-        log(playerAttacking + " attacked " + defendingCard.getName() + " with " + attackingCard.getName());
+        log(playerAttacking, TranscriptAction.ATTACK_CARD, attackingCard.getID(), defendingCard.getID(), 0, status);
         return status;
     }
 
     @Override
     public Status attackHero(Player playerAttacking, Card attackingCard) {
         Status status = wrappedGame.attackHero(playerAttacking, attackingCard);
-        if (status != Status.OK){
-            return status;
-        }
-        log(playerAttacking + " attacked Hero with " + attackingCard.getName());
+        log(playerAttacking, TranscriptAction.ATTACK_HERO, attackingCard.getID(), null, 0, status);
         return status;
     }
 
     @Override
     public Status usePower(Player who) {
         Status status = wrappedGame.usePower(who);
-        if (status != Status.OK){
-            return status;
-        }
-        log(who + " used hero power");
+        log(who, TranscriptAction.USE_POWER, null, null, 0, status);
         return status;
     }
 
     @Override
     public void changeHeroHealth(Player player, int i) {
-        log("Hero health changed by " + i + " for player " + player);
+        log(player, TranscriptAction.CHANGE_HERO_HEALTH, null, null, i, null);
         wrappedGame.changeHeroHealth(player, i);
     }
 
     @Override
     public void drawCard(Player player) {
-        log(player + " drew a card");
+        log(player, TranscriptAction.DRAW_CARD, null, null, 0, null);
         wrappedGame.drawCard(player);
     }
 
     @Override
     public void reduceCardHealth(MutableCard card, int attack) {
-        log(card.getName() + "'s health changed by " + attack);
+        log(card.getOwner(), TranscriptAction.REDUCE_CARD_HEALTH, card.getID(), null, attack, null);
         wrappedGame.reduceCardHealth(card, attack);
     }
 
     @Override
     public void removeMinionFromField(Player player, MutableCard card) {
-        log(card.getName() + " was eliminated");
+        log(player, TranscriptAction.REMOVE_MINION, card.getID(), null, 0, null);
         wrappedGame.removeMinionFromField(player, card);
     }
 
     @Override
     public void changeMinionAttack(MutableCard card, int i) {
-        log(card.getName() + " gained " + i + " attack");
+        log(card.getOwner(), TranscriptAction.CHANGE_MINION_ATTACK, card.getID(), null, i, null);
         wrappedGame.changeMinionAttack(card, i);
     }
 
@@ -165,8 +177,34 @@ public class TranscriptionDecorator implements MutableGame {
         wrappedGame.addCardToField(who, card);
     }
 
+    @Override
+    public MutableGame fork() {
+        // Forks are not transcribed
+        return wrappedGame.fork();
+    }
+
+    @Override
+    public MutableGame fork(RandomStrategy randomStrategy) {
+        return wrappedGame.fork(randomStrategy);
+    }
+
+    @Override
+    public RandomStrategy getRandomStrategy(RandomStrategy effectStrategy) {
+        return wrappedGame.getRandomStrategy(effectStrategy);
+    }
+
+    @Override
+    public void sampleHiddenCards(Player observer, RandomStrategy randomStrategy) {
+        wrappedGame.sampleHiddenCards(observer, randomStrategy);
+    }
+
     @Override
     public void addObserver(GameObserver observer) {
         wrappedGame.addObserver(observer);
     }
+
+    @Override
+    public void addObserver(GameObserver observer, int interests) {
+        wrappedGame.addObserver(observer, interests);
+    }
 }
@@ -2,27 +2,33 @@ package hotstone.variants;
 
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
+import hotstone.standard.CardDefinition;
+import hotstone.standard.Deck;
 import hotstone.standard.StandardCard;
 
 import java.util.*;
 
 public class DeckBuilderUtil {
 
-    // Method to duplicate and shuffle the deck
-    public static List<MutableCard> buildeShuffledDeck(List<MutableCard> cards) {
+    // Method to create two cards of each definition in a deck, which is shuffled by the seed as the cards are drawn
+    public static Deck buildeShuffledDeck(List<CardDefinition> definitions, Player owner, long seed) {
         List<MutableCard> deck = new ArrayList<>();
-        for (MutableCard card : cards) {
+        for (CardDefinition definition : definitions) {
             // Duplicate each card to simulate adding them twice
-            deck.add(new StandardCard(card.getName(), card.getManaCost(), card.getAttack(), card.getHealth(), card.getOwner(), card.getEffect()));
-            deck.add(new StandardCard(card.getName(), card.getManaCost(), card.getAttack(), card.getHealth(), card.getOwner(), card.getEffect()));
+            deck.add(new StandardCard(definition, owner));
+            deck.add(new StandardCard(definition, owner));
         }
-        // Shuffle the deck
-        Collections.shuffle(deck);
-        return deck;
+        return new Deck(deck, seed);
     }
 
     // Make sure the first 3 cards follow the mana cost specifications
     public static List<MutableCard> enforceManaConstraints(List<MutableCard> deck) {
+        // A lazily shuffled deck picks cards within the limits as they are drawn
+        if (deck instanceof Deck lazyDeck) {
+            lazyDeck.limitManaCosts(1, 2, 4);
+            return deck;
+        }
+
         // find and move a 1 mana card to index 0
         moveCardWithManaCost(deck, 1, 0);
 
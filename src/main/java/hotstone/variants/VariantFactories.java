@@ -0,0 +1,106 @@
+package hotstone.variants;
+
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.standard.SeededRandomContext;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.betastone.BetaStoneFactory;
+import hotstone.variants.deltastone.DeltaStoneFactory;
+import hotstone.variants.epsilonstone.EpsilonStoneFactory;
+import hotstone.variants.etastone.EtaStoneFactory;
+import hotstone.variants.gammastone.GammaStoneFactory;
+import hotstone.variants.semistone.SemiStoneFactory;
+import hotstone.variants.zetastone.ZetaStoneFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** Lookup of the HotStone variants by name, so main programs
+ * and servers can pick a variant from a command line argument.
+ *
+ * A variant may also be created for the RandomContext of a game, so
+ * its random choices are all derived from the seed of the game.
+ */
+public class VariantFactories {
+    private static final Map<String, Supplier<HotstoneFactory>> factories = new LinkedHashMap<>();
+    private static final Map<String, Function<RandomContext, HotstoneFactory>> seededFactories = new LinkedHashMap<>();
+
+    static {
+        register("alphastone", AlphaStoneFactory::new, AlphaStoneFactory::new);
+        register("betastone", BetaStoneFactory::new, BetaStoneFactory::new);
+        register("gammastone", GammaStoneFactory::new, GammaStoneFactory::new);
+        register("deltastone", DeltaStoneFactory::new, DeltaStoneFactory::new);
+        register("epsilonstone", EpsilonStoneFactory::new, EpsilonStoneFactory::new);
+        register("zetastone", ZetaStoneFactory::new, ZetaStoneFactory::new);
+        register("etastone", EtaStoneFactory::new, EtaStoneFactory::new);
+        register("semistone", SemiStoneFactory::new, SemiStoneFactory::new);
+    }
+
+    private static void register(String variant, Supplier<HotstoneFactory> supplier,
+                                 Function<RandomContext, HotstoneFactory> seeded) {
+        factories.put(variant, supplier);
+        seededFactories.put(variant, seeded);
+    }
+
+    /** Get the names of all known variants
+     *
+     * @return the variant names in lower case
+     */
+    public static List<String> getVariantNames() {
+        return new ArrayList<>(factories.keySet());
+    }
+
+    /** Get a supplier of factories for the named variant
+     *
+     * @param variant name of the variant, case is ignored
+     * @return supplier creating a new factory for each call
+     * @throws IllegalArgumentException if the variant is unknown
+     */
+    public static Supplier<HotstoneFactory> getFactorySupplier(String variant) {
+        Supplier<HotstoneFactory> supplier = factories.get(variant.toLowerCase());
+        if (supplier == null) {
+            throw new IllegalArgumentException("Unknown variant: " + variant);
+        }
+        return supplier;
+    }
+
+    /** Create a new factory for the named variant
+     *
+     * @param variant name of the variant, case is ignored
+     * @return a new factory for the variant
+     * @throws IllegalArgumentException if the variant is unknown
+     */
+    public static HotstoneFactory createFactory(String variant) {
+        return getFactorySupplier(variant).get();
+    }
+
+    /** Get the creator of factories for the named variant, for the
+     * random context of each game
+     *
+     * @param variant name of the variant, case is ignored
+     * @return function creating a new factory for each context
+     * @throws IllegalArgumentException if the variant is unknown
+     */
+    public static Function<RandomContext, HotstoneFactory> getFactoryCreator(String variant) {
+        Function<RandomContext, HotstoneFactory> creator = seededFactories.get(variant.toLowerCase());
+        if (creator == null) {
+            throw new IllegalArgumentException("Unknown variant: " + variant);
+        }
+        return creator;
+    }
+
+    /** Create a new factory for the named variant, for a game of the seed
+     *
+     * @param variant name of the variant, case is ignored
+     * @param seed the seed of the random choices of the game
+     * @return a new factory for the variant
+     * @throws IllegalArgumentException if the variant is unknown
+     */
+    public static HotstoneFactory createFactory(String variant, long seed) {
+        return getFactoryCreator(variant).apply(new SeededRandomContext(seed));
+    }
+}
@@ -3,6 +3,7 @@ package hotstone.variants.alphastone;
 import hotstone.framework.strategies.DeckBuilderStrategy;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.Player;
+import hotstone.standard.CardDefinition;
 import hotstone.standard.GameConstants;
 import hotstone.standard.StandardCard;
 import hotstone.variants.NullEffect;
@@ -11,17 +12,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class AlphaStoneDeckBuilderStrategy implements DeckBuilderStrategy {
+    // The cards of the deck in order, shared by the decks of all games
+    private static final List<CardDefinition> CARDS = List.of(
+            new CardDefinition(GameConstants.TRES_CARD, 3, 3, 3, new NullEffect()),
+            new CardDefinition(GameConstants.DOS_CARD, 2, 2, 2, new NullEffect()),
+            new CardDefinition(GameConstants.UNO_CARD, 1, 1, 1, new NullEffect()),
+            new CardDefinition(GameConstants.CUATRO_CARD, 2, 3, 1, new NullEffect()),
+            new CardDefinition(GameConstants.CINCO_CARD, 3, 5, 1, new NullEffect()),
+            new CardDefinition(GameConstants.SEIS_CARD, 2, 1, 3, new NullEffect()),
+            new CardDefinition(GameConstants.SIETE_CARD, 3, 2, 4, new NullEffect()));
+
     @Override
     public List<MutableCard> buildDeck(Player player) {
         List<MutableCard> deck = new ArrayList<>();
-
-        deck.add(new StandardCard(GameConstants.TRES_CARD, 3, 3, 3, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.DOS_CARD, 2, 2, 2, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.UNO_CARD, 1, 1, 1, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.CUATRO_CARD, 2, 3, 1, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.CINCO_CARD, 3, 5, 1, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.SEIS_CARD, 2, 1, 3, player, new NullEffect()));
-        deck.add(new StandardCard(GameConstants.SIETE_CARD, 3, 2, 4, player, new NullEffect()));
+        for (CardDefinition definition : CARDS) {
+            deck.add(new StandardCard(definition, player));
+        }
         return deck;
     }
 }
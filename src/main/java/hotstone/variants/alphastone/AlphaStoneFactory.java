@@ -1,8 +1,24 @@
 package hotstone.variants.alphastone;
 
 import hotstone.framework.strategies.*;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
+
+import java.util.SplittableRandom;
 
 public class AlphaStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public AlphaStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public AlphaStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new AlphaStoneManaStrategy();
@@ -22,4 +38,14 @@ public class AlphaStoneFactory implements HotstoneFactory {
     public DeckBuilderStrategy createDeckBuilderStrategy() {
         return new AlphaStoneDeckBuilderStrategy();
     }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
+    }
 }
@@ -2,6 +2,7 @@ package hotstone.variants.alphastone;
 
 import hotstone.framework.Game;
 import hotstone.framework.Player;
+import hotstone.framework.strategies.StateChange;
 import hotstone.framework.strategies.WinningStrategy;
 
 public class AlphaStoneWinnerStrategy implements WinningStrategy {
@@ -13,4 +14,9 @@ public class AlphaStoneWinnerStrategy implements WinningStrategy {
         }
         return null;
     }
+
+    @Override
+    public boolean isDecidedBy(StateChange change) {
+        return change == StateChange.TURN;
+    }
 }
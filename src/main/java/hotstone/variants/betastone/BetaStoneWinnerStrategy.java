@@ -2,6 +2,7 @@ package hotstone.variants.betastone;
 
 import hotstone.framework.Game;
 import hotstone.framework.Player;
+import hotstone.framework.strategies.StateChange;
 import hotstone.framework.strategies.WinningStrategy;
 
 public class BetaStoneWinnerStrategy implements WinningStrategy {
@@ -14,4 +15,9 @@ public class BetaStoneWinnerStrategy implements WinningStrategy {
         }
         return null;
     }
+
+    @Override
+    public boolean isDecidedBy(StateChange change) {
+        return change == StateChange.HERO_HEALTH;
+    }
 }
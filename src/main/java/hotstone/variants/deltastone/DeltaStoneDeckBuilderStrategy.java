@@ -5,29 +5,39 @@ import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.Player;
 import hotstone.variants.DeckBuilderUtil;
 import hotstone.standard.GameConstants;
-import hotstone.standard.StandardCard;
+import hotstone.standard.CardDefinition;
 import hotstone.variants.NullEffect;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 public class DeltaStoneDeckBuilderStrategy implements DeckBuilderStrategy {
+    // The 9 kinds of cards, shared by the decks of all games
+    private static final List<CardDefinition> CARDS = List.of(
+            new CardDefinition(GameConstants.BROWN_RICE_CARD, 1, 1, 2, new NullEffect()),
+            new CardDefinition(GameConstants.FRENCH_FRIES_CARD, 1, 2, 1, new NullEffect()),
+            new CardDefinition(GameConstants.GREEN_SALAD_CARD, 2, 2, 3, new NullEffect()),
+            new CardDefinition(GameConstants.TOMATO_SALAD_CARD, 2, 3, 2, new NullEffect()),
+            new CardDefinition(GameConstants.POKE_BOWL_CARD, 3, 2, 4, new NullEffect()),
+            new CardDefinition(GameConstants.PUMPKIN_SOUP_CARD, 4, 2, 7, new NullEffect()),
+            new CardDefinition(GameConstants.NOODLE_SOUP_CARD, 4, 5, 3, new NullEffect()),
+            new CardDefinition(GameConstants.SPRING_ROLLS_CARD, 5, 3, 7, new NullEffect()),
+            new CardDefinition(GameConstants.BAKED_SALMON_CARD, 5, 8, 2, new NullEffect()));
+
+    private final SplittableRandom seeds;
+
+    public DeltaStoneDeckBuilderStrategy() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    // The decks are shuffled by seeds from the given seed, one strategy being created for each game
+    public DeltaStoneDeckBuilderStrategy(long seed) {
+        this.seeds = new SplittableRandom(seed);
+    }
     @Override
     public List<MutableCard> buildDeck(Player player) {
-        // Define the 9 cards
-        List<MutableCard> cards = new ArrayList<>();
-        cards.add(new StandardCard(GameConstants.BROWN_RICE_CARD, 1, 1, 2, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.FRENCH_FRIES_CARD, 1, 2, 1, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.GREEN_SALAD_CARD, 2, 2, 3, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.TOMATO_SALAD_CARD, 2, 3, 2, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.POKE_BOWL_CARD, 3, 2, 4, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.PUMPKIN_SOUP_CARD, 4, 2, 7, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.NOODLE_SOUP_CARD, 4, 5, 3, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.SPRING_ROLLS_CARD, 5, 3, 7, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.BAKED_SALMON_CARD, 5, 8, 2, player, new NullEffect()));
-
         // Use utility to build, shuffle and enforce mana constraints
-        List<MutableCard> deck = DeckBuilderUtil.buildeShuffledDeck(cards);
+        List<MutableCard> deck = DeckBuilderUtil.buildeShuffledDeck(CARDS, player, seeds.nextLong());
         return DeckBuilderUtil.enforceManaConstraints(deck);
     }
 }
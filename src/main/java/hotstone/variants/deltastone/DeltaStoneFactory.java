@@ -1,10 +1,26 @@
 package hotstone.variants.deltastone;
 
 import hotstone.framework.strategies.*;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.alphastone.AlphaStoneHeroStrategy;
 import hotstone.variants.alphastone.AlphaStoneWinnerStrategy;
 
+import java.util.SplittableRandom;
+
 public class DeltaStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public DeltaStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public DeltaStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new DeltaStoneManaStrategy();
@@ -22,6 +38,16 @@ public class DeltaStoneFactory implements HotstoneFactory {
 
     @Override
     public DeckBuilderStrategy createDeckBuilderStrategy() {
-        return new DeltaStoneDeckBuilderStrategy();
+        return new DeltaStoneDeckBuilderStrategy(getRandomContext().nextSeed());
+    }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
     }
 }
@@ -1,11 +1,27 @@
 package hotstone.variants.epsilonstone;
 
 import hotstone.framework.strategies.*;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.alphastone.AlphaStoneDeckBuilderStrategy;
 import hotstone.variants.alphastone.AlphaStoneManaStrategy;
 import hotstone.variants.alphastone.AlphaStoneWinnerStrategy;
 
+import java.util.SplittableRandom;
+
 public class EpsilonStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public EpsilonStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public EpsilonStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new AlphaStoneManaStrategy();
@@ -18,11 +34,21 @@ public class EpsilonStoneFactory implements HotstoneFactory {
 
     @Override
     public HeroStrategy createHeroStrategy() {
-        return new EpsilonStoneHeroStrategy();
+        return new EpsilonStoneHeroStrategy(getRandomContext());
     }
 
     @Override
     public DeckBuilderStrategy createDeckBuilderStrategy() {
         return new AlphaStoneDeckBuilderStrategy();
     }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
+    }
 }
@@ -3,13 +3,19 @@ package hotstone.variants.epsilonstone;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableHero;
 import hotstone.framework.strategies.HeroStrategy;
+import hotstone.framework.strategies.RandomContext;
 import hotstone.standard.GameConstants;
 import hotstone.standard.StandardHero;
-import hotstone.standard.StandardRandomStrategy;
 
 public class EpsilonStoneHeroStrategy implements HeroStrategy {
-    private final Effect redwine = new RedwinePower(new StandardRandomStrategy());
-    private final Effect pasta = new PastaPower(new StandardRandomStrategy());
+    private final Effect redwine;
+    private final Effect pasta;
+
+    // Each power draws from a strategy of its own of the game
+    public EpsilonStoneHeroStrategy(RandomContext randomContext) {
+        this.redwine = new RedwinePower(randomContext.newStrategy());
+        this.pasta = new PastaPower(randomContext.newStrategy());
+    }
 
     @Override
     public MutableHero getHero(Player player) {
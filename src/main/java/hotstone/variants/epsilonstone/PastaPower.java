@@ -22,7 +22,7 @@ public class PastaPower implements Effect {
 
         if (!friendlyMinions.isEmpty()) {
             // Use randomStrategy to choose a minion
-            int targetIndex = randomStrategy.nextInt(friendlyMinions.size());
+            int targetIndex = game.getRandomStrategy(randomStrategy).nextInt(friendlyMinions.size());
             MutableCard target = (MutableCard) friendlyMinions.get(targetIndex);
             game.changeMinionAttack(target, 2);  // Increase attack by 2
         }
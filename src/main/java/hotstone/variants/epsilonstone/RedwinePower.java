@@ -24,7 +24,7 @@ public class RedwinePower implements Effect {
 
         if (!opponentMinions.isEmpty()) {
             // Use randomStrategy to choose a minion
-            int targetIndex = randomStrategy.nextInt(opponentMinions.size());
+            int targetIndex = game.getRandomStrategy(randomStrategy).nextInt(opponentMinions.size());
             MutableCard target = (MutableCard) opponentMinions.get(targetIndex);
             game.reduceCardHealth(target, 2);  // Give two damage
         }
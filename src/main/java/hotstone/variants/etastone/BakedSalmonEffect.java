@@ -25,7 +25,7 @@ public class BakedSalmonEffect implements Effect {
         // If the field is not empty
         if (!minionsOnField.isEmpty()) {
             // Pick a random minion
-            int randomIndex = randomStrategy.nextInt(minionsOnField.size());
+            int randomIndex = game.getRandomStrategy(randomStrategy).nextInt(minionsOnField.size());
             MutableCard minion = minionsOnField.get(randomIndex);
 
             // Increase the minions attack by 2
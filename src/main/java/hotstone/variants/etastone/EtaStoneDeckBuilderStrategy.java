@@ -3,30 +3,45 @@ package hotstone.variants.etastone;
 import hotstone.framework.Player;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.strategies.DeckBuilderStrategy;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.framework.strategies.RandomStrategy;
 import hotstone.standard.*;
 import hotstone.variants.DeckBuilderUtil;
 import hotstone.variants.NullEffect;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
 
 public class EtaStoneDeckBuilderStrategy implements DeckBuilderStrategy {
+    // The 9 kinds of cards, shared by the decks of a game, as are their effects
+    private final List<CardDefinition> cards;
+    private final SplittableRandom seeds;
+
+    // The effects of the cards each draw from a strategy of their own of the
+    // game, and the decks are shuffled by seeds of the game
+    public EtaStoneDeckBuilderStrategy(RandomContext randomContext) {
+        this.cards = cards(randomContext::newStrategy);
+        this.seeds = new SplittableRandom(randomContext.nextSeed());
+    }
+
+    private static List<CardDefinition> cards(Supplier<RandomStrategy> randomStrategies) {
+        return List.of(
+                new CardDefinition(GameConstants.BROWN_RICE_CARD, 1, 1, 1, new BrownRiceEffect()),
+                new CardDefinition(GameConstants.FRENCH_FRIES_CARD, 1, 2, 1, new NullEffect()),
+                new CardDefinition(GameConstants.GREEN_SALAD_CARD, 2, 2, 3, new NullEffect()),
+                new CardDefinition(GameConstants.TOMATO_SALAD_CARD, 2, 2, 2, new TomatoSaladEffect(randomStrategies.get())),
+                new CardDefinition(GameConstants.POKE_BOWL_CARD, 3, 2, 3, new PokeBowlEffect()),
+                new CardDefinition(GameConstants.PUMPKIN_SOUP_CARD, 4, 2, 7, new NullEffect()),
+                new CardDefinition(GameConstants.NOODLE_SOUP_CARD, 4, 5, 3, new NoodleSoupEffect()),
+                new CardDefinition(GameConstants.SPRING_ROLLS_CARD, 5, 3, 5, new SpringRollsEffect(randomStrategies.get())),
+                new CardDefinition(GameConstants.BAKED_SALMON_CARD, 5, 7, 6, new BakedSalmonEffect(randomStrategies.get())));
+    }
 
     @Override
     public List<MutableCard> buildDeck(Player player) {
-        List<MutableCard> cards = new ArrayList<>();
-        cards.add(new StandardCard(GameConstants.BROWN_RICE_CARD, 1, 1, 1, player, new BrownRiceEffect()));
-        cards.add(new StandardCard(GameConstants.FRENCH_FRIES_CARD, 1, 2, 1, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.GREEN_SALAD_CARD, 2, 2, 3, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.TOMATO_SALAD_CARD, 2, 2, 2, player, new TomatoSaladEffect(new StandardRandomStrategy())));
-        cards.add(new StandardCard(GameConstants.POKE_BOWL_CARD, 3, 2, 3, player, new PokeBowlEffect()));
-        cards.add(new StandardCard(GameConstants.PUMPKIN_SOUP_CARD, 4, 2, 7, player, new NullEffect()));
-        cards.add(new StandardCard(GameConstants.NOODLE_SOUP_CARD, 4, 5, 3, player, new NoodleSoupEffect()));
-        cards.add(new StandardCard(GameConstants.SPRING_ROLLS_CARD, 5, 3, 5, player, new SpringRollsEffect(new StandardRandomStrategy())));
-        cards.add(new StandardCard(GameConstants.BAKED_SALMON_CARD, 5, 7, 6, player, new BakedSalmonEffect(new StandardRandomStrategy())));
-
         // Use utility to build, shuffle and enforce mana constraints
-        List<MutableCard> deck = DeckBuilderUtil.buildeShuffledDeck(cards);
+        List<MutableCard> deck = DeckBuilderUtil.buildeShuffledDeck(cards, player, seeds.nextLong());
         return DeckBuilderUtil.enforceManaConstraints(deck);
     }
 }
@@ -3,13 +3,31 @@ package hotstone.variants.etastone;
 import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.framework.strategies.DeckBuilderStrategy;
 import hotstone.framework.strategies.HeroStrategy;
+import hotstone.framework.strategies.IdStrategy;
 import hotstone.framework.strategies.ManaProductionStrategy;
+import hotstone.framework.strategies.RandomContext;
 import hotstone.framework.strategies.WinningStrategy;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.alphastone.AlphaStoneHeroStrategy;
 import hotstone.variants.alphastone.AlphaStoneWinnerStrategy;
 import hotstone.variants.deltastone.DeltaStoneManaStrategy;
 
+import java.util.SplittableRandom;
+
 public class EtaStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public EtaStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public EtaStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new DeltaStoneManaStrategy();
@@ -27,6 +45,16 @@ public class EtaStoneFactory implements HotstoneFactory {
 
     @Override
     public DeckBuilderStrategy createDeckBuilderStrategy() {
-        return new EtaStoneDeckBuilderStrategy();
+        return new EtaStoneDeckBuilderStrategy(getRandomContext());
+    }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
     }
 }
@@ -29,7 +29,7 @@ public class SpringRollsEffect implements Effect {
         // If the opponent's field is not empty
         if (!minionsOnField.isEmpty()) {
             // Pick a random minion
-            int randomIndex = randomStrategy.nextInt(minionsOnField.size());
+            int randomIndex = game.getRandomStrategy(randomStrategy).nextInt(minionsOnField.size());
             MutableCard minionToRemove = minionsOnField.get(randomIndex);
 
             // Remove the selected minion from the opponent's field
@@ -25,7 +25,7 @@ public class TomatoSaladEffect implements Effect {
         List<? extends MutableCard> minionsOnField = (List<? extends MutableCard>) game.getField(player);
 
         if (!minionsOnField.isEmpty()) {
-            int randomIndex = randomStrategy.nextInt(minionsOnField.size());
+            int randomIndex = game.getRandomStrategy(randomStrategy).nextInt(minionsOnField.size());
             new EffectWizard(new MutableGameAdapter(game))
                     .forMe()
                     .forMinionAt(randomIndex)
@@ -1,10 +1,26 @@
 package hotstone.variants.gammastone;
 
 import hotstone.framework.strategies.*;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.alphastone.AlphaStoneDeckBuilderStrategy;
 import hotstone.variants.alphastone.AlphaStoneManaStrategy;
 
+import java.util.SplittableRandom;
+
 public class GammaStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public GammaStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public GammaStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new AlphaStoneManaStrategy();
@@ -24,4 +40,14 @@ public class GammaStoneFactory implements HotstoneFactory {
     public DeckBuilderStrategy createDeckBuilderStrategy() {
         return new AlphaStoneDeckBuilderStrategy();
     }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
+    }
 }
@@ -2,6 +2,7 @@ package hotstone.variants.gammastone;
 
 import hotstone.framework.Game;
 import hotstone.framework.Player;
+import hotstone.framework.strategies.StateChange;
 import hotstone.framework.strategies.WinningStrategy;
 
 public class GammaStoneWinnerStrategy implements WinningStrategy {
@@ -19,4 +20,9 @@ public class GammaStoneWinnerStrategy implements WinningStrategy {
         }
         return null;
     }
+
+    @Override
+    public boolean isDecidedBy(StateChange change) {
+        return change == StateChange.TURN || change == StateChange.FIELD;
+    }
 }
@@ -2,6 +2,7 @@ package hotstone.variants.gammastone;
 
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.standard.CardDefinition;
 import hotstone.standard.GameConstants;
 import hotstone.standard.StandardCard;
 import hotstone.variants.NullEffect;
@@ -9,11 +10,12 @@ import hotstone.variants.NullEffect;
 import java.util.List;
 
 public class SovsPower implements Effect {
+    private static final CardDefinition SOVS = new CardDefinition(GameConstants.SOVS_CARD, 0, 1, 1, new NullEffect());
 
     @Override
     public void applyEffect(MutableGame game, Player player) {
         // Summon "Sovs" card on the owner's field
-        game.playCard(player, new StandardCard(GameConstants.SOVS_CARD, 0,1,1, player, new NullEffect()), 0);
+        game.playCard(player, new StandardCard(SOVS, player), 0);
     }
 
     @Override
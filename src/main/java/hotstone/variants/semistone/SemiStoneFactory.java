@@ -3,14 +3,31 @@ package hotstone.variants.semistone;
 import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.framework.strategies.DeckBuilderStrategy;
 import hotstone.framework.strategies.HeroStrategy;
+import hotstone.framework.strategies.IdStrategy;
 import hotstone.framework.strategies.ManaProductionStrategy;
+import hotstone.framework.strategies.RandomContext;
 import hotstone.framework.strategies.WinningStrategy;
-import hotstone.standard.StandardRandomStrategy;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.betastone.BetaStoneManaStrategy;
 import hotstone.variants.betastone.BetaStoneWinnerStrategy;
 import hotstone.variants.etastone.EtaStoneDeckBuilderStrategy;
 
+import java.util.SplittableRandom;
+
 public class SemiStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public SemiStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public SemiStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new BetaStoneManaStrategy();
@@ -23,12 +40,21 @@ public class SemiStoneFactory implements HotstoneFactory {
 
     @Override
     public HeroStrategy createHeroStrategy() {
-        return new SemiStoneHeroStrategy(new StandardRandomStrategy());
+        return new SemiStoneHeroStrategy(getRandomContext().newStrategy());
     }
 
     @Override
     public DeckBuilderStrategy createDeckBuilderStrategy() {
-        return new EtaStoneDeckBuilderStrategy();
+        return new EtaStoneDeckBuilderStrategy(getRandomContext());
     }
-}
 
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
+    }
+}
@@ -9,7 +9,6 @@ import hotstone.variants.gammastone.ChiliPower;
 import hotstone.variants.gammastone.SovsPower;
 import hotstone.variants.epsilonstone.PastaPower;
 import hotstone.variants.epsilonstone.RedwinePower;
-import hotstone.standard.StandardRandomStrategy;
 import hotstone.standard.GameConstants;
 
 
@@ -30,9 +29,9 @@ public class SemiStoneHeroStrategy implements HeroStrategy {
             case 1:
                 return new StandardHero(3, 21, GameConstants.DANISH_CHEF_HERO_TYPE, player, new SovsPower());
             case 2:
-                return new StandardHero(3, 21, GameConstants.FRENCH_CHEF_HERO_TYPE, player, new RedwinePower(new StandardRandomStrategy()));
+                return new StandardHero(3, 21, GameConstants.FRENCH_CHEF_HERO_TYPE, player, new RedwinePower(randomStrategy));
             case 3:
-                return new StandardHero(3, 21, GameConstants.ITALIAN_CHEF_HERO_TYPE, player, new PastaPower(new StandardRandomStrategy()));
+                return new StandardHero(3, 21, GameConstants.ITALIAN_CHEF_HERO_TYPE, player, new PastaPower(randomStrategy));
             default:
                 throw new IllegalStateException("Unexpected hero index: " + heroIndex);
         }
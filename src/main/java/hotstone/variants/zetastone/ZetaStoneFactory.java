@@ -1,11 +1,27 @@
 package hotstone.variants.zetastone;
 
 import hotstone.framework.strategies.*;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.SequentialIdStrategy;
 import hotstone.variants.alphastone.AlphaStoneDeckBuilderStrategy;
 import hotstone.variants.alphastone.AlphaStoneHeroStrategy;
 import hotstone.variants.alphastone.AlphaStoneManaStrategy;
 
+import java.util.SplittableRandom;
+
 public class ZetaStoneFactory implements HotstoneFactory {
+    private final RandomContext randomContext;
+
+    public ZetaStoneFactory() {
+        this(new SeededRandomContext(new SplittableRandom().nextLong()));
+    }
+
+    /** Create a factory for a game whose strategies and effects draw their
+     * random choices from the given context, one factory being created for each game */
+    public ZetaStoneFactory(RandomContext randomContext) {
+        this.randomContext = randomContext;
+    }
+
     @Override
     public ManaProductionStrategy createManaProductionStrategy() {
         return new AlphaStoneManaStrategy();
@@ -25,4 +41,14 @@ public class ZetaStoneFactory implements HotstoneFactory {
     public DeckBuilderStrategy createDeckBuilderStrategy() {
         return new AlphaStoneDeckBuilderStrategy();
     }
+
+    @Override
+    public IdStrategy createIdStrategy() {
+        return new SequentialIdStrategy();
+    }
+
+    @Override
+    public RandomContext getRandomContext() {
+        return randomContext;
+    }
 }
@@ -1,32 +1,38 @@
 package hotstone.variants.zetastone;
 
 import hotstone.framework.*;
+import hotstone.framework.strategies.StateChange;
 import hotstone.framework.strategies.WinningStrategy;
-import hotstone.variants.alphastone.AlphaStoneWinnerStrategy;
 import hotstone.variants.betastone.BetaStoneWinnerStrategy;
 import hotstone.variants.gammastone.GammaStoneWinnerStrategy;
 
 // ZetaStone Winner Strategy uses the State pattern to switch between different winner determination strategies
+// The states are created once, and the current state is local to each call, as the strategy is shared by forked games
 public class ZetaStoneWinnerStrategy implements WinningStrategy {
-    private WinningStrategy currentState;
+    private final WinningStrategy gammaState = new GammaStoneWinnerStrategy();
+    private final WinningStrategy betaState = new BetaStoneWinnerStrategy();
 
-    public ZetaStoneWinnerStrategy() {
-        // Initial state is like AlphaStone
-        currentState = new AlphaStoneWinnerStrategy();
-    }
     @Override
     public Player getWinner(Game game) {
         int turn = game.getTurnNumber();
+        WinningStrategy currentState;
 
         if (turn > 5 && turn <= 11) {
             // After round 3 up to and including round 6, use Gammastone winner strategy
-            currentState = new GammaStoneWinnerStrategy();
+            currentState = gammaState;
         } else {
             // After round 6, use Betastone winner strategy
-            currentState = new BetaStoneWinnerStrategy();
+            currentState = betaState;
         }
 
         // Decide the winner based in the current state
         return currentState.getWinner(game);
     }
+
+    @Override
+    public boolean isDecidedBy(StateChange change) {
+        // The turn also switches between the states
+        return change == StateChange.TURN
+                || gammaState.isDecidedBy(change) || betaState.isDecidedBy(change);
+    }
 }
@@ -152,6 +152,10 @@ public class HotStoneDrawing implements Drawing, GameObserver {
     // Listen to all events coming from the game to keep the
     // drawing updated with the game state
     game.addObserver(this);
+    // A remote game may miss events, then the drawing is rebuilt
+    if (game instanceof RemoteGame remote) {
+      remote.addMissedEventsListener(this::requestUpdate);
+    }
 
     // Initialize Figures for all (visible) game state
     createFiguresForButtons();
@@ -301,6 +305,9 @@ public class HotStoneDrawing implements Drawing, GameObserver {
    * PRECONDITION: the figure collection must be empty.
    */
   private void createAndAddFiguresForGameState() {
+    // A remote game reads the whole board in one request
+    if (game instanceof RemoteGame remote) remote.prefetchBoard();
+
     // Show appropriate button depending on whose turn it is
     if (game.getPlayerInTurn() == playerShown)
       add(endOfTurnButton);
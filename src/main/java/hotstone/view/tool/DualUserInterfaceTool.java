@@ -60,11 +60,9 @@ public class DualUserInterfaceTool extends NullTool {
     @Override
     public void mouseUp(MouseEvent e, int x, int y) {
         try {
+            // The drawing is updated by the events of the game, which
+            // a remote game pushes to the client as well
             state.mouseUp(e, x, y);
-            if (state != theNullTool) {
-                System.out.println("----> Bruteforce Redraw");
-                model.requestUpdate();
-            }
         } catch (IPCException exc) {
             exc.printStackTrace();
         }
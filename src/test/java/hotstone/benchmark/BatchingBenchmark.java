@@ -0,0 +1,106 @@
+package hotstone.benchmark;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.Invoker;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/** Benchmark of the latency of a client reading what it draws of a
+ * hand, as after a click, over a link where each request has a round
+ * trip delay: reading the cards call by call, and prefetching them in
+ * one batch. The server is called in the process, after the delay.
+ *
+ * Usage: java BatchingBenchmark [round trip micros...]
+ */
+public class BatchingBenchmark {
+  private static final int ROUNDS = 200;
+
+  public static void main(String[] args) {
+    long[] delays = args.length > 0
+            ? Arrays.stream(args).mapToLong(Long::parseLong).toArray()
+            : new long[] {0, 200, 1_000, 5_000};
+
+    // A game in turn 4, where Findus has a hand of 5 cards
+    StandardHotStoneGame servant = new StandardHotStoneGame(new AlphaStoneFactory());
+    for (int i = 0; i < 4; i++) servant.endTurn();
+    Invoker invoker = new HotStoneRootInvoker(servant);
+
+    for (long delay : delays) {
+      DelayedLink link = new DelayedLink(invoker, delay);
+      // Warm up, then measure
+      readHand(link, false, ROUNDS);
+      readHand(link, true, ROUNDS);
+      double callByCall = readHand(link, false, ROUNDS);
+      double batched = readHand(link, true, ROUNDS);
+      System.out.printf("round trip %,6d us: call by call %,9.1f us (%d requests)  batched %,9.1f us (%d requests)%n",
+              delay, callByCall, link.requestsPerRead(false), batched, link.requestsPerRead(true));
+    }
+  }
+
+  // Average microseconds to read the hand, by a client with no cache
+  private static double readHand(DelayedLink link, boolean isBatched, int rounds) {
+    int check = 0;
+    link.requests = 0;
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      GameClientProxy game = new GameClientProxy(new MarshallingRequestor(link, new CompactMarshaller()));
+      Iterable<? extends Card> hand = game.getHand(Player.FINDUS);
+      if (isBatched) game.prefetch(hand);
+      for (Card card : hand) {
+        check += card.getName().length() + card.getManaCost() + card.getAttack() + card.getHealth()
+                + (card.isActive() ? 1 : 0) + card.getOwner().ordinal() + card.getEffectDescription().length();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    link.recordRequests(isBatched, link.requests / rounds);
+    if (check == 42) System.out.println();
+    return elapsed / 1e3 / rounds;
+  }
+
+  // A link to the server, with a round trip delay per request
+  private static class DelayedLink implements ClientRequestHandler {
+    private final Invoker invoker;
+    private final long delayMicros;
+    private int requests;
+    private final int[] requestsPerRead = new int[2];
+
+    DelayedLink(Invoker invoker, long delayMicros) {
+      this.invoker = invoker;
+      this.delayMicros = delayMicros;
+    }
+
+    @Override
+    public String sendToServerAndAwaitReply(String request) {
+      requests++;
+      long until = System.nanoTime() + delayMicros * 1000;
+      while (System.nanoTime() < until) LockSupport.parkNanos(until - System.nanoTime());
+      return invoker.handleRequest(request);
+    }
+
+    void recordRequests(boolean isBatched, int requests) {
+      requestsPerRead[isBatched ? 1 : 0] = requests;
+    }
+
+    int requestsPerRead(boolean isBatched) {
+      return requestsPerRead[isBatched ? 1 : 0];
+    }
+
+    @Override
+    public void setServer(String hostname, int port) {}
+
+    @Override
+    public void setServer(String hostname, int port, boolean useTLS) {}
+
+    @Override
+    public void close() {}
+  }
+}
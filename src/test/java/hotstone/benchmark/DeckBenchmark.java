@@ -0,0 +1,74 @@
+package hotstone.benchmark;
+
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.standard.Deck;
+import hotstone.standard.StandardCard;
+import hotstone.variants.DeckBuilderUtil;
+import hotstone.variants.NullEffect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/** Benchmark of building a shuffled stress-test deck and drawing
+ * from it, comparing a list shuffled up front and drawn by remove(0)
+ * with the lazily shuffled Deck. Both enforce the mana constraints.
+ *
+ * Usage: java DeckBenchmark [deck size] [iterations]
+ */
+public class DeckBenchmark {
+  private static final int GAME_DRAWS = 30;
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 5;
+
+  public static void main(String[] args) {
+    int deckSize = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    List<MutableCard> cards = new ArrayList<>();
+    for (int i = 0; i < deckSize; i++) {
+      cards.add(new StandardCard("Card " + i, i % 8, 1, 1, Player.FINDUS, new NullEffect()));
+    }
+
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      double listGame = drawFromList(cards, GAME_DRAWS, iterations);
+      double deckGame = drawFromDeck(cards, GAME_DRAWS, iterations);
+      double listAll = drawFromList(cards, deckSize, iterations);
+      double deckAll = drawFromDeck(cards, deckSize, iterations);
+      if (round >= WARMUP_ROUNDS) {
+        System.out.printf("%,d cards, %d draws: list %,10.1f us  deck %,8.1f us   all draws: list %,10.1f us  deck %,8.1f us%n",
+                deckSize, GAME_DRAWS, listGame, deckGame, listAll, deckAll);
+      }
+    }
+  }
+
+  // Average microseconds to build and draw from a list shuffled up front
+  private static double drawFromList(List<MutableCard> cards, int draws, int iterations) {
+    Random random = new Random(1);
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      List<MutableCard> deck = new ArrayList<>(cards);
+      Collections.shuffle(deck, random);
+      DeckBuilderUtil.enforceManaConstraints(deck);
+      for (int draw = 0; draw < draws; draw++) {
+        deck.remove(0);
+      }
+    }
+    return (System.nanoTime() - start) / 1e3 / iterations;
+  }
+
+  // Average microseconds to build and draw from a lazily shuffled deck
+  private static double drawFromDeck(List<MutableCard> cards, int draws, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      Deck deck = new Deck(cards, i);
+      DeckBuilderUtil.enforceManaConstraints(deck);
+      for (int draw = 0; draw < draws; draw++) {
+        deck.remove(0);
+      }
+    }
+    return (System.nanoTime() - start) / 1e3 / iterations;
+  }
+}
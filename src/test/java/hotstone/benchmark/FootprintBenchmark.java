@@ -0,0 +1,64 @@
+package hotstone.benchmark;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.simulation.Agent;
+import hotstone.simulation.RandomAgent;
+import hotstone.standard.CompactHotStoneGame;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.standard.StandardRandomStrategy;
+import hotstone.variants.VariantFactories;
+
+import java.util.function.Function;
+
+/** Measurement of the heap retained by many concurrent games, each
+ * played a few turns, for the standard and the compact game.
+ *
+ * Usage: java FootprintBenchmark [variant] [games]
+ */
+public class FootprintBenchmark {
+  private static final int TURNS_PLAYED = 4;
+
+  public static void main(String[] args) {
+    String variant = args.length > 0 ? args[0] : "etastone";
+    int games = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%s, %,d games: standard %,6d bytes/game   compact %,6d bytes/game%n",
+              variant, games,
+              bytesPerGame(variant, games, StandardHotStoneGame::new),
+              bytesPerGame(variant, games, CompactHotStoneGame::new));
+    }
+  }
+
+  private static long bytesPerGame(String variant, int games,
+                                   Function<HotstoneFactory, MutableGame> engine) {
+    Agent agent = new RandomAgent(new StandardRandomStrategy(42));
+    long before = usedHeap();
+    MutableGame[] retained = new MutableGame[games];
+    for (int i = 0; i < games; i++) {
+      MutableGame game = engine.apply(VariantFactories.createFactory(variant));
+      for (int turn = 0; turn < TURNS_PLAYED && game.getWinner() == null; turn++) {
+        agent.playTurn(game, game.getPlayerInTurn());
+        game.endTurn();
+      }
+      retained[i] = game;
+    }
+    long after = usedHeap();
+    if (retained[games - 1] == null) throw new AssertionError();
+    return (after - before) / games;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
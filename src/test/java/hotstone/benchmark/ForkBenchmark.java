@@ -0,0 +1,91 @@
+package hotstone.benchmark;
+
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.simulation.Agent;
+import hotstone.simulation.RandomAgent;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.standard.StandardRandomStrategy;
+import hotstone.variants.VariantFactories;
+
+/** Benchmark of forking a game with a typical mid-game board,
+ * reporting the time of a fork alone and of a fork followed by
+ * the first changes to it.
+ *
+ * Usage: java ForkBenchmark [variant] [iterations]
+ */
+public class ForkBenchmark {
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 5;
+
+  public static void main(String[] args) {
+    String variant = args.length > 0 ? args[0] : "semistone";
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+    MutableGame game = createMidGame(variant);
+    System.out.println("Board: " + describe(game));
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      forkOnly(game, iterations);
+      forkAndEndTurn(game, iterations / 10);
+    }
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      System.out.printf("fork: %6.1f ns   fork + endTurn: %7.1f ns%n",
+              forkOnly(game, iterations),
+              forkAndEndTurn(game, iterations / 10));
+    }
+  }
+
+  // Play a few rounds between random agents to get cards in hands and fields
+  private static MutableGame createMidGame(String variant) {
+    Agent agent = new RandomAgent(new StandardRandomStrategy(42));
+    MutableGame game;
+    do {
+      game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+      for (int turn = 0; turn < 8 && game.getWinner() == null; turn++) {
+        agent.playTurn(game, game.getPlayerInTurn());
+        game.endTurn();
+      }
+    } while (game.getWinner() != null);
+    return game;
+  }
+
+  private static double forkOnly(MutableGame game, int iterations) {
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      sink += game.fork().getTurnNumber();
+    }
+    long elapsed = System.nanoTime() - start;
+    consume(sink);
+    return (double) elapsed / iterations;
+  }
+
+  private static double forkAndEndTurn(MutableGame game, int iterations) {
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      MutableGame fork = game.fork();
+      fork.endTurn();
+      sink += fork.getHandSize(fork.getPlayerInTurn());
+    }
+    long elapsed = System.nanoTime() - start;
+    consume(sink);
+    return (double) elapsed / iterations;
+  }
+
+  private static String describe(MutableGame game) {
+    StringBuilder board = new StringBuilder(game.getTurnNumber() + " turns played");
+    for (Player who : Player.values()) {
+      board.append(", ").append(who)
+              .append(" hand/deck/field ").append(game.getHandSize(who))
+              .append('/').append(game.getDeckSize(who))
+              .append('/').append(game.getFieldSize(who));
+    }
+    return board.toString();
+  }
+
+  private static void consume(long value) {
+    if (value == 42) System.out.print("");
+  }
+}
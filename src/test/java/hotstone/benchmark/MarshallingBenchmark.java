@@ -0,0 +1,108 @@
+package hotstone.benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.common.StreamingJsonMarshaller;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** Benchmark of the encodings of the broker, for typical calls: the
+ * bytes sent per call, request and reply, and the time and the bytes
+ * allocated to marshal and demarshal the request and the reply, for
+ * JSON as FRDS, JSON written and read in one pass, and the compact
+ * encoding.
+ *
+ * Usage: java MarshallingBenchmark [iterations]
+ */
+public class MarshallingBenchmark {
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 3;
+
+  private record Call(String name, String objectId, String operationName, Object[] arguments,
+                      Type[] argumentTypes, Object value, Type valueType) {}
+
+  private static final List<Call> CALLS = List.of(
+          new Call("card health", "g1.2f", OperationNames.CARD_GET_HEALTH,
+                  new Object[0], new Type[0], 3, Integer.class),
+          new Call("play card", "g1", OperationNames.GAME_PLAY_CARD,
+                  new Object[] {Player.FINDUS, "g1.2f", 0},
+                  new Type[] {Player.class, String.class, Integer.class}, Status.OK, Status.class),
+          new Call("hand", "g1", OperationNames.GAME_GET_HAND,
+                  new Object[] {Player.PEDDERSEN}, new Type[] {Player.class},
+                  List.of("g1.2f", "g1.30", "g1.31", "g1.33", "g1.36"),
+                  new TypeToken<List<String>>() {}.getType()),
+          new Call("turn number", "g1", OperationNames.GAME_GET_TURN_NUMBER,
+                  new Object[0], new Type[0], 12, Integer.class));
+
+  public static void main(String[] args) {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    Marshaller json = new JsonMarshaller();
+    Marshaller streaming = new StreamingJsonMarshaller();
+    Marshaller compact = new CompactMarshaller();
+
+    for (Call call : CALLS) {
+      System.out.printf("%-12s bytes/call: json %4d  streaming %4d  compact %4d%n", call.name(),
+              bytesPerCall(json, call), bytesPerCall(streaming, call), bytesPerCall(compact, call));
+    }
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      for (Call call : CALLS) {
+        double jsonNanos = nanosPerCall(json, call, iterations);
+        double streamingNanos = nanosPerCall(streaming, call, iterations);
+        double compactNanos = nanosPerCall(compact, call, iterations);
+        if (round >= WARMUP_ROUNDS) {
+          System.out.printf("%-12s ns/call:    json %,7.0f  streaming %,7.0f  compact %,7.0f%n",
+                  call.name(), jsonNanos, streamingNanos, compactNanos);
+        }
+      }
+    }
+    for (Call call : CALLS) {
+      System.out.printf("%-12s alloc/call: json %,7d  streaming %,7d  compact %,7d%n", call.name(),
+              allocatedPerCall(json, call, iterations), allocatedPerCall(streaming, call, iterations),
+              allocatedPerCall(compact, call, iterations));
+    }
+  }
+
+  // The UTF-8 bytes of the request and the reply, as sent over HTTP
+  private static int bytesPerCall(Marshaller marshaller, Call call) {
+    String request = marshaller.marshalRequest(call.objectId(), call.operationName(), call.arguments());
+    String reply = marshaller.marshalReply(Reply.ok(call.value()));
+    return request.getBytes(StandardCharsets.UTF_8).length + reply.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  // Average bytes allocated to marshal and demarshal the request and the reply
+  private static long allocatedPerCall(Marshaller marshaller, Call call, int iterations) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long before = threads.getCurrentThreadAllocatedBytes();
+    nanosPerCall(marshaller, call, iterations);
+    return (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+  }
+
+  // Average nanoseconds to marshal and demarshal the request and the reply
+  private static double nanosPerCall(Marshaller marshaller, Call call, int iterations) {
+    int check = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      String message = marshaller.marshalRequest(call.objectId(), call.operationName(), call.arguments());
+      Request request = marshaller.demarshalRequest(message);
+      for (int argument = 0; argument < call.argumentTypes().length; argument++) {
+        check += request.getArgument(argument, call.argumentTypes()[argument]).hashCode();
+      }
+      String reply = marshaller.marshalReply(Reply.ok(call.value()));
+      Object value = marshaller.demarshalReply(reply, call.valueType());
+      check += value.hashCode() + request.getOperationName().length();
+    }
+    long elapsed = System.nanoTime() - start;
+    if (check == 42) System.out.println();
+    return (double) elapsed / iterations;
+  }
+}
@@ -0,0 +1,76 @@
+package hotstone.benchmark;
+
+import hotstone.framework.Game;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.simulation.MoveBuffer;
+import hotstone.simulation.MoveGenerator;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.VariantFactories;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Benchmark of move generation on positions from random play,
+ * reporting moves generated per second and the bytes allocated
+ * per generation.
+ *
+ * Usage: java MoveGeneratorBenchmark [variant] [iterations]
+ */
+public class MoveGeneratorBenchmark {
+  private static final int POSITIONS = 1000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 5;
+
+  public static void main(String[] args) {
+    String variant = args.length > 0 ? args[0] : "semistone";
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+    Game[] positions = createPositions(variant);
+    MoveGenerator generator = new MoveGenerator();
+    MoveBuffer buffer = new MoveBuffer();
+    com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      generate(positions, generator, buffer, iterations);
+    }
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      long moves = generate(positions, generator, buffer, iterations);
+      long elapsed = System.nanoTime() - start;
+      long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+      System.out.printf("%,12.0f moves/sec  %,11.0f generations/sec  %.3f bytes/generation%n",
+              moves * 1e9 / elapsed, iterations * 1e9 / elapsed, (double) allocated / iterations);
+    }
+  }
+
+  private static long generate(Game[] positions, MoveGenerator generator, MoveBuffer buffer, int iterations) {
+    long moves = 0;
+    for (int i = 0; i < iterations; i++) {
+      generator.generate(positions[i % positions.length], buffer);
+      moves += buffer.size();
+    }
+    return moves;
+  }
+
+  // Snapshots of games played by random legal moves
+  private static Game[] createPositions(String variant) {
+    Random random = new Random(42);
+    MoveGenerator generator = new MoveGenerator();
+    MoveBuffer buffer = new MoveBuffer();
+    List<Game> positions = new ArrayList<>();
+    MutableGame game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+    while (positions.size() < POSITIONS) {
+      if (game.getWinner() != null) {
+        game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+      }
+      positions.add(game.fork());
+      generator.generate(game, buffer);
+      generator.execute(game, buffer.get(random.nextInt(buffer.size())));
+    }
+    return positions.toArray(new Game[0]);
+  }
+}
@@ -0,0 +1,122 @@
+package hotstone.benchmark;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.observer.EventMask;
+import hotstone.observer.GameObserver;
+import hotstone.observer.ObserverHandler;
+import hotstone.standard.StandardCard;
+import hotstone.variants.NullEffect;
+
+import java.lang.management.ManagementFactory;
+
+/** Benchmark of notifying the synchronous observers of ObserverHandler:
+ * the notifications per second, and the bytes allocated per
+ * notification, with no observer, one and ten observers of all events,
+ * and ten observers only interested in the winning of the game, as
+ * statistics of a simulation would be.
+ *
+ * The notifications are a mix of the events of a turn: mostly updates
+ * of cards and heroes, and a few actions.
+ *
+ * Usage: java ObserverBenchmark [notifications]
+ */
+public class ObserverBenchmark {
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 3;
+
+  private record Setup(String name, int observerCount, int interests) {}
+
+  private static final Setup[] SETUPS = {
+          new Setup("0 observers", 0, EventMask.ALL),
+          new Setup("1 observer", 1, EventMask.ALL),
+          new Setup("10 observers", 10, EventMask.ALL),
+          new Setup("10 of wins", 10, EventMask.GAME_WON),
+  };
+
+  public static void main(String[] args) {
+    int notifications = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    Card card = new StandardCard("Dos", 2, 2, 2, Player.FINDUS, new NullEffect());
+    Card other = new StandardCard("Tres", 3, 3, 3, Player.PEDDERSEN, new NullEffect());
+
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      for (Setup setup : SETUPS) {
+        ObserverHandler handler = handlerOf(setup);
+        double perSecond = notifyPerSecond(handler, card, other, notifications);
+        if (round >= WARMUP_ROUNDS) {
+          System.out.printf("%-13s notifications/s: %,13.0f%n", setup.name(), perSecond);
+        }
+      }
+    }
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    for (Setup setup : SETUPS) {
+      ObserverHandler handler = handlerOf(setup);
+      long before = threads.getCurrentThreadAllocatedBytes();
+      notifyPerSecond(handler, card, other, notifications);
+      double allocated = (double) (threads.getCurrentThreadAllocatedBytes() - before) / notifications;
+      System.out.printf("%-13s alloc/notification: %.2f%n", setup.name(), allocated);
+    }
+  }
+
+  private static ObserverHandler handlerOf(Setup setup) {
+    ObserverHandler handler = new ObserverHandler();
+    for (int i = 0; i < setup.observerCount(); i++) {
+      handler.addObserver(new CountingObserver(), setup.interests());
+    }
+    return handler;
+  }
+
+  // Notify the mix of events, ten at a time
+  private static double notifyPerSecond(ObserverHandler handler, Card card, Card other, int notifications) {
+    long start = System.nanoTime();
+    for (int i = 0; i < notifications; i += 10) {
+      handler.notifyPlayCard(Player.FINDUS, card, 0);
+      handler.notifyCardUpdate(card);
+      handler.notifyAttackCard(Player.FINDUS, card, other);
+      handler.notifyCardUpdate(card);
+      handler.notifyCardRemove(Player.PEDDERSEN, other);
+      handler.notifyHeroUpdate(Player.FINDUS);
+      handler.notifyChangeTurnTo(Player.PEDDERSEN);
+      handler.notifyCardDraw(Player.PEDDERSEN, other);
+      handler.notifyHeroUpdate(Player.PEDDERSEN);
+      handler.notifyGameWon(Player.FINDUS);
+    }
+    long elapsed = System.nanoTime() - start;
+    return notifications / (elapsed / 1e9);
+  }
+
+  // An observer as light as statistics of a simulation: it counts events
+  private static class CountingObserver implements GameObserver {
+    private long count = 0;
+
+    @Override
+    public void onPlayCard(Player who, Card card, int atIndex) { count++; }
+
+    @Override
+    public void onChangeTurnTo(Player playerBecomingActive) { count++; }
+
+    @Override
+    public void onAttackCard(Player playerAttacking, Card attackingCard, Card defendingCard) { count++; }
+
+    @Override
+    public void onAttackHero(Player playerAttacking, Card attackingCard) { count++; }
+
+    @Override
+    public void onUsePower(Player who) { count++; }
+
+    @Override
+    public void onCardDraw(Player who, Card drawnCard) { count++; }
+
+    @Override
+    public void onCardUpdate(Card card) { count++; }
+
+    @Override
+    public void onCardRemove(Player who, Card card) { count++; }
+
+    @Override
+    public void onHeroUpdate(Player who) { count++; }
+
+    @Override
+    public void onGameWon(Player playerWinning) { count++; }
+  }
+}
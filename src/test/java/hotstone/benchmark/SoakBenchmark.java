@@ -0,0 +1,58 @@
+package hotstone.benchmark;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.Invoker;
+import hotstone.broker.client.LobbyClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.broker.service.StandardGameRegistry;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+
+/** Soak test of a server playing game after game: the games are
+ * created, looked at and played to the end by a client, and the games
+ * kept, the objects in the name services, and the memory used after a
+ * full GC are shown as the games go by. On a server cleaning up after
+ * the games, the three stay flat.
+ *
+ * Usage: java SoakBenchmark [games]
+ */
+public class SoakBenchmark {
+  private static final int MAX_FINISHED_GAMES = 16;
+  private static final int REPORTS = 5;
+
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    StandardGameRegistry registry = new StandardGameRegistry(MAX_FINISHED_GAMES);
+    Invoker invoker = new HotStoneRootInvoker(registry);
+    // A client of the server in the process, not printing its requests
+    ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+      @Override
+      public String sendToServerAndAwaitReply(String request) {
+        return invoker.handleRequest(request);
+      }
+    };
+    LobbyClientProxy lobby = new LobbyClientProxy(new MarshallingRequestor(crh, new CompactMarshaller()));
+
+    long start = System.nanoTime();
+    for (int i = 1; i <= games; i++) {
+      Game game = lobby.getGame(lobby.createGame("alphastone"));
+      game.getHand(Player.FINDUS);
+      game.getField(Player.PEDDERSEN);
+      while (game.getWinner() == null) game.endTurn();
+      if (i % Math.max(1, games / REPORTS) == 0 || i == games) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,9d games  %,7.0f games/s  games kept %3d  names kept %4d  used %,7d KB%n",
+                i, i / seconds, registry.size(), registry.getNameServiceSize(), usedMemory() / 1024);
+      }
+    }
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,88 @@
+package hotstone.benchmark;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.transcription.BinaryFormat;
+import hotstone.transcription.JsonLinesFormat;
+import hotstone.transcription.TranscriptAction;
+import hotstone.transcription.TranscriptFormat;
+import hotstone.transcription.TranscriptWriter;
+import hotstone.transcription.TranscriptionDecorator;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+
+import java.io.OutputStream;
+
+/** Benchmark of the time transcription adds to the actions of a game:
+ * the time to append a record, and the time of playCard and attackCard
+ * with and without a TranscriptionDecorator, written in the background
+ * to a stream discarding the output.
+ *
+ * Usage: java TranscriptionBenchmark [iterations]
+ */
+public class TranscriptionBenchmark {
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 3;
+
+  public static void main(String[] args) {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+    // A game in turn 2, where both players have Uno in the field,
+    // and Findus has Dos in the hand
+    StandardHotStoneGame base = new StandardHotStoneGame(new AlphaStoneFactory());
+    base.playCard(Player.FINDUS, base.getCardInHand(Player.FINDUS, 2), 0);
+    base.endTurn();
+    base.playCard(Player.PEDDERSEN, base.getCardInHand(Player.PEDDERSEN, 2), 0);
+    base.endTurn();
+
+    for (TranscriptFormat format : new TranscriptFormat[] {new JsonLinesFormat(), new BinaryFormat()}) {
+      for (TranscriptWriter.OverflowPolicy policy : TranscriptWriter.OverflowPolicy.values()) {
+        TranscriptWriter writer = new TranscriptWriter(OutputStream.nullOutputStream(), format,
+                TranscriptWriter.DEFAULT_CAPACITY, policy);
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+          double append = appendNanos(writer, iterations);
+          double plain = actionNanos(base, null, iterations);
+          double transcribed = actionNanos(base, writer, iterations);
+          if (round >= WARMUP_ROUNDS) {
+            System.out.printf("%-15s %-5s append %,6.0f ns   playCard+attackCard: plain %,7.0f ns  transcribed %,7.0f ns"
+                            + "  (+%,5.0f ns/action)  dropped %,d%n",
+                    format.getClass().getSimpleName(), policy, append, plain, transcribed,
+                    (transcribed - plain) / 2, writer.getDroppedCount());
+          }
+        }
+        writer.close();
+      }
+    }
+  }
+
+  // Average nanoseconds to append a record
+  private static double appendNanos(TranscriptWriter writer, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      writer.append(i, Player.FINDUS, TranscriptAction.ATTACK_CARD, "g1.2f", "g1.31", 0, Status.OK);
+    }
+    return (double) (System.nanoTime() - start) / iterations;
+  }
+
+  // Average nanoseconds of playing Dos and attacking with Uno, on a fork
+  // of the game, transcribed if there is a writer. The fork is not timed
+  private static double actionNanos(StandardHotStoneGame base, TranscriptWriter writer, int iterations) {
+    long elapsed = 0;
+    int check = 0;
+    for (int i = 0; i < iterations; i++) {
+      MutableGame fork = base.fork();
+      MutableGame game = writer == null ? fork : new TranscriptionDecorator(fork, writer);
+      Card dos = game.getCardInHand(Player.FINDUS, 0);
+      Card attacker = game.getCardInField(Player.FINDUS, 0);
+      Card defender = game.getCardInField(Player.PEDDERSEN, 0);
+      long start = System.nanoTime();
+      check += game.playCard(Player.FINDUS, dos, 1).ordinal();
+      check += game.attackCard(Player.FINDUS, attacker, defender).ordinal();
+      elapsed += System.nanoTime() - start;
+    }
+    if (check == 42) System.out.println();
+    return (double) elapsed / iterations;
+  }
+}
@@ -0,0 +1,145 @@
+package hotstone.broker;
+
+import frds.broker.Requestor;
+import hotstone.broker.client.CardClientProxy;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.HeroClientProxy;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.server.HotStoneCardInvoker;
+import hotstone.broker.server.HotStoneGameInvoker;
+import hotstone.broker.server.HotStoneHeroInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test class for the client proxies and the server invokers agreeing
+ * on the operations, so an operation added to one side and not the
+ * other fails here rather than at run time.
+ */
+public class TestBrokerDrift {
+    // The methods of the proxies which are not sent as a single request
+    private static final Set<String> LOCAL_METHODS =
+            Set.of("getID", "getEffect", "addObserver", "getEventReceiver", "prefetch",
+                    "addMissedEventsListener");
+
+    @Test
+    public void shouldHandleEveryOperationName() {
+        // Given the operations of the invokers, the lobby, the event polls and batches
+        Set<String> handled = new HashSet<>();
+        handled.addAll(HotStoneGameInvoker.getOperationNames());
+        handled.addAll(HotStoneCardInvoker.getOperationNames());
+        handled.addAll(HotStoneHeroInvoker.getOperationNames());
+        handled.add(OperationNames.GAME_GET_EVENTS);
+        handled.add(OperationNames.LOBBY_CREATE_GAME);
+        handled.add(OperationNames.LOBBY_RETIRE_GAME);
+        handled.add(OperationNames.BATCH_EXECUTE);
+        // Then every operation name is handled, and has a compact code
+        Set<String> operationNames = operationNames();
+        assertThat(handled, is(operationNames));
+        assertThat(new HashSet<>(CompactMarshaller.getOperationNames()), is(operationNames));
+    }
+
+    @Test
+    public void shouldSendOperationsOfTheGameInvoker() {
+        RecordingRequestor requestor = new RecordingRequestor();
+        // When every method of the game proxy is called
+        callAll(GameClientProxy.class, () -> new GameClientProxy("game", requestor), requestor);
+        // Then the proxy sends the operations of the game invoker
+        assertThat(requestor.sent, is(HotStoneGameInvoker.getOperationNames()));
+    }
+
+    @Test
+    public void shouldSendOperationsOfTheCardInvoker() {
+        RecordingRequestor requestor = new RecordingRequestor();
+        // When every method of the card proxy is called
+        callAll(CardClientProxy.class, () -> new CardClientProxy("card", requestor), requestor);
+        // Then the proxy sends the operations of the card invoker
+        assertThat(requestor.sent, is(HotStoneCardInvoker.getOperationNames()));
+    }
+
+    @Test
+    public void shouldSendOperationsOfTheHeroInvoker() {
+        RecordingRequestor requestor = new RecordingRequestor();
+        // When every method of the hero proxy is called
+        callAll(HeroClientProxy.class, () -> new HeroClientProxy("hero", requestor), requestor);
+        // Then the proxy sends the operations of the hero invoker
+        assertThat(requestor.sent, is(HotStoneHeroInvoker.getOperationNames()));
+    }
+
+    // Get the operation names declared in OperationNames
+    private static Set<String> operationNames() {
+        Set<String> names = new HashSet<>();
+        for (Field field : OperationNames.class.getFields()) {
+            if (field.getType() == String.class && !field.getName().endsWith("_PREFIX")) {
+                try {
+                    names.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        }
+        return names;
+    }
+
+    // Call every public method of a proxy, on a new proxy each time so
+    // no attribute is cached, with default arguments
+    private static void callAll(Class<?> proxyType, Supplier<Object> proxies,
+                                Requestor requestor) {
+        for (Method method : proxyType.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+                    || LOCAL_METHODS.contains(method.getName())) {
+                continue;
+            }
+            Object[] arguments = Arrays.stream(method.getParameterTypes())
+                    .map(type -> defaultArgument(type, requestor)).toArray();
+            try {
+                method.invoke(proxies.get(), arguments);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            } catch (InvocationTargetException e) {
+                // The operation is sent before the default reply is used
+            }
+        }
+    }
+
+    private static Object defaultArgument(Class<?> type, Requestor requestor) {
+        if (type == Player.class) return Player.FINDUS;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == Card.class) return new CardClientProxy("card", requestor);
+        throw new AssertionError("No default argument of " + type);
+    }
+
+    // A requestor recording the operations, and replying default values
+    private static class RecordingRequestor implements Requestor {
+        private final Set<String> sent = new HashSet<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T sendRequestAndAwaitReply(String objectId, String operationName,
+                                              Type typeOfReturnValue, Object... argument) {
+            sent.add(operationName);
+            if (typeOfReturnValue instanceof ParameterizedType) return (T) List.of();
+            if (typeOfReturnValue == Integer.class) return (T) Integer.valueOf(0);
+            if (typeOfReturnValue == Long.class) return (T) Long.valueOf(0);
+            if (typeOfReturnValue == Boolean.class) return (T) Boolean.FALSE;
+            if (typeOfReturnValue == String.class) return (T) "id";
+            if (typeOfReturnValue == Player.class) return (T) Player.FINDUS;
+            if (typeOfReturnValue == Status.class) return (T) Status.OK;
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
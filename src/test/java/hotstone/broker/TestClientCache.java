@@ -0,0 +1,152 @@
+package hotstone.broker;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import frds.broker.marshall.json.StandardJSONRequestor;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.common.GameState;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test class for the client proxies caching what they read of a game,
+ * one proxy per object, until the version of the game changes.
+ */
+public class TestClientCache {
+    private GameClientProxy game;
+    private GameClientProxy otherClient;
+    private int requests;
+    // Run once the next version request is answered, before the reply is given to the client
+    private Runnable onVersionReply;
+
+    @BeforeEach
+    public void setup() {
+        // Given a remote AlphaStone game, with two clients, where the
+        // requests of the first are counted
+        Invoker invoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+            @Override
+            public String sendToServerAndAwaitReply(String request) {
+                requests++;
+                String reply = super.sendToServerAndAwaitReply(request);
+                if (onVersionReply != null && request.contains(OperationNames.GAME_GET_VERSION)) {
+                    Runnable run = onVersionReply;
+                    onVersionReply = null;
+                    run.run();
+                }
+                return reply;
+            }
+        };
+        game = new GameClientProxy(new StandardJSONRequestor(crh));
+        Requestor otherRequestor = new StandardJSONRequestor(new LocalMethodClientRequestHandler(invoker));
+        otherClient = new GameClientProxy(otherRequestor);
+    }
+
+    @Test
+    public void shouldKeepOneProxyPerObject() {
+        // When the hand and the hero are got twice
+        Card first = game.getCardInHand(Player.FINDUS, 0);
+        Iterable<? extends Card> hand = game.getHand(Player.FINDUS);
+        Hero hero = game.getHero(Player.FINDUS);
+        // Then the proxies are the same
+        assertThat(hand.iterator().next(), is(sameInstance(first)));
+        assertThat(game.getHero(Player.FINDUS), is(sameInstance(hero)));
+    }
+
+    @Test
+    public void shouldRequestImmutableAttributesOnce() {
+        // Given a card and a hero
+        Card card = game.getCardInHand(Player.FINDUS, 0);
+        Hero hero = game.getHero(Player.FINDUS);
+        requests = 0;
+        // When their immutable attributes are read twice
+        for (int i = 0; i < 2; i++) {
+            assertThat(card.getName(), is(GameConstants.TRES_CARD));
+            assertThat(card.getManaCost(), is(3));
+            assertThat(card.getOwner(), is(Player.FINDUS));
+            card.getEffectDescription();
+            assertThat(hero.getOwner(), is(Player.FINDUS));
+            hero.getType();
+            hero.getEffectDescription();
+        }
+        // Then each was requested once
+        assertThat(requests, is(7));
+    }
+
+    @Test
+    public void shouldRequestMutableAttributesAgainWhenTheVersionChanges() {
+        // Given Findus has played Uno, and the version is got
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        game.playCard(Player.FINDUS, uno, 0);
+        Hero hero = game.getHero(Player.FINDUS);
+        game.getVersion();
+        requests = 0;
+        // When the attributes of the minion and hero are read twice
+        for (int i = 0; i < 2; i++) {
+            assertThat(uno.getHealth(), is(1));
+            assertThat(uno.isActive(), is(false));
+            assertThat(hero.getMana(), is(2));
+        }
+        // Then they were requested once
+        assertThat(requests, is(3));
+
+        // When the other client changes the game, and the version is got
+        otherClient.usePower(Player.FINDUS);
+        game.getVersion();
+        // Then the attributes are requested again
+        assertThat(hero.getMana(), is(0));
+    }
+
+    @Test
+    public void shouldNotCacheMutableAttributesAfterOwnChanges() {
+        // Given the version is got and the mana of Findus is read
+        Hero hero = game.getHero(Player.FINDUS);
+        game.getVersion();
+        assertThat(hero.getMana(), is(3));
+        // When Findus uses the power of the hero
+        game.usePower(Player.FINDUS);
+        // Then the mana is read again
+        assertThat(hero.getMana(), is(1));
+    }
+
+    @Test
+    public void shouldNotTakeVersionGotBeforeInvalidation() {
+        // Given the version is got and Findus can use the power
+        Hero hero = game.getHero(Player.FINDUS);
+        game.getVersion();
+        assertThat(hero.canUsePower(), is(true));
+        // When Findus uses the power while the version is requested again
+        onVersionReply = () -> game.usePower(Player.FINDUS);
+        game.getVersion();
+        // Then the version of the reply is not taken, and the power is read again
+        assertThat(hero.canUsePower(), is(false));
+    }
+
+    @Test
+    public void shouldOnlySendStateWhenChanged() {
+        // Given the state of the game
+        GameState state = game.getState();
+        // When it is got again, without changes
+        // Then it is the same state
+        assertThat(game.getState(), is(sameInstance(state)));
+        // When the other client ends the turn
+        otherClient.endTurn();
+        // Then a new state is got
+        GameState changed = game.getState();
+        assertThat(changed, is(not(sameInstance(state))));
+        assertThat(changed.getPlayerInTurn(), is(Player.PEDDERSEN));
+        assertThat(changed.getVersion(), is(state.getVersion() + 1));
+    }
+}
@@ -0,0 +1,127 @@
+package hotstone.broker;
+
+import com.google.gson.reflect.TypeToken;
+import frds.broker.IPCException;
+import frds.broker.Invoker;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.common.GameState;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for the compact binary encoding of the broker,
+ * and its negotiation with servers knowing JSON only.
+ */
+public class TestCompactMarshaller {
+    private final Marshaller compact = new CompactMarshaller();
+
+    @Test
+    public void shouldEncodeRequests() {
+        // When a request to play a card is encoded and decoded
+        String message = compact.marshalRequest("g1.a", OperationNames.GAME_PLAY_CARD, Player.PEDDERSEN, "g1.b", 4);
+        Request request = compact.demarshalRequest(message);
+        // Then it is the same request
+        assertThat(request.getObjectId(), is("g1.a"));
+        assertThat(request.getOperationName(), is(OperationNames.GAME_PLAY_CARD));
+        assertThat(request.getArgument(0, Player.class), is(Player.PEDDERSEN));
+        assertThat(request.getArgument(1, String.class), is("g1.b"));
+        assertThat(request.getArgument(2, Integer.class), is(4));
+        // And it is much shorter than in JSON
+        String json = new JsonMarshaller().marshalRequest("g1.a", OperationNames.GAME_PLAY_CARD, Player.PEDDERSEN, "g1.b", 4);
+        assertThat(message.length() * 4, is(lessThan(json.length())));
+    }
+
+    @Test
+    public void shouldEncodeOperationsByName() {
+        // When a request of an operation without a code is encoded and decoded
+        Request request = compact.demarshalRequest(compact.marshalRequest("g1", "game_new-operation", -1L));
+        // Then it has the operation and the argument
+        assertThat(request.getOperationName(), is("game_new-operation"));
+        assertThat(request.getArgument(0, Long.class), is(-1L));
+    }
+
+    @Test
+    public void shouldEncodeReplies() {
+        Type listOfStrings = new TypeToken<List<String>>() {}.getType();
+        // Then values of each type are decoded as they were encoded
+        assertThat(roundTrip(Status.NOT_ENOUGH_MANA, Status.class), is(Status.NOT_ENOUGH_MANA));
+        assertThat(roundTrip(-300, Integer.class), is(-300));
+        assertThat(roundTrip(Long.MAX_VALUE, Long.class), is(Long.MAX_VALUE));
+        assertThat(roundTrip(true, Boolean.class), is(true));
+        assertThat(roundTrip("Æblegrød", String.class), is("Æblegrød"));
+        assertThat(roundTrip(List.of("g1.a", "g1.b"), listOfStrings), is(List.of("g1.a", "g1.b")));
+        assertThat(roundTrip(null, GameState.class), is(nullValue()));
+        // And others as JSON
+        Game game = new StandardHotStoneGame(new AlphaStoneFactory());
+        GameState state = roundTrip(GameState.of(game, 7), GameState.class);
+        assertThat(state.getVersion(), is(7L));
+        assertThat(state.getCardInHand(Player.FINDUS, 0).getName(), is(GameConstants.TRES_CARD));
+    }
+
+    @Test
+    public void shouldFailOnErrorReplies() {
+        // When an error reply is decoded
+        String reply = compact.marshalReply(Reply.error(404, "Unknown game"));
+        // Then it fails
+        IPCException e = assertThrows(IPCException.class, () -> compact.demarshalReply(reply, String.class));
+        assertThat(e.getMessage().contains("Unknown game"), is(true));
+    }
+
+    @Test
+    public void shouldPlayRemoteGameInCompactEncoding() {
+        // Given a remote game, played by a client of the compact encoding
+        Invoker invoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        MarshallingRequestor requestor = new MarshallingRequestor(new LocalMethodClientRequestHandler(invoker), compact);
+        Game game = new GameClientProxy(requestor);
+        // When Findus plays Uno
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        Status status = game.playCard(Player.FINDUS, uno, 0);
+        // Then it is played, in the compact encoding
+        assertThat(status, is(Status.OK));
+        assertThat(game.getCardInField(Player.FINDUS, 0).getName(), is(GameConstants.UNO_CARD));
+        assertThat(game.getHero(Player.FINDUS).getMana(), is(2));
+        assertThat(requestor.getMarshaller(), is(sameInstance(compact)));
+    }
+
+    @Test
+    public void shouldFallBackToJsonForServersOfJsonOnly() {
+        // Given a server knowing JSON only, as servers before the compact encoding
+        Invoker rootInvoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        Invoker jsonOnly = request -> {
+            if (!request.startsWith("{")) throw new IPCException("Malformed JSON");
+            return rootInvoker.handleRequest(request);
+        };
+        MarshallingRequestor requestor = new MarshallingRequestor(new LocalMethodClientRequestHandler(jsonOnly), compact);
+        Game game = new GameClientProxy(requestor);
+        // When the client asks for the turn number
+        // Then it is answered, in JSON
+        assertThat(game.getTurnNumber(), is(0));
+        assertThat(requestor.getMarshaller(), is(instanceOf(JsonMarshaller.class)));
+    }
+
+    private <T> T roundTrip(Object value, Type type) {
+        return compact.demarshalReply(compact.marshalReply(Reply.ok(value)), type);
+    }
+}
@@ -0,0 +1,235 @@
+package hotstone.broker;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import frds.broker.marshall.json.StandardJSONRequestor;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.broker.service.GameExecutor;
+import hotstone.broker.service.GameRegistry;
+import hotstone.broker.service.StandardGameRegistry;
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.ReadOnlyGame;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+
+/** Stress test of a server game receiving requests on many threads,
+ * where changes are executed one at a time and reads run concurrently.
+ */
+public class TestConcurrentBroker {
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+    private static final int TURNS_PER_WRITER = 250;
+    private static final int CHANGES_PER_WRITER = 5_000;
+    // An AlphaStone player has 7 cards, in the deck, hand or field
+    private static final int CARDS_PER_PLAYER = 7;
+
+    @Test
+    public void shouldExecuteConcurrentRequestsConsistently() throws InterruptedException {
+        // Given a server game, and clients ending turns and reading the game on many threads
+        GameRegistry registry = new StandardGameRegistry();
+        String gameId = registry.createGame(new AlphaStoneFactory());
+        Invoker invoker = new HotStoneRootInvoker(registry);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Integer> readCount = new ArrayList<>();
+
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Game game = proxy(gameId, invoker);
+            writers.add(start(errors, () -> {
+                for (int turn = 0; turn < TURNS_PER_WRITER; turn++) game.endTurn();
+            }));
+        }
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            Game game = proxy(gameId, invoker);
+            readers.add(start(errors, () -> {
+                int lastTurn = 0, reads = 0;
+                while (isWriting.get()) {
+                    int turn = game.getTurnNumber();
+                    assertThat(turn, is(not(lessThan(lastTurn))));
+                    lastTurn = turn;
+                    for (Player player : Player.values()) {
+                        for (Card card : game.getHand(player)) assertThat(card.getName(), is(notNullValue()));
+                        assertThat(game.getHero(player).getOwner(), is(player));
+                    }
+                    reads++;
+                }
+                synchronized (readCount) {
+                    readCount.add(reads);
+                }
+            }));
+        }
+
+        // When all turns are ended
+        for (Thread writer : writers) writer.join();
+        isWriting.set(false);
+        for (Thread reader : readers) reader.join();
+
+        // Then no request failed, and no turn was lost
+        assertThat(errors.isEmpty() ? "" : errors.peek().toString(), is(""));
+        assertThat(registry.getGame(gameId).getTurnNumber(), is(WRITERS * TURNS_PER_WRITER));
+        assertThat(readCount.size(), is(READERS));
+    }
+
+    @Test
+    public void shouldReadConsistentViewDuringChanges() throws InterruptedException {
+        // Given an executor of a game, where turns are ended on many threads
+        GameExecutor executor = new GameExecutor(new StandardHotStoneGame(new AlphaStoneFactory()));
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            threads.add(start(errors, () -> {
+                awaitUninterruptibly(startGate);
+                for (int turn = 0; turn < CHANGES_PER_WRITER; turn++) {
+                    executor.change(game -> {
+                        game.endTurn();
+                        return null;
+                    });
+                }
+                writersDone.countDown();
+            }));
+        }
+        // When the game is read concurrently
+        int[] reads = new int[1];
+        threads.add(start(errors, () -> {
+            awaitUninterruptibly(startGate);
+            do {
+                // Then each read sees all cards of the players, as of one turn
+                for (Player player : Player.values()) {
+                    int cards = executor.read(view -> view.getDeckSize(player)
+                            + view.getHandSize(player) + view.getFieldSize(player));
+                    assertThat(cards, is(CARDS_PER_PLAYER));
+                }
+                reads[0]++;
+            } while (writersDone.getCount() > 0);
+        }));
+        startGate.countDown();
+        for (Thread thread : threads) thread.join();
+
+        // And the changes were all executed
+        assertThat(errors.isEmpty() ? "" : errors.peek().toString(), is(""));
+        assertThat(executor.read(ReadOnlyGame::getTurnNumber), is(WRITERS * CHANGES_PER_WRITER));
+        assertThat(reads[0], is(greaterThan(0)));
+    }
+
+    @Test
+    public void shouldReadSameViewOnManyThreads() throws InterruptedException {
+        // Given an executor of a game where minions are on the field
+        StandardHotStoneGame game = new StandardHotStoneGame(new AlphaStoneFactory());
+        GameExecutor executor = new GameExecutor(game);
+        executor.change(changed -> {
+            changed.playCard(Player.FINDUS, changed.getCardInHand(Player.FINDUS, 0), 0);
+            return null;
+        });
+        Hero hero = executor.read(view -> view.getHero(Player.FINDUS));
+        Card minion = executor.read(view -> view.getCardInField(Player.FINDUS, 0));
+        // When the view is read on many threads at once
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < READERS * 2; i++) {
+            threads.add(start(errors, () -> {
+                awaitUninterruptibly(startGate);
+                for (int read = 0; read < 2_000; read++) {
+                    // Then every read gets the same hero and minion, and nothing is changed
+                    assertThat(executor.read(view -> view.getHero(Player.FINDUS)), is(sameInstance(hero)));
+                    assertThat(executor.read(view -> view.getField(Player.FINDUS).iterator().next()),
+                            is(sameInstance(minion)));
+                    assertThat(executor.read(ReadOnlyGame::getWinner), is(nullValue()));
+                }
+            }));
+        }
+        startGate.countDown();
+        for (Thread thread : threads) thread.join();
+        assertThat(errors.isEmpty() ? "" : errors.peek().toString(), is(""));
+    }
+
+    @Test
+    public void shouldOnlyCountChangesOfGameReadInMailbox() {
+        // Given an executor of a game that is not a MutableGame, which is read in the mailbox
+        GameExecutor executor = new GameExecutor(mock(Game.class));
+        long version = executor.getVersion();
+        // When it is read
+        executor.read(ReadOnlyGame::getTurnNumber);
+        executor.read((game, readVersion) -> readVersion);
+        // Then the version is the same
+        assertThat(executor.getVersion(), is(version));
+        // And when it is changed, the version is counted up
+        executor.change(game -> {
+            game.endTurn();
+            return null;
+        });
+        assertThat(executor.getVersion(), is(version + 1));
+    }
+
+    private static Game proxy(String gameId, Invoker invoker) {
+        Requestor requestor = new StandardJSONRequestor(new DirectClientRequestHandler(invoker));
+        return new GameClientProxy(gameId, requestor);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Thread start(Queue<Throwable> errors, Runnable work) {
+        Thread thread = new Thread(() -> {
+            try {
+                work.run();
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    // A client request handler calling the invoker directly, without the
+    // output of LocalMethodClientRequestHandler for each request
+    private static class DirectClientRequestHandler implements ClientRequestHandler {
+        private final Invoker invoker;
+
+        DirectClientRequestHandler(Invoker invoker) {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public String sendToServerAndAwaitReply(String request) {
+            return invoker.handleRequest(request);
+        }
+
+        @Override
+        public void setServer(String hostname, int port) {}
+
+        @Override
+        public void setServer(String hostname, int port, boolean useTLS) {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,124 @@
+package hotstone.broker;
+
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import frds.broker.marshall.json.StandardJSONRequestor;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.GameEventReceiver;
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.GameEvents;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.broker.service.GameEventLog;
+import hotstone.framework.Player;
+import hotstone.spies.SpyGameObserver;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/** Test class for the events of a remote game, pushed to the clients
+ * by long polling, and replayed into the observers on the client.
+ */
+public class TestGameEventBroker {
+    private Requestor requestor;
+    private GameClientProxy otherClient;
+
+    @BeforeEach
+    public void setup() {
+        // Given a remote AlphaStone game, and another client of it
+        Invoker invoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        requestor = new StandardJSONRequestor(new LocalMethodClientRequestHandler(invoker));
+        otherClient = new GameClientProxy(new StandardJSONRequestor(new LocalMethodClientRequestHandler(invoker)));
+    }
+
+    @Test
+    public void shouldReplayEventsOfOtherClient() {
+        // Given a receiver of the events from now, with an observer
+        GameEventReceiver receiver = new GameEventReceiver(BrokerConstants.ONE_GAME_ID, requestor);
+        SpyGameObserver observer = new SpyGameObserver();
+        receiver.addObserver(observer);
+        assertThat(receiver.poll(0), is(0));
+        // When the other client plays Uno
+        otherClient.playCard(Player.FINDUS, otherClient.getCardInHand(Player.FINDUS, 2), 0);
+        // Then the events are received and replayed into the observer
+        assertThat(receiver.poll(1000), is(2));
+        assertThat(observer.getCallHistory(), is(List.of("onHeroUpdate", "onPlayCard")));
+        assertThat(observer.getLastPlayer(), is(Player.FINDUS));
+        assertThat(observer.getLastAttackingCard().getName(), is(GameConstants.UNO_CARD));
+    }
+
+    @Test
+    public void shouldWaitForTheNextEvent() throws Exception {
+        // Given a receiver of the events from now
+        GameEventReceiver receiver = new GameEventReceiver(BrokerConstants.ONE_GAME_ID, requestor);
+        SpyGameObserver observer = new SpyGameObserver();
+        receiver.addObserver(observer);
+        receiver.poll(0);
+        // When it polls for a long time, and the other client ends the turn
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        long start = System.currentTimeMillis();
+        Future<Integer> received = executor.submit(() -> {
+            // a poll is answered on the first event, the turn change comes after the draw
+            int count = 0;
+            while (!observer.getCallHistory().contains("onChangeTurnTo")) count += receiver.poll(20_000);
+            return count;
+        });
+        otherClient.endTurn();
+        // Then the polls are answered with the events right away
+        assertThat(received.get(10, TimeUnit.SECONDS), is(greaterThan(0)));
+        assertThat(System.currentTimeMillis() - start < 10_000, is(true));
+        assertThat(observer.getCallHistory().contains("onChangeTurnTo"), is(true));
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldPushEventsToObserversOfGameProxy() throws Exception {
+        // Given a proxy of the game, with an observer of turn changes
+        GameClientProxy game = new GameClientProxy(requestor);
+        CountDownLatch turnChanged = new CountDownLatch(1);
+        game.addObserver(new SpyGameObserver() {
+            @Override
+            public void onChangeTurnTo(Player playerBecomingActive) {
+                if (playerBecomingActive == Player.PEDDERSEN) turnChanged.countDown();
+            }
+        });
+        // When the other client ends the turn
+        otherClient.endTurn();
+        // Then the observer is notified
+        assertThat(turnChanged.await(10, TimeUnit.SECONDS), is(true));
+        game.getEventReceiver().stop();
+    }
+
+    @Test
+    public void shouldTellOfMissedEvents() throws Exception {
+        // Given an event log keeping two events, which has had three
+        GameEventLog log = new GameEventLog(2);
+        log.onUsePower(Player.FINDUS);
+        log.onHeroUpdate(Player.FINDUS);
+        log.onChangeTurnTo(Player.PEDDERSEN);
+        // When a client having the first event polls
+        GameEvents events = log.getEventsAfter(1, 0);
+        // Then it gets the rest
+        assertThat(events.isMissingEvents(), is(false));
+        assertThat(events.getEvents().size(), is(2));
+        assertThat(events.getLastSequence(), is(3L));
+        // When a client having none of them polls
+        // Then it has missed events
+        assertThat(log.getEventsAfter(0, 0).isMissingEvents(), is(true));
+        // And so has a client with events of another log
+        assertThat(log.getEventsAfter(7, 0).isMissingEvents(), is(true));
+    }
+}
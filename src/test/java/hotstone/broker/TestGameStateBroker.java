@@ -0,0 +1,140 @@
+package hotstone.broker;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import frds.broker.marshall.json.StandardJSONRequestor;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.common.GameState;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test class for getting the state of the whole board of a remote
+ * game in one request.
+ */
+public class TestGameStateBroker {
+    private MutableGame servant;
+    private GameClientProxy game;
+    private int requests;
+
+    @BeforeEach
+    public void setup() {
+        // Given a remote AlphaStone game, where the requests are counted
+        servant = new StandardHotStoneGame(new AlphaStoneFactory());
+        Invoker invoker = new HotStoneRootInvoker(servant);
+        ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+            @Override
+            public String sendToServerAndAwaitReply(String request) {
+                requests++;
+                return super.sendToServerAndAwaitReply(request);
+            }
+        };
+        Requestor requestor = new StandardJSONRequestor(crh);
+        game = new GameClientProxy(requestor);
+    }
+
+    @Test
+    public void shouldGetTheWholeBoardInOneRequest() {
+        // Given Findus has played Uno
+        game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 2), 0);
+        requests = 0;
+        // When the state is got
+        GameState state = game.getState();
+        // Then it took one request
+        assertThat(requests, is(1));
+        // And the state is the state of the game
+        assertThat(state.getTurnNumber(), is(0));
+        assertThat(state.getPlayerInTurn(), is(Player.FINDUS));
+        assertThat(state.getWinner(), is(nullValue()));
+        for (Player who : Player.values()) {
+            assertThat(state.getHandSize(who), is(servant.getHandSize(who)));
+            assertThat(state.getFieldSize(who), is(servant.getFieldSize(who)));
+            assertThat(state.getDeckSize(who), is(servant.getDeckSize(who)));
+            Hero hero = state.getHero(who);
+            assertThat(hero.getID(), is(servant.getHero(who).getID()));
+            assertThat(hero.getMana(), is(servant.getHero(who).getMana()));
+            assertThat(hero.getType(), is(servant.getHero(who).getType()));
+            assertThat(hero.getEffectDescription(), is(servant.getHero(who).getEffectDescription()));
+        }
+        Card minion = state.getCardInField(Player.FINDUS, 0);
+        assertThat(minion.getName(), is(GameConstants.UNO_CARD));
+        assertThat(minion.getID(), is(servant.getCardInField(Player.FINDUS, 0).getID()));
+        assertThat(minion.isActive(), is(false));
+        assertThat(state.getCardInHand(Player.FINDUS, 0).getName(), is(GameConstants.TRES_CARD));
+        // And reading it takes no further requests
+        assertThat(requests, is(1));
+    }
+
+    @Test
+    public void shouldPlayCardsOfTheState() {
+        // Given the state of the board
+        GameState state = game.getState();
+        // When Findus plays the Uno card of the state
+        Card uno = state.getCardInHand(Player.FINDUS, 2);
+        Status status = game.playCard(Player.FINDUS, uno, 0);
+        // Then it is played in the game
+        assertThat(status, is(Status.OK));
+        assertThat(servant.getCardInField(Player.FINDUS, 0).getID(), is(uno.getID()));
+        // And the card can be read through a proxy of it
+        assertThat(game.getCardInField(Player.FINDUS, 0).getName(), is(GameConstants.UNO_CARD));
+    }
+
+    @Test
+    public void shouldReadThePrefetchedBoardWithoutFurtherRequests() {
+        // Given Findus has played Uno
+        game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 2), 0);
+        // When the board is prefetched
+        requests = 0;
+        game.prefetchBoard();
+        // Then the game, its cards and heroes are read without further requests
+        assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+        assertThat(game.getHandSize(Player.FINDUS), is(servant.getHandSize(Player.FINDUS)));
+        assertThat(game.getDeckSize(Player.PEDDERSEN), is(servant.getDeckSize(Player.PEDDERSEN)));
+        Card uno = game.getCardInField(Player.FINDUS, 0);
+        assertThat(uno.getName(), is(GameConstants.UNO_CARD));
+        assertThat(uno.getHealth(), is(1));
+        assertThat(uno.isActive(), is(false));
+        int index = 0;
+        for (Card card : game.getHand(Player.FINDUS)) {
+            assertThat(card.getName(), is(servant.getCardInHand(Player.FINDUS, index++).getName()));
+        }
+        Hero hero = game.getHero(Player.FINDUS);
+        assertThat(hero.getMana(), is(servant.getHero(Player.FINDUS).getMana()));
+        assertThat(hero.getType(), is(servant.getHero(Player.FINDUS).getType()));
+        assertThat(requests, is(1));
+    }
+
+    @Test
+    public void shouldReadChangesThroughTheProxiesOfThePrefetchedBoard() {
+        // Given the board is prefetched, and a card and hero read
+        game.prefetchBoard();
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        Hero hero = game.getHero(Player.FINDUS);
+        int mana = hero.getMana();
+        // When Findus plays Uno
+        game.playCard(Player.FINDUS, uno, 0);
+        // Then the proxies read the changed game
+        assertThat(hero.getMana(), is(mana - 1));
+        assertThat(game.getCardInField(Player.FINDUS, 0), is(sameInstance(uno)));
+        // And once prefetched again, read it without further requests
+        game.prefetchBoard();
+        requests = 0;
+        assertThat(hero.getMana(), is(mana - 1));
+        assertThat(game.getFieldSize(Player.FINDUS), is(1));
+        assertThat(game.getCardInField(Player.FINDUS, 0).getAttack(), is(1));
+        assertThat(requests, is(0));
+    }
+}
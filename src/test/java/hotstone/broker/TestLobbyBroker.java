@@ -0,0 +1,112 @@
+package hotstone.broker;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.IPCException;
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import frds.broker.marshall.json.StandardJSONRequestor;
+import hotstone.broker.client.LobbyClientProxy;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.broker.service.GameRegistry;
+import hotstone.broker.service.StandardGameRegistry;
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.standard.GameConstants;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for the lobby of a server hosting many games,
+ * routing the requests to the game of the object.
+ */
+public class TestLobbyBroker {
+    private GameRegistry registry;
+    private LobbyClientProxy lobby;
+
+    @BeforeEach
+    public void setup() {
+        // Given a server with a game registry
+        registry = new StandardGameRegistry();
+        Invoker invoker = new HotStoneRootInvoker(registry);
+        ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker);
+        Requestor requestor = new StandardJSONRequestor(crh);
+        // And a client proxy of its lobby
+        lobby = new LobbyClientProxy(requestor);
+    }
+
+    @Test
+    public void shouldPlayGamesSeparately() {
+        // Given two AlphaStone games created in the lobby
+        Game first = lobby.getGame(lobby.createGame("alphastone"));
+        Game second = lobby.getGame(lobby.createGame("alphastone"));
+        // When Findus ends the turn in the first game
+        first.endTurn();
+        // Then only the first game is in turn 1
+        assertThat(first.getTurnNumber(), is(1));
+        assertThat(second.getTurnNumber(), is(0));
+    }
+
+    @Test
+    public void shouldRouteCardsToTheirGame() {
+        // Given two AlphaStone games, where Findus plays Uno in the first
+        Game first = lobby.getGame(lobby.createGame("alphastone"));
+        Game second = lobby.getGame(lobby.createGame("alphastone"));
+        first.playCard(Player.FINDUS, first.getCardInHand(Player.FINDUS, 2), 0);
+        // When the cards of both games are looked at
+        Card minion = first.getCardInField(Player.FINDUS, 0);
+        Card card = second.getCardInHand(Player.FINDUS, 2);
+        // Then each is found in its game
+        assertThat(minion.getName(), is(GameConstants.UNO_CARD));
+        assertThat(card.getName(), is(GameConstants.UNO_CARD));
+        assertThat(card.getID(), is(not(minion.getID())));
+        assertThat(second.getFieldSize(Player.FINDUS), is(0));
+        assertThat(first.getHero(Player.FINDUS).getMana(), is(2));
+        assertThat(second.getHero(Player.FINDUS).getMana(), is(3));
+    }
+
+    @Test
+    public void shouldFailRequestsToRetiredGame() {
+        // Given a game with a card looked at by the client
+        String gameId = lobby.createGame("alphastone");
+        Game game = lobby.getGame(gameId);
+        Card card = game.getCardInHand(Player.FINDUS, 0);
+        // When it is retired
+        assertThat(lobby.retireGame(gameId), is(true));
+        // Then the registry no longer has it, and requests fail
+        assertThat(registry.size(), is(0));
+        assertThrows(IPCException.class, game::getTurnNumber);
+        assertThrows(IPCException.class, card::getName);
+        assertThat(lobby.retireGame(gameId), is(false));
+    }
+
+    @Test
+    public void shouldFailToCreateUnknownVariant() {
+        // When a game of an unknown variant is created
+        // Then the request fails
+        assertThrows(IPCException.class, () -> lobby.createGame("nosuchstone"));
+    }
+
+    @Test
+    public void shouldHostThousandsOfGames() {
+        // When a thousand games are created in the registry
+        Set<String> gameIds = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            gameIds.add(registry.createGame(new AlphaStoneFactory()));
+        }
+        // Then each has its own ID, and the objects of a game route to it
+        assertThat(gameIds.size(), is(1000));
+        for (String gameId : gameIds) {
+            String heroId = registry.getGame(gameId).getHero(Player.PEDDERSEN).getID();
+            assertThat(registry.getGameIdOf(heroId), is(gameId));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package hotstone.broker;
+
+import frds.broker.ClientRequestHandler;
+import frds.broker.IPCException;
+import frds.broker.Invoker;
+import frds.broker.Requestor;
+import hotstone.broker.client.LobbyClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.broker.service.StandardGameRegistry;
+import hotstone.broker.service.StandardNameService;
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for the name services of the games on a server being
+ * cleaned as cards leave the games and games end, so a long-running
+ * server does not keep what the games no longer have.
+ */
+public class TestNameServiceLifecycle {
+    private static final int MAX_FINISHED_GAMES = 16;
+
+    private StandardGameRegistry registry;
+    private LobbyClientProxy lobby;
+
+    @BeforeEach
+    public void setup() {
+        // Given a server keeping at most 16 games won
+        registry = new StandardGameRegistry(MAX_FINISHED_GAMES);
+        Invoker invoker = new HotStoneRootInvoker(registry);
+        // And a client of it, not printing its requests
+        ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+            @Override
+            public String sendToServerAndAwaitReply(String request) {
+                return invoker.handleRequest(request);
+            }
+        };
+        Requestor requestor = new MarshallingRequestor(crh, new CompactMarshaller());
+        lobby = new LobbyClientProxy(requestor);
+    }
+
+    @Test
+    public void shouldEvictMinionsRemovedFromTheField() {
+        // Given an AlphaStone game where both players play Uno
+        String gameId = lobby.createGame("alphastone");
+        Game game = lobby.getGame(gameId);
+        game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 2), 0);
+        game.endTurn();
+        game.playCard(Player.PEDDERSEN, game.getCardInHand(Player.PEDDERSEN, 2), 0);
+        game.endTurn();
+        Card attacker = game.getCardInField(Player.FINDUS, 0);
+        Card defender = game.getCardInField(Player.PEDDERSEN, 0);
+        StandardNameService nameService = (StandardNameService) registry.getNameService(gameId);
+        long evicted = nameService.getEvictionCount();
+        // When the two minions kill each other
+        game.attackCard(Player.FINDUS, attacker, defender);
+        // Then they are removed from the name service
+        assertThat(nameService.getCard(attacker.getID()), is(nullValue()));
+        assertThat(nameService.getCard(defender.getID()), is(nullValue()));
+        assertThat(nameService.getEvictionCount(), is(evicted + 2));
+        // And asking for them is an error, not a crash of the server
+        IPCException e = assertThrows(IPCException.class, defender::getHealth);
+        assertThat(e.getMessage().contains("Unknown card"), is(true));
+    }
+
+    @Test
+    public void shouldEmptyNameServiceWhenTheGameIsWon() {
+        // Given an AlphaStone game where the hands have been looked at
+        String gameId = lobby.createGame("alphastone");
+        Game game = lobby.getGame(gameId);
+        game.getHand(Player.FINDUS);
+        game.getHero(Player.FINDUS);
+        StandardNameService nameService = (StandardNameService) registry.getNameService(gameId);
+        assertThat(nameService.size(), is(4));
+        // When Findus wins in turn 8
+        playToTheEnd(game);
+        // Then the name service is empty
+        assertThat(nameService.size(), is(0));
+        // And the cards are still found in the game
+        assertThat(game.getCardInHand(Player.FINDUS, 0).getManaCost(), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRetireTheGamesWonTheLongestAgo() {
+        // Given 20 AlphaStone games, all won, and one in play
+        String first = null;
+        for (int i = 0; i < 20; i++) {
+            String gameId = lobby.createGame("alphastone");
+            if (first == null) first = gameId;
+            playToTheEnd(lobby.getGame(gameId));
+        }
+        String inPlay = lobby.createGame("alphastone");
+        // Then the 16 games won last and the one in play are kept
+        assertThat(registry.size(), is(MAX_FINISHED_GAMES + 1));
+        assertThat(registry.getEvictedGameCount(), is(4L));
+        assertThat(registry.getGame(first), is(nullValue()));
+        assertThat(registry.getGame(inPlay), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldKeepRegistryBoundedOverManyGames() {
+        // When 200 games are created, looked at and played to the end
+        for (int i = 0; i < 200; i++) {
+            Game game = lobby.getGame(lobby.createGame("alphastone"));
+            game.getHand(Player.FINDUS);
+            game.getField(Player.PEDDERSEN);
+            playToTheEnd(game);
+        }
+        // Then the registry and the name services are bounded
+        assertThat(registry.size(), is(lessThanOrEqualTo(MAX_FINISHED_GAMES)));
+        assertThat(registry.getNameServiceSize(), is(lessThanOrEqualTo((long) MAX_FINISHED_GAMES * 4)));
+        assertThat(registry.getEvictedGameCount(), is(200L - MAX_FINISHED_GAMES));
+    }
+
+    private static void playToTheEnd(Game game) {
+        while (game.getWinner() == null) game.endTurn();
+    }
+}
@@ -0,0 +1,161 @@
+package hotstone.broker;
+
+import com.google.gson.reflect.TypeToken;
+import frds.broker.ClientRequestHandler;
+import frds.broker.IPCException;
+import frds.broker.Invoker;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.client.RequestBatch;
+import hotstone.broker.common.BrokerConstants;
+import hotstone.broker.common.CompactMarshaller;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.StreamingJsonMarshaller;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for batches of calls, sent to the server in one request
+ * and executed in order on the same state of the game.
+ */
+public class TestRequestBatch {
+    private GameClientProxy game;
+    private MarshallingRequestor requestor;
+    private int requests;
+
+    private void setup(Marshaller marshaller) {
+        // Given a remote AlphaStone game, where the requests are counted
+        Invoker invoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        ClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+            @Override
+            public String sendToServerAndAwaitReply(String request) {
+                requests++;
+                return super.sendToServerAndAwaitReply(request);
+            }
+        };
+        requestor = new MarshallingRequestor(crh, marshaller);
+        game = new GameClientProxy(requestor);
+    }
+
+    @Test
+    public void shouldReplyToAllCallsInOneRequest() {
+        setup(new CompactMarshaller());
+        String cardId = game.getCardInHand(Player.FINDUS, 0).getID();
+        String heroId = game.getHero(Player.PEDDERSEN).getID();
+        requests = 0;
+        // When the turn number, a card's name and a hero's health are batched
+        RequestBatch batch = requestor.batch();
+        RequestBatch.Result<Integer> turnNumber = batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.GAME_GET_TURN_NUMBER, Integer.class);
+        RequestBatch.Result<String> name = batch.add(cardId, OperationNames.CARD_GET_NAME, String.class);
+        RequestBatch.Result<Integer> health = batch.add(heroId, OperationNames.HERO_GET_HEALTH, Integer.class);
+        batch.send();
+        // Then they are answered in one request
+        assertThat(requests, is(1));
+        assertThat(turnNumber.get(), is(0));
+        assertThat(name.get(), is(GameConstants.TRES_CARD));
+        assertThat(health.get(), is(GameConstants.HERO_MAX_HEALTH));
+    }
+
+    @Test
+    public void shouldExecuteCallsInOrder() {
+        setup(new StreamingJsonMarshaller());
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        long version = game.getVersion();
+        // When Findus plays Uno, and the field size is read after, in a batch
+        RequestBatch batch = requestor.batch();
+        RequestBatch.Result<Status> status = batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.GAME_PLAY_CARD, Status.class,
+                Player.FINDUS, uno.getID(), 0);
+        RequestBatch.Result<Integer> fieldSize = batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.GAME_GET_FIELD_SIZE,
+                Integer.class, Player.FINDUS);
+        batch.send();
+        // Then the field size is read after Uno is played
+        assertThat(status.get(), is(Status.OK));
+        assertThat(fieldSize.get(), is(1));
+        // And the batch was one change of the game
+        assertThat(game.getVersion(), is(version + 1));
+    }
+
+    @Test
+    public void shouldReplyWithVersionOfTheChange() {
+        setup(new CompactMarshaller());
+        long version = game.getVersion();
+        // When the turn is ended, and the version is read after, in a batch
+        RequestBatch batch = requestor.batch();
+        batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.GAME_END_OF_TURN, null);
+        RequestBatch.Result<Long> changedVersion = batch.add(BrokerConstants.ONE_GAME_ID,
+                OperationNames.GAME_GET_VERSION, Long.class);
+        batch.send();
+        // Then the version read is the one the change resulted in
+        assertThat(changedVersion.get(), is(version + 1));
+        assertThat(game.getVersion(), is(version + 1));
+    }
+
+    @Test
+    public void shouldWriteRepliesOfCallsInTheReplyOfTheBatch() {
+        for (Marshaller marshaller : List.of(new CompactMarshaller(), new StreamingJsonMarshaller(), new JsonMarshaller())) {
+            // When replies of calls are marshalled as the reply of a batch
+            String reply = marshaller.marshalBatchReply(List.of(
+                    Reply.ok(List.of("g1.2f", "g1.30")), Reply.error(404, "Unknown card"), Reply.ok(Status.OK)));
+            // Then they are demarshalled as the replies of the calls
+            List<String> replies = marshaller.demarshalBatchReply(reply);
+            assertThat(replies.size(), is(3));
+            List<String> ids = marshaller.demarshalReply(replies.get(0), new TypeToken<List<String>>() {}.getType());
+            assertThat(ids, is(List.of("g1.2f", "g1.30")));
+            assertThrows(IPCException.class, () -> marshaller.demarshalReply(replies.get(1), String.class));
+            assertThat(marshaller.demarshalReply(replies.get(2), Status.class), is(Status.OK));
+        }
+        // And the streaming JSON writes them in place, not as strings of JSON
+        String reply = new StreamingJsonMarshaller().marshalBatchReply(List.of(Reply.ok("Tres")));
+        assertThat(reply.contains("\\\""), is(false));
+    }
+
+    @Test
+    public void shouldFailOnlyTheCallsFailing() {
+        setup(new CompactMarshaller());
+        // When a batch has a call of an unknown card, and one of the lobby
+        RequestBatch batch = requestor.batch();
+        RequestBatch.Result<Integer> turnNumber = batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.GAME_GET_TURN_NUMBER, Integer.class);
+        RequestBatch.Result<String> name = batch.add("no-card", OperationNames.CARD_GET_NAME, String.class);
+        RequestBatch.Result<String> created = batch.add(BrokerConstants.ONE_GAME_ID, OperationNames.LOBBY_CREATE_GAME, String.class, "alphastone");
+        batch.send();
+        // Then those fail, and the others are answered
+        assertThat(turnNumber.get(), is(0));
+        assertThrows(IPCException.class, name::get);
+        assertThrows(IPCException.class, created::get);
+    }
+
+    @Test
+    public void shouldPrefetchCardsInOneRequest() {
+        setup(new CompactMarshaller());
+        Iterable<? extends Card> hand = game.getHand(Player.FINDUS);
+        requests = 0;
+        // When the hand is prefetched
+        game.prefetch(hand);
+        // Then the attributes of its cards are got without more requests
+        for (Card card : hand) {
+            card.getName();
+            card.getManaCost();
+            card.getAttack();
+            card.getHealth();
+            card.isActive();
+            card.getOwner();
+            card.getEffectDescription();
+        }
+        assertThat(requests, is(1));
+    }
+}
@@ -0,0 +1,120 @@
+package hotstone.broker;
+
+import frds.broker.IPCException;
+import frds.broker.Invoker;
+import hotstone.broker.client.GameClientProxy;
+import hotstone.broker.client.MarshallingRequestor;
+import hotstone.broker.common.GameState;
+import hotstone.broker.common.JsonMarshaller;
+import hotstone.broker.common.Marshaller;
+import hotstone.broker.common.OperationNames;
+import hotstone.broker.common.Reply;
+import hotstone.broker.common.Request;
+import hotstone.broker.common.StreamingJsonMarshaller;
+import hotstone.broker.doubles.LocalMethodClientRequestHandler;
+import hotstone.broker.server.HotStoneRootInvoker;
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.standard.GameConstants;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test class for the JSON encoding of the broker which has the
+ * arguments and values in the message, rather than as JSON strings.
+ */
+public class TestStreamingJsonMarshaller {
+    private final Marshaller streaming = new StreamingJsonMarshaller();
+
+    @Test
+    public void shouldEncodeArgumentsInRequest() {
+        // When a request to play a card is encoded
+        String message = streaming.marshalRequest("g1.a", OperationNames.GAME_PLAY_CARD, Player.PEDDERSEN, "g1.b", 4);
+        // Then the arguments are JSON of the request, not a string in it
+        assertThat(message, is("{\"version\":2,\"objectId\":\"g1.a\",\"operationName\":\"game_play-card\","
+                + "\"arguments\":[\"PEDDERSEN\",\"g1.b\",4]}"));
+        // And it is decoded as the same request
+        Request request = streaming.demarshalRequest(message);
+        assertThat(request.getObjectId(), is("g1.a"));
+        assertThat(request.getOperationName(), is(OperationNames.GAME_PLAY_CARD));
+        assertThat(request.getArgument(0, Player.class), is(Player.PEDDERSEN));
+        assertThat(request.getArgument(1, String.class), is("g1.b"));
+        assertThat(request.getArgument(2, Integer.class), is(4));
+    }
+
+    @Test
+    public void shouldDecodeArgumentsOfEachType() {
+        for (Marshaller marshaller : List.of(streaming, new JsonMarshaller())) {
+            // When a request with arguments of the types the invokers take is decoded
+            Request request = marshaller.demarshalRequest(
+                    marshaller.marshalRequest("g1", OperationNames.GAME_GET_EVENTS, 12345678901L, null, Status.OK));
+            // Then each is decoded as the type asked for, and others as by JSON
+            assertThat(request.getArgument(0, Long.class), is(12345678901L));
+            assertThat(request.getArgument(1, String.class), is(nullValue()));
+            assertThat(request.getArgument(2, Status.class), is(Status.OK));
+        }
+    }
+
+    @Test
+    public void shouldEncodeValueInReply() {
+        // When a reply of IDs is encoded
+        String reply = streaming.marshalReply(Reply.ok(List.of("g1.a", "g1.b")));
+        // Then the value is JSON of the reply, not a string in it
+        assertThat(reply, is("{\"version\":2,\"statusCode\":200,\"value\":[\"g1.a\",\"g1.b\"]}"));
+        // And values of other types are decoded as they were encoded
+        assertThat(streaming.demarshalReply(streaming.marshalReply(Reply.ok(Status.OK)), Status.class), is(Status.OK));
+        assertThat(streaming.demarshalReply(streaming.marshalReply(Reply.ok(null)), GameState.class), is(nullValue()));
+        Game game = new StandardHotStoneGame(new AlphaStoneFactory());
+        GameState state = streaming.demarshalReply(streaming.marshalReply(Reply.ok(GameState.of(game, 7))), GameState.class);
+        assertThat(state.getVersion(), is(7L));
+        assertThat(state.getCardInHand(Player.FINDUS, 0).getName(), is(GameConstants.TRES_CARD));
+    }
+
+    @Test
+    public void shouldFailOnErrorReplies() {
+        // When an error reply is decoded
+        String reply = streaming.marshalReply(Reply.error(404, "Unknown game"));
+        // Then it fails
+        IPCException e = assertThrows(IPCException.class, () -> streaming.demarshalReply(reply, String.class));
+        assertThat(e.getMessage().contains("Unknown game"), is(true));
+    }
+
+    @Test
+    public void shouldPlayRemoteGameInStreamingJson() {
+        // Given a remote game, played by a client of the streaming encoding,
+        // where the replies are recorded
+        Invoker invoker = new HotStoneRootInvoker(new StandardHotStoneGame(new AlphaStoneFactory()));
+        List<String> replies = new ArrayList<>();
+        LocalMethodClientRequestHandler crh = new LocalMethodClientRequestHandler(invoker) {
+            @Override
+            public String sendToServerAndAwaitReply(String request) {
+                String reply = super.sendToServerAndAwaitReply(request);
+                replies.add(reply);
+                return reply;
+            }
+        };
+        MarshallingRequestor requestor = new MarshallingRequestor(crh, streaming);
+        Game game = new GameClientProxy(requestor);
+        // When Findus plays Uno
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        Status status = game.playCard(Player.FINDUS, uno, 0);
+        // Then it is played, in the streaming encoding
+        assertThat(status, is(Status.OK));
+        assertThat(game.getCardInField(Player.FINDUS, 0).getName(), is(GameConstants.UNO_CARD));
+        assertThat(requestor.getMarshaller(), is(sameInstance(streaming)));
+        // And the IDs of the hand are in the reply as they are
+        replies.clear();
+        Card first = game.getHand(Player.FINDUS).iterator().next();
+        assertThat(replies.get(0), is("{\"version\":2,\"statusCode\":200,\"value\":[\"" + first.getID() + "\",\""
+                + game.getCardInHand(Player.FINDUS, 1).getID() + "\"]}"));
+    }
+}
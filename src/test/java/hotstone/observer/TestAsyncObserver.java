@@ -0,0 +1,132 @@
+package hotstone.observer;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.simulation.RandomAgent;
+import hotstone.spies.SpyGameObserver;
+import hotstone.standard.SeededRandomStrategy;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.betastone.BetaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+
+/** Test cases for observers notified asynchronously, with the
+ * events of each action of the game coalesced.
+ */
+public class TestAsyncObserver {
+
+    @Test
+    public void shouldCoalesceUpdatesOfAnAction() {
+        // Given a handler with a synchronous and an asynchronous observer
+        ObserverHandler handler = new ObserverHandler();
+        SpyGameObserver sync = new SpyGameObserver();
+        SpyGameObserver async = new SpyGameObserver();
+        handler.addObserver(sync);
+        handler.addObserver(new AsyncObserver(async, Runnable::run));
+        Card first = mock(Card.class);
+        Card second = mock(Card.class);
+        // When an action updates a card three times, a hero twice, and
+        // updates and removes another card
+        handler.beginAction();
+        handler.notifyCardUpdate(first);
+        handler.notifyHeroUpdate(Player.FINDUS);
+        handler.notifyCardUpdate(second);
+        handler.notifyCardUpdate(first);
+        handler.beginAction();
+        handler.notifyCardRemove(Player.PEDDERSEN, second);
+        handler.notifyHeroUpdate(Player.FINDUS);
+        handler.endAction();
+        handler.notifyCardUpdate(first);
+        // Then the asynchronous observer has not been notified before the action is done
+        assertThat(async.getCallHistory(), is(Collections.emptyList()));
+        handler.endAction();
+        // And then only of the removal and the last updates, in order
+        assertThat(async.getCallHistory(), is(List.of("onCardRemove", "onHeroUpdate", "onCardUpdate")));
+        assertThat(async.getLastAttackingCard(), is(sameInstance(first)));
+        // While the synchronous observer was notified of every event
+        assertThat(sync.getCallHistory().size(), is(7));
+    }
+
+    @Test
+    public void shouldNotBlockGameOnSlowObserver() throws InterruptedException {
+        // Given a game with an observer that is stuck until released
+        Game game = new StandardHotStoneGame(new BetaStoneFactory());
+        CountDownLatch release = new CountDownLatch(1);
+        SpyGameObserver spy = new SpyGameObserver();
+        AsyncObserver observer = new AsyncObserver(new SpyGameObserver() {
+            @Override
+            public void onChangeTurnTo(Player playerBecomingActive) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                spy.onChangeTurnTo(playerBecomingActive);
+            }
+        });
+        game.addObserver(observer);
+        // When turns are played while it is stuck
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            game.endTurn();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        // Then the game went on without waiting
+        assertThat(elapsedMillis, is(lessThan(1000L)));
+        assertThat(spy.getCallHistory().size(), is(0));
+        // And once released, the observer is notified of all turns
+        release.countDown();
+        assertThat(observer.awaitDelivery(5, TimeUnit.SECONDS), is(true));
+        assertThat(spy.getCallHistory().size(), is(5));
+    }
+
+    @Test
+    public void shouldNotifyInOrderOfGame() throws InterruptedException {
+        // Given a game with a synchronous and an asynchronous observer
+        Game game = new StandardHotStoneGame(new BetaStoneFactory());
+        SpyGameObserver sync = new SpyGameObserver();
+        SpyGameObserver async = new SpyGameObserver();
+        AsyncObserver observer = new AsyncObserver(async);
+        game.addObserver(sync);
+        game.addObserver(observer);
+        // When random agents play some turns
+        RandomAgent agent = new RandomAgent(new SeededRandomStrategy(2));
+        for (int turn = 0; turn < 12 && game.getWinner() == null; turn++) {
+            agent.playTurn(game, game.getPlayerInTurn());
+            game.endTurn();
+        }
+        assertThat(observer.awaitDelivery(5, TimeUnit.SECONDS), is(true));
+        // Then the asynchronous observer is notified of the events in the same order,
+        // with fewer updates but all actions
+        List<String> all = sync.getCallHistory();
+        List<String> coalesced = async.getCallHistory();
+        assertThat(isSubsequence(coalesced, all), is(true));
+        assertThat(coalesced.size(), is(lessThan(all.size())));
+        for (String action : List.of("onPlayCard", "onAttackCard", "onAttackHero", "onChangeTurnTo")) {
+            assertThat(action, Collections.frequency(coalesced, action), is(Collections.frequency(all, action)));
+        }
+    }
+
+    private static boolean isSubsequence(List<String> part, List<String> whole) {
+        Iterator<String> remaining = whole.iterator();
+        for (String event : part) {
+            boolean isFound = false;
+            while (!isFound && remaining.hasNext()) {
+                isFound = remaining.next().equals(event);
+            }
+            if (!isFound) return false;
+        }
+        return true;
+    }
+}
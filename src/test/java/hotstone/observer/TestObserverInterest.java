@@ -0,0 +1,74 @@
+package hotstone.observer;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.spies.SpyGameObserver;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.betastone.BetaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** Test cases for observers added with an interest mask of the events
+ * they are notified of.
+ */
+public class TestObserverInterest {
+
+    @Test
+    public void shouldNotifyOnlyEventsOfMask() {
+        // Given a handler with an observer of all events, and one of hero updates and wins
+        ObserverHandler handler = new ObserverHandler();
+        SpyGameObserver all = new SpyGameObserver();
+        SpyGameObserver heroes = new SpyGameObserver();
+        handler.addObserver(all);
+        handler.addObserver(heroes, EventMask.HERO_UPDATE | EventMask.GAME_WON);
+        // When all kinds of events happen
+        Card card = mock(Card.class);
+        handler.notifyPlayCard(Player.FINDUS, card, 0);
+        handler.notifyHeroUpdate(Player.FINDUS);
+        handler.notifyCardUpdate(card);
+        handler.notifyAttackHero(Player.FINDUS, card);
+        handler.notifyHeroUpdate(Player.PEDDERSEN);
+        handler.notifyGameWon(Player.FINDUS);
+        // Then the first is notified of all of them
+        assertThat(all.getCallHistory().size(), is(6));
+        // And the second only of the events of its mask
+        assertThat(heroes.getCallHistory(), is(List.of("onHeroUpdate", "onHeroUpdate", "onGameWon")));
+        assertThat(heroes.getLastPlayer(), is(Player.FINDUS));
+    }
+
+    @Test
+    public void shouldFilterEventsOfGame() {
+        // Given a game with an observer of the actions only
+        Game game = new StandardHotStoneGame(new BetaStoneFactory());
+        SpyGameObserver actions = new SpyGameObserver();
+        game.addObserver(actions, EventMask.ACTIONS);
+        // When turns end, drawing cards and updating heroes
+        game.endTurn();
+        game.endTurn();
+        // Then the observer is notified of the changes of turn only
+        assertThat(actions.getCallHistory(), is(List.of("onChangeTurnTo", "onChangeTurnTo")));
+    }
+
+    @Test
+    public void shouldFilterEventsOfAsyncObserver() throws InterruptedException {
+        // Given a game with an asynchronous observer of the changes of turn
+        Game game = new StandardHotStoneGame(new BetaStoneFactory());
+        SpyGameObserver spy = new SpyGameObserver();
+        AsyncObserver observer = new AsyncObserver(spy, Runnable::run);
+        game.addObserver(observer, EventMask.CHANGE_TURN_TO);
+        // When turns end
+        game.endTurn();
+        game.endTurn();
+        game.endTurn();
+        // Then it is given the changes of turn only
+        assertThat(observer.awaitDelivery(5, TimeUnit.SECONDS), is(true));
+        assertThat(spy.getCallHistory(), is(List.of("onChangeTurnTo", "onChangeTurnTo", "onChangeTurnTo")));
+    }
+}
@@ -0,0 +1,128 @@
+package hotstone.replay;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Hero;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.simulation.Move;
+import hotstone.simulation.RandomAgent;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.standard.StandardRandomStrategy;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.etastone.EtaStoneFactory;
+import hotstone.variants.semistone.SemiStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for replaying games from the seed and actions
+ * of an action log, also from checkpoints.
+ */
+public class TestReplayEngine {
+    private static final int MAX_TURNS = 60;
+
+    @Test
+    public void shouldReplayEtaStoneGameToSameEnd() {
+        // Given an EtaStone game of random effects, played and recorded by random agents
+        List<String> states = new ArrayList<>();
+        ActionLog log = playRecorded(new EtaStoneFactory(new SeededRandomContext(17)), 17, states);
+        // When it is replayed from the seed and the log
+        ReplayEngine engine = new ReplayEngine(EtaStoneFactory::new, log);
+        // Then it ends in the same state
+        assertThat(describe(engine.replayAll()), is(states.get(states.size() - 1)));
+    }
+
+    @Test
+    public void shouldFastForwardSemiStoneGameToAnyTurn() throws IOException {
+        // Given a SemiStone game, of random heroes, powers and effects,
+        // played and recorded, and its log written and read back
+        List<String> states = new ArrayList<>();
+        ActionLog played = playRecorded(new SemiStoneFactory(new SeededRandomContext(5)), 5, states);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        played.write(out);
+        ActionLog log = ActionLog.read(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(log.size(), is(played.size()));
+        // When it is replayed to the turns, from the last one back to the first
+        ReplayEngine engine = new ReplayEngine(SemiStoneFactory::new, log, 4);
+        // Then each turn starts as it did when played
+        for (int turn = log.getTurnCount(); turn >= 0; turn--) {
+            assertThat("Turn " + turn, describe(engine.replayTo(turn)), is(states.get(turn)));
+        }
+    }
+
+    @Test
+    public void shouldKeepCheckpointsAtInterval() {
+        // Given a recorded EtaStone game
+        ActionLog log = playRecorded(new EtaStoneFactory(new SeededRandomContext(3)), 3, new ArrayList<>());
+        ReplayEngine engine = new ReplayEngine(EtaStoneFactory::new, log, 5);
+        assertThat(engine.getCheckpointCount(), is(1));
+        // When it is replayed
+        engine.replayAll();
+        // Then there is a checkpoint at the start of the game and every 5 turns
+        assertThat(engine.getCheckpointCount(), is(1 + log.getTurnCount() / 5));
+        // And a turn not in the log is rejected
+        assertThrows(IllegalArgumentException.class, () -> engine.replayTo(log.getTurnCount() + 1));
+    }
+
+    @Test
+    public void shouldDetectDivergingReplay() {
+        // Given a log claiming the power of Findus was used twice in the first turn
+        ActionLog log = new ActionLog(1);
+        log.record(Move.usePower(), Status.OK);
+        log.record(Move.usePower(), Status.OK);
+        log.record(Move.endTurn(), Status.OK);
+        // When it is replayed
+        ReplayEngine engine = new ReplayEngine(AlphaStoneFactory::new, log);
+        // Then the replay has diverged at the second action
+        IllegalStateException e = assertThrows(IllegalStateException.class, engine::replayAll);
+        assertThat(e.getMessage(), containsString("action 1"));
+    }
+
+    // Play a game by random agents, recording it, and describe the state
+    // at the start of each turn and at the end
+    private static ActionLog playRecorded(HotstoneFactory factory, long seed,
+                                          List<String> states) {
+        RecordingGame game = new RecordingGame(new StandardHotStoneGame(factory), new ActionLog(seed));
+        RandomAgent agent = new RandomAgent(new StandardRandomStrategy(seed));
+        while (game.getWinner() == null && game.getTurnNumber() < MAX_TURNS) {
+            states.add(describe(game));
+            agent.playTurn(game, game.getPlayerInTurn());
+            if (game.getWinner() == null) {
+                game.endTurn();
+            }
+        }
+        states.add(describe(game));
+        return game.getLog();
+    }
+
+    private static String describe(Game game) {
+        StringBuilder state = new StringBuilder();
+        state.append(game.getTurnNumber()).append(' ').append(game.getWinner());
+        for (Player who : Player.values()) {
+            Hero hero = game.getHero(who);
+            state.append('\n').append(who).append(' ').append(hero.getType())
+                    .append(' ').append(hero.getHealth()).append('/').append(hero.getMana())
+                    .append(" deck ").append(game.getDeckSize(who)).append(" hand");
+            for (Card card : game.getHand(who)) {
+                state.append(' ').append(card.getName());
+            }
+            state.append(" field");
+            for (Card card : game.getField(who)) {
+                state.append(' ').append(card.getName()).append(' ').append(card.getAttack())
+                        .append('/').append(card.getHealth()).append(card.isActive() ? "!" : "");
+            }
+        }
+        return state.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package hotstone.simulation;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.standard.SeededRandomStrategy;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.standard.StandardRandomStrategy;
+import hotstone.variants.VariantFactories;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.betastone.BetaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestMatchSimulator {
+    private MatchSimulator simulator;
+
+    @BeforeEach
+    public void setUp() {
+        simulator = new MatchSimulator(4, MatchSimulator.DEFAULT_MAX_TURNS);
+    }
+
+    @Test
+    public void shouldLetFindusWinAllAlphaStoneMatches() {
+        // Given a simulator
+        // When simulating AlphaStone matches between random agents
+        SimulationResult result = simulator.simulate("alphastone", AlphaStoneFactory::new,
+                () -> new RandomAgent(new StandardRandomStrategy(42)), 100);
+        // Then Findus wins them all at turn 8
+        assertThat(result.getGames(), is(100L));
+        assertThat(result.getWins(Player.FINDUS), is(100L));
+        assertThat(result.getAverageTurns(), is(8.0));
+    }
+
+    @Test
+    public void shouldFindAWinnerInAllBetaStoneMatches() {
+        // Given a simulator
+        // When simulating BetaStone matches, where heroes eventually die
+        SimulationResult result = simulator.simulate("betastone", BetaStoneFactory::new,
+                () -> new RandomAgent(new StandardRandomStrategy(7)), 200);
+        // Then every match has a winner
+        assertThat(result.getDraws(), is(0L));
+        assertThat(result.getWins(Player.FINDUS) + result.getWins(Player.PEDDERSEN), is(200L));
+    }
+
+    @Test
+    public void shouldCountMatchesAtTheTurnLimitAsDraws() {
+        // Given a simulator that stops matches before AlphaStone has a winner
+        simulator = new MatchSimulator(2, 4);
+        // When simulating
+        SimulationResult result = simulator.simulate("alphastone", AlphaStoneFactory::new,
+                () -> new RandomAgent(new StandardRandomStrategy(1)), 10);
+        // Then all are draws
+        assertThat(result.getDraws(), is(10L));
+    }
+
+    @Test
+    public void shouldPlayEveryVariantToTheEnd() {
+        // Given every known variant
+        for (String variant : VariantFactories.getVariantNames()) {
+            // When playing a match between random agents
+            Game game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+            Player winner = simulator.playMatch(game,
+                    new RandomAgent(new StandardRandomStrategy(3)),
+                    new RandomAgent(new StandardRandomStrategy(4)));
+            // Then the match ends with a winner before the turn limit
+            assertThat(variant, winner, is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void shouldReproduceSeededSimulationOnAnyParallelism() {
+        // Given simulations of SemiStone on one thread and on four
+        MatchSimulator single = new MatchSimulator(1, MatchSimulator.DEFAULT_MAX_TURNS);
+        MatchSimulator parallel = new MatchSimulator(4, MatchSimulator.DEFAULT_MAX_TURNS);
+        // When both simulate matches of the same seed
+        SimulationResult first = single.simulate("semistone", VariantFactories.getFactoryCreator("semistone"),
+                seed -> new RandomAgent(new SeededRandomStrategy(seed)), 200, 42);
+        SimulationResult second = parallel.simulate("semistone", VariantFactories.getFactoryCreator("semistone"),
+                seed -> new RandomAgent(new SeededRandomStrategy(seed)), 200, 42);
+        // Then the matches have the same outcome
+        assertThat(second.getWins(Player.FINDUS), is(first.getWins(Player.FINDUS)));
+        assertThat(second.getWins(Player.PEDDERSEN), is(first.getWins(Player.PEDDERSEN)));
+        assertThat(second.getAverageTurns(), is(first.getAverageTurns()));
+    }
+}
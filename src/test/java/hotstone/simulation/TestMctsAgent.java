@@ -0,0 +1,147 @@
+package hotstone.simulation;
+
+import hotstone.framework.Card;
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.standard.CompactHotStoneGame;
+import hotstone.standard.SeededRandomContext;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.standard.StandardRandomStrategy;
+import hotstone.variants.VariantFactories;
+import hotstone.variants.betastone.BetaStoneFactory;
+import hotstone.variants.semistone.SemiStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test cases for the Monte Carlo Tree Search agent and
+ * the sampling of hidden cards it searches with.
+ */
+public class TestMctsAgent {
+
+    @Test
+    public void shouldSampleOnlyTheHiddenCards() {
+        for (MutableGame game : List.of(new StandardHotStoneGame(new SemiStoneFactory()),
+                new CompactHotStoneGame(new SemiStoneFactory()))) {
+            // Given a game in turn 4, where both players have drawn, and a fork of it
+            for (int i = 0; i < 4; i++) game.endTurn();
+            List<String> findusHand = namesOf(game.getHand(Player.FINDUS));
+            int peddersenHandSize = game.getHandSize(Player.PEDDERSEN);
+            int peddersenDeckSize = game.getDeckSize(Player.PEDDERSEN);
+            MutableGame unsampled = game.fork();
+            // When Findus samples the hidden cards
+            game.sampleHiddenCards(Player.FINDUS, new StandardRandomStrategy(5));
+            // Then Findus' hand and the sizes of Peddersen's hand and deck are the same
+            assertThat(namesOf(game.getHand(Player.FINDUS)), is(findusHand));
+            assertThat(game.getHandSize(Player.PEDDERSEN), is(peddersenHandSize));
+            assertThat(game.getDeckSize(Player.PEDDERSEN), is(peddersenDeckSize));
+            // And when all cards are drawn, both players have the same cards as without sampling
+            for (Player player : Player.values()) {
+                assertThat(allCardsOf(game, player), is(allCardsOf(unsampled, player)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotChangeTheGameSampledFrom() {
+        // Given a game and a fork of it
+        MutableGame game = new StandardHotStoneGame(new SemiStoneFactory());
+        List<String> peddersenHand = namesOf(game.getHand(Player.PEDDERSEN));
+        MutableGame fork = game.fork();
+        // When the hidden cards of the fork are sampled many times
+        for (int seed = 0; seed < 10; seed++) {
+            fork.sampleHiddenCards(Player.FINDUS, new StandardRandomStrategy(seed));
+        }
+        // Then the original game is unchanged
+        assertThat(namesOf(game.getHand(Player.PEDDERSEN)), is(peddersenHand));
+    }
+
+    @Test
+    public void shouldNotDrawFromRandomStrategiesOfTheGame() {
+        // Given a SemiStone game, whose random state is saved
+        RandomContext context = new SeededRandomContext(9);
+        MutableGame game = new StandardHotStoneGame(new SemiStoneFactory(context));
+        long[] state = context.getState();
+        // When agents search it on several workers, playing out random effects
+        MoveBuffer moves = new MoveBuffer();
+        new MoveGenerator().generate(game, moves);
+        for (long seed = 0; seed < 5; seed++) {
+            new MctsAgent(4, 400, 0, seed).chooseMove(game, Player.FINDUS, moves);
+        }
+        // Then the random strategies of the game are as they were
+        assertThat(context.getState(), is(state));
+    }
+
+    @Test
+    public void shouldBeatRandomAgentMostOfTheTime() {
+        // Given an MCTS agent with a small budget playing Findus against a random agent
+        MatchSimulator simulator = new MatchSimulator(1, MatchSimulator.DEFAULT_MAX_TURNS);
+        int wins = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            // When they play BetaStone
+            Game game = new StandardHotStoneGame(new BetaStoneFactory());
+            Player winner = simulator.playMatch(game, new MctsAgent(2, 200, 0, seed),
+                    new RandomAgent(new StandardRandomStrategy(seed)));
+            if (winner == Player.FINDUS) wins++;
+        }
+        // Then the MCTS agent wins most matches
+        assertThat(wins >= 8, is(true));
+    }
+
+    @Test
+    public void shouldPlayAllVariantsToTheEnd() {
+        // Given MCTS agents playing each other
+        MatchSimulator simulator = new MatchSimulator(1, MatchSimulator.DEFAULT_MAX_TURNS);
+        for (String variant : VariantFactories.getVariantNames()) {
+            // When they play a match of each variant
+            Game game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+            Player winner = simulator.playMatch(game, new MctsAgent(2, 20, 0, 1), new MctsAgent(1, 20, 0, 2));
+            // Then the match is played to a winner
+            assertThat(variant, winner, is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void shouldPlayTheTurnsOfTheAgentPlayer() {
+        // Given an MCTS agent playing Peddersen, with turns run by a queue
+        MutableGame game = new CompactHotStoneGame(new SemiStoneFactory());
+        List<Runnable> queue = new ArrayList<>();
+        game.addObserver(new AgentPlayer(game, Player.PEDDERSEN, new MctsAgent(1, 20, 0, 3), queue::add));
+        // When Findus ends the turn
+        game.endTurn();
+        // Then Peddersen's turn is queued, and it is Findus' turn again once it is run
+        assertThat(queue.size(), is(1));
+        assertThat(game.getPlayerInTurn(), is(Player.PEDDERSEN));
+        queue.remove(0).run();
+        assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldRequireABudget() {
+        // Given neither iterations nor time to search
+        // Then the agent cannot be created
+        assertThrows(IllegalArgumentException.class, () -> new MctsAgent(1, 0, 0));
+    }
+
+    private static List<String> namesOf(Iterable<? extends Card> cards) {
+        List<String> names = new ArrayList<>();
+        cards.forEach(card -> names.add(card.getName()));
+        return names;
+    }
+
+    // The sorted names of all cards of the player, after drawing the deck
+    private static List<String> allCardsOf(MutableGame game, Player who) {
+        while (game.getDeckSize(who) > 0) game.drawCard(who);
+        List<String> names = namesOf(game.getHand(who));
+        names.sort(null);
+        return names;
+    }
+}
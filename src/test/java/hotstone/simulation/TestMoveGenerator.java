@@ -0,0 +1,114 @@
+package hotstone.simulation;
+
+import hotstone.framework.*;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.VariantFactories;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for generating the legal moves of the player in turn. */
+public class TestMoveGenerator {
+    private MutableGame game;
+    private MoveGenerator generator;
+    private MoveBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        game = new StandardHotStoneGame(new AlphaStoneFactory());
+        generator = new MoveGenerator();
+        buffer = new MoveBuffer(4);
+    }
+
+    @Test
+    public void shouldEncodeMoves() {
+        // Given an attack of minion 5 with minion 3
+        int move = Move.attackCard(3, 5);
+        // Then kind and indices can be decoded
+        assertThat(Move.kind(move), is(Move.ATTACK_CARD));
+        assertThat(Move.first(move), is(3));
+        assertThat(Move.second(move), is(5));
+        assertThat(Move.toString(move), is("attack minion 5 with 3"));
+    }
+
+    @Test
+    public void shouldGenerateInitialMovesOfFindus() {
+        // Given the initial game, where Findus has 3 mana and Tres, Dos and Uno
+        // When I generate the moves
+        generator.generate(game, buffer);
+        // Then all three cards can be played, the power used and the turn ended
+        assertThat(buffer.size(), is(5));
+        assertThat(buffer.get(0), is(Move.playCard(0, 0)));
+        assertThat(buffer.get(1), is(Move.playCard(1, 0)));
+        assertThat(buffer.get(2), is(Move.playCard(2, 0)));
+        assertThat(buffer.get(3), is(Move.usePower()));
+        assertThat(buffer.get(4), is(Move.endTurn()));
+    }
+
+    @Test
+    public void shouldOnlyGenerateAffordableCardsAfterPlay() {
+        // Given Findus has played Tres and has no mana left
+        generator.execute(game, Move.playCard(0, 0));
+        // When I generate the moves
+        generator.generate(game, buffer);
+        // Then Tres is not active yet, so the only move is to end the turn
+        assertThat(buffer.size(), is(1));
+        assertThat(Move.kind(buffer.get(0)), is(Move.END_TURN));
+    }
+
+    @Test
+    public void shouldGenerateExactlyTheMovesTheGameAllows() {
+        Random random = new Random(3);
+        for (String variant : VariantFactories.getVariantNames()) {
+            // Given games of each variant played by random generated moves
+            MutableGame game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+            while (game.getWinner() == null && game.getTurnNumber() < 40) {
+                // When I generate the moves
+                generator.generate(game, buffer);
+                // Then each possible action is legal exactly when it is generated
+                for (int move : candidateMoves(game)) {
+                    boolean isGenerated = contains(buffer, move);
+                    Status status = generator.execute(game.fork(), move);
+                    assertThat(variant + ": " + Move.toString(move), status == Status.OK, is(isGenerated));
+                }
+                generator.execute(game, buffer.get(random.nextInt(buffer.size())));
+            }
+        }
+    }
+
+    // All actions of the player in turn, legal or not, except ending the turn
+    private static int[] candidateMoves(Game game) {
+        Player who = game.getPlayerInTurn();
+        int fieldSize = game.getFieldSize(who);
+        int opponentFieldSize = game.getFieldSize(Player.computeOpponent(who));
+        MoveBuffer candidates = new MoveBuffer();
+        for (int i = 0; i < game.getHandSize(who); i++) {
+            candidates.add(Move.playCard(i, fieldSize));
+        }
+        for (int attacker = 0; attacker < fieldSize; attacker++) {
+            for (int defender = 0; defender < opponentFieldSize; defender++) {
+                candidates.add(Move.attackCard(attacker, defender));
+            }
+            candidates.add(Move.attackHero(attacker));
+        }
+        candidates.add(Move.usePower());
+        int[] moves = new int[candidates.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = candidates.get(i);
+        }
+        return moves;
+    }
+
+    private static boolean contains(MoveBuffer buffer, int move) {
+        for (int i = 0; i < buffer.size(); i++) {
+            if (buffer.get(i) == move) return true;
+        }
+        return false;
+    }
+}
@@ -34,6 +34,7 @@ import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.utility.TestHelper;
 import hotstone.variants.alphastone.*;
 import org.junit.jupiter.api.*;
@@ -54,7 +55,12 @@ public class TestAlphaStone {
   /** Fixture for AlphaStone testing. */
   @BeforeEach
   public void setUp() {
-    game = new StandardHotStoneGame(new AlphaStoneFactory());
+    game = createGame(new AlphaStoneFactory());
+  }
+
+  /** Create the game of the tests, overridden to run them against another engine */
+  protected MutableGame createGame(HotstoneFactory factory) {
+    return new StandardHotStoneGame(factory);
   }
 
   // Example of an early, simple test case:
@@ -0,0 +1,12 @@
+package hotstone.standard;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+
+/** The test cases of AlphaStone, run against the CompactHotStoneGame. */
+public class TestAlphaStoneCompact extends TestAlphaStone {
+  @Override
+  protected MutableGame createGame(HotstoneFactory factory) {
+    return new CompactHotStoneGame(factory);
+  }
+}
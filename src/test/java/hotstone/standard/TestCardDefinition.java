@@ -0,0 +1,79 @@
+package hotstone.standard;
+
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.variants.NullEffect;
+import hotstone.variants.etastone.EtaStoneDeckBuilderStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for the card definitions, which hold the unchanging
+ * part of the cards and are shared by the cards of a kind.
+ */
+public class TestCardDefinition {
+
+  @Test
+  public void shouldShareDefinitionsWithinGame() {
+    // Given the deck builder of an EtaStone game
+    EtaStoneDeckBuilderStrategy deckBuilder = new EtaStoneDeckBuilderStrategy(new SeededRandomContext(1));
+    List<MutableCard> findusDeck = deckBuilder.buildDeck(Player.FINDUS);
+    List<MutableCard> peddersenDeck = deckBuilder.buildDeck(Player.PEDDERSEN);
+    // When a card of the first deck, and one with the same name in the second, are found
+    StandardCard card = (StandardCard) findusDeck.get(0);
+    StandardCard other = (StandardCard) peddersenDeck.stream()
+            .filter(candidate -> candidate.getName().equals(card.getName())).findFirst().orElseThrow();
+    // Then they are different cards of the same definition
+    assertThat(other, is(not(sameInstance(card))));
+    assertThat(other.getDefinition(), is(sameInstance(card.getDefinition())));
+  }
+
+  @Test
+  public void shouldNotShareRandomEffectsBetweenGames() {
+    // Given the deck builders of two EtaStone games
+    List<MutableCard> first = new EtaStoneDeckBuilderStrategy(new SeededRandomContext(1)).buildDeck(Player.FINDUS);
+    List<MutableCard> second = new EtaStoneDeckBuilderStrategy(new SeededRandomContext(1)).buildDeck(Player.FINDUS);
+    // When the cards of the same name are found
+    StandardCard card = (StandardCard) first.get(0);
+    StandardCard other = (StandardCard) second.stream()
+            .filter(candidate -> candidate.getName().equals(card.getName())).findFirst().orElseThrow();
+    // Then each game has definitions of its own, whose effects draw from its random context
+    assertThat(other.getDefinition(), is(not(sameInstance(card.getDefinition()))));
+  }
+
+  @Test
+  public void shouldKeepStateOfEachCard() {
+    // Given two cards of a definition
+    CardDefinition definition = new CardDefinition("Soup", 2, 3, 4, new NullEffect());
+    MutableCard card = new StandardCard(definition, Player.FINDUS);
+    MutableCard other = new StandardCard(definition, Player.PEDDERSEN);
+    // When one takes damage and gains attack
+    card.takeDamage(1);
+    card.changeAttack(2);
+    // Then only that card has changed, and the definition has the base stats
+    assertThat(card.getHealth(), is(3));
+    assertThat(card.getAttack(), is(5));
+    assertThat(other.getHealth(), is(4));
+    assertThat(other.getAttack(), is(3));
+    assertThat(definition.getHealth(), is(4));
+    assertThat(other.getOwner(), is(Player.PEDDERSEN));
+  }
+
+  @Test
+  public void shouldShareDefinitionWithCopy() {
+    // Given a card that has attacked and taken damage
+    StandardCard card = new StandardCard(new CardDefinition("Soup", 2, 3, 4, new NullEffect()), Player.FINDUS);
+    card.takeDamage(2);
+    card.attack();
+    // When it is copied
+    StandardCard copy = (StandardCard) card.copy();
+    // Then the copy shares the definition and has the state of the card
+    assertThat(copy.getDefinition(), is(sameInstance(card.getDefinition())));
+    assertThat(copy.getHealth(), is(2));
+    assertThat(copy.canAttack(), is(false));
+    assertThat(copy.getID(), is(card.getID()));
+  }
+}
@@ -0,0 +1,148 @@
+package hotstone.standard;
+
+import hotstone.framework.*;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.simulation.MatchSimulator;
+import hotstone.simulation.RandomAgent;
+import hotstone.simulation.SimulationResult;
+import hotstone.variants.NullEffect;
+import hotstone.variants.VariantFactories;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.gammastone.GammaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static hotstone.utility.TestHelper.describeGameState;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for the compact game, mainly by playing the
+ * same matches with it and with the standard game, and
+ * comparing the state of the two games after every turn.
+ */
+public class TestCompactHotStoneGame {
+  private MutableGame game;
+
+  @BeforeEach
+  public void setUp() {
+    game = new CompactHotStoneGame(new AlphaStoneFactory());
+  }
+
+  @Test
+  public void shouldStartLikeStandardGame() {
+    // Given a compact and a standard AlphaStone game
+    MutableGame standard = new StandardHotStoneGame(new AlphaStoneFactory());
+    // Then they have the same state
+    assertThat(describeGameState(game), is(describeGameState(standard)));
+    assertThat(game.getCardInHand(Player.FINDUS, 0).getName(), is(GameConstants.TRES_CARD));
+  }
+
+  @Test
+  public void shouldPlayDeterministicVariantsLikeStandardGame() {
+    // Given the variants without randomness
+    for (String variant : List.of("alphastone", "betastone", "gammastone", "zetastone")) {
+      for (long seed = 0; seed < 50; seed++) {
+        // When random agents with the same seed play both games
+        MutableGame compact = new CompactHotStoneGame(VariantFactories.createFactory(variant));
+        MutableGame standard = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+        RandomAgent compactAgent = new RandomAgent(new StandardRandomStrategy(seed));
+        RandomAgent standardAgent = new RandomAgent(new StandardRandomStrategy(seed));
+        while (standard.getWinner() == null && standard.getTurnNumber() < 100) {
+          compactAgent.playTurn(compact, compact.getPlayerInTurn());
+          standardAgent.playTurn(standard, standard.getPlayerInTurn());
+          // Then the games have the same state after every turn
+          assertThat(variant + " seed " + seed, describeGameState(compact), is(describeGameState(standard)));
+          compact.endTurn();
+          standard.endTurn();
+        }
+        assertThat(compact.getWinner(), is(standard.getWinner()));
+      }
+    }
+  }
+
+  @Test
+  public void shouldPlayAllVariantsToTheEnd() {
+    // Given random agents playing compact games of every variant
+    MatchSimulator simulator = new MatchSimulator(1, MatchSimulator.DEFAULT_MAX_TURNS);
+    for (String variant : VariantFactories.getVariantNames()) {
+      // When they play a number of matches
+      SimulationResult result = simulator.simulateGames(variant,
+              () -> new CompactHotStoneGame(VariantFactories.createFactory(variant)),
+              () -> new RandomAgent(new StandardRandomStrategy(7)), 20);
+      // Then all matches end with a winner
+      assertThat(variant, result.getDraws(), is(0L));
+    }
+  }
+
+  @Test
+  public void shouldReturnFieldAsListForEffects() {
+    // Given Tres played by Findus
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    // When I get the field as effects do
+    List<?> field = (List<?>) game.getField(Player.FINDUS);
+    // Then it contains the views of the minions, which are mutable cards
+    assertThat(field.size(), is(1));
+    assertThat(field.get(0), is(sameInstance(game.getCardInField(Player.FINDUS, 0))));
+    assertThat(field.get(0), is(instanceOf(MutableCard.class)));
+    assertThat(((MutableCard) field.get(0)).getName(), is(GameConstants.TRES_CARD));
+  }
+
+  @Test
+  public void shouldChangeGameThroughCardViews() {
+    // Given Tres played by Findus
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    MutableCard tres = (MutableCard) game.getCardInField(Player.FINDUS, 0);
+    // When the view is changed, as the effect wizard does
+    tres.takeDamage(1);
+    tres.changeAttack(2);
+    // Then the game has changed
+    assertThat(game.getCardInField(Player.FINDUS, 0).getHealth(), is(2));
+    assertThat(game.getCardInField(Player.FINDUS, 0).getAttack(), is(5));
+  }
+
+  @Test
+  public void shouldCopyCardOfOtherClassOnce() {
+    // Given a minion that is not a card of the game, summoned to the field
+    StandardCard summoned = new StandardCard("Summon", 0, 1, 1, Player.FINDUS, new NullEffect());
+    game.addCardToField(Player.FINDUS, summoned);
+    // When it is given to the game again and again
+    for (int i = 0; i < 3; i++) {
+      game.changeMinionAttack(summoned, 1);
+    }
+    // Then the minion in the field is changed, and is still the only one
+    assertThat(game.getFieldSize(Player.FINDUS), is(1));
+    assertThat(game.getCardInField(Player.FINDUS, 0).getAttack(), is(4));
+    assertThat(game.getCardInField(Player.FINDUS, 0).getID(), is(summoned.getID()));
+  }
+
+  @Test
+  public void shouldSummonCardsNotFromTheDeck() {
+    // Given a GammaStone game where Peddersen has Meyer and Sovs power
+    game = new CompactHotStoneGame(new GammaStoneFactory());
+    game.endTurn();
+    // When Peddersen uses the power
+    assertThat(game.usePower(Player.PEDDERSEN), is(Status.OK));
+    // Then Sovs is in the field
+    assertThat(game.getFieldSize(Player.PEDDERSEN), is(1));
+    assertThat(game.getCardInField(Player.PEDDERSEN, 0).getName(), is(GameConstants.SOVS_CARD));
+  }
+
+  @Test
+  public void shouldForkIndependentGames() {
+    // Given Tres played by Findus and a fork of the game
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    MutableGame fork = game.fork();
+    // When the fork changes
+    fork.reduceCardHealth((MutableCard) game.getCardInField(Player.FINDUS, 0), 1);
+    fork.endTurn();
+    // Then only the fork has changed
+    assertThat(fork.getCardInField(Player.FINDUS, 0).getHealth(), is(2));
+    assertThat(game.getCardInField(Player.FINDUS, 0).getHealth(), is(3));
+    assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+    assertThat(fork.getCardInField(Player.FINDUS, 0).getID(),
+            is(game.getCardInField(Player.FINDUS, 0).getID()));
+  }
+}
@@ -0,0 +1,123 @@
+package hotstone.standard;
+
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.variants.NullEffect;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/** Test cases for the deck, which draws in constant time
+ * and is shuffled as the cards are drawn.
+ */
+public class TestDeck {
+
+  @Test
+  public void shouldDrawCardsInOrderWhenNotShuffled() {
+    // Given a deck of cards costing 0 to 9 in order
+    Deck deck = new Deck(cards(10));
+    // When all cards are drawn
+    // Then they come in the order of the cards
+    for (int i = 0; i < 10; i++) {
+      assertThat(deck.remove(0).getManaCost(), is(i));
+    }
+    assertThat(deck.isEmpty(), is(true));
+  }
+
+  @Test
+  public void shouldShuffleAllCardsBySeed() {
+    // Given two decks shuffled by the same seed and one by another seed
+    List<Integer> first = drawAll(new Deck(cards(20), 7));
+    List<Integer> second = drawAll(new Deck(cards(20), 7));
+    List<Integer> third = drawAll(new Deck(cards(20), 8));
+    // Then the same seed gives the same order, and another seed another order
+    assertThat(second, is(first));
+    assertThat(third, is(not(first)));
+    // And all cards are drawn once
+    first.sort(null);
+    assertThat(first, is(drawAll(new Deck(cards(20)))));
+  }
+
+  @Test
+  public void shouldPlaceCardsWithinManaLimits() {
+    for (long seed = 0; seed < 100; seed++) {
+      // Given decks limiting the first cards to cost at most 1, 2 and 4
+      Deck deck = new Deck(cards(10), seed);
+      deck.limitManaCosts(1, 2, 4);
+      // Then the first cards are within the limits
+      assertThat(deck.get(0).getManaCost(), is(lessThanOrEqualTo(1)));
+      assertThat(deck.get(1).getManaCost(), is(lessThanOrEqualTo(2)));
+      assertThat(deck.get(2).getManaCost(), is(lessThanOrEqualTo(4)));
+    }
+  }
+
+  @Test
+  public void shouldContinueRandomSequenceInCopy() {
+    // Given a shuffled deck, where a card has been drawn, and a copy of it
+    Deck deck = new Deck(cards(20), 3);
+    deck.remove(0);
+    Deck copy = new Deck(deck);
+    // When all cards are drawn from both
+    // Then they come in the same order
+    assertThat(drawAll(copy), is(drawAll(deck)));
+  }
+
+  @Test
+  public void shouldPutCardBackOnTop() {
+    // Given a shuffled deck where the top card is drawn
+    Deck deck = new Deck(cards(5), 1);
+    MutableCard card = deck.remove(0);
+    // When it is put back, as when a draw is rolled back
+    deck.add(0, card);
+    // Then it is on top again
+    assertThat(deck.size(), is(5));
+    assertThat(deck.get(0), is(sameInstance(card)));
+  }
+
+  @Test
+  public void shouldShuffleInCards() {
+    // Given a deck of 5 cards
+    Deck deck = new Deck(cards(5), 1);
+    // When 2 more cards are shuffled in
+    deck.shuffleIn(List.of(card(5), card(6)), 2);
+    // Then the deck has all 7 cards
+    List<Integer> costs = drawAll(deck);
+    costs.sort(null);
+    assertThat(costs, is(List.of(0, 1, 2, 3, 4, 5, 6)));
+  }
+
+  @Test
+  public void shouldPutDrawnCardFirstInHand() {
+    // Given a hand of two cards
+    Hand hand = new Hand();
+    hand.add(card(0));
+    hand.add(card(1));
+    // When a card is drawn into it
+    hand.add(0, card(2));
+    // Then it is first, followed by the others in order
+    assertThat(hand.get(0).getManaCost(), is(2));
+    assertThat(hand.get(1).getManaCost(), is(0));
+    assertThat(hand.get(2).getManaCost(), is(1));
+  }
+
+  private static List<MutableCard> cards(int count) {
+    List<MutableCard> cards = new ArrayList<>();
+    for (int i = 0; i < count; i++) cards.add(card(i));
+    return cards;
+  }
+
+  private static MutableCard card(int manaCost) {
+    return new StandardCard("Card " + manaCost, manaCost, 1, 1, Player.FINDUS, new NullEffect());
+  }
+
+  private static List<Integer> drawAll(Deck deck) {
+    List<Integer> costs = new ArrayList<>();
+    while (!deck.isEmpty()) costs.add(deck.remove(0).getManaCost());
+    return costs;
+  }
+}
@@ -0,0 +1,148 @@
+package hotstone.standard;
+
+import hotstone.framework.*;
+import hotstone.framework.mutability.MutableCard;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.observer.GameObserver;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/** Test cases for forking a game into independent
+ * copy-on-write snapshots.
+ */
+public class TestForking {
+  private MutableGame game;
+
+  @BeforeEach
+  public void setUp() {
+    game = new StandardHotStoneGame(new AlphaStoneFactory());
+    // Tres for Findus and Dos for Peddersen in the field, Findus in turn
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    game.endTurn();
+    game.playCard(Player.PEDDERSEN, game.getCardInHand(Player.PEDDERSEN, 1), 0);
+    game.endTurn();
+  }
+
+  @Test
+  public void shouldForkIntoGameWithSameState() {
+    // Given a game with minions in the field
+    // When I fork it
+    MutableGame fork = game.fork();
+    // Then the fork has the same state
+    assertThat(fork.getPlayerInTurn(), is(Player.FINDUS));
+    assertThat(fork.getTurnNumber(), is(game.getTurnNumber()));
+    assertThat(fork.getHandSize(Player.FINDUS), is(game.getHandSize(Player.FINDUS)));
+    assertThat(fork.getDeckSize(Player.PEDDERSEN), is(game.getDeckSize(Player.PEDDERSEN)));
+    assertThat(fork.getCardInField(Player.PEDDERSEN, 0).getName(), is(GameConstants.DOS_CARD));
+    assertThat(fork.getCardInField(Player.PEDDERSEN, 0).getID(),
+            is(game.getCardInField(Player.PEDDERSEN, 0).getID()));
+    assertThat(fork.getHero(Player.FINDUS).getMana(), is(game.getHero(Player.FINDUS).getMana()));
+  }
+
+  @Test
+  public void shouldNotChangeOriginalWhenForkIsPlayed() {
+    // Given a fork of the game
+    MutableGame fork = game.fork();
+    // When Findus attacks Dos with Tres and plays a card in the fork
+    Card tres = fork.getCardInField(Player.FINDUS, 0);
+    Card dos = fork.getCardInField(Player.PEDDERSEN, 0);
+    assertThat(fork.attackCard(Player.FINDUS, tres, dos), is(Status.OK));
+    fork.playCard(Player.FINDUS, fork.getCardInHand(Player.FINDUS, 0), 0);
+    fork.endTurn();
+    // Then the fork has changed
+    assertThat(fork.getFieldSize(Player.PEDDERSEN), is(0));
+    assertThat(fork.getCardInField(Player.FINDUS, 0).getHealth(), is(1));
+    assertThat(fork.getFieldSize(Player.FINDUS), is(2));
+    // But the original game has not
+    assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+    assertThat(game.getFieldSize(Player.PEDDERSEN), is(1));
+    assertThat(game.getFieldSize(Player.FINDUS), is(1));
+    assertThat(game.getCardInField(Player.FINDUS, 0).getHealth(), is(3));
+    assertThat(game.getCardInField(Player.FINDUS, 0).isActive(), is(true));
+    assertThat(game.getHero(Player.FINDUS).getMana(), is(3));
+    assertThat(game.getHandSize(Player.FINDUS), is(fork.getHandSize(Player.FINDUS) + 1));
+  }
+
+  @Test
+  public void shouldNotChangeForkWhenOriginalIsPlayed() {
+    // Given a fork of the game
+    MutableGame fork = game.fork();
+    // When Findus attacks the hero with Tres and draws in the original game
+    Card tres = game.getCardInField(Player.FINDUS, 0);
+    assertThat(game.attackHero(Player.FINDUS, tres), is(Status.OK));
+    game.drawCard(Player.FINDUS);
+    // Then only the original game has changed
+    assertThat(game.getHero(Player.PEDDERSEN).getHealth(), is(GameConstants.HERO_MAX_HEALTH - 3));
+    assertThat(fork.getHero(Player.PEDDERSEN).getHealth(), is(GameConstants.HERO_MAX_HEALTH));
+    assertThat(fork.getCardInField(Player.FINDUS, 0).isActive(), is(true));
+    assertThat(fork.getHandSize(Player.FINDUS), is(game.getHandSize(Player.FINDUS) - 1));
+    assertThat(fork.getDeckSize(Player.FINDUS), is(game.getDeckSize(Player.FINDUS) + 1));
+  }
+
+  @Test
+  public void shouldKeepCardsAndHeroesOfOriginalWhenForked() {
+    // Given the cards and heroes of the game, as held by a view of it
+    Card tres = game.getCardInField(Player.FINDUS, 0);
+    Card card = game.getCardInHand(Player.FINDUS, 0);
+    Hero hero = game.getHero(Player.PEDDERSEN);
+    // When the game is forked, and played on
+    game.fork();
+    assertThat(game.attackHero(Player.FINDUS, tres), is(Status.OK));
+    assertThat(game.playCard(Player.FINDUS, card, 0), is(Status.OK));
+    // Then the game still has the same instances, which show its changes
+    assertThat(game.getCardInField(Player.FINDUS, 0), is(sameInstance(tres)));
+    assertThat(game.getCardInField(Player.FINDUS, 1), is(sameInstance(card)));
+    assertThat(game.getHero(Player.PEDDERSEN), is(sameInstance(hero)));
+    assertThat(tres.isActive(), is(false));
+    assertThat(hero.getHealth(), is(GameConstants.HERO_MAX_HEALTH - 3));
+  }
+
+  @Test
+  public void shouldUseForksOwnMinionWhenGivenOriginalsCard() {
+    // Given a fork of the game
+    MutableGame fork = game.fork();
+    Card tres = game.getCardInField(Player.FINDUS, 0);
+    // When Tres of the original game attacks in the fork
+    assertThat(fork.attackHero(Player.FINDUS, tres), is(Status.OK));
+    // Then it is the forks minion which is no longer active
+    assertThat(fork.attackHero(Player.FINDUS, tres),
+            is(Status.ATTACK_NOT_ALLOWED_FOR_NON_ACTIVE_MINION));
+    assertThat(tres.isActive(), is(true));
+  }
+
+  @Test
+  public void shouldKeepForksOfForksIndependent() {
+    // Given a fork of a fork
+    MutableGame fork = game.fork();
+    MutableGame forkOfFork = fork.fork();
+    // When Dos is damaged in the fork of the fork
+    forkOfFork.reduceCardHealth((MutableCard) forkOfFork.getCardInField(Player.PEDDERSEN, 0), 1);
+    // And the fork gets a new turn
+    fork.endTurn();
+    // Then each game only has its own changes
+    assertThat(forkOfFork.getCardInField(Player.PEDDERSEN, 0).getHealth(), is(1));
+    assertThat(fork.getCardInField(Player.PEDDERSEN, 0).getHealth(), is(2));
+    assertThat(game.getCardInField(Player.PEDDERSEN, 0).getHealth(), is(2));
+    assertThat(forkOfFork.getPlayerInTurn(), is(Player.FINDUS));
+    assertThat(fork.getPlayerInTurn(), is(Player.PEDDERSEN));
+    assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+  }
+
+  @Test
+  public void shouldNotNotifyObserversOfOriginalFromFork() {
+    // Given an observer on the game
+    GameObserver observer = mock(GameObserver.class);
+    game.addObserver(observer);
+    // When the fork is played
+    MutableGame fork = game.fork();
+    fork.endTurn();
+    // Then the observer is not notified
+    verifyNoInteractions(observer);
+  }
+}
@@ -0,0 +1,120 @@
+package hotstone.standard;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.IdStrategy;
+import hotstone.variants.NullEffect;
+import hotstone.variants.deltastone.DeltaStoneFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/** Test cases for the IDs the games give their cards and heroes.
+ */
+public class TestIdStrategy {
+  private final List<Function<DeltaStoneFactory, MutableGame>> engines =
+          List.of(StandardHotStoneGame::new, CompactHotStoneGame::new);
+
+  @Test
+  public void shouldGiveUniqueCompactIDs() {
+    for (Function<DeltaStoneFactory, MutableGame> engine : engines) {
+      // Given two games
+      MutableGame first = engine.apply(new DeltaStoneFactory());
+      MutableGame second = engine.apply(new DeltaStoneFactory());
+      // When all their cards and heroes are drawn and looked at
+      List<String> ids = new ArrayList<>();
+      ids.addAll(allIDs(first));
+      ids.addAll(allIDs(second));
+      // Then the IDs are unique and short
+      assertThat(new HashSet<>(ids).size(), is(ids.size()));
+      for (String id : ids) assertThat(id.length(), is(lessThanOrEqualTo(8)));
+    }
+  }
+
+  @Test
+  public void shouldUseIdStrategyOfFactory() {
+    for (Function<DeltaStoneFactory, MutableGame> engine : engines) {
+      // Given a game configured with IDs counting from "id-0"
+      MutableGame game = engine.apply(new DeltaStoneFactory() {
+        @Override
+        public IdStrategy createIdStrategy() {
+          return new IdStrategy() {
+            private int count = 0;
+
+            @Override
+            public String nextID() {
+              return "id-" + count++;
+            }
+          };
+        }
+      });
+      // Then the heroes and cards have the IDs of the strategy
+      assertThat(game.getHero(Player.FINDUS).getID(), is("id-0"));
+      assertThat(game.getHero(Player.PEDDERSEN).getID(), is("id-1"));
+      assertThat(game.getCardInHand(Player.FINDUS, 0).getID(), startsWith("id-"));
+    }
+  }
+
+  @Test
+  public void shouldKeepIDsInForks() {
+    for (Function<DeltaStoneFactory, MutableGame> engine : engines) {
+      // Given a game and a fork of it
+      MutableGame game = engine.apply(new DeltaStoneFactory());
+      MutableGame fork = game.fork();
+      // Then the fork's cards and heroes have the same IDs
+      assertThat(fork.getCardInHand(Player.FINDUS, 0).getID(),
+              is(game.getCardInHand(Player.FINDUS, 0).getID()));
+      assertThat(fork.getHero(Player.PEDDERSEN).getID(), is(game.getHero(Player.PEDDERSEN).getID()));
+    }
+  }
+
+  @Test
+  public void shouldGiveNewMinionAnIDOfTheGame() {
+    for (Function<DeltaStoneFactory, MutableGame> engine : engines) {
+      // Given a game, and its forks sharing its ID strategy
+      MutableGame game = engine.apply(new DeltaStoneFactory());
+      MutableGame fork = game.fork();
+      String hero = game.getHero(Player.FINDUS).getID();
+      String prefix = hero.substring(0, hero.indexOf('.') + 1);
+      // When a new card is put on the field of the fork, as a summon effect does
+      fork.addCardToField(Player.FINDUS,
+              new StandardCard("Summon", 0, 1, 1, Player.FINDUS, new NullEffect()));
+      // Then the minion has an ID of the game, different from the other IDs
+      String minion = fork.getCardInField(Player.FINDUS, 0).getID();
+      assertThat(minion, startsWith(prefix));
+      assertThat(allIDs(game).contains(minion), is(false));
+    }
+  }
+
+  @Test
+  public void shouldGiveUuidsByUuidStrategy() {
+    // Given a UUID strategy
+    IdStrategy strategy = new UuidIdStrategy();
+    // Then its IDs are different UUIDs
+    assertThat(strategy.nextID().length(), is(36));
+    assertThat(strategy.nextID(), is(not(strategy.nextID())));
+  }
+
+  private static List<String> allIDs(MutableGame game) {
+    // Cards are drawn from turn 2
+    while (game.getTurnNumber() < 2) game.endTurn();
+    List<String> ids = new ArrayList<>();
+    for (Player player : Player.values()) {
+      ids.add(game.getHero(player).getID());
+      for (Card card : game.getHand(player)) ids.add(card.getID());
+      while (game.getDeckSize(player) > 0) {
+        game.drawCard(player);
+        ids.add(game.getCardInHand(player, 0).getID());
+      }
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,142 @@
+package hotstone.standard;
+
+import hotstone.framework.*;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.mutability.ReversibleGame;
+import hotstone.simulation.RandomAgent;
+import hotstone.variants.VariantFactories;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.gammastone.GammaStoneFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static hotstone.utility.TestHelper.describeGameState;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for reverting the changes of a game
+ * with mark and rollback.
+ */
+public class TestReversibleGame {
+  private ReversibleGame game;
+
+  @BeforeEach
+  public void setUp() {
+    game = new StandardHotStoneGame(new AlphaStoneFactory());
+  }
+
+  @Test
+  public void shouldRollBackPlayCard() {
+    // Given a mark in the initial state
+    String before = describeGameState(game);
+    int mark = game.mark();
+    // When Findus plays Tres and the play is rolled back
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    game.rollback(mark);
+    // Then the game is back in the initial state
+    assertThat(describeGameState(game), is(before));
+    assertThat(game.getCardInHand(Player.FINDUS, 0).getName(), is(GameConstants.TRES_CARD));
+  }
+
+  @Test
+  public void shouldRollBackEndTurn() {
+    // Given a game in turn 2, where cards are drawn
+    game.endTurn();
+    game.endTurn();
+    String before = describeGameState(game);
+    int mark = game.mark();
+    // When the turn ends and is rolled back
+    game.endTurn();
+    game.rollback(mark);
+    // Then Peddersen has not drawn, and Findus is in turn again
+    assertThat(describeGameState(game), is(before));
+    assertThat(game.getPlayerInTurn(), is(Player.FINDUS));
+  }
+
+  @Test
+  public void shouldRollBackAttackRemovingMinions() {
+    // Given Tres for Findus and Dos for Peddersen in the field
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    game.endTurn();
+    game.playCard(Player.PEDDERSEN, game.getCardInHand(Player.PEDDERSEN, 1), 0);
+    game.endTurn();
+    String before = describeGameState(game);
+    int mark = game.mark();
+    // When Tres attacks Dos, which is removed, and the attack is rolled back
+    Card tres = game.getCardInField(Player.FINDUS, 0);
+    assertThat(game.attackCard(Player.FINDUS, tres, game.getCardInField(Player.PEDDERSEN, 0)), is(Status.OK));
+    assertThat(game.getFieldSize(Player.PEDDERSEN), is(0));
+    game.rollback(mark);
+    // Then Dos is back, and Tres is unhurt and may attack
+    assertThat(describeGameState(game), is(before));
+    assertThat(game.getCardInField(Player.FINDUS, 0).isActive(), is(true));
+  }
+
+  @Test
+  public void shouldRollBackPowerSummoningMinion() {
+    // Given GammaStone, where Peddersen's power summons Sovs
+    game = new StandardHotStoneGame(new GammaStoneFactory());
+    game.endTurn();
+    String before = describeGameState(game);
+    int mark = game.mark();
+    // When Peddersen uses the power and it is rolled back
+    assertThat(game.usePower(Player.PEDDERSEN), is(Status.OK));
+    game.rollback(mark);
+    // Then there is no Sovs, and the power can be used
+    assertThat(describeGameState(game), is(before));
+    assertThat(game.usePower(Player.PEDDERSEN), is(Status.OK));
+  }
+
+  @Test
+  public void shouldRollBackToNestedMarks() {
+    // Given two marks
+    String initial = describeGameState(game);
+    int first = game.mark();
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    String afterPlay = describeGameState(game);
+    int second = game.mark();
+    game.endTurn();
+    // When rolling back to each of them
+    game.rollback(second);
+    assertThat(describeGameState(game), is(afterPlay));
+    game.rollback(first);
+    // Then the game is back in the state of each mark
+    assertThat(describeGameState(game), is(initial));
+  }
+
+  @Test
+  public void shouldRollBackRandomTurnsOfAllVariants() {
+    for (String variant : VariantFactories.getVariantNames()) {
+      // Given a game of the variant and a random agent
+      ReversibleGame game = new StandardHotStoneGame(VariantFactories.createFactory(variant));
+      RandomAgent agent = new RandomAgent(new StandardRandomStrategy(11));
+      while (game.getWinner() == null && game.getTurnNumber() < 40) {
+        // When a turn is played and rolled back
+        String before = describeGameState(game);
+        int mark = game.mark();
+        agent.playTurn(game, game.getPlayerInTurn());
+        game.endTurn();
+        game.rollback(mark);
+        // Then the game is back in the state before the turn
+        assertThat(variant, describeGameState(game), is(before));
+        // And play continues with the turn played for real
+        agent.playTurn(game, game.getPlayerInTurn());
+        game.endTurn();
+      }
+    }
+  }
+
+  @Test
+  public void shouldRollBackPastForkWithoutChangingFork() {
+    // Given a mark before a fork
+    int mark = game.mark();
+    game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+    MutableGame fork = game.fork();
+    // When rolling back past the fork
+    game.rollback(mark);
+    // Then only the game is back in the state before, as the fork has its own state
+    assertThat(game.getFieldSize(Player.FINDUS), is(0));
+    assertThat(fork.getFieldSize(Player.FINDUS), is(1));
+    assertThat(fork.getHandSize(Player.FINDUS), is(game.getHandSize(Player.FINDUS) - 1));
+  }
+}
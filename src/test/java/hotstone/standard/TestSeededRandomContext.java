@@ -0,0 +1,85 @@
+package hotstone.standard;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.strategies.RandomContext;
+import hotstone.framework.strategies.RandomStrategy;
+import hotstone.variants.VariantFactories;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for the random context of a game, deriving
+ * all random choices of the game from one seed.
+ */
+public class TestSeededRandomContext {
+
+  @Test
+  public void shouldGiveSameStrategiesForSameSeed() {
+    // Given two contexts of the same seed, and one of another seed
+    RandomContext first = new SeededRandomContext(7);
+    RandomContext second = new SeededRandomContext(7);
+    RandomContext other = new SeededRandomContext(8);
+    // When strategies are taken from them
+    List<Integer> firstValues = draw(first.newStrategy(), first.newStrategy());
+    // Then the same seed gives the same numbers, and another seed others
+    assertThat(draw(second.newStrategy(), second.newStrategy()), is(firstValues));
+    assertThat(draw(other.newStrategy(), other.newStrategy()), is(not(firstValues)));
+  }
+
+  @Test
+  public void shouldGiveIndependentStrategies() {
+    // Given two strategies of a context
+    RandomContext context = new SeededRandomContext(1);
+    RandomStrategy first = context.newStrategy();
+    RandomStrategy second = context.newStrategy();
+    // Then they give different numbers
+    assertThat(draw(second), is(not(draw(first))));
+  }
+
+  @Test
+  public void shouldRestoreStateOfStrategies() {
+    // Given a context with two strategies, whose state is saved
+    RandomContext context = new SeededRandomContext(3);
+    RandomStrategy first = context.newStrategy();
+    RandomStrategy second = context.newStrategy();
+    long[] state = context.getState();
+    List<Integer> values = draw(first, second);
+    // When the state is restored
+    context.setState(state);
+    // Then the strategies give the same numbers again
+    assertThat(draw(first, second), is(values));
+  }
+
+  @Test
+  public void shouldCreateSameGameForSameSeed() {
+    for (String variant : List.of("semistone", "etastone", "deltastone")) {
+      // Given two games of a variant, created for the same seed
+      Game first = new StandardHotStoneGame(VariantFactories.createFactory(variant, 11));
+      Game second = new StandardHotStoneGame(VariantFactories.createFactory(variant, 11));
+      // Then they have the same heroes and hands
+      for (Player who : Player.values()) {
+        assertThat(variant, second.getHero(who).getType(), is(first.getHero(who).getType()));
+        assertThat(variant, names(second, who), is(names(first, who)));
+      }
+    }
+  }
+
+  private static List<Integer> draw(RandomStrategy... strategies) {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      for (RandomStrategy strategy : strategies) values.add(strategy.nextInt(1000));
+    }
+    return values;
+  }
+
+  private static List<String> names(Game game, Player who) {
+    List<String> names = new ArrayList<>();
+    game.getHand(who).forEach(card -> names.add(card.getName()));
+    return names;
+  }
+}
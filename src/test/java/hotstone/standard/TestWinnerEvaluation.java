@@ -0,0 +1,143 @@
+package hotstone.standard;
+
+import hotstone.framework.Game;
+import hotstone.framework.Player;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.mutability.ReversibleGame;
+import hotstone.framework.strategies.StateChange;
+import hotstone.framework.strategies.WinningStrategy;
+import hotstone.spies.SpyGameObserver;
+import hotstone.utility.TestHelper;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import hotstone.variants.alphastone.AlphaStoneWinnerStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/** Test cases for the evaluation of the winning strategy,
+ * which is latched once decided, and only evaluated again
+ * after changes that may decide the winner.
+ */
+public class TestWinnerEvaluation {
+  private final List<Function<AlphaStoneFactory, MutableGame>> engines =
+          List.of(StandardHotStoneGame::new, CompactHotStoneGame::new);
+
+  @Test
+  public void shouldKeepWinnerOnceDecided() {
+    for (Function<AlphaStoneFactory, MutableGame> engine : engines) {
+      // Given an AlphaStone game won by Findus in turn 8
+      MutableGame game = engine.apply(new AlphaStoneFactory());
+      TestHelper.advanceGameNRounds(game, 4);
+      assertThat(game.getWinner(), is(Player.FINDUS));
+      // When the turn ends, where the strategy finds no winner
+      game.endTurn();
+      // Then Findus is still the winner
+      assertThat(game.getWinner(), is(Player.FINDUS));
+    }
+  }
+
+  @Test
+  public void shouldNotifyGameWonOnce() {
+    for (Function<AlphaStoneFactory, MutableGame> engine : engines) {
+      // Given an AlphaStone game with an observer
+      MutableGame game = engine.apply(new AlphaStoneFactory());
+      SpyGameObserver observer = new SpyGameObserver();
+      game.addObserver(observer);
+      // When Findus wins and the winner is asked for a number of times
+      TestHelper.advanceGameNRounds(game, 4);
+      for (int i = 0; i < 3; i++) game.getWinner();
+      // Then the observer is notified once
+      long notifications = observer.getCallHistory().stream().filter("onGameWon"::equals).count();
+      assertThat(notifications, is(1L));
+    }
+  }
+
+  @Test
+  public void shouldOnlyEvaluateStrategyAfterChangesDecidingTheWinner() {
+    for (Function<AlphaStoneFactory, MutableGame> engine : engines) {
+      // Given a game with a strategy deciding the winner by the turn
+      CountingWinnerStrategy strategy = new CountingWinnerStrategy(StateChange.TURN);
+      MutableGame game = gameOf(engine, strategy);
+      game.getWinner();
+      assertThat(strategy.evaluations, is(1));
+      // When Findus plays a card and the winner is asked for again
+      game.playCard(Player.FINDUS, game.getCardInHand(Player.FINDUS, 0), 0);
+      game.getWinner();
+      // Then the strategy has not been evaluated again
+      assertThat(strategy.evaluations, is(1));
+      // But it is when the turn ends
+      game.endTurn();
+      assertThat(strategy.evaluations, is(2));
+    }
+  }
+
+  @Test
+  public void shouldNotEvaluateStrategyAfterReadingHero() {
+    for (Function<AlphaStoneFactory, MutableGame> engine : engines) {
+      // Given a game with a strategy deciding the winner by the health of the heroes
+      CountingWinnerStrategy strategy = new CountingWinnerStrategy(StateChange.HERO_HEALTH);
+      MutableGame game = gameOf(engine, strategy);
+      game.getWinner();
+      // When the heroes and the winner are read, as by a view refreshing
+      for (int i = 0; i < 3; i++) {
+        game.getHero(Player.FINDUS);
+        game.getHero(Player.PEDDERSEN);
+        game.getWinner();
+      }
+      // Then the strategy has not been evaluated again
+      assertThat(strategy.evaluations, is(1));
+      // But it is when the health of a hero is changed through it
+      ((MutableHero) game.getHero(Player.PEDDERSEN)).takeDamage(-1);
+      game.getWinner();
+      assertThat(strategy.evaluations, is(2));
+    }
+  }
+
+  @Test
+  public void shouldEvaluateWinnerAgainAfterRollback() {
+    // Given an AlphaStone game in turn 7 and a mark
+    ReversibleGame game = new StandardHotStoneGame(new AlphaStoneFactory());
+    for (int i = 0; i < 7; i++) game.endTurn();
+    int mark = game.mark();
+    // When Findus wins and the turn is rolled back
+    game.endTurn();
+    assertThat(game.getWinner(), is(Player.FINDUS));
+    game.rollback(mark);
+    // Then there is no winner
+    assertThat(game.getWinner(), is(nullValue()));
+  }
+
+  private static MutableGame gameOf(Function<AlphaStoneFactory, MutableGame> engine, WinningStrategy strategy) {
+    return engine.apply(new AlphaStoneFactory() {
+      @Override
+      public WinningStrategy createWinningStrategy() {
+        return strategy;
+      }
+    });
+  }
+
+  private static class CountingWinnerStrategy extends AlphaStoneWinnerStrategy {
+    private final StateChange decidingChange;
+    private int evaluations = 0;
+
+    CountingWinnerStrategy(StateChange decidingChange) {
+      this.decidingChange = decidingChange;
+    }
+
+    @Override
+    public Player getWinner(Game game) {
+      evaluations++;
+      return super.getWinner(game);
+    }
+
+    @Override
+    public boolean isDecidedBy(StateChange change) {
+      return change == decidingChange;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package hotstone.transcription;
+
+import hotstone.framework.Card;
+import hotstone.framework.Player;
+import hotstone.framework.Status;
+import hotstone.framework.mutability.MutableGame;
+import hotstone.standard.StandardHotStoneGame;
+import hotstone.variants.alphastone.AlphaStoneFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/** Test cases for the transcript of a game, written as structured
+ * records in the background.
+ */
+public class TestTranscriptWriter {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldWriteActionsAsJsonLines() throws IOException {
+        // Given a transcribed AlphaStone game, written to files in JSON Lines
+        TranscriptWriter writer = new TranscriptWriter(directory, "game", new JsonLinesFormat(),
+                TranscriptWriter.DEFAULT_MAX_FILE_BYTES, 64, TranscriptWriter.OverflowPolicy.BLOCK);
+        MutableGame game = new TranscriptionDecorator(new StandardHotStoneGame(new AlphaStoneFactory()), writer);
+        // When Findus plays Uno, tries to play Tres, and ends the turn
+        Card uno = game.getCardInHand(Player.FINDUS, 2);
+        Card tres = game.getCardInHand(Player.FINDUS, 0);
+        game.playCard(Player.FINDUS, uno, 0);
+        game.playCard(Player.FINDUS, tres, 0);
+        game.endTurn();
+        writer.close();
+        // Then the actions are the records of the transcript, with their status
+        List<TranscriptRecord> records = readAll(new JsonLinesFormat());
+        assertThat(records, is(List.of(
+                new TranscriptRecord(1, 0, Player.FINDUS, TranscriptAction.PLAY_CARD, uno.getID(), null, 0, Status.OK),
+                new TranscriptRecord(2, 0, Player.FINDUS, TranscriptAction.PLAY_CARD, tres.getID(), null, 0,
+                        Status.NOT_ENOUGH_MANA),
+                new TranscriptRecord(3, 0, Player.FINDUS, TranscriptAction.END_TURN, null, null, 0, null))));
+    }
+
+    @Test
+    public void shouldDropRecordsOnceWriterIsInterrupted() {
+        // Given a blocking writer whose thread is interrupted while writing the first record
+        OutputStream interrupting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TranscriptWriter writer = new TranscriptWriter(interrupting, new JsonLinesFormat(), 4,
+                TranscriptWriter.OverflowPolicy.BLOCK);
+        writer.append(0, Player.FINDUS, TranscriptAction.END_TURN, null, null, 0, null);
+        writer.flush();
+        // When more records are appended than the buffer holds
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 10; i++) {
+                writer.append(0, Player.FINDUS, TranscriptAction.END_TURN, null, null, 0, null);
+            }
+        });
+        // Then they are dropped rather than waiting for the writer
+        assertThat(writer.getDroppedCount(), is(greaterThan(0L)));
+    }
+
+    @Test
+    public void shouldReadBackBinaryRecords() throws IOException {
+        // Given records with and without cards and status, and odd values
+        List<TranscriptRecord> written = List.of(
+                new TranscriptRecord(1, 3, Player.PEDDERSEN, TranscriptAction.ATTACK_CARD, "g1.2f", "g1.æ", 0, Status.OK),
+                new TranscriptRecord(2, 300, Player.FINDUS, TranscriptAction.CHANGE_HERO_HEALTH, null, null, -2, null),
+                new TranscriptRecord(200, 4, Player.FINDUS, TranscriptAction.REDUCE_CARD_HEALTH, "7", null,
+                        Integer.MIN_VALUE, null));
+        // When they are written in the binary format and read back
+        BinaryFormat format = new BinaryFormat();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.writeHeader(out);
+        for (TranscriptRecord record : written) format.writeRecord(record, out);
+        // Then they are the same
+        assertThat(format.read(new ByteArrayInputStream(out.toByteArray())), is(written));
+        // And they take less than 16 bytes each
+        assertThat(out.size(), is(lessThan(BinaryFormat.MAGIC.length + 1 + 3 * 16)));
+    }
+
+    @Test
+    public void shouldRotateFiles() throws IOException {
+        // Given a writer of binary files of at most 100 bytes
+        TranscriptWriter writer = new TranscriptWriter(directory, "game", new BinaryFormat(),
+                100, 16, TranscriptWriter.OverflowPolicy.BLOCK);
+        // When 100 records are appended
+        for (int i = 0; i < 100; i++) {
+            writer.append(i, Player.FINDUS, TranscriptAction.END_TURN, null, null, 0, null);
+        }
+        writer.close();
+        // Then they are written to several files, in order
+        assertThat(files().size(), is(greaterThan(5)));
+        List<TranscriptRecord> records = readAll(new BinaryFormat());
+        assertThat(records.size(), is(100));
+        for (int i = 0; i < 100; i++) assertThat(records.get(i).getTurn(), is(i));
+        assertThat(writer.getWrittenCount(), is(100L));
+    }
+
+    @Test
+    public void shouldDropRecordsWhenFullByDropPolicy() throws Exception {
+        // Given a writer of 4 records to a stream that is stuck
+        CountDownLatch stuck = new CountDownLatch(1);
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    stuck.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        TranscriptWriter writer = new TranscriptWriter(out, new JsonLinesFormat(), 4, TranscriptWriter.OverflowPolicy.DROP);
+        // When 20 records are appended
+        int appended = 0;
+        for (int i = 0; i < 20; i++) {
+            if (writer.append(0, Player.FINDUS, TranscriptAction.USE_POWER, null, null, 0, Status.OK)) appended++;
+        }
+        // Then the ones not fitting in the buffer are dropped, without waiting
+        assertThat(writer.getDroppedCount(), is((long) (20 - appended)));
+        assertThat(writer.getDroppedCount(), is(greaterThan(0L)));
+        stuck.countDown();
+        writer.close();
+        assertThat(writer.getWrittenCount(), is((long) appended));
+    }
+
+    @Test
+    public void shouldWaitWhenFullByBlockPolicy() throws IOException {
+        // Given a writer of 4 records, to a slow stream
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public void flush() {
+                Thread.onSpinWait();
+            }
+        };
+        TranscriptWriter writer = new TranscriptWriter(out, new BinaryFormat(), 4, TranscriptWriter.OverflowPolicy.BLOCK);
+        // When 1000 records are appended
+        for (int i = 0; i < 1000; i++) {
+            writer.append(i, Player.PEDDERSEN, TranscriptAction.DRAW_CARD, null, null, 0, null);
+        }
+        writer.close();
+        // Then none are dropped
+        assertThat(writer.getDroppedCount(), is(0L));
+        assertThat(new BinaryFormat().read(new ByteArrayInputStream(written.toByteArray())).size(), is(1000));
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private List<TranscriptRecord> readAll(TranscriptFormat format) throws IOException {
+        List<TranscriptRecord> records = new ArrayList<>();
+        for (Path file : files()) {
+            try (InputStream in = Files.newInputStream(file)) {
+                records.addAll(format.read(in));
+            }
+        }
+        return records;
+    }
+}
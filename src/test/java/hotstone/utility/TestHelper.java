@@ -72,6 +72,35 @@ public class TestHelper {
     System.out.println("--- END ---");
   }
 
+  /** Describe all game state visible through the Game
+   * interface on a single line, useful for comparing the
+   * state of two games.
+   *
+   * @param game the game whose state should be described.
+   * @return the description
+   */
+  public static String describeGameState(Game game) {
+    StringBuilder state = new StringBuilder();
+    state.append(game.getTurnNumber()).append(' ').append(game.getPlayerInTurn());
+    for (Player player : Player.values()) {
+      Hero hero = game.getHero(player);
+      state.append(" | ").append(player).append(' ').append(hero.getType())
+              .append(" mana ").append(hero.getMana())
+              .append(" health ").append(hero.getHealth())
+              .append(" power ").append(hero.canUsePower())
+              .append(" deck ").append(game.getDeckSize(player))
+              .append(" hand");
+      for (Card c : game.getHand(player)) {
+        state.append(' ').append(describeCard(c));
+      }
+      state.append(" field");
+      for (Card c : game.getField(player)) {
+        state.append(' ').append(describeCard(c));
+      }
+    }
+    return state.toString();
+  }
+
   private static String describeCard(Card card) {
     return "{" + card.getName()
             + ": (" + card.getManaCost() + ", " + card.getAttack() + ", " + card.getHealth()
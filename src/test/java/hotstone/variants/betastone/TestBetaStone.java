@@ -3,6 +3,7 @@ package hotstone.variants.betastone;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.utility.TestHelper;
 import org.junit.jupiter.api.*;
@@ -15,7 +16,12 @@ public class TestBetaStone {
     // Fixture for BetaStone testing
     @BeforeEach
     public void setUp() {
-        game = new StandardHotStoneGame(new BetaStoneFactory());
+        game = createGame(new BetaStoneFactory());
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
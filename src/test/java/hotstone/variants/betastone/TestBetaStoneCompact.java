@@ -0,0 +1,13 @@
+package hotstone.variants.betastone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of BetaStone, run against the CompactHotStoneGame. */
+public class TestBetaStoneCompact extends TestBetaStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
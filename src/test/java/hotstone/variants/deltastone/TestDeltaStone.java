@@ -3,6 +3,7 @@ package hotstone.variants.deltastone;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.utility.TestHelper;
 import org.junit.jupiter.api.*;
@@ -15,7 +16,12 @@ public class TestDeltaStone {
 
     @BeforeEach
     public void setUp() {
-        game = new StandardHotStoneGame(new DeltaStoneFactory());
+        game = createGame(new DeltaStoneFactory());
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
@@ -0,0 +1,13 @@
+package hotstone.variants.deltastone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of DeltaStone, run against the CompactHotStoneGame. */
+public class TestDeltaStoneCompact extends TestDeltaStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
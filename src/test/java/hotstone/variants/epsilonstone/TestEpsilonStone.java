@@ -3,6 +3,8 @@ package hotstone.variants.epsilonstone;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.mutability.MutableHero;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.framework.strategies.RandomStrategy;
 import hotstone.standard.GameConstants;
 import hotstone.standard.StandardHero;
@@ -21,7 +23,12 @@ public class TestEpsilonStone {
     /** Fixture for AlphaStone testing. */
     @BeforeEach
     public void setUp() {
-        game = new StandardHotStoneGame(new EpsilonStoneFactory());
+        game = createGame(new EpsilonStoneFactory());
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
@@ -102,7 +109,7 @@ public class TestEpsilonStone {
     public void shouldNotUseRedwinePowerWithNoMinionsOnField() {
         // Given Findus hero (FrenchChef) with RedwinePower
         // When Findus uses his power with no minions on the field
-        StandardHero frenchChef = (StandardHero) game.getHero(Player.FINDUS);
+        MutableHero frenchChef = (MutableHero) game.getHero(Player.FINDUS);
 
         // There are no minions on Peddersen's field (Player.PEDDERSEN)
 
@@ -118,7 +125,7 @@ public class TestEpsilonStone {
     public void shouldNotUsePastaPowerWithNoMinionsOnField() {
         // Given Peddersen hero (ItalianChef) with PastaPower
         // When Peddersen uses his power with no minions in the field
-        StandardHero italianChef = (StandardHero) game.getHero(Player.PEDDERSEN);
+        MutableHero italianChef = (MutableHero) game.getHero(Player.PEDDERSEN);
 
         // There are no minions on Peddersen's field (Player.PEDDERSEN)
 
@@ -0,0 +1,13 @@
+package hotstone.variants.epsilonstone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of EpsilonStone, run against the CompactHotStoneGame. */
+public class TestEpsilonStoneCompact extends TestEpsilonStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
@@ -3,9 +3,11 @@ package hotstone.variants.etastone;
 import hotstone.framework.Player;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.framework.strategies.RandomStrategy;
 import hotstone.standard.GameConstants;
 import hotstone.spies.SpyMutableGame;
+import hotstone.standard.SeededRandomContext;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.utility.TestHelper;
 import hotstone.variants.StubRandomStrategy;
@@ -26,7 +28,12 @@ public class TestEtaStone {
 
     @BeforeEach
     public void setUp() {
-        game = new SpyMutableGame(new StandardHotStoneGame(new EtaStoneFactory()));
+        game = new SpyMutableGame(createGame(new EtaStoneFactory()));
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
@@ -76,7 +83,7 @@ public class TestEtaStone {
         TomatoSaladEffect tomatoSaladEffect = new TomatoSaladEffect(randomStub);
 
         // Create a mock minion and add it to the field
-        MutableCard minion = mock(MutableCard.class);
+        MutableCard minion = minionOf(player);
         game.addMinionToField(player, minion);  // Add the mock minion to the game's field
 
         // Apply the TomatoSaladEffect
@@ -97,8 +104,8 @@ public class TestEtaStone {
         SpringRollsEffect springRollsEffect = new SpringRollsEffect(randomStub);
 
         // Create two mock minions and add them to the opponent's field
-        MutableCard minion1 = mock(MutableCard.class);
-        MutableCard minion2 = mock(MutableCard.class);
+        MutableCard minion1 = minionOf(opponent);
+        MutableCard minion2 = minionOf(opponent);
         game.addMinionToField(opponent, minion1);  // Add the first mock minion to the opponent's field
         game.addMinionToField(opponent, minion2);  // Add the second mock minion
 
@@ -117,7 +124,7 @@ public class TestEtaStone {
         BakedSalmonEffect bakedSalmonEffect = new BakedSalmonEffect(randomStub);
 
         // Create a mock minion and add it to the field
-        MutableCard minion = mock(MutableCard.class);
+        MutableCard minion = minionOf(Player.PEDDERSEN);
         game.addMinionToField(Player.PEDDERSEN, minion);  // Add the mock minion to the game's field
 
         // Apply the TomatoSaladEffect
@@ -131,7 +138,7 @@ public class TestEtaStone {
     public void shouldProduceProperEtaDeck() {
         // Given a EtaStone deck
         // When I ask for the deck size and correct card specs
-        List<MutableCard> deck = new EtaStoneDeckBuilderStrategy().buildDeck(Player.FINDUS);
+        List<MutableCard> deck = new EtaStoneDeckBuilderStrategy(new SeededRandomContext(1)).buildDeck(Player.FINDUS);
 
         // Then it should have size 18 and the correct specs
         assertThat(deck.size(), is(GameConstants.DELTA_DECK_SIZE));
@@ -226,4 +233,11 @@ public class TestEtaStone {
         // Then the draw card method should not be called
         verify(game, never()).drawCard(player);
     }
+
+    // A mock minion of the owner, which a game may copy into its own cards
+    private static MutableCard minionOf(Player owner) {
+        MutableCard minion = mock(MutableCard.class);
+        when(minion.getOwner()).thenReturn(owner);
+        return minion;
+    }
 }
@@ -0,0 +1,13 @@
+package hotstone.variants.etastone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of EtaStone, run against the CompactHotStoneGame. */
+public class TestEtaStoneCompact extends TestEtaStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
@@ -3,6 +3,7 @@ package hotstone.variants.gammastone;
 import hotstone.framework.*;
 import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.standard.GameConstants;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.utility.TestHelper;
@@ -16,7 +17,12 @@ public class TestGammaStone {
     // Fixture for BetaStone testing
     @BeforeEach
     public void setUp() {
-        game = new StandardHotStoneGame(new GammaStoneFactory());
+        game = createGame(new GammaStoneFactory());
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
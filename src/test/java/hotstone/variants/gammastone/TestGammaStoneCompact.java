@@ -0,0 +1,13 @@
+package hotstone.variants.gammastone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of GammaStone, run against the CompactHotStoneGame. */
+public class TestGammaStoneCompact extends TestGammaStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
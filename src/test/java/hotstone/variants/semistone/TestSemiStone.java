@@ -5,6 +5,7 @@ import hotstone.framework.mutability.MutableCard;
 import hotstone.framework.mutability.MutableGame;
 import hotstone.framework.mutability.MutableHero;
 import hotstone.framework.strategies.HeroStrategy;
+import hotstone.framework.strategies.HotstoneFactory;
 import hotstone.framework.strategies.RandomStrategy;
 import hotstone.standard.StandardHotStoneGame;
 import hotstone.utility.TestHelper;
@@ -23,7 +24,12 @@ public class TestSemiStone {
 
     @BeforeEach
     public void setUp() {
-        game = new StandardHotStoneGame(new SemiStoneFactory());
+        game = createGame(new SemiStoneFactory());
+    }
+
+    /** Create the game of the tests, overridden to run them against another engine */
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new StandardHotStoneGame(factory);
     }
 
     @Test
@@ -0,0 +1,13 @@
+package hotstone.variants.semistone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of SemiStone, run against the CompactHotStoneGame. */
+public class TestSemiStoneCompact extends TestSemiStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}
@@ -0,0 +1,13 @@
+package hotstone.variants.zetastone;
+
+import hotstone.framework.mutability.MutableGame;
+import hotstone.framework.strategies.HotstoneFactory;
+import hotstone.standard.CompactHotStoneGame;
+
+/** The test cases of ZetaStone, run against the CompactHotStoneGame. */
+public class TestZetaStoneCompact extends TestZetaStone {
+    @Override
+    protected MutableGame createGame(HotstoneFactory factory) {
+        return new CompactHotStoneGame(factory);
+    }
+}